@@ -0,0 +1,49 @@
+package com.mercadotech.authservice.config;
+
+import com.mercadotech.authservice.model.User;
+import com.mercadotech.authservice.model.UserRepository;
+import com.mercadotech.authservice.service.PasswordHashingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Cria os usuários de teste quando a tabela de usuários está vazia (primeira subida).
+ */
+@Component
+@Order(0)
+public class UserSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSeeder.class);
+
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+
+    public UserSeeder(UserRepository userRepository, PasswordHashingService passwordHashingService) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.count() > 0) {
+            return;
+        }
+        // Usuários de teste com suas roles
+        seed("user-101", "gerente", "senha123", "GERENTE", "CAIXA", "ESTOQUISTA");
+        seed("user-102", "estoquista", "senha123", "ESTOQUISTA");
+        seed("user-103", "caixa", "senha123", "CAIXA");
+        seed("user-001", "admin", "admin", "ADMIN", "GERENTE", "ESTOQUISTA", "CAIXA");
+        log.info("Usuários de teste criados");
+    }
+
+    private void seed(String id, String username, String password, String... roles) {
+        String hash = passwordHashingService.encode(password).join();
+        userRepository.save(new User(id, username, hash, Arrays.asList(roles)));
+    }
+}
@@ -3,37 +3,72 @@ package com.mercadotech.authservice.controller;
 import com.mercadotech.authservice.dto.LoginRequest;
 import com.mercadotech.authservice.dto.LoginResponse;
 import com.mercadotech.authservice.jwt.JwtUtil;
-import com.mercadotech.authservice.model.User; // Adicione este import
-import com.mercadotech.authservice.model.UserRepository; // Adicione este import
+import com.mercadotech.authservice.jwt.TokenRevocationStore;
+import com.mercadotech.authservice.service.LoginService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository; // Injete o novo UserRepository
+    private final LoginService loginService;
+    private final TokenRevocationStore revocationStore;
 
-    public AuthController(JwtUtil jwtUtil, UserRepository userRepository) { // Ajuste o construtor
+    public AuthController(JwtUtil jwtUtil, LoginService loginService, TokenRevocationStore revocationStore) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.loginService = loginService;
+        this.revocationStore = revocationStore;
     }
 
+    // Assíncrono: a thread do Tomcat é liberada enquanto a senha é verificada no pool de hashing
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
-        // Busca o usuário no repositório em memória
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElse(null); // Retorna null se não encontrar
-
-        // Valida as credenciais
-        if (user != null && user.getPassword().equals(request.getPassword())) {
-            // Gera o token com o ID do usuário e suas roles
-            String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRoles());
-            return ResponseEntity.ok(new LoginResponse(token));
-        } else {
-            return ResponseEntity.status(401).build(); // Retorna 401 Unauthorized para credenciais inválidas
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request) {
+        return loginService.login(request.getUsername(), request.getPassword())
+                .thenApply(token -> token
+                        .map(value -> ResponseEntity.ok(new LoginResponse(value)))
+                        .orElseGet(() -> ResponseEntity.status(401).build())) // Retorna 401 Unauthorized para credenciais inválidas
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (cause instanceof RejectedExecutionException) {
+                        // Pool de hashing saturado (pico de logins): o cliente deve tentar de novo em instantes
+                        return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").build();
+                    }
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                });
+    }
+
+    // Revoga o token informado no header Authorization; o gateway passa a rejeitá-lo em poucos segundos
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.status(401).build();
+        }
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(authHeader.substring(7));
+        } catch (JwtException e) {
+            return ResponseEntity.status(401).build(); // Token inválido ou já expirado
         }
+        if (claims.getId() == null) {
+            return ResponseEntity.badRequest().build(); // Tokens emitidos antes do jti não podem ser revogados
+        }
+        revocationStore.revoke(claims.getId(), claims.getExpiration().getTime());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Feed incremental de revogações, lido periodicamente pelo gateway
+    @GetMapping("/revocations")
+    public TokenRevocationStore.RevocationFeed revocations(@RequestParam(defaultValue = "0") long since) {
+        return revocationStore.changesSince(since);
     }
 
     // Endpoint de teste público (não requer autenticação no Gateway)
@@ -0,0 +1,32 @@
+package com.mercadotech.authservice.controller;
+
+import com.mercadotech.authservice.jwt.JwtKeyManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Publica as chaves públicas de assinatura (JWKS) para que o gateway e os serviços validem tokens localmente.
+ */
+@RestController
+@RequestMapping("/auth/.well-known")
+public class JwksController {
+
+    private final JwtKeyManager keyManager;
+
+    public JwksController(JwtKeyManager keyManager) {
+        this.keyManager = keyManager;
+    }
+
+    @GetMapping(value = "/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(keyManager.jwks());
+    }
+}
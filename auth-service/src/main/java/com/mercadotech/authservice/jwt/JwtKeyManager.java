@@ -0,0 +1,183 @@
+package com.mercadotech.authservice.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.commons.security.JsonWebKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gerencia os pares de chaves EC P-256 usados para assinar tokens ES256.
+ *
+ * Uma chave nova é gerada a cada {@code jwt.key-rotation}. A chave anterior deixa de assinar, mas continua publicada
+ * no JWKS até que o último token assinado com ela expire (rotação + {@code jwt.expiration}).
+ *
+ * Com mais de uma instância do auth-service, {@code jwt.keys-dir} deve apontar para um diretório compartilhado:
+ * as instâncias passam a assinar com a chave mais nova do diretório e publicam todas as chaves válidas dele.
+ * Sem o diretório as chaves vivem só em memória e são regeneradas a cada restart (tokens antigos deixam de valer).
+ */
+@Component
+public class JwtKeyManager {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyManager.class);
+    private static final String KEY_FILE_SUFFIX = ".key";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${jwt.key-rotation:24h}")
+    private Duration rotation;
+
+    @Value("${jwt.expiration}")
+    private Long expiration; // Em milissegundos
+
+    @Value("${jwt.keys-dir:}")
+    private String keysDir;
+
+    private final Map<String, SigningKey> keys = new ConcurrentHashMap<>();
+    private volatile SigningKey current;
+    private volatile String jwks;
+
+    @PostConstruct
+    public void init() {
+        rotateIfDue();
+    }
+
+    /**
+     * Chave usada para assinar novos tokens.
+     */
+    public SigningKey currentKey() {
+        return current;
+    }
+
+    /**
+     * Chave pública de um kid ainda válido, ou null.
+     */
+    public PublicKey publicKey(String kid) {
+        SigningKey key = keys.get(kid);
+        return key == null ? null : key.keyPair().getPublic();
+    }
+
+    /**
+     * Documento JWKS com todas as chaves ainda válidas, já serializado.
+     */
+    public String jwks() {
+        return jwks;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.key-rotation-check:60000}")
+    public synchronized void rotateIfDue() {
+        Instant now = Instant.now();
+        loadSharedKeys();
+        SigningKey newest = keys.values().stream().max(Comparator.comparing(SigningKey::createdAt)).orElse(null);
+        if (newest == null || !newest.createdAt().plus(rotation).isAfter(now)) {
+            newest = generate(now);
+            keys.put(newest.kid(), newest);
+            storeSharedKey(newest);
+            log.info("Nova chave de assinatura JWT gerada: {}", newest.kid());
+        }
+        current = newest;
+
+        // Uma chave substituída em T assinou tokens até T, que expiram no máximo em T + expiration
+        Instant retiredBefore = now.minus(rotation).minusMillis(expiration);
+        keys.values().removeIf(key -> key != current && key.createdAt().isBefore(retiredBefore));
+        jwks = serializeJwks();
+    }
+
+    private SigningKey generate(Instant now) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return new SigningKey(UUID.randomUUID().toString(), generator.generateKeyPair(), now);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível gerar chave EC P-256", e);
+        }
+    }
+
+    private String serializeJwks() {
+        List<Map<String, Object>> published = new ArrayList<>();
+        keys.values().stream()
+                .sorted(Comparator.comparing(SigningKey::createdAt).reversed())
+                .forEach(key -> published.add(JsonWebKeys.toJwk(key.kid(), (ECPublicKey) key.keyPair().getPublic())));
+        try {
+            return objectMapper.writeValueAsString(Map.of("keys", published));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Formato do arquivo <kid>.key: linha 1 = criação (ISO-8601), linha 2 = privada PKCS#8, linha 3 = pública X.509 (Base64)
+    private void loadSharedKeys() {
+        if (keysDir.isBlank()) {
+            return;
+        }
+        Path dir = Path.of(keysDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + KEY_FILE_SUFFIX)) {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            for (Path file : files) {
+                String kid = file.getFileName().toString().replace(KEY_FILE_SUFFIX, "");
+                if (keys.containsKey(kid)) {
+                    continue;
+                }
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(lines.get(1))));
+                PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(lines.get(2))));
+                keys.put(kid, new SigningKey(kid, new KeyPair(publicKey, privateKey), Instant.parse(lines.get(0))));
+            }
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.warn("Falha ao carregar chaves de {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private void storeSharedKey(SigningKey key) {
+        if (keysDir.isBlank()) {
+            return;
+        }
+        try {
+            Path dir = Files.createDirectories(Path.of(keysDir));
+            Path tmp = Files.createTempFile(dir, key.kid(), ".tmp");
+            Files.write(tmp, List.of(
+                    key.createdAt().toString(),
+                    Base64.getEncoder().encodeToString(key.keyPair().getPrivate().getEncoded()),
+                    Base64.getEncoder().encodeToString(key.keyPair().getPublic().getEncoded())), StandardCharsets.UTF_8);
+            Files.move(tmp, dir.resolve(key.kid() + KEY_FILE_SUFFIX));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar chave em " + keysDir, e);
+        }
+    }
+
+    public record SigningKey(String kid, KeyPair keyPair, Instant createdAt) {
+    }
+}
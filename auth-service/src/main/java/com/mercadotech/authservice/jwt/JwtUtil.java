@@ -1,17 +1,26 @@
 package com.mercadotech.authservice.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.List; // Adicione este import
 import java.util.Map; // Adicione este import
 import java.util.HashMap; // Adicione este import
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -22,6 +31,42 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration; // Em milissegundos
 
+    // ES256 (padrão): assinatura assimétrica, validada pelo gateway com o JWKS. HS256: legado, segredo compartilhado
+    @Value("${jwt.algorithm:ES256}")
+    private SignatureAlgorithm algorithm;
+
+    private final JwtKeyManager keyManager;
+
+    private SecretKey hmacKey;
+    private JwtParser parser;
+
+    public JwtUtil(JwtKeyManager keyManager) {
+        this.keyManager = keyManager;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (algorithm != SignatureAlgorithm.ES256 && algorithm != SignatureAlgorithm.HS256) {
+            throw new IllegalStateException("jwt.algorithm deve ser ES256 ou HS256: " + algorithm);
+        }
+        hmacKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        if ("HS256".equals(header.getAlgorithm())) {
+                            return hmacKey;
+                        }
+                        Key key = header.getKeyId() == null ? null : keyManager.publicKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Chave de assinatura desconhecida: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
     /**
      * Gera um token JWT contendo o ID do usuário e suas roles.
      * @param userId O ID único do usuário.
@@ -33,18 +78,36 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-
         // Adicionar claims personalizadas
         Map<String, Object> claims = new HashMap<>();
         claims.put("roles", roles); // Adiciona a lista de roles como uma claim "roles"
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(claims) // Adiciona as claims personalizadas
                 .setSubject(userId) // O 'sub' (subject) do JWT será o ID do usuário
+                .setId(UUID.randomUUID().toString()) // O 'jti' identifica o token na lista de revogação
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key, SignatureAlgorithm.HS256)  // << AQUI
+                .setExpiration(expiryDate);
+
+        if (algorithm == SignatureAlgorithm.HS256) {
+            return builder.signWith(hmacKey, SignatureAlgorithm.HS256).compact();
+        }
+
+        // O kid permite ao gateway escolher a chave pública certa durante a rotação
+        JwtKeyManager.SigningKey signingKey = keyManager.currentKey();
+        return builder
+                .setHeaderParam("kid", signingKey.kid())
+                .signWith(signingKey.keyPair().getPrivate(), SignatureAlgorithm.ES256)
                 .compact();
     }
-}
\ No newline at end of file
+
+    /**
+     * Valida um token emitido por este serviço (assinatura e expiração).
+     * @param token O token JWT.
+     * @return As claims do token.
+     * @throws JwtException Se o token for inválido ou expirado.
+     */
+    public Claims parseToken(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
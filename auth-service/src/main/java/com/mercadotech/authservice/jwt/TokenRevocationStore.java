@@ -0,0 +1,85 @@
+package com.mercadotech.authservice.jwt;
+
+import com.mercadotech.authservice.model.RevokedToken;
+import com.mercadotech.authservice.model.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Registro dos tokens revogados (logout), exposto como um feed incremental em {@code GET /auth/revocations}.
+ *
+ * As revogações ficam no banco do auth-service, numeradas por uma sequence do banco: valem depois de um restart e
+ * são as mesmas em todas as instâncias, então o gateway pode ler o feed de qualquer uma. Ele guarda a
+ * {@code sequence} devolvida e pede só o que veio depois. Entradas são descartadas quando o token revogado expiraria
+ * de qualquer forma.
+ *
+ * Duas instâncias confirmam as suas revogações em qualquer ordem: uma sequência menor pode aparecer depois de uma
+ * maior. Por isso a {@code sequence} devolvida só avança até as revogações com mais de {@link #SETTLE} de idade; as
+ * mais novas vêm de novo na leitura seguinte (revogar duas vezes no gateway não muda nada).
+ */
+@Component
+public class TokenRevocationStore {
+
+    static final Duration SETTLE = Duration.ofSeconds(10);
+
+    private final RevokedTokenRepository repository;
+    private final Clock clock;
+
+    @Autowired
+    public TokenRevocationStore(RevokedTokenRepository repository) {
+        this(repository, Clock.systemUTC());
+    }
+
+    TokenRevocationStore(RevokedTokenRepository repository, Clock clock) {
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    /**
+     * Revoga um token.
+     * @param jti Identificador do token (claim "jti").
+     * @param expiresAt Expiração do token em epoch millis (claim "exp").
+     */
+    public void revoke(String jti, long expiresAt) {
+        long now = clock.millis();
+        if (expiresAt <= now || repository.existsByJti(jti)) {
+            return; // Já expirado ou já revogado: nada a propagar
+        }
+        try {
+            repository.save(new RevokedToken(null, jti, expiresAt, now));
+        } catch (DataIntegrityViolationException e) {
+            // Logout simultâneo do mesmo token em outra instância: já está revogado
+        }
+    }
+
+    /**
+     * Revogações com sequência maior que {@code since}.
+     */
+    public RevocationFeed changesSince(long since) {
+        List<Revocation> revocations = repository.findBySequenceGreaterThanOrderBySequence(since).stream()
+                .map(revoked -> new Revocation(revoked.getSequence(), revoked.getJti(), revoked.getExpiresAt()))
+                .toList();
+        Long settled = repository.findMaxSequenceRevokedBefore(clock.millis() - SETTLE.toMillis());
+        return new RevocationFeed(settled == null ? since : Math.max(since, settled), revocations);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation-prune-interval:60000}")
+    public void pruneExpired() {
+        repository.deleteExpired(clock.millis());
+    }
+
+    public record Revocation(long sequence, String jti, long expiresAt) {
+    }
+
+    /**
+     * @param sequence Ponto de retomada: o próximo {@code since}.
+     */
+    public record RevocationFeed(long sequence, List<Revocation> revocations) {
+    }
+}
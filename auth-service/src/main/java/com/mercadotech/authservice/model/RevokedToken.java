@@ -0,0 +1,33 @@
+package com.mercadotech.authservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Token revogado por logout, guardado até a expiração dele. A {@code sequence} vem de uma sequence do banco,
+ * compartilhada por todas as instâncias do auth-service e mantida entre restarts.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revoked_tokens_seq")
+    // allocationSize 1: blocos pré-alocados por instância fariam as sequências confirmadas saírem fora de ordem
+    @SequenceGenerator(name = "revoked_tokens_seq", sequenceName = "revoked_tokens_seq", allocationSize = 1)
+    private Long sequence;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt; // Epoch millis (claim "exp")
+
+    @Column(name = "revoked_at", nullable = false)
+    private long revokedAt; // Epoch millis
+}
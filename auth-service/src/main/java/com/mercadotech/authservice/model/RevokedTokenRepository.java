@@ -0,0 +1,25 @@
+package com.mercadotech.authservice.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByJti(String jti);
+
+    List<RevokedToken> findBySequenceGreaterThanOrderBySequence(long sequence);
+
+    @Query("select max(r.sequence) from RevokedToken r where r.revokedAt <= :revokedBefore")
+    Long findMaxSequenceRevokedBefore(long revokedBefore);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(long now);
+}
@@ -1,17 +1,31 @@
 package com.mercadotech.authservice.model;
 
+import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 
+@Entity
+@Table(name = "users") // "user" é palavra reservada no PostgreSQL
 @Data // Lombok para getters, setters, toString, etc.
 @NoArgsConstructor // Construtor sem argumentos
 @AllArgsConstructor // Construtor com todos os argumentos
 public class User {
+
+    @Id
     private String id; // ID do usuário, para ser o 'sub' do JWT
+
+    @Column(nullable = false, unique = true, length = 100)
     private String username;
-    private String password;
-    private List<String> roles; // Lista de roles (ex: "GERENTE", "ESTOQUISTA")
-}
\ No newline at end of file
+
+    @Column(nullable = false, length = 100)
+    private String passwordHash; // Hash BCrypt (inclui o salt e o custo), nunca a senha em texto puro
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
+    @Column(name = "role", nullable = false, length = 50)
+    private List<String> roles = new ArrayList<>(); // Lista de roles (ex: "GERENTE", "ESTOQUISTA")
+}
@@ -0,0 +1,61 @@
+package com.mercadotech.authservice.service;
+
+import com.mercadotech.authservice.jwt.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class LoginService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginService.class);
+
+    private final UserDirectory userDirectory;
+    private final PasswordHashingService passwordHashingService;
+    private final JwtUtil jwtUtil;
+
+    public LoginService(UserDirectory userDirectory, PasswordHashingService passwordHashingService, JwtUtil jwtUtil) {
+        this.userDirectory = userDirectory;
+        this.passwordHashingService = passwordHashingService;
+        this.jwtUtil = jwtUtil;
+    }
+
+    /**
+     * Valida as credenciais e gera o token. A verificação da senha roda no pool do {@link PasswordHashingService}.
+     * @param username O nome de usuário.
+     * @param password A senha em texto puro.
+     * @return Futuro com o token, ou vazio se as credenciais forem inválidas. Falha com
+     * {@link java.util.concurrent.RejectedExecutionException} se o pool de hashing estiver saturado.
+     */
+    public CompletableFuture<Optional<String>> login(String username, String password) {
+        if (username == null || password == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        Optional<UserDirectory.CachedUser> user = userDirectory.findByUsername(username);
+        String passwordHash = user.map(UserDirectory.CachedUser::passwordHash).orElse(null);
+
+        return passwordHashingService.matches(password, passwordHash).thenApply(matches -> {
+            if (!matches) {
+                return Optional.empty();
+            }
+            UserDirectory.CachedUser authenticated = user.get();
+            if (passwordHashingService.needsRehash(authenticated.passwordHash())) {
+                rehash(authenticated, password);
+            }
+            return Optional.of(jwtUtil.generateToken(authenticated.id(), authenticated.username(), authenticated.roles()));
+        });
+    }
+
+    // Custo do BCrypt aumentado: regrava o hash com o custo novo, aproveitando que a senha está disponível
+    private void rehash(UserDirectory.CachedUser user, String password) {
+        passwordHashingService.encode(password)
+                .thenAccept(hash -> userDirectory.updatePasswordHash(user, hash))
+                .exceptionally(e -> {
+                    log.warn("Falha ao refazer hash da senha de {}: {}", user.username(), e.getMessage());
+                    return null;
+                });
+    }
+}
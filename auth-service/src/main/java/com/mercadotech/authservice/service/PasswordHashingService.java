@@ -0,0 +1,91 @@
+package com.mercadotech.authservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hash e verificação de senhas com BCrypt (salt aleatório por senha, custo ajustável).
+ *
+ * Cada verificação custa dezenas de milissegundos de CPU de propósito. Para que um pico de logins (troca de turno)
+ * não ocupe todas as threads do Tomcat, o trabalho roda num pool próprio de tamanho fixo com fila limitada;
+ * com a fila cheia a chamada falha na hora com {@link RejectedExecutionException} e o login responde 503.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    // Hash de uma senha qualquer, usado para gastar o mesmo tempo quando o usuário não existe
+    private final String dummyHash;
+
+    public PasswordHashingService(@Value("${auth.password-hashing.bcrypt-strength:10}") int strength,
+                                  @Value("${auth.password-hashing.threads:0}") int threads,
+                                  @Value("${auth.password-hashing.queue-capacity:500}") int queueCapacity) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.dummyHash = encoder.encode("dummy-password");
+    }
+
+    /**
+     * Verifica a senha contra o hash armazenado. Com {@code passwordHash} null (usuário inexistente) gasta o mesmo
+     * tempo e retorna false, para não revelar quais usuários existem.
+     * @return Futuro com o resultado; falha com {@link RejectedExecutionException} se o pool estiver saturado.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        return submit(() -> {
+            boolean matches = encoder.matches(rawPassword, passwordHash != null ? passwordHash : dummyHash);
+            return matches && passwordHash != null;
+        });
+    }
+
+    /**
+     * Gera o hash de uma senha (cadastro ou rehash após aumento do custo).
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Indica se o hash foi gerado com custo menor que o configurado e deve ser refeito no próximo login.
+     */
+    public boolean needsRehash(String passwordHash) {
+        return encoder.upgradeEncoding(passwordHash);
+    }
+
+    public int getQueuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.mercadotech.authservice.service;
+
+import com.mercadotech.authservice.model.User;
+import com.mercadotech.authservice.model.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache de usuários e roles em memória, na frente do {@link UserRepository}.
+ *
+ * Os usuários são carregados inteiros na subida e recarregados periodicamente; logins leem só do mapa, sem lock e
+ * sem ir ao banco. Um usuário criado em outra instância e ainda não recarregado é buscado no banco no primeiro login.
+ * Nomes não encontrados ficam marcados por {@code negativeTtl}, para que logins repetidos com um usuário inexistente
+ * (digitação errada, varredura de nomes) não consultem o banco a cada tentativa. O usuário criado em outra instância
+ * logo depois de uma tentativa fica visível aqui em até {@code negativeTtl}; gravado por esta instância, na hora.
+ * As entradas são imutáveis, então podem ser lidas por qualquer thread sem cópia.
+ */
+@Service
+public class UserDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDirectory.class);
+
+    private final UserRepository userRepository;
+    private volatile Map<String, CachedUser> byUsername = new ConcurrentHashMap<>();
+    private final Map<String, Long> missingUntil = new ConcurrentHashMap<>();
+    private final long negativeTtlNanos;
+    private final int maxNegativeEntries;
+
+    /**
+     * @param negativeTtl Por quanto tempo um nome não encontrado é respondido sem ir ao banco; 0 desliga.
+     * @param maxNegativeEntries Limite de nomes não encontrados em memória.
+     */
+    public UserDirectory(UserRepository userRepository,
+                         @Value("${auth.user-cache.negative-ttl:30s}") Duration negativeTtl,
+                         @Value("${auth.user-cache.max-negative-entries:10000}") int maxNegativeEntries) {
+        this.userRepository = userRepository;
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.maxNegativeEntries = maxNegativeEntries;
+    }
+
+    public Optional<CachedUser> findByUsername(String username) {
+        CachedUser cached = byUsername.get(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long now = System.nanoTime();
+        Long until = missingUntil.get(username);
+        if (until != null) {
+            if (now - until < 0) {
+                return Optional.empty();
+            }
+            missingUntil.remove(username, until);
+        }
+        Optional<CachedUser> loaded = userRepository.findByUsername(username).map(CachedUser::of);
+        if (loaded.isPresent()) {
+            byUsername.put(username, loaded.get());
+        } else {
+            rememberMissing(username, now);
+        }
+        return loaded;
+    }
+
+    /**
+     * Grava o usuário no banco e atualiza o cache.
+     */
+    public CachedUser save(User user) {
+        CachedUser saved = CachedUser.of(userRepository.save(user));
+        byUsername.put(saved.username(), saved);
+        missingUntil.remove(saved.username());
+        return saved;
+    }
+
+    /**
+     * Atualiza só o hash da senha (rehash após aumento do custo do BCrypt).
+     */
+    public void updatePasswordHash(CachedUser user, String passwordHash) {
+        userRepository.findById(user.id()).ifPresent(entity -> {
+            entity.setPasswordHash(passwordHash);
+            save(entity);
+        });
+    }
+
+    public int size() {
+        return byUsername.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.user-cache.refresh-interval:300000}", initialDelayString = "${auth.user-cache.refresh-interval:300000}")
+    public void reload() {
+        Map<String, CachedUser> reloaded = new ConcurrentHashMap<>();
+        for (User user : userRepository.findAll()) {
+            reloaded.put(user.getUsername(), CachedUser.of(user));
+        }
+        byUsername = reloaded; // Troca atômica: leitores veem o mapa antigo ou o novo, nunca um parcial
+        missingUntil.clear(); // A carga completa já traz quem foi criado em outra instância
+        log.info("Cache de usuários carregado: {} usuários", reloaded.size());
+    }
+
+    private void rememberMissing(String username, long now) {
+        if (negativeTtlNanos == 0) {
+            return;
+        }
+        if (missingUntil.size() >= maxNegativeEntries) {
+            missingUntil.values().removeIf(until -> now - until >= 0);
+            if (missingUntil.size() >= maxNegativeEntries) {
+                return; // Muitos nomes distintos ao mesmo tempo: o limite de memória vale mais que evitar a consulta
+            }
+        }
+        missingUntil.put(username, now + negativeTtlNanos);
+    }
+
+    public record CachedUser(String id, String username, String passwordHash, List<String> roles) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getPasswordHash(), List.copyOf(user.getRoles()));
+        }
+    }
+}
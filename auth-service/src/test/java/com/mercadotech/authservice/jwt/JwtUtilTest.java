@@ -0,0 +1,97 @@
+package com.mercadotech.authservice.jwt;
+
+import com.mercadotech.commons.security.JsonWebKeys;
+import com.mercadotech.commons.security.JwksPublicKeyCache;
+import com.mercadotech.commons.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilTest {
+
+    private static final String SECRET = "uma-chave-secreta-super-segura-com-mais-32-bytes";
+
+    private JwtKeyManager keyManager;
+
+    @BeforeEach
+    void setUp() {
+        keyManager = new JwtKeyManager();
+        ReflectionTestUtils.setField(keyManager, "rotation", Duration.ofHours(24));
+        ReflectionTestUtils.setField(keyManager, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(keyManager, "keysDir", "");
+        keyManager.init();
+    }
+
+    @Test
+    void shouldSignEs256TokenVerifiableWithPublishedJwks() {
+        JwtUtil jwtUtil = jwtUtil(SignatureAlgorithm.ES256);
+        String token = jwtUtil.generateToken("1", "gerente", List.of("GERENTE"));
+
+        assertEquals(keyManager.currentKey().kid(), JwtVerifier.keyId(token));
+        Claims claims = verifier().verify(token);
+        assertEquals("1", claims.getSubject());
+        assertEquals(List.of("GERENTE"), claims.get("roles", List.class));
+    }
+
+    @Test
+    void shouldKeepPreviousKeyPublishedAfterRotation() {
+        JwtUtil jwtUtil = jwtUtil(SignatureAlgorithm.ES256);
+        String before = jwtUtil.generateToken("1", "gerente", List.of("GERENTE"));
+        String previousKid = keyManager.currentKey().kid();
+
+        // Simula o passar das 24h: a chave atual fica "vencida" e a próxima verificação gera outra
+        age(previousKid, Duration.ofMinutes(24 * 60 + 30));
+        keyManager.rotateIfDue();
+
+        String after = jwtUtil.generateToken("1", "gerente", List.of("GERENTE"));
+        assertNotEquals(previousKid, JwtVerifier.keyId(after));
+        assertEquals(2, JsonWebKeys.parse(keyManager.jwks()).size());
+
+        JwtVerifier verifier = verifier();
+        assertEquals("1", verifier.verify(before).getSubject());
+        assertEquals("1", verifier.verify(after).getSubject());
+    }
+
+    @Test
+    void shouldRetireKeysAfterLastTokenExpires() {
+        String previousKid = keyManager.currentKey().kid();
+        // Substituída há mais de 1h (expiração dos tokens): nenhum token assinado com ela ainda é válido
+        age(previousKid, Duration.ofHours(26));
+        keyManager.rotateIfDue();
+
+        assertFalse(JsonWebKeys.parse(keyManager.jwks()).containsKey(previousKid));
+        assertEquals(1, JsonWebKeys.parse(keyManager.jwks()).size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void age(String kid, Duration age) {
+        Map<String, JwtKeyManager.SigningKey> keys = (Map<String, JwtKeyManager.SigningKey>) ReflectionTestUtils.getField(keyManager, "keys");
+        JwtKeyManager.SigningKey key = keys.get(kid);
+        keys.put(kid, new JwtKeyManager.SigningKey(kid, key.keyPair(), Instant.now().minus(age)));
+    }
+
+    private JwtUtil jwtUtil(SignatureAlgorithm algorithm) {
+        JwtUtil jwtUtil = new JwtUtil(keyManager);
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", algorithm);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private JwtVerifier verifier() {
+        JwksPublicKeyCache cache = new JwksPublicKeyCache(keyManager::jwks, Duration.ZERO);
+        JwtVerifier verifier = new JwtVerifier(cache);
+        cache.resolve(keyManager.currentKey().kid());
+        return verifier;
+    }
+}
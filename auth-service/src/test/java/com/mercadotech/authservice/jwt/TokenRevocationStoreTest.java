@@ -0,0 +1,95 @@
+package com.mercadotech.authservice.jwt;
+
+import com.mercadotech.authservice.model.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada revogação confirmada, como pelo HTTP
+public class TokenRevocationStoreTest {
+
+    private static final long T0 = Instant.parse("2025-06-01T10:00:00Z").toEpochMilli();
+
+    @Autowired
+    private RevokedTokenRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldReturnOnlyRevocationsAfterGivenSequence() {
+        TokenRevocationStore store = store(T0);
+        store.revoke("a", T0 + 60_000);
+        store.revoke("b", T0 + 60_000);
+        store.revoke("c", T0 + 60_000);
+        store.revoke("c", T0 + 60_000); // Logout repetido
+
+        TokenRevocationStore.RevocationFeed all = store(T0 + TokenRevocationStore.SETTLE.toMillis()).changesSince(0);
+        assertEquals(List.of("a", "b", "c"), jtis(all));
+        assertEquals(all.revocations().get(2).sequence(), all.sequence());
+
+        long afterB = all.revocations().get(1).sequence();
+        assertEquals(List.of("c"), jtis(store(T0).changesSince(afterB)));
+        assertTrue(store(T0).changesSince(all.sequence()).revocations().isEmpty());
+    }
+
+    @Test
+    void shouldKeepRevocationsAndSequenceAcrossRestartsAndInstances() {
+        store(T0).revoke("a", T0 + 60_000);
+        TokenRevocationStore.RevocationFeed before = store(T0 + 60_000 - 1).changesSince(0);
+
+        // Outra instância (ou a mesma depois de um restart): mesmo banco, mesma sequência
+        TokenRevocationStore other = store(T0 + 1_000);
+        other.revoke("b", T0 + 60_000);
+        TokenRevocationStore.RevocationFeed after = store(T0 + 60_000 - 1).changesSince(before.sequence());
+
+        assertEquals(List.of("b"), jtis(after));
+        assertTrue(after.sequence() > before.sequence());
+    }
+
+    @Test
+    void shouldHoldResumePointUntilRevocationsSettle() {
+        TokenRevocationStore store = store(T0);
+        store.revoke("a", T0 + 60_000);
+
+        TokenRevocationStore.RevocationFeed fresh = store.changesSince(0);
+        assertEquals(List.of("a"), jtis(fresh)); // Entregue já...
+        assertEquals(0, fresh.sequence()); // ...mas relida até assentar: uma sequência menor ainda pode ser confirmada
+
+        TokenRevocationStore.RevocationFeed settled = store(T0 + TokenRevocationStore.SETTLE.toMillis()).changesSince(0);
+        assertEquals(settled.revocations().get(0).sequence(), settled.sequence());
+    }
+
+    @Test
+    void shouldDropRevocationsOfExpiredTokens() {
+        TokenRevocationStore store = store(T0);
+        store.revoke("ja-expirado", T0 - 1);
+        store.revoke("expira-logo", T0 + 1);
+        store.revoke("valido", T0 + 60_000);
+
+        store(T0 + 5).pruneExpired();
+
+        assertEquals(List.of("valido"), jtis(store(T0 + 5).changesSince(0)));
+    }
+
+    private TokenRevocationStore store(long now) {
+        return new TokenRevocationStore(repository, Clock.fixed(Instant.ofEpochMilli(now), ZoneOffset.UTC));
+    }
+
+    private static List<String> jtis(TokenRevocationStore.RevocationFeed feed) {
+        return feed.revocations().stream().map(TokenRevocationStore.Revocation::jti).toList();
+    }
+}
@@ -0,0 +1,147 @@
+package com.mercadotech.authservice.service;
+
+import com.mercadotech.authservice.jwt.JwtKeyManager;
+import com.mercadotech.authservice.jwt.JwtUtil;
+import com.mercadotech.authservice.model.User;
+import com.mercadotech.authservice.model.UserRepository;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // O pool de hashing grava em outras threads
+public class LoginServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private PasswordHashingService hashingService;
+    private UserDirectory userDirectory;
+    private LoginService loginService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        hashingService = new PasswordHashingService(4, 2, 100);
+        userDirectory = new UserDirectory(userRepository, Duration.ofMinutes(1), 2);
+        loginService = new LoginService(userDirectory, hashingService, jwtUtil());
+        userRepository.save(new User("user-103", "caixa", hashingService.encode("senha123").join(), Arrays.asList("CAIXA")));
+        userDirectory.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingService.shutdown();
+    }
+
+    @Test
+    void shouldIssueTokenOnlyForValidCredentials() {
+        assertTrue(loginService.login("caixa", "senha123").join().isPresent());
+        assertTrue(loginService.login("caixa", "errada").join().isEmpty());
+        assertTrue(loginService.login("fantasma", "senha123").join().isEmpty());
+        assertTrue(loginService.login(null, null).join().isEmpty());
+    }
+
+    @Test
+    void shouldNeverStorePlaintextPasswords() {
+        String hash = userRepository.findByUsername("caixa").orElseThrow().getPasswordHash();
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertNotEquals(hash, hashingService.encode("senha123").join()); // Salt diferente a cada hash
+    }
+
+    @Test
+    void shouldFindUsersCreatedAfterLastReload() {
+        userRepository.save(new User("user-200", "caixa-loja-7", hashingService.encode("turno").join(), Arrays.asList("CAIXA")));
+
+        assertTrue(loginService.login("caixa-loja-7", "turno").join().isPresent());
+        assertEquals(2, userDirectory.size());
+    }
+
+    @Test
+    void shouldRememberUnknownUsernamesUntilSavedOrReloaded() {
+        assertTrue(userDirectory.findByUsername("caixa-loja-7").isEmpty());
+        // Criado por outra instância logo depois da tentativa: ainda respondido pela marcação, sem ir ao banco
+        userRepository.save(new User("user-200", "caixa-loja-7", hashingService.encode("turno").join(), Arrays.asList("CAIXA")));
+        assertTrue(userDirectory.findByUsername("caixa-loja-7").isEmpty());
+        userDirectory.reload();
+        assertTrue(userDirectory.findByUsername("caixa-loja-7").isPresent());
+
+        assertTrue(userDirectory.findByUsername("caixa-loja-8").isEmpty());
+        userDirectory.save(new User("user-201", "caixa-loja-8", hashingService.encode("turno").join(), Arrays.asList("CAIXA")));
+        assertTrue(userDirectory.findByUsername("caixa-loja-8").isPresent());
+    }
+
+    @Test
+    void shouldBoundUnknownUsernameMarks() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(userDirectory.findByUsername("fantasma-" + i).isEmpty()); // Só as 2 primeiras ficam marcadas
+        }
+        userRepository.save(new User("user-300", "fantasma-9", hashingService.encode("turno").join(), Arrays.asList("CAIXA")));
+        assertTrue(userDirectory.findByUsername("fantasma-9").isPresent());
+    }
+
+    @Test
+    void shouldRehashWhenBcryptCostIsIncreased() throws Exception {
+        PasswordHashingService stronger = new PasswordHashingService(6, 1, 10);
+        try {
+            LoginService upgraded = new LoginService(userDirectory, stronger, jwtUtil());
+            assertTrue(upgraded.login("caixa", "senha123").join().isPresent());
+
+            for (int i = 0; i < 50 && userRepository.findByUsername("caixa").orElseThrow().getPasswordHash().startsWith("$2a$04$"); i++) {
+                Thread.sleep(20);
+            }
+            assertTrue(userRepository.findByUsername("caixa").orElseThrow().getPasswordHash().startsWith("$2a$06$"));
+            assertTrue(upgraded.login("caixa", "senha123").join().isPresent());
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenHashingPoolIsSaturated() {
+        PasswordHashingService tiny = new PasswordHashingService(12, 1, 1); // ~250 ms por verificação
+        try {
+            LoginService saturated = new LoginService(userDirectory, tiny, jwtUtil());
+            List<CompletableFuture<Optional<String>>> logins = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                logins.add(saturated.login("caixa", "senha123"));
+            }
+            // 1 executando + 1 na fila; os demais falham sem esperar
+            CompletionException rejected = assertThrows(CompletionException.class, () -> logins.get(4).join());
+            assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+        } finally {
+            tiny.shutdown();
+        }
+    }
+
+    private static JwtUtil jwtUtil() {
+        JwtKeyManager keyManager = new JwtKeyManager();
+        ReflectionTestUtils.setField(keyManager, "rotation", Duration.ofHours(24));
+        ReflectionTestUtils.setField(keyManager, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(keyManager, "keysDir", "");
+        keyManager.init();
+        JwtUtil jwtUtil = new JwtUtil(keyManager);
+        ReflectionTestUtils.setField(jwtUtil, "secret", "uma-chave-secreta-super-segura-com-mais-32-bytes");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", SignatureAlgorithm.ES256);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
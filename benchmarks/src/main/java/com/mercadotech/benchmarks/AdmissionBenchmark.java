@@ -0,0 +1,91 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.gatewayservice.admission.AdmissionController;
+import com.mercadotech.gatewayservice.admission.PriorityClass;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latência do checkout no {@link AdmissionController} enquanto relatórios inundam o gateway: a cada 500 ms chegam
+ * {@code reportBurst} relatórios (50 ms cada) de uma vez, contra um downstream com capacidade para 20 requisições
+ * simultâneas (acima disso cada requisição extra soma 1 ms). O checkout (5 ms sem carga) deve ficar perto disso
+ * no p99; {@code reportBurst=0} é a referência sem carga. Os relatórios descartados são impressos ao final.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdmissionBenchmark {
+
+    private static final int DOWNSTREAM_CAPACITY = 20;
+
+    @Param({"0", "400"})
+    public int reportBurst;
+
+    private final AtomicInteger downstreamInFlight = new AtomicInteger();
+    private final AtomicInteger reportsShed = new AtomicInteger();
+    private final AtomicInteger reportsSent = new AtomicInteger();
+    private AdmissionController controller;
+    private Disposable flood;
+
+    @Setup
+    public void setUp() {
+        controller = new AdmissionController(64, 8, 512, 256, new SimpleMeterRegistry());
+        flood = Flux.interval(Duration.ZERO, Duration.ofMillis(500))
+                .subscribe(tick -> {
+                    for (int i = 0; i < reportBurst; i++) {
+                        reportsSent.incrementAndGet();
+                        call(PriorityClass.REPORT).subscribe(latency -> { }, error -> reportsShed.incrementAndGet());
+                    }
+                });
+    }
+
+    @TearDown
+    public void tearDown() {
+        flood.dispose();
+        System.out.printf("%nRelatórios descartados: %d de %d; limite final: %d%n",
+                reportsShed.get(), reportsSent.get(), controller.getLimit());
+    }
+
+    @Benchmark
+    public Long checkout() {
+        return call(PriorityClass.CRITICAL).block();
+    }
+
+    private Mono<Long> call(PriorityClass priority) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return controller.acquire(priority).flatMap(permit -> {
+                int concurrent = downstreamInFlight.incrementAndGet();
+                long baseMillis = priority == PriorityClass.REPORT ? 50 : 5; // Relatórios são consultas pesadas
+                Duration latency = Duration.ofMillis(baseMillis + Math.max(0, concurrent - DOWNSTREAM_CAPACITY));
+                return Mono.delay(latency)
+                        .doFinally(s -> {
+                            downstreamInFlight.decrementAndGet();
+                            permit.release(System.nanoTime() - permit.getAdmittedAt(), false);
+                        })
+                        .map(x -> System.nanoTime() - start);
+            });
+        });
+    }
+}
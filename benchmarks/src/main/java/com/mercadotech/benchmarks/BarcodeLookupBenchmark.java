@@ -0,0 +1,75 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.productservice.barcode.BarcodeIndex;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta por código de barras no PDV: o {@link BarcodeIndex} (chaves {@code long} sem boxing) comparado a um
+ * {@code HashMap<Long, ProductResponseDTO>}. {@code products} produtos com o EAN-13 da unidade e o GTIN-14 da caixa;
+ * 10% das consultas são de códigos não cadastrados. A memória de cada um aparece com {@code -prof gc} na carga, e a do
+ * índice em produção no endpoint {@code /actuator/barcodeindex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BarcodeLookupBenchmark {
+
+    private static final int QUERIES = 1 << 20;
+
+    @Param({"250000"})
+    public int products;
+
+    private BarcodeIndex index;
+    private Map<Long, ProductResponseDTO> boxed;
+    private final long[] queries = new long[QUERIES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        long[] codes = new long[products * 2];
+        index = new BarcodeIndex(codes.length);
+        boxed = new HashMap<>();
+        for (int i = 0; i < products; i++) {
+            ProductResponseDTO product = new ProductResponseDTO(i + 1L, "Produto " + i, BigDecimal.TEN, "Mercearia", "UN");
+            codes[2 * i] = CatalogFixtures.withCheckDigit(789100000000L + i * 7L);
+            codes[2 * i + 1] = CatalogFixtures.withCheckDigit(1_789100000000L + i * 7L);
+            index.put(product, new long[]{codes[2 * i], codes[2 * i + 1]});
+            boxed.put(codes[2 * i], product);
+            boxed.put(codes[2 * i + 1], product);
+        }
+        Random random = new Random(1);
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = i % 10 == 0 ? 7890000000000L + random.nextInt(1000) : codes[random.nextInt(codes.length)];
+        }
+    }
+
+    @Benchmark
+    public ProductResponseDTO barcodeIndex() {
+        return index.find(queries[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public ProductResponseDTO hashMap() {
+        return boxed.get(queries[next++ & (QUERIES - 1)]);
+    }
+}
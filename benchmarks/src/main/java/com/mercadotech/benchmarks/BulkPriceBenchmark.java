@@ -0,0 +1,96 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.productservice.dto.BulkPriceUpdateDTO;
+import com.mercadotech.productservice.dto.ImportReportDTO;
+import com.mercadotech.productservice.importer.CatalogImportService;
+import com.mercadotech.productservice.importer.CatalogRowReader;
+import com.mercadotech.productservice.pricing.BulkPriceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reajuste de preços em lote ({@link BulkPriceService}) sobre {@code products} produtos em 40 categorias, em blocos
+ * de 1000 por transação, contra um H2 embarcado: percentual em todas as categorias (uma requisição por categoria) e
+ * lista de preços de um fornecedor com um a cada 5 produtos. Cada medição é o reajuste inteiro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkPriceBenchmark {
+
+    @Param({"100000"})
+    public int products;
+
+    private AnnotationConfigApplicationContext context;
+    private BulkPriceService priceService;
+    private List<Long> categories;
+    private List<BulkPriceUpdateDTO.Item> supplierPrices;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new AnnotationConfigApplicationContext(ProductJpaConfiguration.class);
+        ImportReportDTO report = context.getBean(CatalogImportService.class)
+                .importCatalog(CatalogRowReader.csv(new CatalogFixtures.GeneratedCsv(products)));
+        if (report.getCreated() != products) {
+            throw new IllegalStateException("Catálogo incompleto: " + report.getCreated() + " de " + products);
+        }
+        priceService = context.getBean(BulkPriceService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        categories = jdbcTemplate.queryForList("select id from category order by id", Long.class);
+        List<Long> ids = jdbcTemplate.queryForList("select id from product order by id", Long.class);
+        supplierPrices = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += 5) {
+            Long id = ids.get(i);
+            supplierPrices.add(new BulkPriceUpdateDTO.Item(id, new BigDecimal((id % 300) + ".49")));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long percentByCategory() {
+        long updated = 0;
+        for (Long categoryId : categories) {
+            updated += priceService.apply(new BulkPriceUpdateDTO(categoryId, null, new BigDecimal("3"), null, null))
+                    .getUpdated();
+        }
+        return check(updated, products);
+    }
+
+    @Benchmark
+    public long supplierPriceList() {
+        return check(priceService.apply(new BulkPriceUpdateDTO(null, null, null, null, supplierPrices)).getUpdated(),
+                supplierPrices.size());
+    }
+
+    private static long check(long updated, long expected) {
+        if (updated != expected) {
+            throw new IllegalStateException("Reajustados " + updated + " produtos (esperado " + expected + ")");
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,61 @@
+package com.mercadotech.benchmarks;
+
+import java.io.Reader;
+
+/**
+ * Dados sintéticos do catálogo do product-service, como nos testes dele.
+ */
+final class CatalogFixtures {
+
+    private CatalogFixtures() {
+    }
+
+    /**
+     * GTIN válido: {@code withoutCheck} seguido do dígito verificador.
+     */
+    static long withCheckDigit(long withoutCheck) {
+        int sum = 0;
+        long rest = withoutCheck;
+        for (int position = 1; rest > 0; position++, rest /= 10) {
+            sum += (int) (rest % 10) * (position % 2 == 1 ? 3 : 1);
+        }
+        return withoutCheck * 10 + (10 - sum % 10) % 10;
+    }
+
+    /**
+     * CSV de importação com {@code rows} produtos em 40 categorias, produzido linha a linha conforme é lido (não fica
+     * em memória). A mesma quantidade gera sempre os mesmos códigos de barras: reimportar atualiza os produtos.
+     */
+    static final class GeneratedCsv extends Reader {
+        private final int rows;
+        private int next = -1; // -1 = cabeçalho
+        private String line = "";
+        private int position;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == line.length()) {
+                if (next == rows) {
+                    return -1;
+                }
+                line = next < 0 ? "name,price,category,unit,barcodes\n"
+                        : "Produto Fornecedor " + next + "," + (1 + next % 500) + ".99,Categoria " + next % 40
+                        + ",UN," + withCheckDigit(789_000_000_000L + next) + "\n";
+                next++;
+                position = 0;
+            }
+            int count = Math.min(length, line.length() - position);
+            line.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
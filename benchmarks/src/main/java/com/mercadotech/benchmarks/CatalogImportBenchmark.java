@@ -0,0 +1,95 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.productservice.barcode.BarcodeService;
+import com.mercadotech.productservice.dto.ImportReportDTO;
+import com.mercadotech.productservice.importer.CatalogImportService;
+import com.mercadotech.productservice.importer.CatalogRowReader;
+import com.mercadotech.productservice.search.ProductSearchService;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação em lote do catálogo ({@link CatalogImportService}) de um CSV com {@code rows} produtos, em blocos de
+ * 1000 linhas por transação, contra um H2 embarcado: inclusão num catálogo vazio e atualização de todos os produtos
+ * (reimportação do mesmo arquivo, casando pelo código de barras). Cada medição é uma importação inteira.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CatalogImportBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private AnnotationConfigApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private CatalogImportService importService;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(ProductJpaConfiguration.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        importService = context.getBean(CatalogImportService.class);
+    }
+
+    /**
+     * Catálogo vazio antes de cada inclusão; já importado uma vez antes de cada atualização.
+     */
+    @Setup(Level.Iteration)
+    public void prepareCatalog(BenchmarkParams params) throws IOException {
+        jdbcTemplate.update("delete from product_barcode");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from category");
+        jdbcTemplate.update("delete from unit");
+        context.getBean(ReferenceDataService.class).reload();
+        context.getBean(BarcodeService.class).rebuild();
+        context.getBean(ProductSearchService.class).rebuild();
+        if (params.getBenchmark().endsWith(".update")) {
+            check(create(), true);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportReportDTO create() throws IOException {
+        return check(importService.importCatalog(CatalogRowReader.csv(new CatalogFixtures.GeneratedCsv(rows))), true);
+    }
+
+    @Benchmark
+    public ImportReportDTO update() throws IOException {
+        return check(importService.importCatalog(CatalogRowReader.csv(new CatalogFixtures.GeneratedCsv(rows))), false);
+    }
+
+    private ImportReportDTO check(ImportReportDTO report, boolean created) {
+        if ((created ? report.getCreated() : report.getUpdated()) != rows) {
+            throw new IllegalStateException("Importação inesperada: " + report.getCreated() + " incluídos, "
+                    + report.getUpdated() + " atualizados, " + report.getFailed() + " com erro (esperado " + rows + ")");
+        }
+        return report;
+    }
+}
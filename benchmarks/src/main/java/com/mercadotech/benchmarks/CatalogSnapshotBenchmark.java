@@ -0,0 +1,88 @@
+package com.mercadotech.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.productservice.dto.ImportReportDTO;
+import com.mercadotech.productservice.importer.CatalogImportService;
+import com.mercadotech.productservice.importer.CatalogRowReader;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import com.mercadotech.productservice.snapshot.CatalogSnapshotService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração do snapshot do catálogo ({@link CatalogSnapshotService#generate}) com {@code products} produtos de um
+ * código cada, contra um H2 embarcado: leitura numa transação, NDJSON e gzip com compressão máxima. O tamanho do
+ * arquivo sai na saída do fork, ao final.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    @Param({"100000"})
+    public int products;
+
+    private AnnotationConfigApplicationContext context;
+    private Path directory;
+    private CatalogSnapshotService snapshotService;
+    private CatalogSnapshotService.CatalogSnapshot last;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new AnnotationConfigApplicationContext(ProductJpaConfiguration.class);
+        ImportReportDTO report = context.getBean(CatalogImportService.class)
+                .importCatalog(CatalogRowReader.csv(new CatalogFixtures.GeneratedCsv(products)));
+        if (report.getCreated() != products) {
+            throw new IllegalStateException("Catálogo incompleto: " + report.getCreated() + " de " + products);
+        }
+        directory = Files.createTempDirectory("catalog-snapshot");
+        snapshotService = new CatalogSnapshotService(context.getBean(CatalogVersionService.class),
+                context.getBean(ProductRepository.class), context.getBean(CategoryRepository.class),
+                context.getBean(UnitRepository.class), context.getBean(PlatformTransactionManager.class),
+                context.getBean(ObjectMapper.class), directory, 30_000, 600_000, 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (last != null) {
+            System.out.printf("%d produtos: %d KB compactado (%.1f bytes/produto)%n", products,
+                    last.info().getBytes() / 1024, last.info().getBytes() / (double) products);
+        }
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public CatalogSnapshotService.CatalogSnapshot generate() throws IOException {
+        CatalogSnapshotService.CatalogSnapshot snapshot = snapshotService.generate();
+        if (snapshot.info().getProducts() != products) {
+            throw new IllegalStateException("Snapshot com " + snapshot.info().getProducts() + " produtos");
+        }
+        last = snapshot;
+        return snapshot;
+    }
+}
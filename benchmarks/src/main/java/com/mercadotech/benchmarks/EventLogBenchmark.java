@@ -0,0 +1,127 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.commons.eventlog.EventLog;
+import com.mercadotech.commons.eventlog.EventRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link EventLog} do commons: gravação sem esperar o disco, gravação durável com 8 threads (um fsync atende o grupo
+ * que esperava), leitura em lotes de 500 e o tempo de abertura (recuperação) de um log com 500 mil eventos. Os
+ * eventos têm o tamanho de uma saída de estoque serializada em JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventLogBenchmark {
+
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final int PREPARED_EVENTS = 500_000;
+    private static final int BATCH = 500;
+    private static final byte[] PAYLOAD = ("{\"tipo\":\"SAIDA_ESTOQUE\",\"produtoId\":1042,\"quantidade\":3,"
+            + "\"motivo\":\"VENDA\",\"data\":\"2025-06-01T10:15:30\"}").getBytes(StandardCharsets.UTF_8);
+
+    private Path appendDirectory;
+    private EventLog appendLog;
+
+    private Path preparedDirectory;
+    private EventLog preparedLog;
+    private long readOffset;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        preparedDirectory = Files.createTempDirectory("eventlog-prepared");
+        try (EventLog eventLog = new EventLog(preparedDirectory, SEGMENT_BYTES, 200)) {
+            for (int i = 0; i < PREPARED_EVENTS; i++) {
+                eventLog.append(PAYLOAD);
+            }
+        }
+        preparedLog = new EventLog(preparedDirectory, SEGMENT_BYTES, 200);
+    }
+
+    @Setup(Level.Iteration)
+    public void openAppendLog() throws IOException {
+        // Log novo a cada iteração para o disco não crescer sem limite
+        appendDirectory = Files.createTempDirectory("eventlog-append");
+        appendLog = new EventLog(appendDirectory, SEGMENT_BYTES, 200);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeAppendLog() throws IOException {
+        appendLog.close();
+        delete(appendDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        preparedLog.close();
+        delete(preparedDirectory);
+    }
+
+    @Benchmark
+    public long append() {
+        return appendLog.append(PAYLOAD);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long appendDurable() throws InterruptedException {
+        long offset = appendLog.append(PAYLOAD);
+        appendLog.sync(offset);
+        return offset;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void consume(Blackhole blackhole) {
+        List<EventRecord> records = preparedLog.read(readOffset, BATCH);
+        for (EventRecord record : records) {
+            blackhole.consume(record.payload());
+        }
+        readOffset = records.size() < BATCH ? 0 : readOffset + BATCH;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public long recover() throws IOException {
+        try (EventLog eventLog = new EventLog(preparedDirectory, SEGMENT_BYTES, 200)) {
+            return eventLog.nextOffset();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
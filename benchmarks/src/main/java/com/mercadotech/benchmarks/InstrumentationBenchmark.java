@@ -0,0 +1,92 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.commons.instrumentation.CallMetrics;
+import com.mercadotech.commons.instrumentation.CallTimers;
+import com.mercadotech.commons.instrumentation.TimedMethodInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação do commons por chamada medida: chamada direta, proxy de repositório sem interceptor (como
+ * o do Spring Data), o mesmo proxy com o {@link TimedMethodInterceptor} e só a gravação em {@link CallTimers}. Com
+ * {@code -prof gc}, {@code gc.alloc.rate.norm} dá os bytes alocados por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    private EstoqueRepository direct;
+    private EstoqueRepository untimed;
+    private EstoqueRepository timed;
+    private CallTimers callTimers;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        CallMetrics metrics = new CallMetrics(new SimpleMeterRegistry());
+        direct = new EstoqueRepositoryImpl();
+        untimed = repository(null);
+        timed = repository(metrics);
+        callTimers = metrics.timers(CallMetrics.LAYER_REPOSITORY, "EstoqueRepository", "findById");
+    }
+
+    @Benchmark
+    public long direct() {
+        return direct.findById(id++);
+    }
+
+    @Benchmark
+    public long proxy() {
+        return untimed.findById(id++);
+    }
+
+    @Benchmark
+    public long timedProxy() {
+        return timed.findById(id++);
+    }
+
+    @Benchmark
+    public void record() {
+        callTimers.record(System.nanoTime() - 1_000, false);
+    }
+
+    /**
+     * Proxy como o que o Spring Data monta, com o interceptor que a auto-configuração acrescenta (ou nenhum).
+     */
+    private static EstoqueRepository repository(CallMetrics metrics) {
+        ProxyFactory proxyFactory = new ProxyFactory(new EstoqueRepositoryImpl());
+        proxyFactory.addInterface(EstoqueRepository.class);
+        if (metrics != null) {
+            proxyFactory.addAdvice(new TimedMethodInterceptor(() -> metrics, CallMetrics.LAYER_REPOSITORY,
+                    EstoqueRepository.class.getSimpleName()));
+        }
+        return (EstoqueRepository) proxyFactory.getProxy();
+    }
+
+    public interface EstoqueRepository {
+        long findById(long id);
+    }
+
+    static class EstoqueRepositoryImpl implements EstoqueRepository {
+        @Override
+        public long findById(long id) {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.authservice.jwt.JwtKeyManager;
+import com.mercadotech.authservice.jwt.JwtUtil;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+/**
+ * Chaves e emissor de tokens do auth-service montados fora do Spring, como nos testes do auth-service.
+ */
+final class JwtFixtures {
+
+    static final String SECRET = "uma-chave-secreta-super-segura-com-mais-32-bytes";
+
+    private JwtFixtures() {
+    }
+
+    static JwtKeyManager keyManager() {
+        JwtKeyManager keyManager = new JwtKeyManager();
+        ReflectionTestUtils.setField(keyManager, "rotation", Duration.ofHours(24));
+        ReflectionTestUtils.setField(keyManager, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(keyManager, "keysDir", "");
+        keyManager.init();
+        return keyManager;
+    }
+
+    static JwtUtil jwtUtil(JwtKeyManager keyManager, SignatureAlgorithm algorithm) {
+        JwtUtil jwtUtil = new JwtUtil(keyManager);
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", algorithm);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.authservice.jwt.JwtKeyManager;
+import com.mercadotech.commons.security.JwksPublicKeyCache;
+import com.mercadotech.commons.security.JwtVerifier;
+import com.mercadotech.commons.security.TokenRevocationList;
+import com.mercadotech.gatewayservice.AuthenticationFilter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autenticação de uma requisição no gateway ({@link AuthenticationFilter}): verificação do JWT com a chave pública
+ * já em cache, consulta à lista de revogação e propagação dos headers {@code X-Auth-*}. Tokens ES256 (atuais) e
+ * HS256 (legado, durante a migração). O filtro usa o cache de tokens verificados, como em produção (o PDV repete o
+ * mesmo token); {@link #verify} mede só a assinatura ({@link JwtVerifier} sem cache), sem o filtro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    @Param({"ES256", "HS256"})
+    public String algorithm;
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+    private AuthenticationFilter filter;
+    private JwtVerifier verifier;
+    private String token;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtKeyManager keyManager = JwtFixtures.keyManager();
+        token = JwtFixtures.jwtUtil(keyManager, SignatureAlgorithm.valueOf(algorithm))
+                .generateToken("1", "gerente", List.of("GERENTE", "CAIXA"));
+        JwksPublicKeyCache keyCache = new JwksPublicKeyCache(keyManager::jwks, Duration.ZERO);
+        keyCache.resolve(keyManager.currentKey().kid()); // Medimos o caso comum: kid já conhecido
+        Instant legacyUntil = Instant.now().plus(Duration.ofDays(1)); // Janela de migração aberta durante a medição
+        verifier = new JwtVerifier(keyCache, JwtFixtures.SECRET, legacyUntil, 0, Duration.ZERO);
+        filter = new AuthenticationFilter(new JwtVerifier(keyCache, JwtFixtures.SECRET, legacyUntil),
+                new TokenRevocationList(100_000));
+        authorization = "Bearer " + token;
+        authenticate(); // Falha já no setup se o token não for aceito
+    }
+
+    @Benchmark
+    public MockServerWebExchange authenticate() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/products/1")
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return verifier.verify(token);
+    }
+}
@@ -0,0 +1,82 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.authservice.model.User;
+import com.mercadotech.authservice.model.UserRepository;
+import com.mercadotech.authservice.service.LoginService;
+import com.mercadotech.authservice.service.PasswordHashingService;
+import com.mercadotech.authservice.service.UserDirectory;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Troca de turno: 64 caixas logando ao mesmo tempo ({@link LoginService#login}) com o custo do BCrypt de produção.
+ * Mede logins por segundo e a distribuição da latência (p50, p99) de cada login, fila do pool de hashing incluída.
+ * Os usuários ficam no cache do {@link UserDirectory}, carregado de um repositório simulado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class LoginStormBenchmark {
+
+    @Param({"2000"})
+    public int cashiers;
+
+    @Param({"10"})
+    public int bcryptStrength;
+
+    private PasswordHashingService hashingService;
+    private LoginService loginService;
+
+    @Setup
+    public void setUp() {
+        hashingService = new PasswordHashingService(bcryptStrength, 0, 5000);
+        String hash = hashingService.encode("turno").join();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < cashiers; i++) {
+            users.add(new User("caixa-" + i, "caixa-" + i, hash, List.of("CAIXA")));
+        }
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findAll()).thenReturn(users);
+        UserDirectory userDirectory = new UserDirectory(userRepository, Duration.ofSeconds(30), 10_000);
+        userDirectory.reload();
+        loginService = new LoginService(userDirectory, hashingService,
+                JwtFixtures.jwtUtil(JwtFixtures.keyManager(), SignatureAlgorithm.ES256));
+        if (login().isEmpty()) {
+            throw new IllegalStateException("Login recusado no setup");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashingService.shutdown();
+    }
+
+    @Benchmark
+    public Optional<String> login() {
+        return loginService.login("caixa-" + ThreadLocalRandom.current().nextInt(cashiers), "turno").join();
+    }
+}
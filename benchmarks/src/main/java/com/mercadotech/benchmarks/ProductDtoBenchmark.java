@@ -0,0 +1,106 @@
+package com.mercadotech.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.productservice.controller.ProductController;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.model.Unit;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem da resposta de produtos: {@link ProductController#convertToDto} (nomes de categoria e unidade pelo
+ * snapshot de referência) e a serialização JSON com um ObjectMapper configurado como o do Spring Boot. Um produto
+ * ({@code GET /v1/products/{id}}) e uma página de 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductDtoBenchmark {
+
+    @Param({"1", "100"})
+    public int products;
+
+    private ProductController controller;
+    private ObjectMapper objectMapper;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            Category category = new Category();
+            category.setId(id);
+            category.setName("Categoria " + id);
+            categories.add(category);
+        }
+        List<Unit> units = new ArrayList<>();
+        for (String abbreviation : List.of("UN", "KG", "L", "CX", "PCT")) {
+            Unit unit = new Unit();
+            unit.setId((long) units.size() + 1);
+            unit.setAbbreviation(abbreviation);
+            unit.setDescription(abbreviation);
+            units.add(unit);
+        }
+        // Só a carga inicial do snapshot lê os repositórios
+        CategoryRepository categoryRepository = Mockito.mock(CategoryRepository.class);
+        Mockito.when(categoryRepository.findAll()).thenReturn(categories);
+        UnitRepository unitRepository = Mockito.mock(UnitRepository.class);
+        Mockito.when(unitRepository.findAll()).thenReturn(units);
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ReferenceDataService referenceData = new ReferenceDataService(categoryRepository, unitRepository, objectMapper);
+        referenceData.reload();
+        controller = new ProductController(null, null, null, null, null, null, referenceData, null, objectMapper);
+
+        page = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            Product product = new Product();
+            product.setId(1000L + i);
+            product.setName("Refrigerante Cola 2L " + i);
+            product.setPrice(new BigDecimal("9.99"));
+            product.setCategory(categories.get(i % categories.size()));
+            product.setUnit(units.get(i % units.size()));
+            page.add(product);
+        }
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> convertToDto() {
+        List<ProductResponseDTO> dtos = new ArrayList<>(page.size());
+        for (Product product : page) {
+            dtos.add(controller.convertToDto(product));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public byte[] convertToDtoAndSerialize() throws JsonProcessingException {
+        List<ProductResponseDTO> dtos = convertToDto();
+        return products == 1 ? objectMapper.writeValueAsBytes(dtos.get(0)) : objectMapper.writeValueAsBytes(dtos);
+    }
+}
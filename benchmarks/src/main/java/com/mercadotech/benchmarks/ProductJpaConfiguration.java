@@ -0,0 +1,88 @@
+package com.mercadotech.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.productservice.barcode.BarcodeService;
+import com.mercadotech.productservice.importer.CatalogImportService;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.pricing.BulkPriceService;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.search.ProductSearchService;
+import com.mercadotech.productservice.service.CatalogChangeListener;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import com.mercadotech.productservice.service.ProductCatalogService;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Contexto JPA mínimo do product-service, sem auto-configuração do Spring Boot: entidades, repositórios e os
+ * serviços do catálogo sobre um H2 embarcado. O {@link CatalogChangeListener} das entidades vem do contexto (bean
+ * container do Hibernate), como na aplicação, e carimba a versão do catálogo nas gravações pelo JPA. Os
+ * {@code @Value} ficam com os valores padrão.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableTransactionManagement(proxyTargetClass = true) // Proxies por subclasse, como o padrão do Spring Boot
+@EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+@Import({CatalogChangeListener.class, CatalogVersionService.class, ReferenceDataService.class,
+        ProductCatalogService.class, BarcodeService.class, ProductSearchService.class, CatalogImportService.class,
+        BulkPriceService.class})
+class ProductJpaConfiguration {
+
+    @Bean
+    static PropertySourcesPlaceholderConfigurer placeholderConfigurer() {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
+    @Bean
+    DataSource dataSource() {
+        return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+    }
+
+    @Bean
+    LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
+                                                                ConfigurableListableBeanFactory beanFactory) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(Product.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory)));
+        return factory;
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory.getObject());
+    }
+
+    @Bean
+    JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build(); // Mesmos módulos e opções do ObjectMapper do Spring Boot
+    }
+}
@@ -0,0 +1,102 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.productservice.search.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete do catálogo ({@link ProductSearchIndex}) com {@code products} SKUs sintéticos (tipo, marca, variante e
+ * tamanho): latência da busca por consulta (com percentis), atualização incremental de um produto e reconstrução
+ * completa do índice, como na subida do serviço.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] TYPES = {"Arroz", "Feijão", "Açúcar", "Café", "Leite", "Óleo", "Macarrão", "Biscoito",
+            "Sabão", "Detergente", "Refrigerante", "Suco", "Água", "Cerveja", "Iogurte", "Queijo", "Presunto", "Farinha",
+            "Molho", "Achocolatado"};
+    private static final String[] BRANDS = {"Tio João", "Camil", "União", "Pilão", "Itambé", "Soya", "Renata",
+            "Piraquê", "Ypê", "Omo", "Coca-Cola", "Del Valle", "Crystal", "Brahma", "Danone", "Sadia", "Perdigão",
+            "Dona Benta", "Quero", "Nescau"};
+    private static final String[] VARIANTS = {"Tradicional", "Integral", "Light", "Zero", "Orgânico", "Premium", "Extra",
+            "Refil", "Família", "Especial"};
+    private static final String[] SIZES = {"200g", "500g", "1kg", "2kg", "5kg", "350ml", "1L", "2L", "Pack 6", "Cx 12"};
+    private static final int UPSERTED = 1000;
+
+    @Param({"200000"})
+    public int products;
+
+    private List<ProductSearchIndex.Entry> entries;
+    private ProductSearchIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        entries = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            entries.add(new ProductSearchIndex.Entry(i, TYPES[random.nextInt(TYPES.length)] + " "
+                    + BRANDS[random.nextInt(BRANDS.length)] + " " + VARIANTS[random.nextInt(VARIANTS.length)] + " "
+                    + SIZES[random.nextInt(SIZES.length)] + " " + i));
+        }
+        index = new ProductSearchIndex();
+        index.rebuild(entries);
+    }
+
+    @Benchmark
+    public List<ProductSearchIndex.Suggestion> search(Query query) {
+        return index.search(query.text, 10);
+    }
+
+    /**
+     * Alterna o nome de {@value #UPSERTED} produtos (o mesmo nome não mudaria o índice).
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void upsert() {
+        int n = next++;
+        index.upsert(products + n % UPSERTED, "Arroz Camil Tradicional 5kg " + (n / UPSERTED % 2 == 0 ? "novo " : "")
+                + n % UPSERTED);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public ProductSearchIndex rebuild() {
+        ProductSearchIndex rebuilt = new ProductSearchIndex();
+        rebuilt.rebuild(entries);
+        return rebuilt;
+    }
+
+    /**
+     * Consulta da busca, em estado próprio para as outras medições não se repetirem por consulta.
+     */
+    @State(Scope.Benchmark)
+    public static class Query {
+
+        // Prefixo curto (muitos candidatos), vários termos, só números e sem resultado
+        @Param({"a", "arr", "feijao camil", "leite ita integ", "sabao omo refil", "12345", "xyz"})
+        public String text;
+    }
+}
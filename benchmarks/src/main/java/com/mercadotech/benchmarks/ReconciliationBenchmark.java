@@ -0,0 +1,197 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.commons.reconciliation.BucketDigest;
+import com.mercadotech.commons.reconciliation.DayDigest;
+import com.mercadotech.commons.reconciliation.ProductTotals;
+import com.mercadotech.salesservice.client.StockServiceFeignClient;
+import com.mercadotech.salesservice.dto.RelatorioReconciliacaoDTO;
+import com.mercadotech.salesservice.dto.SaidaEstoqueDTO;
+import com.mercadotech.salesservice.entity.Venda;
+import com.mercadotech.salesservice.repository.VendaRepository;
+import com.mercadotech.salesservice.service.ReconciliacaoService;
+import com.mercadotech.salesservice.service.SalesService;
+import com.mercadotech.stockservice.repository.SaidaEstoqueRepository;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconciliação de um ano inteiro ({@link ReconciliacaoService} do sales-service) contra o lado do stock-service, cada
+ * um com o seu H2 embarcado e o mapeamento JPA do serviço. O Feign client é trocado por chamadas diretas ao serviço
+ * de reconciliação do stock-service (sem HTTP). Cada produto tem 3 vendas por dia, e 1 em cada
+ * {@code divergencePeriod} dias tem uma venda desfeita depois da baixa (saída sem venda).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReconciliationBenchmark {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2025, 12, 31);
+    private static final int SALES_PER_DAY = 3;
+
+    @Param({"200"})
+    public int products;
+
+    @Param({"30"})
+    public int divergencePeriod;
+
+    private AnnotationConfigApplicationContext stockContext;
+    private AnnotationConfigApplicationContext salesContext;
+    private ReconciliacaoService reconciliacaoService;
+
+    @Setup
+    public void setUp() {
+        stockContext = new AnnotationConfigApplicationContext(StockBalanceBenchmark.StockJpaConfiguration.class);
+        salesContext = new AnnotationConfigApplicationContext(SalesJpaConfiguration.class);
+        com.mercadotech.stockservice.service.ReconciliacaoService stock =
+                new com.mercadotech.stockservice.service.ReconciliacaoService(stockContext.getBean(SaidaEstoqueRepository.class));
+        reconciliacaoService = new ReconciliacaoService(salesContext.getBean(VendaRepository.class), new InProcessStock(stock), 2);
+
+        List<Object[]> vendas = new ArrayList<>();
+        List<Object[]> saidas = new ArrayList<>();
+        long vendaId = 1;
+        int expected = 0;
+        for (LocalDate dia = INICIO; !dia.isAfter(FIM); dia = dia.plusDays(1)) {
+            boolean divergent = dia.getDayOfYear() % divergencePeriod == 0;
+            for (long produto = 1; produto <= products; produto++) {
+                for (int i = 0; i < SALES_PER_DAY; i++, vendaId++) {
+                    Timestamp data = Timestamp.valueOf(dia.atTime(8 + i * 4, (int) (produto % 60)));
+                    int quantidade = 1 + i;
+                    saidas.add(new Object[]{produto, quantidade, data, "VENDA", SalesService.OBSERVACAO_BAIXA_VENDA + vendaId});
+                    if (divergent && produto == dia.getDayOfMonth() && i == 0) {
+                        expected++; // Venda desfeita: só a saída fica
+                        continue;
+                    }
+                    vendas.add(new Object[]{vendaId, produto, quantidade, new BigDecimal("4.20"),
+                            new BigDecimal("4.20").multiply(BigDecimal.valueOf(quantidade)), data});
+                }
+            }
+        }
+        new JdbcTemplate(salesContext.getBean(DataSource.class)).batchUpdate("insert into vendas"
+                + " (id, produto_id, quantidade, valor_unitario, valor_total, data_venda) values (?, ?, ?, ?, ?, ?)", vendas);
+        new JdbcTemplate(stockContext.getBean(DataSource.class)).batchUpdate("insert into saidas_estoque"
+                + " (produto_id, quantidade, data_saida, tipo_saida, observacao) values (?, ?, ?, ?, ?)", saidas);
+
+        int found = reconciliar().getDivergencias().size();
+        if (found != expected) {
+            throw new IllegalStateException("Divergências inesperadas: " + found + " (esperado " + expected + ")");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        salesContext.close();
+        stockContext.close();
+    }
+
+    @Benchmark
+    public RelatorioReconciliacaoDTO reconciliar() {
+        return reconciliacaoService.reconciliar(INICIO, FIM);
+    }
+
+    /**
+     * Contexto JPA mínimo do sales-service, como o do stock-service em {@link StockBalanceBenchmark}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableJpaRepositories(basePackageClasses = VendaRepository.class)
+    static class SalesJpaConfiguration {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(Venda.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "create",
+                    "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory.getObject());
+        }
+    }
+
+    /**
+     * Endpoints de reconciliação do stock-service chamados em processo.
+     */
+    private record InProcessStock(com.mercadotech.stockservice.service.ReconciliacaoService stock)
+            implements StockServiceFeignClient {
+
+        @Override
+        public ResponseEntity<Void> registrarSaida(SaidaEstoqueDTO saidaEstoqueDTO) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<DayDigest> getDigestsPorDia(LocalDate inicio, LocalDate fim) {
+            return stock.digestsPorDia(inicio, fim);
+        }
+
+        @Override
+        public List<BucketDigest> getDigestsPorBucket(LocalDate dia) {
+            return stock.digestsPorBucket(dia);
+        }
+
+        @Override
+        public List<ProductTotals> getTotaisPorProduto(LocalDate dia, int bucket) {
+            return stock.totaisPorProduto(dia, bucket);
+        }
+
+        @Override
+        public List<SaidaEstoqueDTO> getSaidasDeVenda(LocalDate dia, Long produtoId) {
+            return stock.saidasDeVenda(dia, produtoId).stream()
+                    .map(saida -> SaidaEstoqueDTO.builder()
+                            .id(saida.getId())
+                            .produtoId(saida.getProdutoId())
+                            .quantidade(saida.getQuantidade())
+                            .dataSaida(saida.getDataSaida())
+                            .tipoSaida(saida.getTipoSaida().name())
+                            .observacao(saida.getObservacao())
+                            .build())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mercadotech.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /v1/categories}: o JSON pronto do snapshot em memória ({@link ReferenceDataService#categoriesJson})
+ * comparado à consulta ao banco (H2 embarcado) seguida da serialização, como antes do snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReferenceDataBenchmark {
+
+    @Param({"40"})
+    public int categories;
+
+    private AnnotationConfigApplicationContext context;
+    private CategoryRepository categoryRepository;
+    private ObjectMapper objectMapper;
+    private ReferenceDataService referenceData;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new AnnotationConfigApplicationContext(ProductJpaConfiguration.class);
+        categoryRepository = context.getBean(CategoryRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        referenceData = context.getBean(ReferenceDataService.class);
+        for (int i = 0; i < categories; i++) {
+            Category category = new Category();
+            category.setName("Categoria " + i);
+            referenceData.onSaved(categoryRepository.save(category));
+        }
+        if (!objectMapper.readTree(database()).equals(objectMapper.readTree(snapshot()))) {
+            throw new IllegalStateException("Snapshot diferente do banco");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] database() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(categoryRepository.findAll());
+    }
+
+    @Benchmark
+    public byte[] snapshot() {
+        return referenceData.categoriesJson();
+    }
+}
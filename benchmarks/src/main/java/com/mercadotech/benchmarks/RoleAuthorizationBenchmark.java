@@ -0,0 +1,57 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.gatewayservice.AuthorizeGatewayFilterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação de roles do {@link AuthorizeGatewayFilterFactory} numa rota que exige {@code GERENTE,ESTOQUISTA},
+ * com usuários de uma e de três roles, autorizados e negados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoleAuthorizationBenchmark {
+
+    @Param({"CAIXA", "gerente", "CAIXA,FISCAL,ESTOQUISTA", "CAIXA,FISCAL,REPOSITOR"})
+    public String userRoles;
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+    private GatewayFilter filter;
+    private MockServerWebExchange exchange;
+
+    @Setup
+    public void setUp() {
+        AuthorizeGatewayFilterFactory.Config config = new AuthorizeGatewayFilterFactory.Config();
+        config.setRoles(List.of("GERENTE", "ESTOQUISTA"));
+        filter = new AuthorizeGatewayFilterFactory().apply(config);
+        // O filtro só lê o exchange: o mesmo é reaproveitado em todas as chamadas
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/estoque/1")
+                .header("X-Auth-User-Roles", userRoles));
+    }
+
+    @Benchmark
+    public Mono<Void> authorize() {
+        return filter.filter(exchange, chain); // A decisão é tomada na chamada; o Mono só carrega o resultado
+    }
+}
@@ -0,0 +1,134 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.stockservice.entity.EntradaEstoque;
+import com.mercadotech.stockservice.repository.EntradaEstoqueRepository;
+import com.mercadotech.stockservice.repository.SaidaEstoqueRepository;
+import com.mercadotech.stockservice.service.EstoqueService;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EstoqueService#calcularSaldoAtual} contra um H2 embarcado, com o mapeamento JPA do stock-service (mesma
+ * estratégia de nomes do Spring Boot e o schema gerado pelas entidades). O produto medido tem {@code movements}
+ * lançamentos (metade entradas, metade saídas) e outros 9 produtos com o mesmo volume completam o livro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockBalanceBenchmark {
+
+    private static final int PRODUCTS = 10;
+    private static final long MEASURED_PRODUCT = 1L;
+
+    @Param({"10", "1000", "10000"})
+    public int movements;
+
+    private AnnotationConfigApplicationContext context;
+    private EstoqueService estoqueService;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(StockJpaConfiguration.class);
+        // O Feign client não é usado no cálculo do saldo
+        estoqueService = new EstoqueService(context.getBean(EntradaEstoqueRepository.class),
+                context.getBean(SaidaEstoqueRepository.class), null);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        List<Object[]> entradas = new ArrayList<>();
+        List<Object[]> saidas = new ArrayList<>();
+        for (long produto = 1; produto <= PRODUCTS; produto++) {
+            for (int i = 0; i < movements; i++) {
+                Timestamp data = Timestamp.valueOf(start.plusMinutes(i));
+                if (i % 2 == 0) {
+                    entradas.add(new Object[]{produto, 10, new BigDecimal("4.20"), data});
+                } else {
+                    saidas.add(new Object[]{produto, 3, data, "VENDA"});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into entradas_estoque (produto_id, quantidade, custo_unitario, data_entrada)"
+                + " values (?, ?, ?, ?)", entradas);
+        jdbcTemplate.batchUpdate("insert into saidas_estoque (produto_id, quantidade, data_saida, tipo_saida)"
+                + " values (?, ?, ?, ?)", saidas);
+
+        int expected = (movements + 1) / 2 * 10 - movements / 2 * 3;
+        if (calcularSaldoAtual() != expected) {
+            throw new IllegalStateException("Saldo inesperado: " + calcularSaldoAtual() + " (esperado " + expected + ")");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer calcularSaldoAtual() {
+        return estoqueService.calcularSaldoAtual(MEASURED_PRODUCT);
+    }
+
+    /**
+     * Contexto JPA mínimo, sem auto-configuração do Spring Boot: só as entidades e os repositórios do stock-service.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @EnableJpaRepositories(basePackageClasses = EntradaEstoqueRepository.class)
+    static class StockJpaConfiguration {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(EntradaEstoque.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "create",
+                    "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory.getObject());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.authservice.jwt.JwtUtil;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão de token no login ({@link JwtUtil#generateToken}), com a assinatura ES256 atual e a HS256 legada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenGenerationBenchmark {
+
+    @Param({"ES256", "HS256"})
+    public String algorithm;
+
+    private final List<String> roles = List.of("GERENTE", "CAIXA");
+    private JwtUtil jwtUtil;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = JwtFixtures.jwtUtil(JwtFixtures.keyManager(), SignatureAlgorithm.valueOf(algorithm));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("1", "gerente", roles);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.commons.security.TokenRevocationList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta à lista de revogação do gateway ({@link TokenRevocationList#isRevoked}) para tokens não revogados, o caso
+ * de quase todas as requisições: o filtro de Bloom responde sem consultar o mapa. {@code revoked} tokens revogados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private static final int TOKENS = 1024;
+
+    @Param({"100000"})
+    public int revoked;
+
+    private TokenRevocationList list;
+    private final String[] tokens = new String[TOKENS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        long inOneHour = System.currentTimeMillis() + 3_600_000;
+        list = new TokenRevocationList(revoked);
+        for (int i = 0; i < revoked; i++) {
+            list.revoke(UUID.randomUUID().toString(), inOneHour);
+        }
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean isRevoked() {
+        return list.isRevoked(tokens[next++ & (TOKENS - 1)]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mercadotech.benchmarks;
+
+import com.mercadotech.commons.tracing.ActiveSpan;
+import com.mercadotech.commons.tracing.SpanStore;
+import com.mercadotech.commons.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link Tracer} numa requisição com uma chamada Feign: span de servidor continuado dos headers do gateway,
+ * span de cliente e gravação dos dois no {@link SpanStore}. {@code sampled} é a decisão de amostragem que chega do
+ * gateway: com "0" nada é gravado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TracerBenchmark {
+
+    @Param({"1", "0"})
+    public String sampled;
+
+    private Tracer tracer;
+
+    @Setup
+    public void setUp() {
+        tracer = new Tracer("sales-service", 1.0, new SpanStore(10_000));
+    }
+
+    @Benchmark
+    public ActiveSpan requestWithFeignCall() {
+        ActiveSpan span = tracer.startServerSpan("POST /vendas", "4bf92f3577b34da6", "00f067aa0ba902b7", sampled);
+        tracer.startClientSpan("StockServiceFeignClient#registrarSaida").finish(201, false);
+        span.finish(201, false);
+        return span;
+    }
+}
@@ -0,0 +1,77 @@
+package com.mercadotech.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mercadotech.commons.wire.BinaryWireAutoConfiguration;
+import com.mercadotech.salesservice.dto.SaidaEstoqueDTO;
+import com.mercadotech.stockservice.dto.ProdutoEstoqueDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ida e volta (serialização e leitura) dos corpos das chamadas estoque → produto ({@link ProdutoEstoqueDTO}) e
+ * venda → estoque ({@link SaidaEstoqueDTO}) em JSON e em CBOR, com o mapper CBOR que o
+ * {@link BinaryWireAutoConfiguration} registra. O tamanho de cada corpo sai na saída do fork, na preparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"ProdutoEstoqueDTO", "SaidaEstoqueDTO"})
+    public String body;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private Object value;
+    private Class<?> type;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Datas em ISO-8601, como no ObjectMapper do Spring Boot
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> new BinaryWireAutoConfiguration().cborHttpMessageConverter(builder).getObjectMapper();
+            default -> throw new IllegalStateException("Formato desconhecido: " + format);
+        };
+        value = switch (body) {
+            case "ProdutoEstoqueDTO" -> new ProdutoEstoqueDTO(123456L, "Refrigerante Cola 2L", new BigDecimal("9.99"),
+                    "Bebidas");
+            case "SaidaEstoqueDTO" -> new SaidaEstoqueDTO(null, 123456L, 2, LocalDateTime.of(2025, 5, 10, 14, 30, 12),
+                    "VENDA", "Venda 100234");
+            default -> throw new IllegalStateException("Corpo desconhecido: " + body);
+        };
+        type = value.getClass();
+        if (!value.equals(roundTrip())) {
+            throw new IllegalStateException(body + " mudou na ida e volta em " + format);
+        }
+        System.out.printf("%s em %s: %d bytes%n", body, format, mapper.writeValueAsBytes(value).length);
+    }
+
+    @Benchmark
+    public Object roundTrip() throws IOException {
+        return mapper.readValue(mapper.writeValueAsBytes(value), type);
+    }
+}
@@ -0,0 +1,235 @@
+package com.mercadotech.commons.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.commons.config.ConfigServerClient.RemoteConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Acompanha as mudanças de configuração pelo stream {@code /notifications} do config-server (Server-Sent Events)
+ * em vez de consultá-lo periodicamente. Quando muda um arquivo que afeta este serviço ({@code application*},
+ * {@code <aplicação>*}), busca a nova versão, substitui a property source {@value ConfigServerClient#SOURCE_NAME},
+ * grava a última configuração boa e publica um {@link EnvironmentChangeEvent} com as chaves alteradas: o Spring
+ * Cloud reaplica os {@code @ConfigurationProperties} e os níveis de log ({@code logging.level.*}).
+ *
+ * A cada (re)conexão o config-server envia a versão atual, o que recupera as mudanças feitas enquanto o stream
+ * esteve fora do ar. As reconexões esperam de 1 s a 30 s.
+ */
+public class ConfigChangeSubscriber implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigChangeSubscriber.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Set<String>> CHANGED_KEYS = new TypeReference<>() {};
+    private static final long MIN_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final ConfigServerClient client;
+    private final ConfigurableEnvironment environment;
+    private final ApplicationEventPublisher publisher;
+    private final HttpClient httpClient;
+    private volatile String version;
+    private volatile boolean running;
+    private volatile InputStream stream;
+    private Thread thread;
+
+    public ConfigChangeSubscriber(ConfigServerClient client, ConfigurableEnvironment environment,
+                                  ApplicationEventPublisher publisher) {
+        this.client = client;
+        this.environment = environment;
+        this.publisher = publisher;
+        this.httpClient = HttpClient.newHttpClient();
+        this.version = environment.getProperty("mercadotech.config.version");
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::subscribe, "config-change-subscriber");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeStream();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Busca a configuração atual e, se a versão mudou, aplica no {@link ConfigurableEnvironment}.
+     *
+     * @return Chaves adicionadas, removidas ou alteradas (vazio se a versão é a mesma).
+     */
+    public synchronized Set<String> refresh() throws IOException {
+        RemoteConfig config = client.fetch();
+        if (config.version() != null && config.version().equals(version)) {
+            return Set.of();
+        }
+        MapPropertySource source = ConfigServerDataLoader.propertySource(client, config);
+        PropertySource<?> previous = environment.getPropertySources().get(ConfigServerClient.SOURCE_NAME);
+        Set<String> keys = changedKeys(previous, source);
+        if (previous != null) {
+            environment.getPropertySources().replace(ConfigServerClient.SOURCE_NAME, source);
+        } else {
+            environment.getPropertySources().addLast(source);
+        }
+        log.info("Configuração de {} atualizada para a versão {}: {}", client.getApplication(), config.version(), keys);
+        version = config.version();
+        if (!keys.isEmpty()) {
+            publisher.publishEvent(new EnvironmentChangeEvent(environment, keys));
+        }
+        return keys;
+    }
+
+    /**
+     * Se um arquivo alterado ({@code stock-service}, {@code application-prod}, {@code config/sales-service}...)
+     * pode afetar esta aplicação.
+     */
+    boolean isRelevant(Iterable<String> changedPaths) {
+        String application = client.getApplication();
+        for (String path : changedPaths) {
+            for (String segment : path.split("/")) {
+                if (segment.equals(application) || segment.startsWith(application + "-")
+                        || segment.equals("application") || segment.startsWith("application-")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void subscribe() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (running) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(client.getUri().resolve("/notifications"))
+                        .header("Accept", "text/event-stream")
+                        .build();
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                stream = response.body();
+                if (response.statusCode() != 200) {
+                    throw new IOException("Config-server respondeu " + response.statusCode() + " em /notifications");
+                }
+                backoff = MIN_BACKOFF_MILLIS;
+                readEvents(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                if (running) {
+                    log.debug("Stream de mudanças de configuração indisponível: {}", e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                return; // stop()
+            } finally {
+                closeStream();
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private void readEvents(BufferedReader reader) throws IOException {
+        String event = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while (running && (line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (event != null && !data.isEmpty()) {
+                    handle(event, data.toString());
+                }
+                event = null;
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring("data:".length()).trim());
+            } // Comentários (": keep-alive") e demais campos são ignorados
+        }
+    }
+
+    private void handle(String event, String data) {
+        try {
+            JsonNode payload = MAPPER.readTree(data);
+            String announced = payload.path("version").asText(null);
+            if (Objects.equals(announced, version)) {
+                return;
+            }
+            boolean relevant = switch (event) {
+                case "config-version" -> true; // (Re)conexão: confere a versão
+                case "config-changed" -> isRelevant(MAPPER.convertValue(payload.path("changed"), CHANGED_KEYS));
+                default -> false;
+            };
+            if (relevant) {
+                refresh();
+            }
+        } catch (IOException | RuntimeException e) {
+            // A próxima mudança (ou reconexão) tenta de novo; até lá o serviço segue com a configuração atual
+            log.warn("Mudança de configuração {} não aplicada: {}", data, e.getMessage());
+        }
+    }
+
+    private static Set<String> changedKeys(PropertySource<?> previous, MapPropertySource current) {
+        Set<String> keys = new HashSet<>();
+        if (previous instanceof EnumerablePropertySource<?> enumerable) {
+            for (String name : enumerable.getPropertyNames()) {
+                if (!Objects.equals(enumerable.getProperty(name), current.getProperty(name))) {
+                    keys.add(name);
+                }
+            }
+        }
+        for (String name : current.getPropertyNames()) {
+            if (previous == null || !previous.containsProperty(name)) {
+                keys.add(name);
+            }
+        }
+        keys.remove("mercadotech.config.version");
+        return keys;
+    }
+
+    private void closeStream() {
+        InputStream current = stream;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Já fechado
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mercadotech.commons.config;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Nos serviços que importam {@code mercadotech-config:} (ver {@link ConfigServerLocationResolver}), acompanha as
+ * mudanças de configuração avisadas pelo config-server no perfil {@code local}. Pode ser desligado com
+ * {@code mercadotech.config.watch.enabled=false}; a configuração da subida continua valendo.
+ */
+@AutoConfiguration
+@ConditionalOnClass(EnvironmentChangeEvent.class)
+@ConditionalOnProperty(name = "mercadotech.config.uri")
+public class ConfigClientAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "mercadotech.config.watch.enabled", matchIfMissing = true)
+    public ConfigChangeSubscriber configChangeSubscriber(ConfigurableEnvironment environment,
+                                                         ApplicationEventPublisher publisher) {
+        Binder binder = Binder.get(environment);
+        ConfigServerClient client = new ConfigServerClient(
+                URI.create(environment.getRequiredProperty("mercadotech.config.uri")),
+                environment.getProperty("spring.application.name", "application"),
+                ConfigServerClient.joinProfiles(List.of(environment.getActiveProfiles())),
+                ConfigServerLocationResolver.snapshotDir(binder), ConfigServerLocationResolver.timeout(binder));
+        return new ConfigChangeSubscriber(client, environment, publisher);
+    }
+}
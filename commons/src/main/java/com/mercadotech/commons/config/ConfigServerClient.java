@@ -0,0 +1,162 @@
+package com.mercadotech.commons.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Busca no config-server as propriedades de uma aplicação ({@code GET /{aplicação}/{perfis}}) e mantém a última
+ * resposta boa em disco, para a subida seguinte não depender do config-server. O snapshot tem os segredos da
+ * configuração em texto claro, então arquivo e diretório são criados só para o dono (rw------- / rwx------).
+ *
+ * As property sources da resposta (da mais para a menos específica) são achatadas num único mapa, com a precedência
+ * do config-server: a primeira que define a chave vence.
+ */
+public class ConfigServerClient {
+
+    public static final String SOURCE_NAME = "mercadotech-config";
+
+    /**
+     * Propriedades resolvidas numa versão do repositório de configuração.
+     */
+    public record RemoteConfig(String version, Map<String, Object> properties) {
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+
+    private final URI uri;
+    private final String application;
+    private final String profiles;
+    private final Path snapshotFile;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public ConfigServerClient(URI uri, String application, String profiles, Path snapshotDir, Duration timeout) {
+        this.uri = uri;
+        this.application = application;
+        this.profiles = profiles;
+        this.snapshotFile = snapshotDir.resolve(application + "-" + profiles.replace(',', '_') + ".json");
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public String getApplication() {
+        return application;
+    }
+
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Busca a configuração atual e, se vier, grava como última boa.
+     *
+     * @throws IOException Config-server fora do ar, lento (mais que o timeout) ou com resposta inválida.
+     */
+    public RemoteConfig fetch() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri.resolve("/" + encode(application) + "/" + encode(profiles)))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido buscando a configuração em " + uri, e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Config-server respondeu " + response.statusCode() + " para " + request.uri());
+        }
+        RemoteConfig config = parse(response.body());
+        writeSnapshot(response.body());
+        return config;
+    }
+
+    /**
+     * Última configuração boa gravada por {@link #fetch()}; null se ainda não houver.
+     */
+    public RemoteConfig readSnapshot() throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return null;
+        }
+        return parse(Files.readString(snapshotFile, StandardCharsets.UTF_8));
+    }
+
+    static RemoteConfig parse(String body) throws IOException {
+        JsonNode environment = MAPPER.readTree(body);
+        JsonNode sources = environment.path("propertySources");
+        if (!sources.isArray()) {
+            throw new IOException("Resposta do config-server sem propertySources");
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (JsonNode source : sources) {
+            for (Iterator<Map.Entry<String, JsonNode>> it = source.path("source").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> property = it.next();
+                properties.putIfAbsent(property.getKey(), value(property.getValue()));
+            }
+        }
+        String version = environment.path("version").isTextual() ? environment.path("version").asText() : null;
+        return new RemoteConfig(version, properties);
+    }
+
+    private static Object value(JsonNode node) {
+        if (node.isNumber() || node.isBoolean()) {
+            return MAPPER.convertValue(node, Object.class);
+        }
+        return node.isNull() ? "" : node.asText();
+    }
+
+    private void writeSnapshot(String body) throws IOException {
+        Path directory = snapshotFile.getParent();
+        Path temporary;
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            // A configuração traz segredos (senhas, chaves): só o usuário do serviço lê
+            Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+            temporary = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp",
+                    PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+        } else {
+            Files.createDirectories(directory); // Windows: o perfil do usuário já não é legível por outros
+            temporary = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+        }
+        try {
+            Files.writeString(temporary, body, StandardCharsets.UTF_8);
+            // Substituição atômica: uma subida concorrente nunca lê um arquivo pela metade
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    static String joinProfiles(List<String> profiles) {
+        return profiles.isEmpty() ? "default" : String.join(",", profiles);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mercadotech.commons.config;
+
+import com.mercadotech.commons.config.ConfigServerClient.RemoteConfig;
+import org.apache.commons.logging.Log;
+import org.springframework.boot.context.config.ConfigData;
+import org.springframework.boot.context.config.ConfigDataLoader;
+import org.springframework.boot.context.config.ConfigDataLoaderContext;
+import org.springframework.boot.context.config.ConfigDataResourceNotFoundException;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.MapPropertySource;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carrega a configuração do config-server na subida. Se o config-server não responder dentro de
+ * {@code mercadotech.config.timeout}, o serviço sobe com a última configuração boa gravada em disco; sem nenhuma,
+ * a importação falha (ou é ignorada, com {@code optional:}).
+ */
+public class ConfigServerDataLoader implements ConfigDataLoader<ConfigServerResource> {
+
+    private final Log log;
+
+    public ConfigServerDataLoader(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ConfigServerDataLoader.class);
+    }
+
+    @Override
+    public ConfigData load(ConfigDataLoaderContext context, ConfigServerResource resource) throws IOException {
+        ConfigServerClient client = resource.getClient();
+        RemoteConfig config;
+        try {
+            config = client.fetch();
+            log.info("Configuração de " + client.getApplication() + " na versão " + config.version() + " (" + client.getUri() + ")");
+        } catch (IOException e) {
+            config = client.readSnapshot();
+            if (config == null) {
+                throw new ConfigDataResourceNotFoundException(resource, e);
+            }
+            log.warn("Config-server indisponível (" + e.getMessage() + "); usando a última configuração boa, versão "
+                    + config.version() + " (" + client.getSnapshotFile() + ")");
+        }
+        return new ConfigData(List.of(propertySource(client, config)));
+    }
+
+    /**
+     * Property source única com as propriedades da versão, mais {@code mercadotech.config.uri} e
+     * {@code mercadotech.config.version} para o {@link ConfigChangeSubscriber} acompanhar as mudanças.
+     */
+    static MapPropertySource propertySource(ConfigServerClient client, RemoteConfig config) {
+        Map<String, Object> properties = new LinkedHashMap<>(config.properties());
+        properties.put("mercadotech.config.uri", client.getUri().toString());
+        if (config.version() != null) {
+            properties.put("mercadotech.config.version", config.version());
+        }
+        return new MapPropertySource(ConfigServerClient.SOURCE_NAME, properties);
+    }
+}
@@ -0,0 +1,59 @@
+package com.mercadotech.commons.config;
+
+import org.springframework.boot.context.config.ConfigDataLocation;
+import org.springframework.boot.context.config.ConfigDataLocationResolver;
+import org.springframework.boot.context.config.ConfigDataLocationResolverContext;
+import org.springframework.boot.context.config.Profiles;
+import org.springframework.boot.context.properties.bind.Binder;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resolve {@code spring.config.import=optional:mercadotech-config:http://localhost:8888}: a configuração da
+ * aplicação ({@code spring.application.name}) nos perfis ativos, buscada no config-server com fallback para a
+ * última resposta boa em {@code mercadotech.config.snapshot-dir}.
+ *
+ * Só resolve depois dos perfis, porque o config-server devolve propriedades diferentes por perfil.
+ */
+public class ConfigServerLocationResolver implements ConfigDataLocationResolver<ConfigServerResource> {
+
+    public static final String PREFIX = "mercadotech-config:";
+
+    @Override
+    public boolean isResolvable(ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+        return location.hasPrefix(PREFIX);
+    }
+
+    @Override
+    public List<ConfigServerResource> resolve(ConfigDataLocationResolverContext context, ConfigDataLocation location) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<ConfigServerResource> resolveProfileSpecific(ConfigDataLocationResolverContext context,
+                                                             ConfigDataLocation location, Profiles profiles) {
+        Binder binder = context.getBinder();
+        String uri = location.getNonPrefixedValue(PREFIX);
+        if (uri.isBlank()) {
+            uri = binder.bind("mercadotech.config.uri", String.class).orElse("http://localhost:8888");
+        }
+        String application = binder.bind("spring.application.name", String.class).orElse("application");
+        ConfigServerClient client = new ConfigServerClient(URI.create(uri), application,
+                ConfigServerClient.joinProfiles(profiles.getAccepted()), snapshotDir(binder), timeout(binder));
+        return List.of(new ConfigServerResource(client, location.isOptional()));
+    }
+
+    static Path snapshotDir(Binder binder) {
+        return binder.bind("mercadotech.config.snapshot-dir", String.class)
+                .map(Path::of)
+                .orElseGet(() -> Path.of(System.getProperty("user.home"), ".mercadotech", "config-snapshot"));
+    }
+
+    static Duration timeout(Binder binder) {
+        return binder.bind("mercadotech.config.timeout", Duration.class).orElse(Duration.ofSeconds(2));
+    }
+}
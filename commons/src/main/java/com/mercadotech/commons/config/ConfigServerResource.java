@@ -0,0 +1,37 @@
+package com.mercadotech.commons.config;
+
+import org.springframework.boot.context.config.ConfigDataResource;
+
+/**
+ * Configuração de uma aplicação/perfis num config-server ({@code mercadotech-config:<uri>}).
+ */
+public class ConfigServerResource extends ConfigDataResource {
+
+    private final ConfigServerClient client;
+
+    public ConfigServerResource(ConfigServerClient client, boolean optional) {
+        super(optional);
+        this.client = client;
+    }
+
+    public ConfigServerClient getClient() {
+        return client;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ConfigServerResource resource
+                && client.getUri().equals(resource.client.getUri())
+                && client.getSnapshotFile().equals(resource.client.getSnapshotFile());
+    }
+
+    @Override
+    public int hashCode() {
+        return client.getSnapshotFile().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "config-server " + client.getUri() + " (" + client.getSnapshotFile().getFileName() + ")";
+    }
+}
@@ -0,0 +1,73 @@
+package com.mercadotech.commons.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * Posição de leitura de cada grupo de consumidores: o próximo offset a processar, em um arquivo por grupo.
+ *
+ * O consumidor confirma ({@link #commit}) depois de processar; numa queda, volta a ler do último offset confirmado,
+ * então o processamento deve tolerar eventos repetidos (entrega pelo menos uma vez).
+ */
+public class ConsumerOffsets {
+
+    private static final Pattern GROUP = Pattern.compile("[A-Za-z0-9._-]+");
+
+    private final Path directory;
+
+    public ConsumerOffsets(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar " + directory, e);
+        }
+    }
+
+    /**
+     * @return Próximo offset a processar pelo grupo; 0 se o grupo nunca confirmou.
+     */
+    public long committed(String group) {
+        Path file = file(group);
+        try {
+            return Files.exists(file) ? Long.parseLong(Files.readString(file, StandardCharsets.UTF_8).trim()) : 0L;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o offset de " + group, e);
+        }
+    }
+
+    /**
+     * Confirma que o grupo processou tudo antes de {@code nextOffset}. Gravação atômica e em disco.
+     */
+    public void commit(String group, long nextOffset) {
+        Path file = file(group);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(nextOffset).getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar o offset de " + group, e);
+        }
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar o offset de " + group, e);
+        }
+    }
+
+    private Path file(String group) {
+        if (!GROUP.matcher(group).matches()) {
+            throw new IllegalArgumentException("Grupo inválido: " + group);
+        }
+        return directory.resolve(group + ".offset");
+    }
+}
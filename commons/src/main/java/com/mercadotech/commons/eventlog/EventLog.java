@@ -0,0 +1,415 @@
+package com.mercadotech.commons.eventlog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Log de eventos só de inclusão, em disco, para os serviços trocarem eventos sem um broker: quem produz grava aqui,
+ * quem consome lê a partir do seu offset ({@link ConsumerOffsets}) localmente ou pelo endpoint HTTP
+ * ({@link EventLogController}, {@link EventLogTailer}), e pode reler tudo desde o início.
+ *
+ * Os eventos ficam em segmentos de {@code segmentBytes} mapeados em memória ({@link LogSegment}): gravar é copiar
+ * para a memória, sem chamada de sistema. A gravação em disco é em grupo: uma thread faz o fsync a cada
+ * {@code flushIntervalMillis} ou quando alguém chama {@link #sync}, e um fsync atende todos os que esperavam por ele.
+ * Numa queda do processo nada se perde (as páginas já estão no kernel); numa queda da máquina, perde-se no máximo o
+ * que veio depois do último fsync. Na abertura, os segmentos são relidos e o evento interrompido, se houver, é
+ * descartado.
+ *
+ * Retenção: a thread do fsync remove os segmentos mais antigos cujo último evento passou de {@code retentionMillis}
+ * e, enquanto o total em disco passar de {@code retentionBytes}, os mais antigos (o segmento ativo fica sempre).
+ * Consumidores que ficarem para trás por mais que isso perdem os eventos removidos e continuam do primeiro que restou.
+ */
+public class EventLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLog.class);
+    private static final long RETENTION_CHECK_MILLIS = 1_000;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long flushIntervalMillis;
+    private final long retentionMillis;
+    private final long retentionBytes;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    private final ConsumerOffsets offsets;
+
+    // appendLock: escrita e espera dos leitores por eventos novos (long polling)
+    private final Object appendLock = new Object();
+    private LogSegment active;
+    private volatile long nextOffset;
+    private int tailWaiters;
+
+    // syncMonitor: pedidos de fsync e offset já em disco
+    private final Object syncMonitor = new Object();
+    private long durableOffset;
+    private boolean syncRequested;
+
+    private volatile boolean closed;
+    private final Thread flusher;
+    private long nextRetentionCheck;
+
+    /**
+     * Log sem retenção: os segmentos só são removidos por {@link #deleteBefore}.
+     */
+    public EventLog(Path directory, int segmentBytes, long flushIntervalMillis) throws IOException {
+        this(directory, segmentBytes, flushIntervalMillis, 0, 0);
+    }
+
+    /**
+     * @param retentionMillis Idade máxima dos eventos; 0 para sem limite.
+     * @param retentionBytes Espaço máximo dos segmentos em disco; 0 para sem limite.
+     */
+    public EventLog(Path directory, int segmentBytes, long flushIntervalMillis, long retentionMillis,
+                    long retentionBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retentionMillis = retentionMillis;
+        this.retentionBytes = retentionBytes;
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        recover();
+        this.offsets = new ConsumerOffsets(directory.resolve("offsets"));
+        log.info("Event log {} aberto em {} ms: offsets {}..{}, {} segmento(s)", directory,
+                (System.nanoTime() - started) / 1_000_000, firstOffset(), nextOffset, segments.size());
+        this.flusher = new Thread(this::flushLoop, "event-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Grava o evento (sem esperar o fsync; ver {@link #sync}).
+     *
+     * @return Offset do evento.
+     */
+    public long append(byte[] payload) {
+        synchronized (appendLock) {
+            long offset = write(payload);
+            wakeTailWaiters();
+            return offset;
+        }
+    }
+
+    /**
+     * Grava os eventos em sequência, sem outros no meio.
+     *
+     * @return Offset do primeiro.
+     */
+    public long appendAll(List<byte[]> payloads) {
+        synchronized (appendLock) {
+            long first = nextOffset;
+            for (byte[] payload : payloads) {
+                write(payload);
+            }
+            wakeTailWaiters();
+            return first;
+        }
+    }
+
+    /**
+     * Espera até o evento {@code offset} (e todos os anteriores) estar em disco. Várias threads esperando são
+     * atendidas pelo mesmo fsync.
+     */
+    public void sync(long offset) throws InterruptedException {
+        synchronized (syncMonitor) {
+            while (durableOffset <= offset) {
+                ensureOpen();
+                if (!syncRequested) {
+                    // Só o primeiro acorda o flusher; os demais esperam o mesmo fsync
+                    syncRequested = true;
+                    syncMonitor.notifyAll();
+                }
+                syncMonitor.wait();
+            }
+        }
+    }
+
+    /**
+     * Lê até {@code max} eventos a partir de {@code fromOffset} (ou do primeiro que ainda existe, se for anterior).
+     */
+    public List<EventRecord> read(long fromOffset, int max) {
+        List<EventRecord> records = new ArrayList<>(Math.min(max, 1024));
+        long end = nextOffset;
+        long offset = Math.max(fromOffset, firstOffset());
+        while (records.size() < max && offset < end) {
+            Map.Entry<Long, LogSegment> entry = segments.floorEntry(offset);
+            if (entry == null) {
+                break;
+            }
+            LogSegment segment = entry.getValue();
+            if (!segment.retain()) {
+                // Removido pela retenção depois da busca: segue do primeiro segmento que restou
+                offset = Math.max(offset, firstOffset());
+                continue;
+            }
+            int read;
+            try {
+                read = segment.read(offset, max - records.size(), end, records);
+            } finally {
+                segment.release();
+            }
+            if (read == 0) {
+                break;
+            }
+            offset += read;
+        }
+        return records;
+    }
+
+    /**
+     * Como {@link #read}, mas espera até {@code timeoutMillis} por eventos novos quando não há nenhum a partir de
+     * {@code fromOffset} (long polling).
+     */
+    public List<EventRecord> await(long fromOffset, int max, long timeoutMillis) throws InterruptedException {
+        if (nextOffset <= fromOffset && timeoutMillis > 0) {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            synchronized (appendLock) {
+                tailWaiters++;
+                try {
+                    long remaining;
+                    while (nextOffset <= fromOffset && !closed
+                            && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                        appendLock.wait(remaining);
+                    }
+                } finally {
+                    tailWaiters--;
+                }
+            }
+        }
+        return read(fromOffset, max);
+    }
+
+    /**
+     * Remove os segmentos cujos eventos são todos anteriores a {@code offset} (ex.: o menor offset confirmado entre
+     * os grupos). O segmento ativo nunca é removido.
+     *
+     * @return Quantos segmentos foram removidos.
+     */
+    public int deleteBefore(long offset) {
+        synchronized (segments) {
+            int deleted = 0;
+            Iterator<Map.Entry<Long, LogSegment>> it = segments.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, LogSegment> entry = it.next();
+                if (entry.getKey().equals(segments.lastKey()) || entry.getValue().nextOffset() > offset) {
+                    break;
+                }
+                delete(it, entry.getValue());
+                deleted++;
+            }
+            return deleted;
+        }
+    }
+
+    /**
+     * Aplica a retenção por idade e por tamanho (também feito periodicamente pela thread do fsync).
+     *
+     * @return Quantos segmentos foram removidos.
+     */
+    public int applyRetention() {
+        if (retentionMillis <= 0 && retentionBytes <= 0) {
+            return 0;
+        }
+        synchronized (segments) {
+            long expiredBefore = retentionMillis > 0 ? System.currentTimeMillis() - retentionMillis : Long.MIN_VALUE;
+            long total = 0;
+            for (LogSegment segment : segments.values()) {
+                total += segment.capacity();
+            }
+            int deleted = 0;
+            Iterator<Map.Entry<Long, LogSegment>> it = segments.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, LogSegment> entry = it.next();
+                LogSegment segment = entry.getValue();
+                boolean expired = segment.lastTimestamp() < expiredBefore;
+                boolean oversized = retentionBytes > 0 && total > retentionBytes;
+                if (entry.getKey().equals(segments.lastKey()) || !(expired || oversized)) {
+                    break;
+                }
+                delete(it, segment);
+                total -= segment.capacity();
+                deleted++;
+            }
+            if (deleted > 0) {
+                log.info("Event log {}: {} segmento(s) removido(s) pela retenção, eventos a partir do offset {}",
+                        directory, deleted, firstOffset());
+            }
+            return deleted;
+        }
+    }
+
+    public ConsumerOffsets offsets() {
+        return offsets;
+    }
+
+    /**
+     * Offset que o próximo evento gravado receberá.
+     */
+    public long nextOffset() {
+        return nextOffset;
+    }
+
+    public long firstOffset() {
+        return segments.firstKey();
+    }
+
+    public long durableOffset() {
+        synchronized (syncMonitor) {
+            return durableOffset;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        synchronized (appendLock) {
+            appendLock.notifyAll();
+        }
+        try {
+            flusher.join(); // Faz o último fsync
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (appendLock) { // Nenhuma gravação em andamento no segmento ativo
+            for (LogSegment segment : segments.values()) {
+                segment.close(); // Leituras em andamento terminam antes de o mapeamento ser liberado
+            }
+        }
+    }
+
+    private void delete(Iterator<Map.Entry<Long, LogSegment>> it, LogSegment segment) {
+        it.remove(); // Antes de soltar o segmento: leituras novas não o encontram mais
+        segment.delete();
+    }
+
+    private long write(byte[] payload) {
+        ensureOpen();
+        long timestamp = System.currentTimeMillis();
+        if (!active.append(timestamp, payload)) {
+            roll();
+            if (!active.append(timestamp, payload)) {
+                throw new IllegalArgumentException("Evento de " + payload.length + " bytes maior que o segmento");
+            }
+        }
+        return nextOffset++;
+    }
+
+    private void roll() {
+        active.force(); // O segmento anterior fica inteiro em disco antes de abrir o próximo
+        try {
+            LogSegment next = LogSegment.open(segmentPath(nextOffset), nextOffset, segmentBytes);
+            segments.put(next.baseOffset, next);
+            active = next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o segmento " + nextOffset, e);
+        }
+    }
+
+    private void wakeTailWaiters() {
+        if (tailWaiters > 0) {
+            appendLock.notifyAll();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            boolean closing;
+            synchronized (syncMonitor) {
+                if (!syncRequested && !closed) {
+                    try {
+                        syncMonitor.wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                syncRequested = false;
+                closing = closed;
+            }
+            long upTo;
+            LogSegment segment;
+            synchronized (appendLock) {
+                upTo = nextOffset;
+                segment = active;
+                segment.retain(); // O ativo não é removido, mas pode deixar de ser antes do fsync
+            }
+            try {
+                segment.force();
+            } catch (RuntimeException e) {
+                log.error("Falha no fsync do event log {}", directory, e);
+            } finally {
+                segment.release();
+            }
+            synchronized (syncMonitor) {
+                durableOffset = Math.max(durableOffset, upTo);
+                syncMonitor.notifyAll();
+            }
+            if (closing) {
+                return;
+            }
+            retentionTick();
+        }
+    }
+
+    private void retentionTick() {
+        long now = System.currentTimeMillis();
+        if (now < nextRetentionCheck) {
+            return;
+        }
+        nextRetentionCheck = now + RETENTION_CHECK_MILLIS;
+        try {
+            applyRetention();
+        } catch (RuntimeException e) {
+            log.error("Falha na retenção do event log {}", directory, e);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+        long expected = -1;
+        for (Path file : files) {
+            long base = Long.parseLong(file.getFileName().toString().replace(".log", ""));
+            if (expected >= 0 && base != expected) {
+                // Segmento anterior interrompido antes do fim: os seguintes ficariam com offsets duplicados
+                log.warn("Segmento {} descartado: o anterior termina no offset {}", file, expected);
+                Files.delete(file);
+                continue;
+            }
+            LogSegment segment = LogSegment.open(file, base, segmentBytes);
+            segments.put(base, segment);
+            expected = segment.nextOffset();
+        }
+        if (segments.isEmpty()) {
+            LogSegment segment = LogSegment.open(segmentPath(0), 0, segmentBytes);
+            segments.put(0L, segment);
+        }
+        active = segments.lastEntry().getValue();
+        nextOffset = active.nextOffset();
+        durableOffset = nextOffset;
+    }
+
+    private Path segmentPath(long baseOffset) {
+        return directory.resolve(String.format("%020d.log", baseOffset));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Event log " + directory + " fechado");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.mercadotech.commons.eventlog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * {@link EventLog} nos serviços que definem {@code mercadotech.eventlog.dir}, com o endpoint de leitura
+ * {@code /eventlog/records} nos serviços Spring MVC (desligável com {@code mercadotech.eventlog.http.enabled=false}).
+ * Retenção por {@code mercadotech.eventlog.retention} (idade, padrão 7 dias) e
+ * {@code mercadotech.eventlog.retention-size} (espaço em disco, padrão 4GB); 0 desliga cada uma.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "mercadotech.eventlog.dir")
+public class EventLogAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public EventLog eventLog(@Value("${mercadotech.eventlog.dir}") Path directory,
+                             @Value("${mercadotech.eventlog.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${mercadotech.eventlog.flush-interval-millis:200}") long flushIntervalMillis,
+                             @Value("${mercadotech.eventlog.retention:7d}") Duration retention,
+                             @Value("${mercadotech.eventlog.retention-size:4GB}") DataSize retentionSize)
+            throws IOException {
+        return new EventLog(directory, Math.toIntExact(segmentSize.toBytes()), flushIntervalMillis,
+                retention.toMillis(), retentionSize.toBytes());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RestController.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "mercadotech.eventlog.http.enabled", matchIfMissing = true)
+    static class HttpConfiguration {
+
+        @Bean
+        public EventLogController eventLogController(EventLog eventLog) {
+            return new EventLogController(eventLog);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.mercadotech.commons.eventlog;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Leitura do {@link EventLog} por outros serviços ({@link EventLogTailer}): {@code GET /eventlog/records?from=&max=&wait=}.
+ * Sem eventos a partir de {@code from}, a requisição espera até {@code wait} ms (long polling) antes de responder
+ * vazio. Os payloads vão em Base64. Registrado pelo {@link EventLogAutoConfiguration}.
+ */
+@RestController
+public class EventLogController {
+
+    /**
+     * Eventos lidos e o offset a pedir na próxima leitura.
+     */
+    public record Batch(List<EventRecord> records, long next) {
+    }
+
+    private static final int MAX_RECORDS = 5_000;
+    private static final long MAX_WAIT_MILLIS = 30_000;
+
+    private final EventLog eventLog;
+
+    public EventLogController(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    @GetMapping("/eventlog/records")
+    public ResponseEntity<Batch> records(@RequestParam(defaultValue = "0") long from,
+                                         @RequestParam(defaultValue = "500") int max,
+                                         @RequestParam(defaultValue = "0") long wait) throws InterruptedException {
+        List<EventRecord> records = eventLog.await(from, Math.clamp(max, 1, MAX_RECORDS), Math.clamp(wait, 0, MAX_WAIT_MILLIS));
+        long next = records.isEmpty() ? Math.max(from, eventLog.firstOffset()) : records.get(records.size() - 1).offset() + 1;
+        return ResponseEntity.ok(new Batch(records, next));
+    }
+}
@@ -0,0 +1,107 @@
+package com.mercadotech.commons.eventlog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.commons.eventlog.EventLogController.Batch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Assina o event log de outro serviço pelo {@link EventLogController}: lê em long polling a partir do offset
+ * confirmado do grupo, entrega cada lote ao {@code handler} e confirma o offset depois que ele retorna. Se o handler
+ * lança exceção, o lote é relido (entrega pelo menos uma vez); se o serviço de origem cai, tenta de novo com espera
+ * crescente (1 s a 30 s).
+ */
+public class EventLogTailer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLogTailer.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long WAIT_MILLIS = 25_000;
+    private static final long MIN_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final URI source;
+    private final String group;
+    private final ConsumerOffsets offsets;
+    private final int batchSize;
+    private final Consumer<List<EventRecord>> handler;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param source Base do serviço que expõe o log (ex.: {@code http://localhost:8084}).
+     * @param group  Grupo de consumidores; o offset fica em {@code offsets} com este nome.
+     */
+    public EventLogTailer(URI source, String group, ConsumerOffsets offsets, int batchSize,
+                          Consumer<List<EventRecord>> handler) {
+        this.source = source;
+        this.group = group;
+        this.offsets = offsets;
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.thread = new Thread(this::tail, "event-log-tailer-" + group);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(5_000);
+    }
+
+    private void tail() {
+        long backoff = MIN_BACKOFF_MILLIS;
+        long next = offsets.committed(group);
+        while (running) {
+            try {
+                Batch batch = fetch(next);
+                if (!batch.records().isEmpty()) {
+                    handler.accept(batch.records());
+                }
+                if (batch.next() != next) {
+                    offsets.commit(group, batch.next());
+                    next = batch.next();
+                }
+                backoff = MIN_BACKOFF_MILLIS;
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Leitura do event log {} (grupo {}, offset {}) falhou: {}", source, group, next, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private Batch fetch(long from) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(
+                        source.resolve("/eventlog/records?from=" + from + "&max=" + batchSize + "&wait=" + WAIT_MILLIS))
+                .timeout(Duration.ofMillis(WAIT_MILLIS + 5_000))
+                .header("Accept", "application/json")
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Event log respondeu " + response.statusCode());
+        }
+        return MAPPER.readValue(response.body(), Batch.class);
+    }
+}
@@ -0,0 +1,11 @@
+package com.mercadotech.commons.eventlog;
+
+/**
+ * Evento lido do {@link EventLog}.
+ *
+ * @param offset    Posição no log (sequencial, a partir de 0).
+ * @param timestamp Momento da gravação, em epoch millis.
+ * @param payload   Conteúdo gravado, sem interpretação (normalmente JSON).
+ */
+public record EventRecord(long offset, long timestamp, byte[] payload) {
+}
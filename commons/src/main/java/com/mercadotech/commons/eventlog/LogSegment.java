@@ -0,0 +1,282 @@
+package com.mercadotech.commons.eventlog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32C;
+
+/**
+ * Um arquivo do {@link EventLog}, mapeado em memória com tamanho fixo, com os eventos a partir de {@code baseOffset}.
+ *
+ * Formato de cada evento: {@code [int tamanho][int crc32c][long timestamp][payload]}, onde o tamanho conta
+ * timestamp + payload e o CRC cobre os mesmos bytes. O tamanho é gravado por último e o resto do arquivo é zero, então
+ * a leitura na abertura para no primeiro tamanho zero ou CRC inválido: é assim que uma gravação interrompida (queda de
+ * energia no meio de um evento) é descartada.
+ *
+ * Um escritor (sob o lock do {@link EventLog}) e vários leitores: os leitores só acessam eventos já publicados em
+ * {@link #count}, gravados antes dele.
+ *
+ * O mapeamento é liberado explicitamente (no Windows, um arquivo mapeado não pode ser apagado), mas só quando ninguém
+ * mais o usa: quem lê ou faz fsync fora do lock do {@link EventLog} segura o segmento com {@link #retain} e
+ * {@link #release}; {@link #close} e {@link #delete} soltam a referência do próprio log. Acessar um mapeamento já
+ * liberado derrubaria a JVM.
+ */
+final class LogSegment implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogSegment.class);
+
+    static final int HEADER_BYTES = 16;
+    private static final int INDEX_INTERVAL = 64; // Um ponteiro de posição a cada 64 eventos
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    final long baseOffset;
+    final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private volatile int count;
+    private volatile int position;
+    private volatile int[] index = new int[64];
+    private volatile long lastTimestamp;
+    private int forcedPosition;
+    private final AtomicInteger references = new AtomicInteger(1); // A do EventLog, mais a de cada leitor
+    private volatile boolean deleteOnRelease;
+
+    private LogSegment(Path path, long baseOffset, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.path = path;
+        this.baseOffset = baseOffset;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Abre (ou cria, com {@code capacity} bytes) o segmento e recupera os eventos íntegros.
+     *
+     * @return Segmento posicionado logo depois do último evento íntegro.
+     */
+    static LogSegment open(Path path, long baseOffset, int capacity) throws IOException {
+        boolean exists = Files.exists(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            int size = exists ? (int) Math.min(channel.size(), Integer.MAX_VALUE) : capacity;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            LogSegment segment = new LogSegment(path, baseOffset, channel, buffer, size);
+            if (exists) {
+                segment.recover();
+            }
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    long nextOffset() {
+        return baseOffset + count;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Timestamp do último evento; 0 se o segmento está vazio.
+     */
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * @return false se o evento não cabe no espaço que resta (o {@link EventLog} abre o próximo segmento).
+     */
+    boolean append(long timestamp, byte[] payload) {
+        int start = position;
+        int length = Long.BYTES + payload.length;
+        if (start + 2 * Integer.BYTES + length > capacity) {
+            return false;
+        }
+        buffer.putLong(start + 8, timestamp);
+        buffer.put(start + HEADER_BYTES, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + 8, length));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, length);
+        addToIndex(count, start);
+        position = start + 2 * Integer.BYTES + length;
+        lastTimestamp = timestamp;
+        count = count + 1; // Publica o evento para os leitores
+        return true;
+    }
+
+    /**
+     * Lê a partir de {@code offset} até {@code max} eventos anteriores a {@code endOffset}.
+     *
+     * @return Quantos eventos foram lidos.
+     */
+    int read(long offset, int max, long endOffset, List<EventRecord> out) {
+        int available = count;
+        int[] positions = index;
+        int first = (int) (offset - baseOffset);
+        int last = (int) Math.min(available, endOffset - baseOffset);
+        int n = Math.min(max, last - first);
+        if (n <= 0) {
+            return 0;
+        }
+        int slot = first / INDEX_INTERVAL;
+        int pos = positions[slot];
+        for (int i = slot * INDEX_INTERVAL; i < first; i++) {
+            pos += 2 * Integer.BYTES + buffer.getInt(pos);
+        }
+        for (int i = 0; i < n; i++) {
+            int length = buffer.getInt(pos);
+            byte[] payload = new byte[length - Long.BYTES];
+            buffer.get(pos + HEADER_BYTES, payload);
+            out.add(new EventRecord(offset + i, buffer.getLong(pos + 8), payload));
+            pos += 2 * Integer.BYTES + length;
+        }
+        return n;
+    }
+
+    /**
+     * Grava em disco o que foi escrito desde a última chamada.
+     */
+    synchronized void force() {
+        int end = position;
+        if (end > forcedPosition) {
+            buffer.force(forcedPosition, end - forcedPosition);
+            forcedPosition = end;
+        }
+    }
+
+    /**
+     * Segura o segmento aberto enquanto é usado fora do lock do {@link EventLog}; cada chamada que devolve true pede
+     * um {@link #release}.
+     *
+     * @return false se o segmento já foi fechado ou removido.
+     */
+    boolean retain() {
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void release() {
+        if (references.decrementAndGet() == 0) {
+            unmap();
+        }
+    }
+
+    /**
+     * Fecha o segmento e apaga o arquivo, assim que o último leitor terminar.
+     */
+    void delete() {
+        deleteOnRelease = true;
+        release();
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    private void unmap() {
+        try {
+            if (INVOKE_CLEANER != null) {
+                INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+            }
+            channel.close();
+            if (deleteOnRelease) {
+                Files.deleteIfExists(path);
+            }
+        } catch (Throwable e) {
+            log.warn("Falha ao liberar o segmento {}", path, e);
+        }
+    }
+
+    /**
+     * {@code Unsafe.invokeCleaner}: a única forma de liberar um mapeamento antes do GC no Java 21.
+     */
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Unsafe.invokeCleaner indisponível: segmentos removidos ficam mapeados até o GC", e);
+            return null;
+        }
+    }
+
+    private void addToIndex(int recordIndex, int recordPosition) {
+        if (recordIndex % INDEX_INTERVAL != 0) {
+            return;
+        }
+        int slot = recordIndex / INDEX_INTERVAL;
+        int[] positions = index;
+        if (slot == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        positions[slot] = recordPosition;
+        index = positions; // Antes de publicar o count: quem vê o evento vê o índice dele
+    }
+
+    private void recover() {
+        CRC32C crc = new CRC32C();
+        int pos = 0;
+        int n = 0;
+        while (pos + HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(pos);
+            if (length < Long.BYTES || length > capacity - pos - 2 * Integer.BYTES) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(pos + 8, length));
+            if ((int) crc.getValue() != buffer.getInt(pos + 4)) {
+                break;
+            }
+            addToIndex(n, pos);
+            lastTimestamp = buffer.getLong(pos + 8);
+            pos += 2 * Integer.BYTES + length;
+            n++;
+        }
+        if (pos + Integer.BYTES <= capacity && buffer.getInt(pos) != 0) {
+            // Evento interrompido: zera o resto para que restos de gravações antigas não voltem depois dos novos
+            for (int i = pos; i < capacity; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force(pos, capacity - pos);
+        }
+        position = pos;
+        forcedPosition = pos;
+        count = n;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mercadotech.commons.instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registro dos timers {@value #METRIC} de todos os pontos instrumentados do serviço: endpoints dos controllers,
+ * métodos dos repositórios Spring Data e chamadas dos Feign clients. Todos usam o mesmo nome e as tags
+ * {@code layer} ({@value #LAYER_CONTROLLER}, {@value #LAYER_REPOSITORY} ou {@value #LAYER_FEIGN}), {@code component}
+ * (classe ou interface), {@code method} e {@code outcome} ({@value #OUTCOME_SUCCESS} ou {@value #OUTCOME_ERROR}).
+ *
+ * Quem instrumenta guarda o {@link CallTimers} de cada método; este registro só é consultado na primeira chamada.
+ */
+public class CallMetrics {
+
+    public static final String METRIC = "mercadotech.calls";
+    public static final String LAYER_CONTROLLER = "controller";
+    public static final String LAYER_REPOSITORY = "repository";
+    public static final String LAYER_FEIGN = "feign";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, CallTimers> timers = new ConcurrentHashMap<>();
+
+    public CallMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public CallTimers timers(String layer, String component, String method) {
+        return timers.computeIfAbsent(layer + ':' + component + '.' + method,
+                key -> new CallTimers(this, layer, component, method));
+    }
+
+    /**
+     * Pontos que já receberam chamadas, para o endpoint {@code /actuator/calls}.
+     */
+    public List<CallTimers> getTimers() {
+        return List.copyOf(timers.values());
+    }
+
+    Timer timer(Tags tags) {
+        return Timer.builder(METRIC)
+                .description("Duração das chamadas por camada (controller, repositório, Feign client)")
+                .tags(tags)
+                .register(registry);
+    }
+}
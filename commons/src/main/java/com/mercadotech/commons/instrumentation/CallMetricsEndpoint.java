@@ -0,0 +1,59 @@
+package com.mercadotech.commons.instrumentation;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Endpoint do actuator ({@code /actuator/calls}) com o resumo de {@value CallMetrics#METRIC} por ponto
+ * instrumentado, do maior tempo total para o menor: mostra onde o tempo do serviço está indo sem precisar consultar
+ * cada combinação de tags em {@code /actuator/metrics}.
+ */
+@Endpoint(id = "calls")
+public class CallMetricsEndpoint {
+
+    private final CallMetrics callMetrics;
+
+    public CallMetricsEndpoint(CallMetrics callMetrics) {
+        this.callMetrics = callMetrics;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> calls() {
+        List<CallTimers> timers = new ArrayList<>(callMetrics.getTimers());
+        timers.sort(Comparator.comparingDouble(CallMetricsEndpoint::totalMillis).reversed());
+        List<Map<String, Object>> result = new ArrayList<>(timers.size());
+        for (CallTimers callTimers : timers) {
+            Timer success = callTimers.getSuccess();
+            Timer error = callTimers.getError();
+            long errors = error == null ? 0 : error.count();
+            long count = success.count() + errors;
+            double total = totalMillis(callTimers);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("layer", callTimers.getLayer());
+            summary.put("component", callTimers.getComponent());
+            summary.put("method", callTimers.getMethod());
+            summary.put("count", count);
+            summary.put("errors", errors);
+            summary.put("totalMillis", total);
+            summary.put("meanMillis", count == 0 ? 0.0 : total / count);
+            summary.put("maxMillis", Math.max(success.max(TimeUnit.MILLISECONDS),
+                    error == null ? 0.0 : error.max(TimeUnit.MILLISECONDS)));
+            result.add(summary);
+        }
+        return result;
+    }
+
+    private static double totalMillis(CallTimers callTimers) {
+        Timer error = callTimers.getError();
+        return callTimers.getSuccess().totalTime(TimeUnit.MILLISECONDS)
+                + (error == null ? 0.0 : error.totalTime(TimeUnit.MILLISECONDS));
+    }
+}
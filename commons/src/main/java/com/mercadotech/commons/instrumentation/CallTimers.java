@@ -0,0 +1,69 @@
+package com.mercadotech.commons.instrumentation;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers de um ponto instrumentado (camada, componente e método), resolvidos uma única vez: gravar uma chamada é
+ * só {@code nanoTime} e {@link Timer#record(long, TimeUnit)}, sem montar tags nem procurar o meter no registry.
+ */
+public final class CallTimers {
+
+    private final CallMetrics metrics;
+    private final String layer;
+    private final String component;
+    private final String method;
+    private final Timer success;
+    private volatile Timer error; // Registrado só na primeira falha, para não publicar séries vazias
+
+    CallTimers(CallMetrics metrics, String layer, String component, String method) {
+        this.metrics = metrics;
+        this.layer = layer;
+        this.component = component;
+        this.method = method;
+        this.success = metrics.timer(tags(CallMetrics.OUTCOME_SUCCESS));
+    }
+
+    /**
+     * @param startNanos valor de {@link System#nanoTime()} no início da chamada.
+     */
+    public void record(long startNanos, boolean failed) {
+        long elapsed = System.nanoTime() - startNanos;
+        (failed ? error() : success).record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    public String getLayer() {
+        return layer;
+    }
+
+    public String getComponent() {
+        return component;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    Timer getSuccess() {
+        return success;
+    }
+
+    Timer getError() {
+        return error;
+    }
+
+    private Timer error() {
+        Timer timer = error;
+        if (timer == null) {
+            timer = metrics.timer(tags(CallMetrics.OUTCOME_ERROR));
+            error = timer;
+        }
+        return timer;
+    }
+
+    private Tags tags(String outcome) {
+        return Tags.of("layer", layer, "component", component, "method", method, "outcome", outcome);
+    }
+}
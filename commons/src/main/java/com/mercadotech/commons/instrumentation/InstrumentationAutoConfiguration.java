@@ -0,0 +1,99 @@
+package com.mercadotech.commons.instrumentation;
+
+import feign.Capability;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Instrumentação comum dos serviços: timers {@value CallMetrics#METRIC} nos endpoints dos controllers, nos
+ * repositórios Spring Data e nos Feign clients, publicados pelo actuator ({@code /actuator/metrics} e
+ * {@code /actuator/calls}). Ativada quando há um {@link MeterRegistry} (actuator no serviço); pode ser desligada com
+ * {@code mercadotech.instrumentation.enabled=false}.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(name = "mercadotech.instrumentation.enabled", matchIfMissing = true)
+public class InstrumentationAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CallMetrics callMetrics(MeterRegistry meterRegistry) {
+        return new CallMetrics(meterRegistry);
+    }
+
+    // Os beans de infraestrutura abaixo são criados antes dos demais; o CallMetrics só é resolvido na primeira chamada
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RestController.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ControllerConfiguration {
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE) // Aplicado também pelo auto-proxy creator de infraestrutura (sem AspectJ)
+        static Advisor controllerTimingAdvisor(ObjectProvider<CallMetrics> callMetrics) {
+            return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(RestController.class, true),
+                    new TimedMethodInterceptor(SingletonSupplier.of(callMetrics::getObject), CallMetrics.LAYER_CONTROLLER, null));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RepositoryFactoryBeanSupport.class)
+    static class RepositoryConfiguration {
+
+        @Bean
+        static BeanPostProcessor repositoryTimingPostProcessor(ObjectProvider<CallMetrics> callMetrics) {
+            SingletonSupplier<CallMetrics> metrics = SingletonSupplier.of(callMetrics::getObject);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                        factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                                (proxyFactory, repository) -> proxyFactory.addAdvice(new TimedMethodInterceptor(metrics,
+                                        CallMetrics.LAYER_REPOSITORY, repository.getRepositoryInterface().getSimpleName()))));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Capability.class)
+    static class FeignConfiguration {
+
+        // Os Feign clients recebem as Capability do contexto principal
+        @Bean
+        public TimedFeignCapability timedFeignCapability(ObjectProvider<CallMetrics> callMetrics) {
+            return new TimedFeignCapability(SingletonSupplier.of(callMetrics::getObject));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    static class EndpointConfiguration {
+
+        @Bean
+        public CallMetricsEndpoint callMetricsEndpoint(CallMetrics callMetrics) {
+            return new CallMetricsEndpoint(callMetrics);
+        }
+    }
+}
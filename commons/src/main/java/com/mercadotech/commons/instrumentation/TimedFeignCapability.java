@@ -0,0 +1,70 @@
+package com.mercadotech.commons.instrumentation;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Mede as chamadas dos Feign clients, do balanceamento até a resposta (o {@link Client} medido é o do
+ * LoadBalancer). Respostas 5xx e falhas de I/O contam como {@code outcome=error}; 4xx é resposta do serviço
+ * chamado (ex.: produto inexistente) e conta como sucesso da chamada.
+ */
+public class TimedFeignCapability implements Capability {
+
+    private final Supplier<CallMetrics> metrics;
+    private final ConcurrentMap<Method, CallTimers> timers = new ConcurrentHashMap<>();
+
+    public TimedFeignCapability(Supplier<CallMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new TimedClient(client);
+    }
+
+    private CallTimers timersFor(MethodMetadata metadata) {
+        Method method = metadata.method();
+        CallTimers callTimers = timers.get(method);
+        if (callTimers == null) {
+            callTimers = timers.computeIfAbsent(method, m -> metrics.get()
+                    .timers(CallMetrics.LAYER_FEIGN, m.getDeclaringClass().getSimpleName(), m.getName()));
+        }
+        return callTimers;
+    }
+
+    private final class TimedClient implements Client {
+
+        private final Client delegate;
+
+        TimedClient(Client delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response execute(Request request, Request.Options options) throws IOException {
+            MethodMetadata metadata = request.requestTemplate().methodMetadata();
+            if (metadata == null || metadata.method() == null) {
+                return delegate.execute(request, options);
+            }
+            CallTimers callTimers = timersFor(metadata);
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Response response = delegate.execute(request, options);
+                failed = response.status() >= 500;
+                return response;
+            } finally {
+                callTimers.record(start, failed);
+            }
+        }
+    }
+}
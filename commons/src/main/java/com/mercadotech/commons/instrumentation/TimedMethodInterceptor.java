@@ -0,0 +1,61 @@
+package com.mercadotech.commons.instrumentation;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Mede cada invocação com os {@link CallTimers} do método, guardados por {@link Method}.
+ *
+ * Com {@code component} nulo (controllers, um interceptor para todos), o componente é a classe do objeto chamado;
+ * nos repositórios há um interceptor por proxy, com o nome da interface, porque métodos herdados como
+ * {@code findById} são o mesmo {@link Method} em todos eles.
+ */
+public class TimedMethodInterceptor implements MethodInterceptor {
+
+    private final Supplier<CallMetrics> metrics;
+    private final String layer;
+    private final String component;
+    private final ConcurrentMap<Method, CallTimers> timers = new ConcurrentHashMap<>();
+
+    public TimedMethodInterceptor(Supplier<CallMetrics> metrics, String layer, String component) {
+        this.metrics = metrics;
+        this.layer = layer;
+        this.component = component;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed(); // toString, hashCode...
+        }
+        CallTimers callTimers = timers.get(method); // get antes de computeIfAbsent: sem lambda capturando por chamada
+        if (callTimers == null) {
+            callTimers = timers.computeIfAbsent(method, m -> metrics.get().timers(layer, componentOf(invocation), m.getName()));
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            callTimers.record(start, failed);
+        }
+    }
+
+    private String componentOf(MethodInvocation invocation) {
+        if (component != null) {
+            return component;
+        }
+        Object target = invocation.getThis();
+        return target == null ? invocation.getMethod().getDeclaringClass().getSimpleName()
+                : ClassUtils.getUserClass(target).getSimpleName();
+    }
+}
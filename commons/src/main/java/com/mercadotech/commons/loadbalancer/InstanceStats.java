@@ -0,0 +1,106 @@
+package com.mercadotech.commons.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estatísticas de uma instância de serviço usadas pelo {@link PeakEwmaLoadBalancer}.
+ *
+ * O custo é uma média móvel exponencial "de pico" (peak EWMA, como no Finagle/Linkerd): uma amostra acima
+ * da média substitui o valor imediatamente, enquanto amostras menores o reduzem gradualmente conforme o
+ * tempo decorrido. Assim uma instância em pausa de GC é evitada na hora e só volta a receber a fatia
+ * completa de tráfego depois de se mostrar rápida de novo.
+ */
+public class InstanceStats {
+
+    private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1); // Falha rápida (ex: conexão recusada) não pode parecer "instância rápida"
+
+    private final String serviceId;
+    private final String instanceId;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private double costNanos;       // Protegido por synchronized
+    private long lastObservedAt;    // Protegido por synchronized
+
+    public InstanceStats(String serviceId, String instanceId) {
+        this.serviceId = serviceId;
+        this.instanceId = instanceId;
+    }
+
+    public void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Registra o término de uma requisição.
+     * @param latencyNanos Latência observada, ou valor negativo se não foi possível medir.
+     * @param failed true se a requisição falhou.
+     */
+    public void onComplete(long latencyNanos, boolean failed) {
+        outstanding.decrementAndGet();
+        requests.incrementAndGet();
+        if (failed) {
+            failures.incrementAndGet();
+            latencyNanos = Math.max(latencyNanos, FAILURE_PENALTY_NANOS);
+        }
+        if (latencyNanos >= 0) {
+            observe(latencyNanos, System.nanoTime());
+        }
+    }
+
+    synchronized void observe(long latencyNanos, long now) {
+        if (lastObservedAt == 0 || latencyNanos > costNanos) {
+            costNanos = latencyNanos;     // Pico: assume o pior valor imediatamente
+        } else {
+            double elapsed = Math.max(now - lastObservedAt, 0);
+            double weight = Math.exp(-elapsed / DECAY_NANOS);
+            costNanos = costNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastObservedAt = now;
+    }
+
+    /**
+     * Pontuação usada na escolha: menor é melhor. Combina a latência esperada com a fila atual da instância,
+     * de forma que uma instância rápida mas já sobrecarregada também seja evitada.
+     */
+    public double score() {
+        double cost;
+        synchronized (this) {
+            cost = costNanos;
+        }
+        int pending = outstanding.get();
+        if (cost == 0) {
+            // Instância sem histórico: preferida enquanto estiver ociosa, para ser "sondada"
+            return pending == 0 ? 0 : Double.MAX_VALUE / 2;
+        }
+        return cost * (pending + 1);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public synchronized double getCostMillis() {
+        return costNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.mercadotech.commons.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Substitui o round robin padrão do Spring Cloud LoadBalancer pelo {@link PeakEwmaLoadBalancer} em todos os
+ * serviços que usam o commons (rotas {@code lb://} do gateway e Feign clients sem {@code url} fixa).
+ * Pode ser desligado com {@code mercadotech.loadbalancer.peak-ewma.enabled=false}.
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass(ReactorServiceInstanceLoadBalancer.class)
+@ConditionalOnProperty(name = "mercadotech.loadbalancer.peak-ewma.enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerAutoConfiguration {
+
+    @Bean
+    public LoadBalancerStatsRegistry loadBalancerStatsRegistry() {
+        return new LoadBalancerStatsRegistry();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    static class MetricsConfiguration {
+
+        @Bean
+        public LoadBalancerStatsMetrics loadBalancerStatsMetrics(LoadBalancerStatsRegistry statsRegistry, MeterRegistry meterRegistry) {
+            return new LoadBalancerStatsMetrics(statsRegistry, meterRegistry);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    static class EndpointConfiguration {
+
+        @Bean
+        public LoadBalancerStatsEndpoint loadBalancerStatsEndpoint(LoadBalancerStatsRegistry statsRegistry) {
+            return new LoadBalancerStatsEndpoint(statsRegistry);
+        }
+    }
+}
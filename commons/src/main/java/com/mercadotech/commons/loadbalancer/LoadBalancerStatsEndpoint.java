@@ -0,0 +1,40 @@
+package com.mercadotech.commons.loadbalancer;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Endpoint do actuator ({@code /actuator/loadbalancer}) com as estatísticas por instância de cada serviço.
+ */
+@Endpoint(id = "loadbalancer")
+public class LoadBalancerStatsEndpoint {
+
+    private final LoadBalancerStatsRegistry statsRegistry;
+
+    public LoadBalancerStatsEndpoint(LoadBalancerStatsRegistry statsRegistry) {
+        this.statsRegistry = statsRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Map<String, Object>>> services() {
+        Map<String, Map<String, Map<String, Object>>> result = new TreeMap<>();
+        statsRegistry.getServices().forEach((serviceId, instances) -> {
+            Map<String, Map<String, Object>> byInstance = new TreeMap<>();
+            instances.forEach((instanceId, stats) -> {
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("outstanding", stats.getOutstanding());
+                summary.put("costMillis", stats.getCostMillis());
+                summary.put("score", stats.score());
+                summary.put("requests", stats.getRequests());
+                summary.put("failures", stats.getFailures());
+                byInstance.put(instanceId, summary);
+            });
+            result.put(serviceId, byInstance);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mercadotech.commons.loadbalancer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Publica no Micrometer as estatísticas de cada instância conhecida pelo {@link LoadBalancerStatsRegistry}.
+ */
+public class LoadBalancerStatsMetrics {
+
+    private final MeterRegistry registry;
+
+    public LoadBalancerStatsMetrics(LoadBalancerStatsRegistry statsRegistry, MeterRegistry registry) {
+        this.registry = registry;
+        statsRegistry.addInstanceListener(this::register);
+    }
+
+    private void register(InstanceStats stats) {
+        Gauge.builder("loadbalancer.instance.outstanding", stats, InstanceStats::getOutstanding)
+                .description("Requisições em andamento para a instância")
+                .tag("service", stats.getServiceId())
+                .tag("instance", stats.getInstanceId())
+                .register(registry);
+        Gauge.builder("loadbalancer.instance.cost", stats, s -> s.getCostMillis() / 1000.0)
+                .description("Latência peak-EWMA da instância")
+                .baseUnit("seconds")
+                .tag("service", stats.getServiceId())
+                .tag("instance", stats.getInstanceId())
+                .register(registry);
+        FunctionCounter.builder("loadbalancer.instance.requests", stats, InstanceStats::getRequests)
+                .tag("service", stats.getServiceId())
+                .tag("instance", stats.getInstanceId())
+                .register(registry);
+        FunctionCounter.builder("loadbalancer.instance.failures", stats, InstanceStats::getFailures)
+                .tag("service", stats.getServiceId())
+                .tag("instance", stats.getInstanceId())
+                .register(registry);
+    }
+}
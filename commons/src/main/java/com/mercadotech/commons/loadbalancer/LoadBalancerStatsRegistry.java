@@ -0,0 +1,56 @@
+package com.mercadotech.commons.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Registro das estatísticas por instância de todos os serviços balanceados pela aplicação.
+ * É um bean do contexto principal, compartilhado pelos contextos filhos que o Spring Cloud LoadBalancer
+ * cria para cada serviço.
+ */
+public class LoadBalancerStatsRegistry {
+
+    private final Map<String, Map<String, InstanceStats>> services = new ConcurrentHashMap<>();
+    private final List<Consumer<InstanceStats>> listeners = new CopyOnWriteArrayList<>();
+
+    public InstanceStats statsFor(String serviceId, ServiceInstance instance) {
+        Map<String, InstanceStats> instances = services.get(serviceId);
+        if (instances == null) {
+            instances = services.computeIfAbsent(serviceId, id -> new ConcurrentHashMap<>());
+        }
+        String instanceId = instanceKey(instance);
+        InstanceStats stats = instances.get(instanceId);
+        if (stats == null) {
+            stats = instances.computeIfAbsent(instanceId, id -> notifyListeners(new InstanceStats(serviceId, id)));
+        }
+        return stats;
+    }
+
+    public Map<String, Map<String, InstanceStats>> getServices() {
+        return Collections.unmodifiableMap(services);
+    }
+
+    /**
+     * Registra um listener chamado uma vez para cada instância nova (e para as já conhecidas).
+     */
+    public void addInstanceListener(Consumer<InstanceStats> listener) {
+        listeners.add(listener);
+        services.values().forEach(instances -> instances.values().forEach(listener));
+    }
+
+    static String instanceKey(ServiceInstance instance) {
+        // O instance-id do Eureka é aleatório (${random.value}); host:porta identifica melhor a instância nos relatórios
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private InstanceStats notifyListeners(InstanceStats stats) {
+        listeners.forEach(listener -> listener.accept(stats));
+        return stats;
+    }
+}
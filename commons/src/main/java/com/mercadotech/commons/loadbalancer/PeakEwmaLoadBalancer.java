@@ -0,0 +1,103 @@
+package com.mercadotech.commons.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load balancer "power of two choices" com peak EWMA: sorteia duas instâncias e envia a requisição para a
+ * de menor {@link InstanceStats#score()}, ou seja, menor latência recente ponderada pelas requisições pendentes.
+ *
+ * Também é o {@link LoadBalancerLifecycle} do próprio serviço: recebe o início e o término de cada requisição
+ * (tanto do filtro {@code lb://} do gateway quanto dos Feign clients) para alimentar as estatísticas.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final LoadBalancerStatsRegistry statsRegistry;
+
+    public PeakEwmaLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                LoadBalancerStatsRegistry statsRegistry) {
+        this.serviceId = serviceId;
+        this.supplierProvider = supplierProvider;
+        this.statsRegistry = statsRegistry;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++; // Garante duas instâncias distintas
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        double scoreA = statsRegistry.statsFor(serviceId, a).score();
+        double scoreB = statsRegistry.statsFor(serviceId, b).score();
+        return new DefaultResponse(scoreA <= scoreB ? a : b);
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+        // A instância só é conhecida em onStartRequest
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed && timed.getRequestStartTime() == 0) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        statsRegistry.statsFor(serviceId, lbResponse.getServer()).onStart();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long latency = -1;
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        if (request != null && request.getContext() instanceof TimedRequestContext timed && timed.getRequestStartTime() > 0) {
+            latency = System.nanoTime() - timed.getRequestStartTime();
+        }
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED;
+        statsRegistry.statsFor(serviceId, lbResponse.getServer()).onComplete(latency, failed);
+    }
+}
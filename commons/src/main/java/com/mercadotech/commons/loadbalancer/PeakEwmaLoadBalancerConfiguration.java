@@ -0,0 +1,25 @@
+package com.mercadotech.commons.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuração aplicada a cada contexto filho do Spring Cloud LoadBalancer (um por serviço de destino).
+ * Não deve ser escaneada pelo contexto principal: é registrada via
+ * {@code @LoadBalancerClients(defaultConfiguration = ...)} em {@link LoadBalancerAutoConfiguration}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public PeakEwmaLoadBalancer peakEwmaLoadBalancer(Environment environment,
+                                                     ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                                     LoadBalancerStatsRegistry statsRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(serviceId, supplierProvider, statsRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.mercadotech.commons.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Troca os appenders do logger raiz (console e arquivo configurados pelo Spring Boot) por {@link AsyncAppender}s:
+ * a thread da requisição só enfileira o evento, e a escrita (com o lock do appender) fica numa thread do Logback.
+ *
+ * A fila é limitada e nunca bloqueia: com mais de 80% ocupados, eventos abaixo de WARN são descartados; cheia,
+ * descarta qualquer evento em vez de segurar a requisição. Os dados do chamador (classe/linha) não são coletados.
+ */
+public class AsyncLogAppenders {
+
+    private static final String PREFIX = "ASYNC-";
+
+    private final int queueSize;
+
+    public AsyncLogAppenders(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Instala os appenders assíncronos no contexto atual do Logback. Idempotente: appenders já assíncronos ficam
+     * como estão, e uma nova inicialização do logging (que recria os appenders) exige nova chamada.
+     *
+     * @return Quantos appenders passaram a ser assíncronos.
+     */
+    public int install() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return 0;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            Appender<ILoggingEvent> appender = it.next();
+            if (!(appender instanceof AsyncAppender)) {
+                appenders.add(appender);
+            }
+        }
+        for (Appender<ILoggingEvent> appender : appenders) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName(PREFIX + appender.getName());
+            async.setQueueSize(queueSize);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(appender);
+            async.start();
+            root.addAppender(async);
+            root.detachAppender(appender); // Continua iniciado, agora só alimentado pela fila
+        }
+        return appenders.size();
+    }
+
+    /**
+     * Desfaz o {@link #install()}: os appenders originais voltam ao logger raiz, e a fila é esvaziada antes de o
+     * appender assíncrono parar.
+     */
+    public void uninstall() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        List<AsyncAppender> installed = new ArrayList<>();
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof AsyncAppender async && async.getName().startsWith(PREFIX)) {
+                installed.add(async);
+            }
+        }
+        for (AsyncAppender async : installed) {
+            root.detachAppender(async);
+            async.stop(); // Esvazia a fila no appender original, que continua iniciado
+            List<Appender<ILoggingEvent>> originals = new ArrayList<>();
+            async.iteratorForAppenders().forEachRemaining(originals::add);
+            for (Appender<ILoggingEvent> original : originals) {
+                async.detachAppender(original);
+                root.addAppender(original);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mercadotech.commons.logging;
+
+import com.mercadotech.commons.tracing.ActiveSpan;
+import com.mercadotech.commons.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide por requisição se os logs abaixo de WARN são mantidos (ver {@link RequestLogSampler}).
+ *
+ * Com tracing, segue a amostragem do trace, que o gateway decide e propaga: os logs mantidos são os das requisições
+ * que têm trace em {@code /actuator/traces}, em todos os serviços da chamada. Sem span corrente (tracing desligado),
+ * sorteia com {@code sampleRate}.
+ */
+public class LogSamplingServletFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+    private final double sampleRate;
+
+    /**
+     * @param tracer Tracer do serviço; pode ser null.
+     */
+    public LogSamplingServletFilter(Tracer tracer, double sampleRate) {
+        this.tracer = tracer;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isSampled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RequestLogSampler.suppress();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestLogSampler.resume();
+        }
+    }
+
+    private boolean isSampled() {
+        ActiveSpan span = tracer == null ? null : tracer.current();
+        if (span != null) {
+            return span.isSampled();
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,73 @@
+package com.mercadotech.commons.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.mercadotech.commons.tracing.Tracer;
+import jakarta.servlet.Filter;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Modo de log para os caminhos quentes das requisições, ligado por propriedade em cada serviço:
+ * <ul>
+ *   <li>{@code mercadotech.logging.async.enabled=true}: appenders do Spring Boot atrás de uma fila limitada e não
+ *   bloqueante ({@link AsyncLogAppenders}), com {@code mercadotech.logging.async.queue-size} eventos;</li>
+ *   <li>{@code mercadotech.logging.sampling.enabled=true}: logs abaixo de WARN só das requisições amostradas
+ *   ({@link LogSamplingServletFilter}); WARN e ERROR sempre.</li>
+ * </ul>
+ * Só com o Logback (padrão do Spring Boot); os appenders são trocados depois que o Spring Boot configura o logging.
+ */
+@AutoConfiguration
+@ConditionalOnClass(LoggerContext.class)
+public class LoggingAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "mercadotech.logging.async.enabled", havingValue = "true")
+    static class AsyncConfiguration {
+
+        @Bean(destroyMethod = "uninstall")
+        public AsyncLogAppenders asyncLogAppenders(@Value("${mercadotech.logging.async.queue-size:8192}") int queueSize) {
+            return new AsyncLogAppenders(queueSize);
+        }
+
+        @Bean
+        public SmartInitializingSingleton asyncLogAppendersInstaller(AsyncLogAppenders asyncLogAppenders) {
+            return asyncLogAppenders::install;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Filter.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "mercadotech.logging.sampling.enabled", havingValue = "true")
+    static class SamplingConfiguration {
+
+        @Bean(destroyMethod = "stop")
+        public RequestLogSampler requestLogSampler() {
+            RequestLogSampler sampler = new RequestLogSampler();
+            if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+                sampler.attach(context);
+            }
+            return sampler;
+        }
+
+        @Bean
+        public FilterRegistrationBean<LogSamplingServletFilter> logSamplingServletFilter(
+                RequestLogSampler requestLogSampler, ObjectProvider<Tracer> tracer,
+                @Value("${mercadotech.logging.sampling.sample-rate:0.1}") double sampleRate) {
+            FilterRegistrationBean<LogSamplingServletFilter> registration = new FilterRegistrationBean<>(
+                    new LogSamplingServletFilter(tracer.getIfAvailable(), sampleRate));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2); // Depois do tracing, que decide a amostragem do trace
+            return registration;
+        }
+    }
+}
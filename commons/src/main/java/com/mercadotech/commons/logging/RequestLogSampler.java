@@ -0,0 +1,55 @@
+package com.mercadotech.commons.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Descarta os logs abaixo de WARN das requisições não amostradas, antes de o evento ser criado: a mensagem não é
+ * formatada e os argumentos não têm o {@code toString()} chamado. WARN e ERROR passam sempre, e fora de uma
+ * requisição (subida, tarefas agendadas) nada é filtrado.
+ *
+ * A decisão é marcada na thread pelo {@link LogSamplingServletFilter}; como turbo filter, vale também para
+ * {@code isInfoEnabled()} e para a API fluente do SLF4J ({@code log.atInfo()}).
+ */
+public class RequestLogSampler extends TurboFilter {
+
+    private static final ThreadLocal<Boolean> SUPPRESSED = new ThreadLocal<>();
+
+    /**
+     * Suprime os logs abaixo de WARN da requisição corrente, até {@link #resume()}.
+     */
+    public static void suppress() {
+        SUPPRESSED.set(Boolean.TRUE);
+    }
+
+    public static void resume() {
+        SUPPRESSED.remove();
+    }
+
+    /**
+     * Inicia o filtro e o adiciona ao {@code context}; {@link #stop()} o retira.
+     */
+    public void attach(LoggerContext context) {
+        setContext(context);
+        setName("request-log-sampler");
+        start();
+        context.addTurboFilter(this);
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (getContext() instanceof LoggerContext context) {
+            context.getTurboFilterList().remove(this);
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        return level.isGreaterOrEqual(Level.WARN) || SUPPRESSED.get() == null ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,7 @@
+package com.mercadotech.commons.reconciliation;
+
+/**
+ * Nó intermediário: soma dos digests dos produtos do dia que caem no {@code bucket}.
+ */
+public record BucketDigest(int bucket, long digest) {
+}
@@ -0,0 +1,9 @@
+package com.mercadotech.commons.reconciliation;
+
+import java.time.LocalDate;
+
+/**
+ * Raiz da árvore de um dia: soma dos digests dos produtos, com os totais só para o relatório.
+ */
+public record DayDigest(LocalDate day, long digest, long count, long quantity) {
+}
@@ -0,0 +1,10 @@
+package com.mercadotech.commons.reconciliation;
+
+import java.time.LocalDate;
+
+/**
+ * Movimentos de um produto num dia: linha do {@code GROUP BY dia, produto} que alimenta os {@link MovementDigests}.
+ * Os tipos em objeto vêm direto da consulta JPQL ({@code count} e {@code sum} devolvem {@code Long}).
+ */
+public record MovementAggregate(LocalDate day, Long productId, Long count, Long quantity) {
+}
@@ -0,0 +1,124 @@
+package com.mercadotech.commons.reconciliation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+/**
+ * Digests hierárquicos (árvore de Merkle) de movimentos agregados por dia e produto, para dois serviços compararem os
+ * seus registros sem trocar as tabelas: dia → bucket (hash do produto, {@link #BUCKETS} por dia) → produto. Quem
+ * compara pede primeiro os digests dos dias e só desce nos dias, e depois nos buckets, cujo digest difere.
+ *
+ * A folha é um hash de (produto, registros, quantidade); bucket e dia somam (mod 2^64) os hashes das folhas abaixo.
+ * A soma não depende da ordem, então cada nível sai de uma passada sobre o {@code GROUP BY}, e os dois lados chegam ao
+ * mesmo valor sem combinar ordenação. Produtos sem movimento no dia não entram na árvore; dia ou bucket ausente num
+ * dos lados conta como digest 0.
+ */
+public final class MovementDigests {
+
+    public static final int BUCKETS = 64;
+    /** Maior período aceito numa reconciliação, em dias. */
+    public static final int MAX_DAYS = 3 * 366;
+
+    private static final int DAYS_PER_QUERY = 31; // Um GROUP BY por mês: memória limitada em períodos longos
+
+    private MovementDigests() {
+    }
+
+    public static int bucket(long productId) {
+        return (int) (mix(productId * 0x9E3779B97F4A7C15L) >>> 58); // 6 bits mais altos: 64 buckets
+    }
+
+    public static long leaf(long productId, long count, long quantity) {
+        long hash = mix(productId * 0x9E3779B97F4A7C15L);
+        hash = mix(hash ^ count * 0xC2B2AE3D27D4EB4FL);
+        return mix(hash ^ quantity * 0x165667B19E3779F9L);
+    }
+
+    /**
+     * Digests dos dias com movimento entre {@code start} e {@code end} (inclusive), agregando um mês por vez:
+     * {@code aggregate} recebe o intervalo [de, até) e devolve o {@code GROUP BY} dia, produto dele.
+     */
+    public static List<DayDigest> days(LocalDate start, LocalDate end,
+                                       BiFunction<LocalDate, LocalDate, List<MovementAggregate>> aggregate) {
+        List<DayDigest> digests = new ArrayList<>();
+        for (LocalDate from = start; !from.isAfter(end); from = from.plusDays(DAYS_PER_QUERY)) {
+            LocalDate to = from.plusDays(DAYS_PER_QUERY);
+            digests.addAll(days(aggregate.apply(from, to.isAfter(end) ? end.plusDays(1) : to)));
+        }
+        return digests;
+    }
+
+    /**
+     * Se o período pode ser reconciliado: {@code end} não anterior a {@code start} e no máximo {@link #MAX_DAYS}
+     * dias.
+     */
+    public static boolean isValidPeriod(LocalDate start, LocalDate end) {
+        return !end.isBefore(start) && !start.plusDays(MAX_DAYS).isBefore(end);
+    }
+
+    /**
+     * Digests dos dias presentes em {@code aggregates}, em ordem de dia.
+     */
+    public static List<DayDigest> days(Collection<MovementAggregate> aggregates) {
+        Map<LocalDate, long[]> days = new TreeMap<>();
+        for (MovementAggregate aggregate : aggregates) {
+            long[] day = days.computeIfAbsent(aggregate.day(), d -> new long[3]);
+            day[0] += leaf(aggregate);
+            day[1] += aggregate.count();
+            day[2] += aggregate.quantity();
+        }
+        List<DayDigest> digests = new ArrayList<>(days.size());
+        days.forEach((day, totals) -> digests.add(new DayDigest(day, totals[0], totals[1], totals[2])));
+        return digests;
+    }
+
+    /**
+     * Digests dos buckets com algum produto, em ordem de bucket ({@code aggregates} de um mesmo dia).
+     */
+    public static List<BucketDigest> buckets(Collection<MovementAggregate> aggregates) {
+        long[] digests = new long[BUCKETS];
+        boolean[] present = new boolean[BUCKETS];
+        for (MovementAggregate aggregate : aggregates) {
+            int bucket = bucket(aggregate.productId());
+            digests[bucket] += leaf(aggregate);
+            present[bucket] = true;
+        }
+        List<BucketDigest> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (present[bucket]) {
+                buckets.add(new BucketDigest(bucket, digests[bucket]));
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Totais dos produtos do {@code bucket}, em ordem de produto ({@code aggregates} de um mesmo dia).
+     */
+    public static List<ProductTotals> products(Collection<MovementAggregate> aggregates, int bucket) {
+        return aggregates.stream()
+                .filter(aggregate -> bucket(aggregate.productId()) == bucket)
+                .map(aggregate -> new ProductTotals(aggregate.productId(), aggregate.count(), aggregate.quantity()))
+                .sorted(Comparator.comparingLong(ProductTotals::productId))
+                .toList();
+    }
+
+    private static long leaf(MovementAggregate aggregate) {
+        return leaf(aggregate.productId(), aggregate.count(), aggregate.quantity());
+    }
+
+    // Finalizador do MurmurHash3 (64 bits)
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        return value ^ value >>> 33;
+    }
+}
@@ -0,0 +1,7 @@
+package com.mercadotech.commons.reconciliation;
+
+/**
+ * Folha da árvore: totais de um produto num dia.
+ */
+public record ProductTotals(long productId, long count, long quantity) {
+}
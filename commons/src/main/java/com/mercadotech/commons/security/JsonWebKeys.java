@@ -0,0 +1,96 @@
+package com.mercadotech.commons.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conversão entre chaves públicas EC P-256 (ES256) e o formato JWK (RFC 7517/7518).
+ */
+public final class JsonWebKeys {
+
+    public static final String ALGORITHM = "ES256";
+    private static final String CURVE = "P-256";
+    private static final int COORDINATE_LENGTH = 32;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JsonWebKeys() {
+    }
+
+    /**
+     * Serializa uma chave pública como JWK.
+     * @param kid Identificador da chave (header "kid" dos tokens assinados com ela).
+     * @param publicKey Chave pública EC P-256.
+     * @return Mapa pronto para ser serializado em JSON.
+     */
+    public static Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", CURVE);
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM);
+        jwk.put("x", encodeCoordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", encodeCoordinate(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    /**
+     * Lê um documento JWKS ({@code {"keys": [...]}}), ignorando chaves de tipos não suportados.
+     * @param json Conteúdo do JWKS.
+     * @return Chaves públicas indexadas pelo kid.
+     */
+    public static Map<String, PublicKey> parse(String json) {
+        try {
+            JsonNode keys = MAPPER.readTree(json).path("keys");
+            Map<String, PublicKey> result = new HashMap<>();
+            for (JsonNode key : keys) {
+                if ("EC".equals(key.path("kty").asText()) && CURVE.equals(key.path("crv").asText()) && key.hasNonNull("kid")) {
+                    result.put(key.get("kid").asText(), toPublicKey(key.path("x").asText(), key.path("y").asText()));
+                }
+            }
+            return result;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalArgumentException("JWKS inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private static PublicKey toPublicKey(String x, String y) throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+        ECPoint point = new ECPoint(decodeCoordinate(x), decodeCoordinate(y));
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+    }
+
+    private static String encodeCoordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // BigInteger pode ter um byte de sinal a mais ou bytes a menos; a JWK exige exatamente 32 bytes
+        byte[] fixed = new byte[COORDINATE_LENGTH];
+        int length = Math.min(bytes.length, COORDINATE_LENGTH);
+        System.arraycopy(bytes, bytes.length - length, fixed, COORDINATE_LENGTH - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static BigInteger decodeCoordinate(String value) {
+        byte[] bytes = Base64.getUrlDecoder().decode(value);
+        return new BigInteger(1, Arrays.copyOf(bytes, bytes.length));
+    }
+}
@@ -0,0 +1,81 @@
+package com.mercadotech.commons.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache das chaves públicas publicadas pelo auth-service em {@code /auth/.well-known/jwks.json}.
+ *
+ * As chaves são buscadas de forma preguiçosa: só quando chega um token com um {@code kid} desconhecido
+ * (ex: logo após uma rotação). Para que tokens forjados com kids aleatórios não provoquem uma busca por
+ * requisição, o JWKS é rebaixado no máximo uma vez a cada {@code minRefreshInterval}.
+ * Chaves já conhecidas nunca são removidas do cache enquanto o processo estiver vivo; a expiração
+ * dos tokens continua sendo validada pela claim {@code exp}.
+ */
+public class JwksPublicKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksPublicKeyCache.class);
+
+    private final Supplier<String> jwksFetcher;
+    private final long minRefreshIntervalNanos;
+    private final Map<String, PublicKey> keys = new ConcurrentHashMap<>();
+    private final Object refreshLock = new Object();
+    private volatile long lastRefreshAt;
+
+    /**
+     * @param jwksFetcher Busca o documento JWKS (chamada bloqueante).
+     * @param minRefreshInterval Intervalo mínimo entre duas buscas.
+     */
+    public JwksPublicKeyCache(Supplier<String> jwksFetcher, Duration minRefreshInterval) {
+        this.jwksFetcher = jwksFetcher;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+    }
+
+    /**
+     * Retorna a chave apenas se já estiver em cache. Nunca bloqueia.
+     */
+    public PublicKey getCached(String kid) {
+        return keys.get(kid);
+    }
+
+    /**
+     * Retorna a chave do kid, buscando o JWKS se necessário. Pode bloquear na primeira chamada para um kid novo;
+     * em código reativo deve ser chamado fora do event loop.
+     * @return A chave pública, ou null se o kid continuar desconhecido.
+     */
+    public PublicKey resolve(String kid) {
+        PublicKey key = keys.get(kid);
+        if (key != null) {
+            return key;
+        }
+        synchronized (refreshLock) {
+            key = keys.get(kid);
+            if (key != null) {
+                return key; // Outra thread acabou de buscar
+            }
+            long now = System.nanoTime();
+            if (lastRefreshAt != 0 && now - lastRefreshAt < minRefreshIntervalNanos) {
+                return null;
+            }
+            lastRefreshAt = now;
+            refresh();
+            return keys.get(kid);
+        }
+    }
+
+    private void refresh() {
+        try {
+            Map<String, PublicKey> fetched = JsonWebKeys.parse(jwksFetcher.get());
+            keys.putAll(fetched);
+            log.info("JWKS atualizado: {} chaves conhecidas ({} publicadas).", keys.size(), fetched.size());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao buscar JWKS: {}", e.getMessage());
+        }
+    }
+}
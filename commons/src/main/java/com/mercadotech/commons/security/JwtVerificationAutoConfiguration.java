@@ -0,0 +1,73 @@
+package com.mercadotech.commons.security;
+
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Disponibiliza um {@link JwtVerifier} para serviços que validam tokens localmente (hoje o gateway).
+ * Ativado quando {@code mercadotech.security.jwt.jwks-uri} está configurado e o jjwt está no classpath.
+ * Com {@code mercadotech.security.jwt.revocations-uri}, mantém também a {@link TokenRevocationList}.
+ * Tokens HS256 só são aceitos com {@code legacy-hmac-secret} e {@code legacy-hmac-until} (ISO-8601, ex.:
+ * {@code 2026-11-30T00:00:00Z}) configurados, e só até essa data.
+ */
+@AutoConfiguration
+@ConditionalOnClass(Jwts.class)
+@ConditionalOnProperty(name = "mercadotech.security.jwt.jwks-uri")
+public class JwtVerificationAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RemoteDocumentFetcher remoteDocumentFetcher(ObjectProvider<LoadBalancerClient> loadBalancerClient) {
+        return new RemoteDocumentFetcher(loadBalancerClient.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwksPublicKeyCache jwksPublicKeyCache(@Value("${mercadotech.security.jwt.jwks-uri}") URI jwksUri,
+                                                 @Value("${mercadotech.security.jwt.min-refresh-interval:30s}") Duration minRefreshInterval,
+                                                 RemoteDocumentFetcher remoteDocumentFetcher) {
+        return new JwksPublicKeyCache(() -> remoteDocumentFetcher.get(jwksUri), minRefreshInterval);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtVerifier jwtVerifier(JwksPublicKeyCache jwksPublicKeyCache,
+                                   @Value("${mercadotech.security.jwt.legacy-hmac-secret:}") String legacyHmacSecret,
+                                   @Value("${mercadotech.security.jwt.legacy-hmac-until:}") String legacyHmacUntil,
+                                   @Value("${mercadotech.security.jwt.verified-cache.max-tokens:100000}") int maxCachedTokens,
+                                   @Value("${mercadotech.security.jwt.verified-cache.ttl:60s}") Duration cacheTtl) {
+        return new JwtVerifier(jwksPublicKeyCache, legacyHmacSecret,
+                legacyHmacUntil.isBlank() ? null : Instant.parse(legacyHmacUntil), maxCachedTokens, cacheTtl);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "mercadotech.security.jwt.revocations-uri")
+    static class RevocationConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public TokenRevocationList tokenRevocationList(@Value("${mercadotech.security.jwt.expected-revocations:100000}") int expectedRevocations) {
+            return new TokenRevocationList(expectedRevocations);
+        }
+
+        @Bean(initMethod = "start", destroyMethod = "close")
+        public RevocationFeedPoller revocationFeedPoller(@Value("${mercadotech.security.jwt.revocations-uri}") URI feedUri,
+                                                         @Value("${mercadotech.security.jwt.revocations-poll-interval:2s}") Duration pollInterval,
+                                                         RemoteDocumentFetcher remoteDocumentFetcher,
+                                                         TokenRevocationList tokenRevocationList) {
+            return new RevocationFeedPoller(feedUri, remoteDocumentFetcher, tokenRevocationList, pollInterval);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.mercadotech.commons.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verificação local de JWTs emitidos pelo auth-service.
+ *
+ * Tokens ES256 são validados com a chave pública do {@code kid} do header, obtida do {@link JwksPublicKeyCache};
+ * nenhum segredo compartilhado é necessário. Tokens HS256 (anteriores à migração) são rejeitados, a não ser que um
+ * segredo legado seja configurado junto com a data limite da migração: a partir dela são rejeitados de novo, mesmo
+ * com o segredo ainda configurado.
+ *
+ * A verificação ES256 custa da ordem de 1 ms de CPU, e o PDV repete o mesmo token em todas as requisições: tokens
+ * já verificados ficam num cache limitado, pelo texto do token, até {@code exp} ou no máximo {@code cacheTtl}. O cache
+ * só evita refazer a assinatura; a lista de revogação continua sendo consultada por quem chama a cada requisição.
+ *
+ * O parser é único e thread-safe; {@link #verify(String)} nunca faz I/O: se o kid não estiver em cache lança
+ * {@link UnknownSigningKeyException}, e quem chama resolve o kid com {@link JwksPublicKeyCache#resolve(String)}
+ * fora do caminho não bloqueante.
+ */
+public class JwtVerifier {
+
+    public static final int DEFAULT_MAX_CACHED_TOKENS = 100_000;
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(1);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JwksPublicKeyCache keyCache;
+    private final SecretKey legacyKey;
+    private final Instant legacyUntil;
+    private final JwtParser parser;
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final int maxCachedTokens;
+    private final long cacheTtlMillis;
+    private final Clock clock;
+
+    /**
+     * Aceita só tokens ES256.
+     * @param keyCache Cache das chaves públicas.
+     */
+    public JwtVerifier(JwksPublicKeyCache keyCache) {
+        this(keyCache, null, null);
+    }
+
+    /**
+     * @param keyCache Cache das chaves públicas.
+     * @param legacyHmacSecret Segredo HS256 antigo; null ou vazio desliga a aceitação de tokens HS256.
+     * @param legacyHmacUntil Fim da aceitação de tokens HS256; obrigatório quando o segredo é configurado.
+     */
+    public JwtVerifier(JwksPublicKeyCache keyCache, String legacyHmacSecret, Instant legacyHmacUntil) {
+        this(keyCache, legacyHmacSecret, legacyHmacUntil, DEFAULT_MAX_CACHED_TOKENS, DEFAULT_CACHE_TTL);
+    }
+
+    /**
+     * @param maxCachedTokens Tokens verificados mantidos em cache; 0 desliga o cache.
+     * @param cacheTtl Tempo máximo de um token no cache, mesmo que expire depois.
+     */
+    public JwtVerifier(JwksPublicKeyCache keyCache, String legacyHmacSecret, Instant legacyHmacUntil,
+                       int maxCachedTokens, Duration cacheTtl) {
+        this(keyCache, legacyHmacSecret, legacyHmacUntil, maxCachedTokens, cacheTtl, Clock.systemUTC());
+    }
+
+    JwtVerifier(JwksPublicKeyCache keyCache, String legacyHmacSecret, Instant legacyHmacUntil,
+                int maxCachedTokens, Duration cacheTtl, Clock clock) {
+        this.keyCache = keyCache;
+        if (legacyHmacSecret == null || legacyHmacSecret.isBlank()) {
+            this.legacyKey = null;
+            this.legacyUntil = null;
+        } else if (legacyHmacUntil == null) {
+            throw new IllegalArgumentException("Segredo HS256 legado configurado sem data limite (legacy-hmac-until)");
+        } else {
+            this.legacyKey = Keys.hmacShaKeyFor(legacyHmacSecret.getBytes(StandardCharsets.UTF_8));
+            this.legacyUntil = legacyHmacUntil;
+        }
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return signingKey(header);
+                    }
+                })
+                .build();
+        this.maxCachedTokens = Math.max(0, maxCachedTokens);
+        this.cacheTtlMillis = cacheTtl.toMillis();
+        this.clock = clock;
+    }
+
+    public JwksPublicKeyCache getKeyCache() {
+        return keyCache;
+    }
+
+    /**
+     * Valida assinatura e expiração do token, ou devolve as claims de uma verificação anterior ainda válida.
+     * @return As claims do token (somente leitura: podem ser compartilhadas entre requisições).
+     * @throws UnknownSigningKeyException Se o kid ainda não estiver no cache de chaves.
+     * @throws JwtException Se o token for inválido, expirado ou assinado com uma chave desconhecida.
+     */
+    public Claims verify(String token) {
+        long now = clock.millis();
+        VerifiedToken cached = verified.get(token);
+        if (cached != null) {
+            if (now < cached.expiresAt()) {
+                return cached.claims();
+            }
+            verified.remove(token, cached);
+        }
+        Jws<Claims> jws = parser.parseClaimsJws(token);
+        Claims claims = jws.getBody();
+        remember(token, claims, isLegacy(jws.getHeader()), now);
+        return claims;
+    }
+
+    /**
+     * Lê o {@code kid} do header sem validar o token. Não é usado na verificação, que lê o header já decodificado
+     * pelo jjwt; serve a ferramentas e testes.
+     * @return O kid, ou null se o header não tiver kid ou não puder ser lido.
+     */
+    public static String keyId(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            JsonNode header = MAPPER.readTree(Base64.getUrlDecoder().decode(token.substring(0, dot)));
+            JsonNode kid = header.get("kid");
+            return kid == null ? null : kid.asText();
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    int cachedTokens() {
+        return verified.size();
+    }
+
+    private void remember(String token, Claims claims, boolean legacy, long now) {
+        if (maxCachedTokens == 0) {
+            return;
+        }
+        long expiresAt = now + cacheTtlMillis;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (legacy) {
+            expiresAt = Math.min(expiresAt, legacyUntil.toEpochMilli()); // Nenhum HS256 sai do cache depois do prazo
+        }
+        if (verified.size() >= maxCachedTokens) {
+            evict(now);
+        }
+        verified.put(token, new VerifiedToken(claims, expiresAt));
+    }
+
+    /**
+     * Remove os expirados e, se o cache continuar cheio (muitos tokens distintos ao mesmo tempo), entradas quaisquer
+     * até liberar 1/8 da capacidade, para não varrer o mapa a cada inclusão: perder uma entrada só custa uma nova
+     * verificação.
+     */
+    private void evict(long now) {
+        verified.values().removeIf(entry -> now >= entry.expiresAt());
+        int target = maxCachedTokens - Math.max(1, maxCachedTokens / 8);
+        Iterator<VerifiedToken> entries = verified.values().iterator();
+        while (verified.size() > target && entries.hasNext()) {
+            entries.next();
+            entries.remove();
+        }
+    }
+
+    private Key signingKey(JwsHeader<?> header) {
+        if (isLegacy(header)) {
+            if (legacyKey == null || !clock.instant().isBefore(legacyUntil)) {
+                throw new JwtException("Tokens " + header.getAlgorithm() + " não são mais aceitos");
+            }
+            return legacyKey;
+        }
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new JwtException("Token sem kid");
+        }
+        Key key = keyCache.getCached(kid);
+        if (key == null) {
+            throw new UnknownSigningKeyException(kid);
+        }
+        return key;
+    }
+
+    private static boolean isLegacy(JwsHeader<?> header) {
+        String algorithm = header.getAlgorithm();
+        return algorithm != null && algorithm.startsWith("HS");
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAt) {
+    }
+}
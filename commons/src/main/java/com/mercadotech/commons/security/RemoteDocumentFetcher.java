@@ -0,0 +1,66 @@
+package com.mercadotech.commons.security;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Busca documentos publicados pelo auth-service (JWKS, feed de revogações). Aceita URLs {@code http(s)://} fixas
+ * ou {@code lb://auth-service/...}, resolvidas pelo {@link LoadBalancerClient} (Eureka). Chamadas bloqueantes.
+ */
+public class RemoteDocumentFetcher {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+    private final LoadBalancerClient loadBalancerClient;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+    /**
+     * @param loadBalancerClient Necessário apenas para URIs {@code lb://}; pode ser null.
+     */
+    public RemoteDocumentFetcher(LoadBalancerClient loadBalancerClient) {
+        this.loadBalancerClient = loadBalancerClient;
+    }
+
+    /**
+     * @return O corpo da resposta (somente status 200).
+     */
+    public String get(URI uri) {
+        URI target = resolve(uri);
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(target).timeout(TIMEOUT).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + target + " retornou " + response.statusCode());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new IllegalStateException("GET " + target + " falhou: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("GET " + target + " interrompido", e);
+        }
+    }
+
+    private URI resolve(URI uri) {
+        if (!"lb".equals(uri.getScheme())) {
+            return uri;
+        }
+        if (loadBalancerClient == null) {
+            throw new IllegalStateException("URI " + uri + " exige um LoadBalancerClient");
+        }
+        ServiceInstance instance = loadBalancerClient.choose(uri.getHost());
+        if (instance == null) {
+            throw new IllegalStateException("Nenhuma instância disponível de " + uri.getHost());
+        }
+        String pathAndQuery = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        return instance.getUri().resolve(pathAndQuery);
+    }
+}
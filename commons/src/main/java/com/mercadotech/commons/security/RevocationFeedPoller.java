@@ -0,0 +1,99 @@
+package com.mercadotech.commons.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém a {@link TokenRevocationList} sincronizada com o feed {@code GET /auth/revocations?since=N} do auth-service.
+ *
+ * Cada leitura traz só as revogações posteriores à {@code sequence} devolvida pela anterior. As revogações e a
+ * sequência ficam no banco do auth-service, então valem entre restarts e entre instâncias; uma revogação pode vir
+ * mais de uma vez (o auth-service só avança a sequência quando as anteriores já estão confirmadas), sem efeito.
+ * Se o auth-service estiver fora, a lista continua valendo com o que já foi recebido.
+ */
+public class RevocationFeedPoller implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationFeedPoller.class);
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI feedUri;
+    private final RemoteDocumentFetcher fetcher;
+    private final TokenRevocationList revocationList;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "revocation-feed-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long sequence;
+    private long lastPruneAt = System.nanoTime();
+    private boolean failing;
+
+    public RevocationFeedPoller(URI feedUri, RemoteDocumentFetcher fetcher, TokenRevocationList revocationList, Duration pollInterval) {
+        this.feedUri = feedUri;
+        this.fetcher = fetcher;
+        this.revocationList = revocationList;
+        this.pollInterval = pollInterval;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::pollSafely, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+            if (failing) {
+                log.info("Feed de revogações restabelecido (sequência {})", sequence);
+                failing = false;
+            }
+        } catch (RuntimeException e) {
+            // Loga só a transição, para não repetir o aviso a cada intervalo enquanto o auth-service estiver fora
+            if (!failing) {
+                log.warn("Falha ao ler feed de revogações: {}", e.getMessage());
+                failing = true;
+            }
+        }
+        if (System.nanoTime() - lastPruneAt >= PRUNE_INTERVAL.toNanos()) {
+            revocationList.pruneExpired();
+            lastPruneAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Lê e aplica uma página do feed. Visível para testes; em produção é chamado pelo executor.
+     */
+    void poll() {
+        JsonNode feed = read(sequence);
+        for (JsonNode revocation : feed.path("revocations")) {
+            revocationList.revoke(revocation.path("jti").asText(), revocation.path("expiresAt").asLong());
+        }
+        sequence = feed.path("sequence").asLong();
+    }
+
+    private JsonNode read(long since) {
+        String separator = feedUri.getRawQuery() == null ? "?" : "&";
+        String body = fetcher.get(URI.create(feedUri + separator + "since=" + since));
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Feed de revogações inválido: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mercadotech.commons.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista local de tokens revogados (por {@code jti}), consultada a cada requisição autenticada.
+ *
+ * O caso comum (token não revogado) é respondido só pelo {@link BloomFilter}, sem alocação nem lock. Um positivo
+ * do filtro é confirmado no conjunto exato, que também guarda a expiração de cada token: depois dela a entrada
+ * deixa de importar e é removida em {@link #pruneExpired()}, que reconstrói o filtro sem os itens removidos.
+ *
+ * Escrita por um único thread ({@link RevocationFeedPoller}); leitura por qualquer thread.
+ */
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> expiração (epoch millis)
+    private volatile BloomFilter filter;
+
+    /**
+     * @param expectedRevocations Capacidade inicial do filtro; dobra quando é ultrapassada.
+     */
+    public TokenRevocationList(int expectedRevocations) {
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void revoke(String jti, long expiresAt) {
+        revoked.put(jti, expiresAt);
+        if (revoked.size() > filter.getExpectedInsertions()) {
+            rebuild(filter.getExpectedInsertions() * 2);
+        } else {
+            filter.put(jti);
+        }
+    }
+
+    /**
+     * Remove as revogações de tokens já expirados.
+     */
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            rebuild(filter.getExpectedInsertions());
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public long filterSizeInBytes() {
+        return filter.sizeInBytes();
+    }
+
+    private void rebuild(int expectedInsertions) {
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
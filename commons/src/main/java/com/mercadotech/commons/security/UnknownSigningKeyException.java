@@ -0,0 +1,22 @@
+package com.mercadotech.commons.security;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Token assinado com um {@code kid} que ainda não está no {@link JwksPublicKeyCache}, ex.: logo após uma rotação de
+ * chaves. Quem chama pode resolver o kid com {@link JwksPublicKeyCache#resolve(String)}, fora do caminho não
+ * bloqueante, e verificar de novo.
+ */
+public class UnknownSigningKeyException extends JwtException {
+
+    private final String keyId;
+
+    public UnknownSigningKeyException(String keyId) {
+        super("Chave de assinatura desconhecida: " + keyId);
+        this.keyId = keyId;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+}
@@ -0,0 +1,64 @@
+package com.mercadotech.commons.tracing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span em andamento. Carrega o contexto propagado para os serviços chamados ({@link #getTraceId()},
+ * {@link #getSpanId()} como pai, {@link #isSampled()}) e, em {@link #finish}, vai para o {@link SpanStore} se o
+ * trace foi amostrado na origem.
+ */
+public final class ActiveSpan {
+
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentId;
+    private final boolean sampled;
+    private final String kind;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private String name;
+
+    ActiveSpan(Tracer tracer, String traceId, String spanId, String parentId, boolean sampled, String kind, String name) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.sampled = sampled;
+        this.kind = kind;
+        this.name = name;
+        this.startEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.startNanos = System.nanoTime();
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Troca o nome, quando só é conhecido no fim (ex.: padrão da rota resolvido pelo Spring MVC).
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void finish(int status, boolean error) {
+        if (sampled) {
+            long durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            tracer.record(new Span(traceId, spanId, parentId, tracer.getService(), kind, name, startEpochMicros,
+                    durationMicros, status, error));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.mercadotech.commons.tracing;
+
+/**
+ * Span concluído, como guardado no {@link SpanStore}.
+ *
+ * @param parentId   span do serviço chamador (nulo na raiz do trace).
+ * @param kind       {@link #SERVER} (requisição recebida) ou {@link #CLIENT} (chamada a outro serviço).
+ * @param status     status HTTP da resposta, 0 se não houve resposta.
+ */
+public record Span(String traceId, String spanId, String parentId, String service, String kind, String name,
+                   long startEpochMicros, long durationMicros, int status, boolean error) {
+
+    public static final String SERVER = "server";
+    public static final String CLIENT = "client";
+}
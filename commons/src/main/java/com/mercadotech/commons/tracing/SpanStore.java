@@ -0,0 +1,75 @@
+package com.mercadotech.commons.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Exportador em memória: buffer circular com os últimos {@code mercadotech.tracing.max-spans} spans amostrados do
+ * serviço. Gravar é uma escrita no array; as consultas (endpoint {@code /actuator/traces}) percorrem o buffer.
+ */
+public class SpanStore {
+
+    private final AtomicReferenceArray<Span> spans;
+    private final AtomicLong next = new AtomicLong();
+
+    public SpanStore(int capacity) {
+        this.spans = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(Span span) {
+        spans.set((int) (next.getAndIncrement() % spans.length()), span);
+    }
+
+    /**
+     * Spans do trace guardados neste serviço, em ordem de início.
+     */
+    public List<Span> trace(String traceId) {
+        List<Span> result = new ArrayList<>();
+        for (int i = 0; i < spans.length(); i++) {
+            Span span = spans.get(i);
+            if (span != null && span.traceId().equals(traceId)) {
+                result.add(span);
+            }
+        }
+        result.sort(Comparator.comparingLong(Span::startEpochMicros));
+        return result;
+    }
+
+    /**
+     * Traces mais recentes, cada um representado pelo seu primeiro span neste serviço (o de maior duração entre os
+     * que começaram primeiro, normalmente o span de servidor que abrange os demais).
+     */
+    public List<Span> recentTraces(int limit) {
+        Map<String, Span> first = new LinkedHashMap<>();
+        for (int i = 0; i < spans.length(); i++) {
+            Span span = spans.get(i);
+            if (span != null) {
+                first.merge(span.traceId(), span, SpanStore::outer);
+            }
+        }
+        return first.values().stream()
+                .sorted(Comparator.comparingLong(Span::startEpochMicros).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public long getRecorded() {
+        return next.get();
+    }
+
+    public int getCapacity() {
+        return spans.length();
+    }
+
+    private static Span outer(Span a, Span b) {
+        if (a.startEpochMicros() != b.startEpochMicros()) {
+            return a.startEpochMicros() < b.startEpochMicros() ? a : b;
+        }
+        return a.durationMicros() >= b.durationMicros() ? a : b;
+    }
+}
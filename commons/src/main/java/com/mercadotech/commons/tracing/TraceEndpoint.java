@@ -0,0 +1,41 @@
+package com.mercadotech.commons.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint do actuator ({@code /actuator/traces}) para consultar os spans guardados no serviço: os traces mais
+ * recentes e, por id ({@code /actuator/traces/{traceId}}), os spans de um trace. Para seguir uma venda de ponta a
+ * ponta, o id devolvido pelo gateway no header {@value Tracer#TRACE_ID_HEADER} é consultado em cada serviço.
+ */
+@Endpoint(id = "traces")
+public class TraceEndpoint {
+
+    private final Tracer tracer;
+
+    public TraceEndpoint(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @ReadOperation
+    public Map<String, Object> recent(@Nullable Integer limit) {
+        SpanStore store = tracer.getStore();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("service", tracer.getService());
+        result.put("recorded", store.getRecorded());
+        result.put("capacity", store.getCapacity());
+        result.put("traces", store.recentTraces(limit == null ? 50 : limit));
+        return result;
+    }
+
+    @ReadOperation
+    public List<Span> trace(@Selector String traceId) {
+        return tracer.getStore().trace(traceId);
+    }
+}
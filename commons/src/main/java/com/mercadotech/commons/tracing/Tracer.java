@@ -0,0 +1,121 @@
+package com.mercadotech.commons.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracing distribuído enxuto, sem coletor externo. O contexto viaja entre os serviços nos headers
+ * {@value #TRACE_ID_HEADER}, {@value #PARENT_ID_HEADER} e {@value #SAMPLED_HEADER}, no mesmo estilo dos
+ * {@code X-Auth-*} do gateway.
+ *
+ * Amostragem na origem (head-based): quem inicia o trace (normalmente o gateway) sorteia com
+ * {@code mercadotech.tracing.sample-rate} e os demais serviços seguem a decisão recebida, para que um trace
+ * amostrado tenha todos os seus spans. Traces não amostrados continuam propagando o id (útil nos logs), mas nada é
+ * gravado.
+ *
+ * O span de servidor da requisição em andamento fica na thread ({@link #current()}) para os Feign clients, que são
+ * síncronos nos serviços.
+ */
+public class Tracer {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String PARENT_ID_HEADER = "X-Trace-Parent-Id";
+    public static final String SAMPLED_HEADER = "X-Trace-Sampled";
+    /** Chave do trace id no MDC dos logs. */
+    public static final String MDC_KEY = "traceId";
+
+    private static final ThreadLocal<ActiveSpan> CURRENT = new ThreadLocal<>();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final String service;
+    private final double sampleRate;
+    private final SpanStore store;
+
+    public Tracer(String service, double sampleRate, SpanStore store) {
+        this.service = service;
+        this.sampleRate = sampleRate;
+        this.store = store;
+    }
+
+    /**
+     * Span de uma requisição recebida, continuando o trace dos headers ou iniciando um novo (com sorteio) se não
+     * vierem, ou vierem inválidos.
+     */
+    public ActiveSpan startServerSpan(String name, String traceId, String parentId, String sampled) {
+        if (!isValidId(traceId)) {
+            return new ActiveSpan(this, newId(), newId(), null, sample(), Span.SERVER, name);
+        }
+        boolean traceSampled = sampled == null ? sample() : "1".equals(sampled);
+        return new ActiveSpan(this, traceId, newId(), isValidId(parentId) ? parentId : null, traceSampled, Span.SERVER, name);
+    }
+
+    /**
+     * Span de uma chamada a outro serviço, filho do span corrente da thread (ou raiz de um trace novo, como numa
+     * tarefa agendada).
+     */
+    public ActiveSpan startClientSpan(String name) {
+        ActiveSpan parent = CURRENT.get();
+        if (parent == null) {
+            return new ActiveSpan(this, newId(), newId(), null, sample(), Span.CLIENT, name);
+        }
+        return new ActiveSpan(this, parent.getTraceId(), newId(), parent.getSpanId(), parent.isSampled(), Span.CLIENT, name);
+    }
+
+    public ActiveSpan current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Define o span corrente da thread e devolve o anterior, para ser restaurado no fim da requisição.
+     */
+    public ActiveSpan setCurrent(ActiveSpan span) {
+        ActiveSpan previous = CURRENT.get();
+        if (span == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+        return previous;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public SpanStore getStore() {
+        return store;
+    }
+
+    void record(Span span) {
+        store.add(span);
+    }
+
+    private boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Ids gerados aqui têm 16 dígitos hexadecimais; aceita até 32 (ex.: trace id W3C vindo de um cliente).
+     */
+    static boolean isValidId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 32) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String newId() {
+        long value = ThreadLocalRandom.current().nextLong();
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+}
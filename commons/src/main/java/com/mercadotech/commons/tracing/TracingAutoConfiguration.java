@@ -0,0 +1,73 @@
+package com.mercadotech.commons.tracing;
+
+import feign.Capability;
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Disponibiliza o {@link Tracer} em todos os serviços que usam o commons, com o filtro de servidor nos serviços
+ * Spring MVC, a propagação nos Feign clients e o endpoint {@code /actuator/traces}. No gateway (WebFlux), o span de
+ * entrada é registrado pelo filtro global do próprio gateway. Pode ser desligado com
+ * {@code mercadotech.tracing.enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "mercadotech.tracing.enabled", matchIfMissing = true)
+public class TracingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SpanStore spanStore(@Value("${mercadotech.tracing.max-spans:10000}") int maxSpans) {
+        return new SpanStore(maxSpans);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Tracer tracer(@Value("${spring.application.name:application}") String service,
+                         @Value("${mercadotech.tracing.sample-rate:0.1}") double sampleRate,
+                         SpanStore spanStore) {
+        return new Tracer(service, sampleRate, spanStore);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Filter.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<TracingServletFilter> tracingServletFilter(Tracer tracer) {
+            FilterRegistrationBean<TracingServletFilter> registration = new FilterRegistrationBean<>(new TracingServletFilter(tracer));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1); // Antes dos demais filtros, para medir a requisição inteira
+            return registration;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Capability.class)
+    static class FeignConfiguration {
+
+        @Bean
+        public TracingFeignCapability tracingFeignCapability(Tracer tracer) {
+            return new TracingFeignCapability(tracer);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    static class EndpointConfiguration {
+
+        @Bean
+        public TraceEndpoint traceEndpoint(Tracer tracer) {
+            return new TraceEndpoint(tracer);
+        }
+    }
+}
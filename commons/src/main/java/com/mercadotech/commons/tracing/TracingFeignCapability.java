@@ -0,0 +1,69 @@
+package com.mercadotech.commons.tracing;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Propaga o trace corrente em todas as chamadas dos Feign clients e registra um span de cliente em volta de cada
+ * uma, nomeado pelo método do client ({@code StockServiceFeignClient#registrarSaida}).
+ */
+public class TracingFeignCapability implements Capability {
+
+    private final Tracer tracer;
+
+    public TracingFeignCapability(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new TracingClient(client);
+    }
+
+    private final class TracingClient implements Client {
+
+        private final Client delegate;
+
+        TracingClient(Client delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response execute(Request request, Request.Options options) throws IOException {
+            ActiveSpan span = tracer.startClientSpan(spanName(request));
+            Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(request.headers());
+            headers.put(Tracer.TRACE_ID_HEADER, List.of(span.getTraceId()));
+            headers.put(Tracer.PARENT_ID_HEADER, List.of(span.getSpanId()));
+            headers.put(Tracer.SAMPLED_HEADER, List.of(span.isSampled() ? "1" : "0"));
+            Request traced = Request.create(request.httpMethod(), request.url(), headers, request.body(),
+                    request.charset(), request.requestTemplate());
+            int status = 0;
+            try {
+                Response response = delegate.execute(traced, options);
+                status = response.status();
+                return response;
+            } finally {
+                span.finish(status, status == 0 || status >= 500);
+            }
+        }
+    }
+
+    private static String spanName(Request request) {
+        MethodMetadata metadata = request.requestTemplate() == null ? null : request.requestTemplate().methodMetadata();
+        if (metadata == null || metadata.method() == null) {
+            return request.httpMethod() + " " + request.url();
+        }
+        return metadata.method().getDeclaringClass().getSimpleName() + "#" + metadata.method().getName();
+    }
+}
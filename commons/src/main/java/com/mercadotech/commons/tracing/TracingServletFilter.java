@@ -0,0 +1,56 @@
+package com.mercadotech.commons.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Span de servidor para cada requisição recebida pelos serviços Spring MVC, com o contexto dos headers do gateway
+ * (ou de outro serviço). O nome é o método e o padrão da rota ({@code GET /v1/products/{id}}), para agrupar
+ * chamadas iguais; o trace id volta no header {@value Tracer#TRACE_ID_HEADER} da resposta e vai para o MDC.
+ */
+public class TracingServletFilter extends OncePerRequestFilter {
+
+    // HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, sem depender do spring-webmvc
+    private static final String BEST_MATCHING_PATTERN = "org.springframework.web.servlet.HandlerMapping.bestMatchingPattern";
+
+    private final Tracer tracer;
+
+    public TracingServletFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator"); // Health checks e scraping não são traces
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ActiveSpan span = tracer.startServerSpan(request.getMethod() + " " + request.getRequestURI(),
+                request.getHeader(Tracer.TRACE_ID_HEADER), request.getHeader(Tracer.PARENT_ID_HEADER),
+                request.getHeader(Tracer.SAMPLED_HEADER));
+        ActiveSpan previous = tracer.setCurrent(span);
+        MDC.put(Tracer.MDC_KEY, span.getTraceId());
+        response.setHeader(Tracer.TRACE_ID_HEADER, span.getTraceId());
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            Object pattern = request.getAttribute(BEST_MATCHING_PATTERN);
+            if (pattern != null) {
+                span.setName(request.getMethod() + " " + pattern);
+            }
+            span.finish(response.getStatus(), failed || response.getStatus() >= 500);
+            tracer.setCurrent(previous);
+            MDC.remove(Tracer.MDC_KEY);
+        }
+    }
+}
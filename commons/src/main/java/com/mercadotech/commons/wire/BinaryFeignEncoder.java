@@ -0,0 +1,33 @@
+package com.mercadotech.commons.wire;
+
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.lang.reflect.Type;
+
+/**
+ * Envia o corpo das chamadas Feign em CBOR quando o método não declara {@code consumes}: o encoder delegado
+ * (SpringEncoder) escolhe o conversor pelo Content-Type já presente no template.
+ *
+ * Texto e bytes crus continuam como estão; um {@code consumes} explícito no Feign client sempre prevalece.
+ */
+public class BinaryFeignEncoder implements Encoder {
+
+    private final Encoder delegate;
+
+    public BinaryFeignEncoder(Encoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        if (object != null && !template.headers().containsKey(HttpHeaders.CONTENT_TYPE)
+                && !(object instanceof CharSequence) && !(object instanceof byte[])) {
+            template.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE);
+        }
+        delegate.encode(object, bodyType, template);
+    }
+}
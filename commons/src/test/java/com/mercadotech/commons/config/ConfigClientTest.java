@@ -0,0 +1,209 @@
+package com.mercadotech.commons.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ConfigClientTest {
+
+    @TempDir
+    Path snapshotDir;
+
+    private HttpServer server;
+    private volatile String version = "v1";
+    private volatile String level = "INFO";
+    private final List<OutputStream> streams = new CopyOnWriteArrayList<>();
+    private final List<EnvironmentChangeEvent> events = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/stock-service/default", this::environment);
+        server.createContext("/notifications", this::notifications);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldImportConfigurationAndKeepSnapshot() {
+        try (ConfigurableApplicationContext context = start("mercadotech-config:" + uri(), false)) {
+            assertEquals("INFO", context.getEnvironment().getProperty("logging.level.com.mercadotech"));
+            assertEquals("v1", context.getEnvironment().getProperty("mercadotech.config.version"));
+            // Perfil > aplicação > application: a mais específica vence
+            assertEquals("30", context.getEnvironment().getProperty("estoque.reserva.ttl"));
+        }
+        assertTrue(Files.exists(snapshotDir.resolve("stock-service-default.json")));
+    }
+
+    @Test
+    void shouldKeepSnapshotReadableOnlyByOwner() throws IOException {
+        assumeTrue(snapshotDir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Path directory = snapshotDir.resolve("config-snapshot");
+        ConfigServerClient client = new ConfigServerClient(uri(), "stock-service", "default", directory,
+                Duration.ofSeconds(1));
+
+        client.fetch();
+        client.fetch(); // Substitui o snapshot anterior
+
+        assertEquals("rw-------", PosixFilePermissions.toString(
+                Files.getPosixFilePermissions(client.getSnapshotFile())));
+        assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(directory)));
+    }
+
+    @Test
+    void shouldStartFromSnapshotWhenConfigServerIsDown() {
+        String location = "mercadotech-config:" + uri();
+        start(location, false).close();
+        server.stop(0);
+
+        try (ConfigurableApplicationContext context = start(location, false)) {
+            assertEquals("INFO", context.getEnvironment().getProperty("logging.level.com.mercadotech"));
+            assertEquals("v1", context.getEnvironment().getProperty("mercadotech.config.version"));
+        }
+    }
+
+    @Test
+    void shouldFailWithoutSnapshotUnlessOptional() {
+        server.stop(0);
+        String location = "mercadotech-config:" + uri();
+
+        assertThrows(RuntimeException.class, () -> start(location, false).close());
+        try (ConfigurableApplicationContext context = start("optional:" + location, false)) {
+            assertNull(context.getEnvironment().getProperty("mercadotech.config.uri"));
+        }
+    }
+
+    @Test
+    void shouldApplyRelevantChangesNotifiedByConfigServer() throws Exception {
+        try (ConfigurableApplicationContext context = start("mercadotech-config:" + uri(), true)) {
+            ConfigChangeSubscriber subscriber = context.getBean(ConfigChangeSubscriber.class);
+            awaitTrue(() -> !streams.isEmpty());
+
+            // Arquivo de outro serviço: não busca a configuração de novo
+            version = "v2";
+            level = "DEBUG";
+            send("config-changed", "{\"version\":\"v2\",\"changed\":[\"sales-service\"]}");
+            Thread.sleep(200);
+            assertEquals("INFO", context.getEnvironment().getProperty("logging.level.com.mercadotech"));
+
+            send("config-changed", "{\"version\":\"v2\",\"changed\":[\"application\"]}");
+            awaitTrue(() -> "v2".equals(subscriber.getVersion()));
+            assertEquals("DEBUG", context.getEnvironment().getProperty("logging.level.com.mercadotech"));
+            awaitTrue(() -> !events.isEmpty());
+            assertEquals(Set.of("logging.level.com.mercadotech"), events.get(0).getKeys());
+            assertTrue(Files.readString(snapshotDir.resolve("stock-service-default.json")).contains("DEBUG"));
+        }
+    }
+
+    @Test
+    void shouldMatchChangedPathsOfThisApplication() {
+        ConfigChangeSubscriber subscriber = new ConfigChangeSubscriber(
+                new ConfigServerClient(uri(), "stock-service", "default", snapshotDir, Duration.ofSeconds(1)),
+                new StandardEnvironment(), event -> { });
+
+        assertTrue(subscriber.isRelevant(List.of("stock-service")));
+        assertTrue(subscriber.isRelevant(List.of("stock-service-prod")));
+        assertTrue(subscriber.isRelevant(List.of("application-prod")));
+        assertTrue(subscriber.isRelevant(List.of("config/stock-service")));
+        assertFalse(subscriber.isRelevant(List.of("sales-service", "stock")));
+    }
+
+    private ConfigurableApplicationContext start(String location, boolean watch) {
+        return new SpringApplicationBuilder(TestApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(context -> context.addApplicationListener(
+                        (ApplicationListener<EnvironmentChangeEvent>) events::add))
+                .properties(
+                        "spring.application.name=stock-service",
+                        "spring.config.import=" + location,
+                        "mercadotech.config.snapshot-dir=" + snapshotDir,
+                        "mercadotech.config.timeout=500ms",
+                        "mercadotech.config.watch.enabled=" + watch)
+                .run();
+    }
+
+    private URI uri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    private void environment(HttpExchange exchange) throws IOException {
+        String body = """
+                {"name":"stock-service","profiles":["default"],"version":"%s","propertySources":[
+                  {"name":"file:config-repo/stock-service.yml","source":{"estoque.reserva.ttl":30}},
+                  {"name":"file:config-repo/application.yml","source":{"logging.level.com.mercadotech":"%s","estoque.reserva.ttl":15}}
+                ]}""".formatted(version, level);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void notifications(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        write(out, "config-version", "{\"version\":\"" + version + "\"}");
+        streams.add(out); // Fica aberto até o servidor parar
+    }
+
+    private void send(String event, String data) throws IOException {
+        for (OutputStream out : streams) {
+            write(out, event, data);
+        }
+    }
+
+    private static void write(OutputStream out, String event, String data) throws IOException {
+        out.write(("event:" + event + "\ndata:" + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condição não atingida em 5 s");
+            Thread.sleep(20);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration(ConfigClientAutoConfiguration.class)
+    static class TestApplication {
+    }
+}
@@ -0,0 +1,259 @@
+package com.mercadotech.commons.eventlog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadAppendedEventsAcrossSegmentsAndAfterReopening() throws Exception {
+        try (EventLog eventLog = new EventLog(directory, SEGMENT_BYTES, 50)) {
+            for (int i = 0; i < 200; i++) {
+                assertEquals(i, eventLog.append(payload(i)));
+            }
+            assertEquals(200, eventLog.appendAll(List.of(payload(200), payload(201))));
+            assertEvents(eventLog.read(0, 1_000), 0, 202);
+            assertEvents(eventLog.read(150, 10), 150, 10);
+        }
+        assertTrue(segmentFiles().size() > 1);
+
+        try (EventLog reopened = new EventLog(directory, SEGMENT_BYTES, 50)) {
+            assertEquals(202, reopened.nextOffset());
+            assertEvents(reopened.read(0, 1_000), 0, 202);
+            assertEquals(202, reopened.append(payload(202)));
+        }
+    }
+
+    @Test
+    void shouldDiscardTornEventOnRecovery() throws Exception {
+        try (EventLog eventLog = new EventLog(directory, SEGMENT_BYTES, 50)) {
+            for (int i = 0; i < 3; i++) {
+                eventLog.append(payload(i));
+            }
+        }
+        // Simula queda no meio do terceiro evento: payload corrompido (CRC não confere)
+        Path segment = segmentFiles().get(0);
+        int third = 2 * (LogSegment.HEADER_BYTES + payload(0).length);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), third + LogSegment.HEADER_BYTES);
+        }
+
+        try (EventLog recovered = new EventLog(directory, SEGMENT_BYTES, 50)) {
+            assertEquals(2, recovered.nextOffset());
+            assertEquals(2, recovered.append(payload(9)));
+        }
+        try (EventLog reopened = new EventLog(directory, SEGMENT_BYTES, 50)) {
+            List<EventRecord> records = reopened.read(0, 10);
+            assertEquals(3, records.size());
+            assertEquals("evento-9", text(records.get(2)));
+        }
+    }
+
+    @Test
+    void shouldServeConcurrentSyncsWithGroupFsync() throws Exception {
+        // Intervalo longo: só os pedidos de sync disparam o fsync
+        try (EventLog eventLog = new EventLog(directory, 64 * 1024, 60_000)) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int n = i;
+                futures.add(executor.submit(() -> {
+                    long offset = eventLog.append(payload(n));
+                    eventLog.sync(offset);
+                    return offset;
+                }));
+            }
+            for (Future<Long> future : futures) {
+                long offset = future.get(10, TimeUnit.SECONDS);
+                assertTrue(eventLog.durableOffset() > offset);
+            }
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldWaitForNewEventsWhenTailing() throws Exception {
+        try (EventLog eventLog = new EventLog(directory, SEGMENT_BYTES, 50)) {
+            CompletableFuture<List<EventRecord>> tail = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return eventLog.await(0, 10, 5_000);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(100);
+            assertFalse(tail.isDone());
+            eventLog.append(payload(0));
+            assertEvents(tail.get(2, TimeUnit.SECONDS), 0, 1);
+
+            assertTrue(eventLog.await(1, 10, 50).isEmpty());
+        }
+    }
+
+    @Test
+    void shouldKeepConsumerOffsetsAndDeleteConsumedSegments() throws Exception {
+        try (EventLog eventLog = new EventLog(directory, SEGMENT_BYTES, 50)) {
+            for (int i = 0; i < 100; i++) {
+                eventLog.append(payload(i));
+            }
+            eventLog.offsets().commit("sales-service", 60);
+            int segmentsBefore = segmentFiles().size();
+            int deleted = eventLog.deleteBefore(60);
+            assertTrue(deleted > 0);
+            assertEquals(segmentsBefore - deleted, segmentFiles().size());
+            assertTrue(eventLog.firstOffset() > 0 && eventLog.firstOffset() <= 60);
+            // Leitura antes do início começa no primeiro evento que restou
+            assertEquals(eventLog.firstOffset(), eventLog.read(0, 1).get(0).offset());
+        }
+        try (EventLog reopened = new EventLog(directory, SEGMENT_BYTES, 50)) {
+            assertEquals(60, reopened.offsets().committed("sales-service"));
+            assertEquals(0, reopened.offsets().committed("product-service"));
+            assertEquals(100, reopened.nextOffset());
+        }
+    }
+
+    @Test
+    void shouldDropOldestSegmentsBeyondRetentionSize() throws Exception {
+        try (EventLog eventLog = new EventLog(directory, SEGMENT_BYTES, 60_000, 0, 3L * SEGMENT_BYTES)) {
+            for (int i = 0; i < 200; i++) {
+                eventLog.append(payload(i));
+            }
+            assertTrue(eventLog.applyRetention() > 0);
+
+            assertEquals(3, segmentFiles().size());
+            long first = eventLog.firstOffset();
+            assertTrue(first > 0);
+            assertEvents(eventLog.read(0, 1_000), first, (int) (200 - first));
+        }
+    }
+
+    @Test
+    void shouldDropSegmentsOlderThanRetention() throws Exception {
+        try (EventLog eventLog = new EventLog(directory, SEGMENT_BYTES, 60_000, 200, 0)) {
+            for (int i = 0; i < 100; i++) {
+                eventLog.append(payload(i));
+            }
+            assertEquals(0, eventLog.applyRetention());
+            Thread.sleep(300);
+            eventLog.append(payload(100));
+
+            // Só o segmento ativo fica, mesmo com eventos vencidos
+            assertTrue(eventLog.applyRetention() > 0);
+            assertEquals(1, segmentFiles().size());
+            assertEquals(101, eventLog.nextOffset());
+        }
+    }
+
+    @Test
+    void shouldDeleteSegmentFileOnlyAfterLastReaderReleasesIt() throws Exception {
+        Path file = directory.resolve("segment.log");
+        LogSegment segment = LogSegment.open(file, 0, SEGMENT_BYTES);
+        segment.append(System.currentTimeMillis(), payload(0));
+        assertTrue(segment.retain());
+
+        segment.delete();
+        assertTrue(Files.exists(file)); // Ainda mapeado e em uso pelo leitor
+        List<EventRecord> records = new ArrayList<>();
+        assertEquals(1, segment.read(0, 10, 1, records));
+
+        segment.release();
+        assertFalse(Files.exists(file));
+        assertFalse(segment.retain());
+    }
+
+    @Test
+    void shouldDeliverRemoteEventsToTailerAndCommitOffset() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        try (EventLog eventLog = new EventLog(directory.resolve("stock"), SEGMENT_BYTES, 50)) {
+            EventLogController controller = new EventLogController(eventLog);
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/eventlog/records", exchange -> {
+                Map<String, Long> params = Stream.of(exchange.getRequestURI().getQuery().split("&"))
+                        .map(param -> param.split("="))
+                        .collect(Collectors.toMap(param -> param[0], param -> Long.parseLong(param[1])));
+                byte[] body;
+                try {
+                    body = objectMapper.writeValueAsBytes(controller.records(params.get("from"),
+                            Math.toIntExact(params.get("max")), Math.min(params.get("wait"), 200)).getBody());
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            eventLog.append(payload(0));
+            eventLog.append(payload(1));
+
+            ConsumerOffsets offsets = new ConsumerOffsets(directory.resolve("sales-offsets"));
+            List<String> received = new CopyOnWriteArrayList<>();
+            try (EventLogTailer tailer = new EventLogTailer(URI.create("http://localhost:" + server.getAddress().getPort()),
+                    "sales-service", offsets, 100, records -> records.forEach(r -> received.add(text(r))))) {
+                eventLog.append(payload(2));
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while ((received.size() < 3 || offsets.committed("sales-service") < 3) && System.nanoTime() < deadline) {
+                    Thread.sleep(20);
+                }
+            } finally {
+                server.stop(0);
+            }
+            assertEquals(List.of("evento-0", "evento-1", "evento-2"), received);
+            assertEquals(3, offsets.committed("sales-service"));
+        }
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private static void assertEvents(List<EventRecord> records, long first, int count) {
+        assertEquals(count, records.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(first + i, records.get(i).offset());
+            assertEquals("evento-" + (first + i), text(records.get(i)));
+        }
+    }
+
+    private static byte[] payload(int n) {
+        return ("evento-" + n).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(EventRecord record) {
+        return new String(record.payload(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,157 @@
+package com.mercadotech.commons.instrumentation;
+
+import feign.Feign;
+import feign.Param;
+import feign.RequestLine;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentationAutoConfigurationTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class, InstrumentationAutoConfiguration.class))
+            .withBean(SimpleMeterRegistry.class)
+            .withBean(VendaController.class);
+
+    @Test
+    void shouldTimeControllerEndpointsByOutcome() {
+        contextRunner.run(context -> {
+            VendaController controller = context.getBean(VendaController.class);
+            assertTrue(AopUtils.isAopProxy(controller));
+            controller.registrarVenda();
+            controller.registrarVenda();
+            assertThrows(ResponseStatusException.class, controller::cancelarVenda);
+            controller.toString(); // Métodos de Object não são medidos
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertEquals(2, timer(registry, "controller", "VendaController", "registrarVenda", "success").count());
+            assertEquals(1, timer(registry, "controller", "VendaController", "cancelarVenda", "error").count());
+            assertEquals(0, timer(registry, "controller", "VendaController", "cancelarVenda", "success").count());
+            assertNull(registry.find(CallMetrics.METRIC).tag("method", "registrarVenda").tag("outcome", "error").timer());
+            assertNull(registry.find(CallMetrics.METRIC).tag("method", "toString").timer());
+
+            List<Map<String, Object>> calls = context.getBean(CallMetricsEndpoint.class).calls();
+            assertEquals(2, calls.size());
+            Map<String, Object> cancelar = calls.stream().filter(c -> c.get("method").equals("cancelarVenda")).findFirst().orElseThrow();
+            assertEquals(1L, cancelar.get("errors"));
+        });
+    }
+
+    @Test
+    void shouldTimeFeignCallsTreatingServerErrorsAsFailures() {
+        contextRunner.run(context -> {
+            AtomicInteger status = new AtomicInteger(200);
+            ProductServiceFeignClient client = Feign.builder()
+                    .addCapability(context.getBean(TimedFeignCapability.class))
+                    .client((request, options) -> Response.builder().request(request).status(status.get())
+                            .body("{}", StandardCharsets.UTF_8).build())
+                    .target(ProductServiceFeignClient.class, "http://product-service");
+
+            client.getProductById(1L);
+            status.set(404); // Produto inexistente: o serviço respondeu
+            assertThrows(RuntimeException.class, () -> client.getProductById(999L));
+            status.set(503);
+            assertThrows(RuntimeException.class, () -> client.getProductById(2L));
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertEquals(2, timer(registry, "feign", "ProductServiceFeignClient", "getProductById", "success").count());
+            assertEquals(1, timer(registry, "feign", "ProductServiceFeignClient", "getProductById", "error").count());
+        });
+    }
+
+    @Test
+    void shouldNameRepositoryTimersAfterTheRepositoryInterface() {
+        CallMetrics metrics = new CallMetrics(new SimpleMeterRegistry());
+        EstoqueRepository estoque = repository(EstoqueRepository.class, metrics);
+        VendaRepository vendas = repository(VendaRepository.class, metrics);
+
+        estoque.findById(1L);
+        estoque.findById(2L);
+        vendas.findById(1L);
+
+        // findById é o mesmo método herdado nos dois repositórios, mas cada um tem o seu timer
+        assertEquals(List.of("EstoqueRepository:2", "VendaRepository:1"), metrics.getTimers().stream()
+                .map(t -> t.getComponent() + ":" + t.getSuccess().count()).sorted().toList());
+    }
+
+    @Test
+    void shouldStayOffWithoutMeterRegistryOrWhenDisabled() {
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class, InstrumentationAutoConfiguration.class))
+                .withBean(VendaController.class)
+                .run(context -> {
+                    assertFalse(context.containsBean("callMetrics"));
+                    assertFalse(AopUtils.isAopProxy(context.getBean(VendaController.class)));
+                });
+        contextRunner.withPropertyValues("mercadotech.instrumentation.enabled=false").run(context ->
+                assertFalse(AopUtils.isAopProxy(context.getBean(VendaController.class))));
+    }
+
+    private static Timer timer(MeterRegistry registry, String layer, String component, String method, String outcome) {
+        return registry.get(CallMetrics.METRIC).tags("layer", layer, "component", component, "method", method,
+                "outcome", outcome).timer();
+    }
+
+    /**
+     * Proxy como o que o Spring Data monta, com o interceptor que a auto-configuração acrescenta (ou nenhum).
+     */
+    private static <T extends EstoqueRepository> T repository(Class<T> type, CallMetrics metrics) {
+        ProxyFactory proxyFactory = new ProxyFactory(new EstoqueRepositoryImpl());
+        proxyFactory.addInterface(type);
+        if (metrics != null) {
+            proxyFactory.addAdvice(new TimedMethodInterceptor(() -> metrics, CallMetrics.LAYER_REPOSITORY, type.getSimpleName()));
+        }
+        return type.cast(proxyFactory.getProxy());
+    }
+
+    @RestController
+    static class VendaController {
+
+        @GetMapping("/vendas")
+        public String registrarVenda() {
+            return "ok";
+        }
+
+        @GetMapping("/vendas/cancelar")
+        public String cancelarVenda() {
+            throw new ResponseStatusException(org.springframework.http.HttpStatus.CONFLICT, "Venda já cancelada");
+        }
+    }
+
+    interface ProductServiceFeignClient {
+        @RequestLine("GET /products/{id}")
+        String getProductById(@Param("id") Long id);
+    }
+
+    interface EstoqueRepository {
+        long findById(long id);
+    }
+
+    interface VendaRepository extends EstoqueRepository {
+    }
+
+    static class EstoqueRepositoryImpl implements VendaRepository {
+        @Override
+        public long findById(long id) {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.mercadotech.commons.loadbalancer;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+import reactor.core.publisher.Flux;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PeakEwmaLoadBalancerTest {
+
+    private static final String SERVICE_ID = "stock-service";
+
+    private final List<HttpServer> stubs = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stubs.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void shouldPickTheInstanceWithLowerScore() {
+        LoadBalancerStatsRegistry registry = new LoadBalancerStatsRegistry();
+        ServiceInstance fast = instance(1);
+        ServiceInstance slow = instance(2);
+        registry.statsFor(SERVICE_ID, fast).observe(2_000_000, System.nanoTime());
+        registry.statsFor(SERVICE_ID, slow).observe(200_000_000, System.nanoTime());
+        PeakEwmaLoadBalancer loadBalancer = loadBalancer(registry, List.of(fast, slow));
+
+        // Com duas instâncias o sorteio sempre compara as duas
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, loadBalancer.choose(List.of(fast, slow)).getServer());
+        }
+    }
+
+    @Test
+    void shouldReactToLatencyPeakImmediately() {
+        InstanceStats stats = new InstanceStats(SERVICE_ID, "a");
+        long now = System.nanoTime();
+        stats.observe(5_000_000, now);
+        stats.observe(500_000_000, now + 1_000_000); // Pausa de GC
+
+        assertEquals(500.0, stats.getCostMillis(), 0.001);
+    }
+
+    @Test
+    void shouldPenalizeFailuresEvenWhenTheyAreFast() {
+        InstanceStats stats = new InstanceStats(SERVICE_ID, "a");
+        stats.onStart();
+        stats.onComplete(1_000, true); // Conexão recusada em 1 µs
+
+        assertTrue(stats.getCostMillis() >= 1000.0);
+        assertEquals(1, stats.getFailures());
+    }
+
+    /**
+     * Três instâncias stub locais, uma delas com 60 ms de latência injetada (simulando GC/disco lento).
+     * O round robin mandaria 1/3 do tráfego para ela; o peak EWMA deve mandar bem menos.
+     */
+    @Test
+    void shouldShiftTrafficAwayFromSlowStubInstance() throws Exception {
+        ServiceInstance fastA = startStub(1, 2);
+        ServiceInstance fastB = startStub(2, 2);
+        ServiceInstance slow = startStub(3, 60);
+        List<ServiceInstance> instances = List.of(fastA, fastB, slow);
+
+        LoadBalancerStatsRegistry registry = new LoadBalancerStatsRegistry();
+        PeakEwmaLoadBalancer loadBalancer = loadBalancer(registry, instances);
+        HttpClient httpClient = HttpClient.newHttpClient();
+        Map<ServiceInstance, Integer> hits = new HashMap<>();
+
+        // Aquece conexões e JIT fora do balanceador, para que picos da primeira chamada não contaminem o EWMA
+        for (ServiceInstance instance : instances) {
+            for (int i = 0; i < 10; i++) {
+                httpClient.send(HttpRequest.newBuilder(instance.getUri().resolve("/health")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ServiceInstance>> calls = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                calls.add(clients.submit(() -> call(loadBalancer, httpClient)));
+            }
+            for (Future<ServiceInstance> call : calls) {
+                hits.merge(call.get(), 1, Integer::sum);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        int slowHits = hits.getOrDefault(slow, 0);
+        assertTrue(slowHits < 400 / 6, "instância lenta recebeu " + slowHits + " de 400 requisições: " + hits);
+        assertEquals(0, registry.statsFor(SERVICE_ID, slow).getOutstanding());
+        assertEquals(slowHits, registry.statsFor(SERVICE_ID, slow).getRequests());
+    }
+
+    private ServiceInstance call(PeakEwmaLoadBalancer loadBalancer, HttpClient httpClient) throws Exception {
+        Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+        Response<ServiceInstance> chosen = loadBalancer.choose(request).block();
+        assertNotNull(chosen);
+        loadBalancer.onStartRequest(request, chosen);
+        CompletionContext.Status status = CompletionContext.Status.SUCCESS;
+        try {
+            httpClient.send(HttpRequest.newBuilder(chosen.getServer().getUri().resolve("/estoque/1")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (Exception e) {
+            status = CompletionContext.Status.FAILED;
+        }
+        loadBalancer.onComplete(new CompletionContext<>(status, request, chosen));
+        return chosen.getServer();
+    }
+
+    private ServiceInstance startStub(int index, long latencyMillis) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        stubs.add(server);
+        return new DefaultServiceInstance(SERVICE_ID + "-" + index, SERVICE_ID, "127.0.0.1",
+                server.getAddress().getPort(), false);
+    }
+
+    private static ServiceInstance instance(int index) {
+        return new DefaultServiceInstance(SERVICE_ID + "-" + index, SERVICE_ID, "10.0.0." + index, 8084, false);
+    }
+
+    private static PeakEwmaLoadBalancer loadBalancer(LoadBalancerStatsRegistry registry, List<ServiceInstance> instances) {
+        ServiceInstanceListSupplier supplier = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return SERVICE_ID;
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(instances);
+            }
+        };
+        return new PeakEwmaLoadBalancer(SERVICE_ID, new SimpleObjectProvider<>(supplier), registry);
+    }
+}
@@ -0,0 +1,144 @@
+package com.mercadotech.commons.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.read.ListAppender;
+import com.mercadotech.commons.tracing.ActiveSpan;
+import com.mercadotech.commons.tracing.SpanStore;
+import com.mercadotech.commons.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoggingAutoConfigurationTest {
+
+    private static final LoggerContext LOGGER_CONTEXT = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(LoggingAutoConfiguration.class));
+
+    @Test
+    void shouldDropInfoButKeepWarnForUnsampledRequests() throws Exception {
+        RequestLogSampler sampler = new RequestLogSampler();
+        sampler.attach(LOGGER_CONTEXT);
+        try {
+            List<String> never = capture(new LogSamplingServletFilter(null, 0.0));
+            assertEquals(List.of("WARN pedido=1"), never);
+
+            List<String> always = capture(new LogSamplingServletFilter(null, 1.0));
+            assertEquals(List.of("INFO pedido=1", "WARN pedido=1"), always);
+        } finally {
+            sampler.stop();
+        }
+        assertFalse(LOGGER_CONTEXT.getTurboFilterList().contains(sampler));
+    }
+
+    @Test
+    void shouldFollowTraceSamplingDecision() throws Exception {
+        RequestLogSampler sampler = new RequestLogSampler();
+        sampler.attach(LOGGER_CONTEXT);
+        Tracer tracer = new Tracer("sales-service", 1.0, new SpanStore(16));
+        try {
+            // Trace não amostrado no gateway: a taxa local (1.0) não se aplica
+            ActiveSpan span = tracer.startServerSpan("POST /vendas", "4bf92f3577b34da6", "00f067aa0ba902b7", "0");
+            ActiveSpan previous = tracer.setCurrent(span);
+            List<String> lines;
+            try {
+                lines = capture(new LogSamplingServletFilter(tracer, 1.0));
+            } finally {
+                tracer.setCurrent(previous);
+            }
+            assertEquals(List.of("WARN pedido=1"), lines);
+        } finally {
+            sampler.stop();
+        }
+    }
+
+    @Test
+    void shouldWrapRootAppendersInNonBlockingQueues() {
+        Logger root = LOGGER_CONTEXT.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        ListAppender<ILoggingEvent> list = new ListAppender<>();
+        list.setContext(LOGGER_CONTEXT);
+        list.setName("LIST");
+        list.start();
+        root.addAppender(list);
+        AsyncLogAppenders appenders = new AsyncLogAppenders(256);
+        try {
+            int wrapped = appenders.install();
+            assertTrue(wrapped >= 1);
+            assertEquals(0, appenders.install());
+            assertNull(root.getAppender("LIST"));
+            AsyncAppender async = (AsyncAppender) root.getAppender("ASYNC-LIST");
+            assertTrue(async.isNeverBlock());
+            assertEquals(256, async.getQueueSize());
+
+            LoggerFactory.getLogger("pedidos").warn("pedido={}", 7);
+        } finally {
+            appenders.uninstall();
+            root.detachAppender(list);
+        }
+        // uninstall esvazia a fila antes de devolver o appender original
+        assertEquals(List.of("pedido=7"), list.list.stream().map(ILoggingEvent::getFormattedMessage).toList());
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            assertFalse(it.next() instanceof AsyncAppender);
+        }
+    }
+
+    @Test
+    void shouldStayOffUnlessEnabled() {
+        contextRunner.run(context -> {
+            assertTrue(context.getBeansOfType(AsyncLogAppenders.class).isEmpty());
+            assertTrue(context.getBeansOfType(RequestLogSampler.class).isEmpty());
+        });
+    }
+
+    @Test
+    void shouldRegisterSamplingFilterAfterTracing() {
+        contextRunner.withPropertyValues("mercadotech.logging.sampling.enabled=true").run(context -> {
+            RequestLogSampler sampler = context.getBean(RequestLogSampler.class);
+            assertTrue(LOGGER_CONTEXT.getTurboFilterList().contains(sampler));
+            FilterRegistrationBean<?> registration = context.getBean(FilterRegistrationBean.class);
+            assertInstanceOf(LogSamplingServletFilter.class, registration.getFilter());
+            assertTrue(registration.getOrder() > Integer.MIN_VALUE + 1);
+        });
+        assertTrue(LOGGER_CONTEXT.getTurboFilterList().stream().noneMatch(RequestLogSampler.class::isInstance));
+    }
+
+    private static List<String> capture(LogSamplingServletFilter filter) throws Exception {
+        Logger logger = LOGGER_CONTEXT.getLogger("pedidos");
+        Level level = logger.getLevel();
+        ListAppender<ILoggingEvent> list = new ListAppender<>();
+        list.setContext(LOGGER_CONTEXT);
+        list.start();
+        logger.addAppender(list);
+        logger.setLevel(Level.INFO);
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/v1/estoque/1"), new MockHttpServletResponse(),
+                    new MockFilterChain() {
+                        @Override
+                        public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                            logger.info("pedido={}", 1);
+                            logger.warn("pedido={}", 1);
+                        }
+                    });
+        } finally {
+            logger.detachAppender(list);
+            logger.setLevel(level);
+        }
+        return list.list.stream().map(event -> event.getLevel() + " " + event.getFormattedMessage()).toList();
+    }
+}
@@ -0,0 +1,225 @@
+package com.mercadotech.commons.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtVerifierTest {
+
+    private static final String SECRET = "uma-chave-secreta-super-segura-com-mais-32-bytes";
+
+    private final List<Map<String, Object>> published = new ArrayList<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    void shouldVerifyEs256TokenWithKeyFromJwks() throws Exception {
+        KeyPair keyPair = publish("k1");
+        JwtVerifier verifier = verifier(Duration.ZERO, null);
+        String token = es256("k1", keyPair);
+
+        UnknownSigningKeyException unknown = assertThrows(UnknownSigningKeyException.class, () -> verifier.verify(token));
+        assertEquals("k1", unknown.getKeyId());
+        assertNotNull(verifier.getKeyCache().resolve(unknown.getKeyId()));
+
+        Claims claims = verifier.verify(token);
+        assertEquals("1", claims.getSubject());
+        assertEquals(List.of("GERENTE"), claims.get("roles", List.class));
+    }
+
+    @Test
+    void shouldFetchJwksAgainOnlyWhenUnknownKidAppearsAfterRotation() throws Exception {
+        KeyPair first = publish("k1");
+        JwtVerifier verifier = verifier(Duration.ZERO, null);
+        verifier.getKeyCache().resolve("k1");
+        for (int i = 0; i < 100; i++) {
+            verifier.verify(es256("k1", first));
+        }
+        assertEquals(1, fetches.get());
+
+        KeyPair second = publish("k2"); // Rotação: k1 continua publicada
+        String token = es256("k2", second);
+        assertThrows(UnknownSigningKeyException.class, () -> verifier.verify(token));
+        verifier.getKeyCache().resolve("k2");
+        verifier.verify(token);
+        verifier.verify(es256("k1", first));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void shouldRateLimitFetchesForUnknownKids() throws Exception {
+        publish("k1");
+        JwtVerifier verifier = verifier(Duration.ofMinutes(1), null);
+        verifier.getKeyCache().resolve("k1");
+
+        for (int i = 0; i < 50; i++) {
+            assertNull(verifier.getKeyCache().resolve("forjado-" + i));
+        }
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithUnpublishedKey() throws Exception {
+        publish("k1");
+        KeyPair attacker = generate();
+        JwtVerifier verifier = verifier(Duration.ZERO, null);
+        verifier.getKeyCache().resolve("k1");
+
+        assertThrows(JwtException.class, () -> verifier.verify(es256("k1", attacker)));
+    }
+
+    @Test
+    void shouldAcceptLegacyHs256OnlyUntilConfiguredDeadline() {
+        MutableClock clock = new MutableClock();
+        String token = Jwts.builder()
+                .setSubject("1")
+                .claim("roles", List.of("CAIXA"))
+                .setExpiration(new Date(clock.millis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThrows(JwtException.class, () -> verifier(Duration.ZERO, null).verify(token));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JwtVerifier(keyCache(Duration.ZERO), SECRET, null));
+
+        Instant until = clock.instant().plus(Duration.ofSeconds(10));
+        JwtVerifier verifier = new JwtVerifier(keyCache(Duration.ZERO), SECRET, until, 100, Duration.ofMinutes(1), clock);
+        assertEquals("1", verifier.verify(token).getSubject());
+        clock.advance(Duration.ofSeconds(10));
+        assertThrows(JwtException.class, () -> verifier.verify(token)); // Nem do cache
+    }
+
+    @Test
+    void shouldReuseVerificationUntilTtlOrExpiration() throws Exception {
+        KeyPair keyPair = publish("k1");
+        MutableClock clock = new MutableClock();
+        JwtVerifier verifier = new JwtVerifier(keyCache(Duration.ZERO), null, null, 100, Duration.ofSeconds(30), clock);
+        verifier.getKeyCache().resolve("k1");
+        String token = es256("k1", keyPair);
+
+        Claims first = verifier.verify(token);
+        assertSame(first, verifier.verify(token)); // Do cache: a assinatura não é verificada de novo
+        clock.advance(Duration.ofSeconds(30));
+        assertNotSame(first, verifier.verify(token));
+
+        // Expira antes do TTL: a entrada vale só até o exp
+        String shortLived = Jwts.builder()
+                .setHeaderParam("kid", "k1")
+                .setSubject("1")
+                .setExpiration(new Date(clock.millis() + 5_000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+        Claims claims = verifier.verify(shortLived);
+        clock.advance(Duration.ofSeconds(5));
+        assertNotSame(claims, verifier.verify(shortLived));
+    }
+
+    @Test
+    void shouldBoundVerifiedTokenCache() throws Exception {
+        KeyPair keyPair = publish("k1");
+        JwtVerifier verifier = new JwtVerifier(keyCache(Duration.ZERO), null, null, 8, Duration.ofMinutes(1));
+        verifier.getKeyCache().resolve("k1");
+        for (int i = 0; i < 50; i++) {
+            verifier.verify(es256("k1", keyPair));
+            assertTrue(verifier.cachedTokens() <= 8);
+        }
+
+        JwtVerifier uncached = new JwtVerifier(keyCache(Duration.ZERO), null, null, 0, Duration.ofMinutes(1));
+        uncached.getKeyCache().resolve("k1");
+        String token = es256("k1", keyPair);
+        assertNotSame(uncached.verify(token), uncached.verify(token));
+        assertEquals(0, uncached.cachedTokens());
+    }
+
+    private JwtVerifier verifier(Duration minRefreshInterval, String legacySecret) {
+        return new JwtVerifier(keyCache(minRefreshInterval), legacySecret, Instant.now().plus(Duration.ofDays(1)));
+    }
+
+    private JwksPublicKeyCache keyCache(Duration minRefreshInterval) {
+        return new JwksPublicKeyCache(() -> {
+            fetches.incrementAndGet();
+            return "{\"keys\":" + toJson() + "}";
+        }, minRefreshInterval);
+    }
+
+    private String toJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (Map<String, Object> jwk : published) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('{');
+            jwk.forEach((name, value) -> json.append('"').append(name).append("\":\"").append(value).append("\","));
+            json.setLength(json.length() - 1);
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private KeyPair publish(String kid) throws Exception {
+        KeyPair keyPair = generate();
+        published.add(JsonWebKeys.toJwk(kid, (ECPublicKey) keyPair.getPublic()));
+        return keyPair;
+    }
+
+    private static KeyPair generate() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+
+    private static String es256(String kid, KeyPair keyPair) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setId(UUID.randomUUID().toString())
+                .setSubject("1")
+                .claim("roles", List.of("GERENTE"))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mercadotech.commons.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenRevocationListTest {
+
+    private static final long IN_ONE_HOUR = System.currentTimeMillis() + 3_600_000;
+
+    @Test
+    void shouldReportRevokedTokensUntilTheyExpire() {
+        TokenRevocationList list = new TokenRevocationList(1000);
+        list.revoke("ativo", IN_ONE_HOUR);
+        list.revoke("expirado", System.currentTimeMillis() - 1);
+
+        assertTrue(list.isRevoked("ativo"));
+        assertFalse(list.isRevoked("expirado"));
+        assertFalse(list.isRevoked("outro"));
+        assertFalse(list.isRevoked(null));
+
+        list.pruneExpired();
+        assertEquals(1, list.size());
+        assertTrue(list.isRevoked("ativo"));
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredValue() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "falsos positivos: " + falsePositives);
+        assertTrue(filter.sizeInBytes() < 128 * 1024, "tamanho: " + filter.sizeInBytes());
+    }
+
+    @Test
+    void shouldGrowFilterWhenCapacityIsExceeded() {
+        TokenRevocationList list = new TokenRevocationList(10);
+        List<String> jtis = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String jti = UUID.randomUUID().toString();
+            jtis.add(jti);
+            list.revoke(jti, IN_ONE_HOUR);
+        }
+        assertTrue(jtis.stream().allMatch(list::isRevoked));
+        assertTrue(list.filterSizeInBytes() >= 1000); // ~9,6 bits por item para 1%
+    }
+
+    @Test
+    void shouldApplyFeedIncrementallyFromReturnedSequence() {
+        List<String> requested = new ArrayList<>();
+        String[] response = new String[1];
+        RemoteDocumentFetcher fetcher = new RemoteDocumentFetcher(null) {
+            @Override
+            public String get(URI uri) {
+                requested.add(uri.getQuery());
+                return response[0];
+            }
+        };
+        TokenRevocationList list = new TokenRevocationList(1000);
+        RevocationFeedPoller poller = new RevocationFeedPoller(URI.create("http://auth/auth/revocations"), fetcher, list, Duration.ofSeconds(2));
+
+        response[0] = feed(2, "a", "b");
+        poller.poll();
+        response[0] = feed(2, "c"); // "c" ainda não assentou no auth-service: a sequência não avança
+        poller.poll();
+        response[0] = feed(3, "c");
+        poller.poll();
+        assertEquals(List.of("since=0", "since=2", "since=2"), requested);
+        assertTrue(list.isRevoked("a") && list.isRevoked("b") && list.isRevoked("c"));
+        assertEquals(3, list.size());
+    }
+
+    private static String feed(long sequence, String... jtis) {
+        StringBuilder revocations = new StringBuilder();
+        for (String jti : jtis) {
+            if (!revocations.isEmpty()) {
+                revocations.append(',');
+            }
+            revocations.append("{\"jti\":\"").append(jti).append("\",\"expiresAt\":").append(IN_ONE_HOUR).append('}');
+        }
+        return "{\"sequence\":" + sequence + ",\"revocations\":[" + revocations + "]}";
+    }
+}
@@ -0,0 +1,122 @@
+package com.mercadotech.commons.tracing;
+
+import feign.Feign;
+import feign.Request;
+import feign.RequestLine;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TracerTest {
+
+    private final SpanStore store = new SpanStore(100);
+    private final Tracer tracer = new Tracer("sales-service", 1.0, store);
+    private final List<Request> sent = new ArrayList<>();
+
+    @Test
+    void shouldContinueTraceFromHeadersAndFollowUpstreamSamplingDecision() {
+        ActiveSpan span = tracer.startServerSpan("POST /vendas", "4bf92f3577b34da6", "00f067aa0ba902b7", "1");
+        assertEquals("4bf92f3577b34da6", span.getTraceId());
+        assertEquals("00f067aa0ba902b7", span.getParentId());
+        assertNotEquals(span.getParentId(), span.getSpanId());
+        span.finish(201, false);
+
+        // O gateway decidiu não amostrar: nada é gravado, mesmo com sample-rate 1.0 aqui
+        tracer.startServerSpan("POST /vendas", "5af92f3577b34da6", "10f067aa0ba902b7", "0").finish(201, false);
+        assertEquals(1, store.getRecorded());
+
+        // Headers inválidos não são repassados adiante: vira um trace novo
+        ActiveSpan invalid = tracer.startServerSpan("GET /vendas", "<script>", "x", "1");
+        assertTrue(Tracer.isValidId(invalid.getTraceId()));
+        assertNull(invalid.getParentId());
+    }
+
+    @Test
+    void shouldSampleNewTracesAtConfiguredRate() {
+        Tracer sampling = new Tracer("gateway-service", 0.1, store);
+        int sampled = 0;
+        for (int i = 0; i < 20_000; i++) {
+            if (sampling.startServerSpan("GET /", null, null, null).isSampled()) {
+                sampled++;
+            }
+        }
+        assertTrue(sampled > 1_600 && sampled < 2_400, "amostrados: " + sampled);
+        assertFalse(new Tracer("gateway-service", 0, store).startServerSpan("GET /", null, null, null).isSampled());
+    }
+
+    @Test
+    void shouldPropagateServerSpanToFeignCallsAndRecordBothHops() throws Exception {
+        StockServiceFeignClient stockClient = Feign.builder()
+                .addCapability(new TracingFeignCapability(tracer))
+                .client((request, options) -> {
+                    sent.add(request);
+                    return Response.builder().request(request).status(200).body("", StandardCharsets.UTF_8).build();
+                })
+                .target(StockServiceFeignClient.class, "http://stock-service");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/vendas");
+        request.addHeader(Tracer.TRACE_ID_HEADER, "4bf92f3577b34da6");
+        request.addHeader(Tracer.PARENT_ID_HEADER, "00f067aa0ba902b7");
+        request.addHeader(Tracer.SAMPLED_HEADER, "1");
+        request.setAttribute("org.springframework.web.servlet.HandlerMapping.bestMatchingPattern", "/vendas");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] traceIdInLogs = new String[1];
+
+        new TracingServletFilter(tracer).doFilter(request, response, new MockFilterChain(new jakarta.servlet.http.HttpServlet() {
+            @Override
+            protected void service(jakarta.servlet.http.HttpServletRequest req, jakarta.servlet.http.HttpServletResponse resp) {
+                traceIdInLogs[0] = MDC.get(Tracer.MDC_KEY);
+                stockClient.registrarSaida();
+                resp.setStatus(201);
+            }
+        }));
+
+        List<Span> spans = store.trace("4bf92f3577b34da6");
+        assertEquals(2, spans.size());
+        Span server = spans.stream().filter(s -> s.kind().equals(Span.SERVER)).findFirst().orElseThrow();
+        Span client = spans.stream().filter(s -> s.kind().equals(Span.CLIENT)).findFirst().orElseThrow();
+        assertEquals("POST /vendas", server.name());
+        assertEquals(201, server.status());
+        assertEquals("00f067aa0ba902b7", server.parentId());
+        assertEquals("StockServiceFeignClient#registrarSaida", client.name());
+        assertEquals(server.spanId(), client.parentId());
+        assertTrue(server.durationMicros() >= client.durationMicros());
+
+        Map<String, java.util.Collection<String>> headers = sent.get(0).headers();
+        assertEquals(List.of("4bf92f3577b34da6"), List.copyOf(headers.get(Tracer.TRACE_ID_HEADER)));
+        assertEquals(List.of(client.spanId()), List.copyOf(headers.get(Tracer.PARENT_ID_HEADER)));
+        assertEquals(List.of("1"), List.copyOf(headers.get(Tracer.SAMPLED_HEADER)));
+        assertEquals("4bf92f3577b34da6", response.getHeader(Tracer.TRACE_ID_HEADER));
+        assertEquals("4bf92f3577b34da6", traceIdInLogs[0]);
+        assertNull(tracer.current()); // Nada sobra na thread do Tomcat
+        assertNull(MDC.get(Tracer.MDC_KEY));
+
+        Map<String, Object> recent = new TraceEndpoint(tracer).recent(null);
+        assertEquals(List.of(server), recent.get("traces")); // O span de servidor representa o trace
+        assertEquals(spans, new TraceEndpoint(tracer).trace("4bf92f3577b34da6"));
+    }
+
+    @Test
+    void shouldKeepOnlyTheLatestSpans() {
+        SpanStore small = new SpanStore(3);
+        for (int i = 0; i < 5; i++) {
+            small.add(new Span("t" + i, "s" + i, null, "stock-service", Span.SERVER, "GET /estoque", i, 10, 200, false));
+        }
+        assertEquals(List.of("t4", "t3", "t2"), small.recentTraces(10).stream().map(Span::traceId).toList());
+        assertTrue(small.trace("t0").isEmpty());
+    }
+
+    interface StockServiceFeignClient {
+        @RequestLine("POST /estoque/saida")
+        void registrarSaida();
+    }
+}
@@ -0,0 +1,109 @@
+package com.mercadotech.commons.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryWireAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class, BinaryWireAutoConfiguration.class))
+            .withPropertyValues("mercadotech.wire.cbor.enabled=true");
+
+    @Test
+    void shouldKeepJsonAheadOfCborForClientsThatAcceptAnything() {
+        contextRunner.run(context -> {
+            List<HttpMessageConverter<?>> converters = context.getBean(HttpMessageConverters.class).getConverters();
+            int json = indexOf(converters, MappingJackson2HttpMessageConverter.class);
+            int cbor = indexOf(converters, MappingJackson2CborHttpMessageConverter.class);
+            assertTrue(json >= 0 && json < cbor);
+            // O conversor com as configurações do Boot entra na posição do padrão, à frente dele
+            assertSame(context.getBean(MappingJackson2CborHttpMessageConverter.class), converters.get(cbor));
+        });
+    }
+
+    @Test
+    void shouldSendFeignBodyAsCborAndPreferCborResponses() {
+        contextRunner.run(context -> {
+            Encoder encoder = context.getBean(Encoder.class);
+            RequestTemplate template = new RequestTemplate();
+            SaidaEstoque saida = new SaidaEstoque(42L, 3, LocalDateTime.of(2025, 5, 10, 14, 30), "VENDA", "Venda 1001");
+            encoder.encode(saida, SaidaEstoque.class, template);
+
+            assertEquals(List.of(MediaType.APPLICATION_CBOR_VALUE), List.copyOf(template.headers().get(HttpHeaders.CONTENT_TYPE)));
+            ObjectMapper cbor = context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            assertEquals(saida, cbor.readValue(template.body(), SaidaEstoque.class));
+
+            RequestTemplate get = new RequestTemplate();
+            context.getBean(RequestInterceptor.class).apply(get);
+            assertEquals(List.of(BinaryWireAutoConfiguration.FEIGN_ACCEPT), List.copyOf(get.headers().get(HttpHeaders.ACCEPT)));
+        });
+    }
+
+    @Test
+    void shouldRespectExplicitMediaTypesAndTheSwitch() {
+        contextRunner.run(context -> {
+            RequestTemplate template = new RequestTemplate();
+            template.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            template.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+            context.getBean(Encoder.class).encode(new Produto(1L, "Arroz 5kg", new BigDecimal("25.90"), "Mercearia"),
+                    Produto.class, template);
+            context.getBean(RequestInterceptor.class).apply(template);
+
+            assertEquals(List.of(MediaType.APPLICATION_JSON_VALUE), List.copyOf(template.headers().get(HttpHeaders.CONTENT_TYPE)));
+            assertEquals(List.of(MediaType.APPLICATION_JSON_VALUE), List.copyOf(template.headers().get(HttpHeaders.ACCEPT)));
+            assertTrue(new String(template.body()).startsWith("{\"id\":1"));
+        });
+        contextRunner.withPropertyValues("mercadotech.wire.cbor.enabled=false").run(context -> {
+            assertFalse(context.containsBean("cborHttpMessageConverter"));
+            assertTrue(context.getBeansOfType(RequestInterceptor.class).isEmpty());
+        });
+    }
+
+    @Test
+    void shouldStayOffUnlessEnabled() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                        HttpMessageConvertersAutoConfiguration.class, BinaryWireAutoConfiguration.class))
+                .run(context -> {
+                    assertFalse(context.containsBean("cborHttpMessageConverter"));
+                    assertTrue(context.getBeansOfType(RequestInterceptor.class).isEmpty());
+                    assertTrue(context.getBeansOfType(Encoder.class).isEmpty());
+                });
+    }
+
+    private static int indexOf(List<HttpMessageConverter<?>> converters, Class<?> type) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Espelhos de ProdutoEstoqueDTO e SaidaEstoqueDTO, que ficam nos serviços
+    record Produto(Long id, String name, BigDecimal price, String categoryName) {
+    }
+
+    record SaidaEstoque(Long produtoId, Integer quantidade, LocalDateTime dataSaida, String tipoSaida, String observacao) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.mercadotech.configserver.local;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentRepository;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repositório nativo (arquivos locais) com cache das propriedades resolvidas: o {@link NativeEnvironmentRepository}
+ * sobe um contexto Spring a cada requisição para ler os arquivos, o que aqui acontece uma vez por combinação de
+ * aplicação, perfis e label em cada versão do repositório.
+ *
+ * A versão vem do {@link ConfigRepositoryWatcher} e é devolvida em {@link Environment#getVersion()}; quando muda,
+ * o cache inteiro é descartado. Cada entrada guarda a versão lida antes de ler os arquivos: uma leitura que cruza
+ * uma mudança fica com a versão antiga e é refeita na requisição seguinte.
+ */
+public class CachingNativeEnvironmentRepository extends NativeEnvironmentRepository {
+
+    private record Key(String application, String profile, String label, boolean includeOrigin) {
+    }
+
+    private record Entry(String version, Environment environment) {
+    }
+
+    private final ConfigRepositoryWatcher watcher;
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+
+    public CachingNativeEnvironmentRepository(ConfigurableEnvironment environment, NativeEnvironmentProperties properties,
+                                              ObservationRegistry observationRegistry, ConfigRepositoryWatcher watcher) {
+        super(environment, properties, observationRegistry);
+        this.watcher = watcher;
+        watcher.addListener(change -> cache.clear());
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label) {
+        return findOne(application, profile, label, false);
+    }
+
+    @Override
+    public Environment findOne(String application, String profile, String label, boolean includeOrigin) {
+        Key key = new Key(application, profile, label, includeOrigin);
+        String version = watcher.getVersion();
+        Entry entry = cache.get(key);
+        if (entry == null || !entry.version().equals(version)) {
+            Environment environment = super.findOne(application, profile, label, includeOrigin);
+            environment.setVersion(version);
+            entry = new Entry(version, environment);
+            cache.put(key, entry);
+        }
+        // Cópia: o config-server pode alterar o Environment devolvido (ex.: lista de property sources)
+        Environment copy = new Environment(entry.environment());
+        copy.addAll(entry.environment().getPropertySources());
+        return copy;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mercadotech.configserver.local;
+
+import com.mercadotech.configserver.local.ConfigRepositoryWatcher.ConfigChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Avisa os serviços das mudanças no repositório local por Server-Sent Events, em vez de cada um consultar o
+ * config-server periodicamente.
+ *
+ * Ao conectar, o cliente recebe um evento {@code config-version} com a versão atual (para conferir a que tem e
+ * recuperar mudanças perdidas enquanto estava desconectado); a cada lote de alterações, um evento
+ * {@code config-changed} com {@code {"version": ..., "changed": [...]}}. Um comentário a cada
+ * {@code keepAliveSeconds} mantém a conexão aberta em proxies e detecta clientes que caíram.
+ */
+@RestController
+@Profile("local")
+public class ConfigChangeNotifier implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigChangeNotifier.class);
+
+    private final ConfigRepositoryWatcher watcher;
+    private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+    private final ScheduledExecutorService keepAlive = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-change-keepalive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ConfigChangeNotifier(ConfigRepositoryWatcher watcher,
+                                @Value("${mercadotech.config.local.keep-alive-seconds:25}") long keepAliveSeconds) {
+        this.watcher = watcher;
+        watcher.addListener(this::publish);
+        keepAlive.scheduleAtFixedRate(() -> broadcast(SseEmitter.event().comment("keep-alive")),
+                keepAliveSeconds, keepAliveSeconds, TimeUnit.SECONDS);
+    }
+
+    @GetMapping(value = "/notifications", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() throws IOException {
+        SseEmitter emitter = new SseEmitter(0L); // Sem timeout: a conexão dura enquanto o serviço estiver no ar
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        emitter.send(SseEmitter.event().name("config-version").data(Map.of("version", watcher.getVersion()),
+                MediaType.APPLICATION_JSON));
+        return emitter;
+    }
+
+    @Override
+    public void close() {
+        keepAlive.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    private void publish(ConfigChange change) {
+        log.info("Avisando {} serviço(s) da versão {}", emitters.size(), change.version());
+        broadcast(SseEmitter.event().name("config-changed").data(change, MediaType.APPLICATION_JSON));
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter); // Cliente desconectado
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mercadotech.configserver.local;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Acompanha os diretórios do repositório local de configuração e mantém a versão atual: um hash do conteúdo de
+ * todos os arquivos, que só muda quando algum arquivo muda de fato (salvar sem alterar não gera versão nova) e é a
+ * mesma depois de reiniciar o config-server.
+ *
+ * As alterações são agrupadas (um editor ou um {@code git pull} gravam vários arquivos em sequência): a versão é
+ * recalculada depois de {@code settleMillis} sem eventos, e os ouvintes recebem uma {@link ConfigChange} por lote.
+ */
+public class ConfigRepositoryWatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigRepositoryWatcher.class);
+
+    /**
+     * Lote de alterações.
+     *
+     * @param changed Caminhos alterados relativos ao diretório observado, sem extensão
+     *                (ex.: {@code stock-service}, {@code application-prod}, {@code sales-service/application}).
+     */
+    public record ConfigChange(String version, Set<String> changed) {
+    }
+
+    private final List<Path> roots;
+    private final long settleMillis;
+    private final List<Consumer<ConfigChange>> listeners = new CopyOnWriteArrayList<>();
+    private final WatchService watchService;
+    private final Thread thread;
+    private volatile String version;
+
+    public ConfigRepositoryWatcher(List<Path> roots, long settleMillis) throws IOException {
+        this.roots = List.copyOf(roots);
+        this.settleMillis = settleMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        for (Path root : this.roots) {
+            registerTree(root);
+        }
+        this.version = computeVersion();
+        this.thread = new Thread(this::watch, "config-repository-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        log.info("Repositório local de configuração {} na versão {}", this.roots, version);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void addListener(Consumer<ConfigChange> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close(); // Encerra a thread (ClosedWatchServiceException)
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<String> changed = new TreeSet<>();
+                // Junta os eventos até o repositório ficar settleMillis sem alterações
+                while (key != null) {
+                    collect(key, changed);
+                    key = watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+                }
+                String previous = version;
+                try {
+                    version = computeVersion();
+                } catch (UncheckedIOException e) {
+                    log.warn("Versão da configuração não recalculada ({}); fica {}", e.getMessage(), previous);
+                    continue;
+                }
+                if (!version.equals(previous)) {
+                    log.info("Configuração alterada ({}): versão {}", changed, version);
+                    ConfigChange change = new ConfigChange(version, changed);
+                    listeners.forEach(listener -> listener.accept(change));
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // close()
+        } catch (RuntimeException e) {
+            log.error("Observação do repositório de configuração interrompida", e);
+        }
+    }
+
+    private void collect(WatchKey key, Set<String> changed) {
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.add("application"); // Eventos perdidos: todos os serviços conferem a versão
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerTree(path);
+                } catch (UncheckedIOException e) {
+                    log.debug("Diretório {} removido antes de ser observado", path);
+                }
+            }
+            changed.add(relativeName(path));
+        }
+        key.reset();
+    }
+
+    private String relativeName(Path path) {
+        for (Path root : roots) {
+            if (path.startsWith(root)) {
+                String name = root.relativize(path).toString().replace('\\', '/');
+                int dot = name.lastIndexOf('.');
+                return dot > name.lastIndexOf('/') ? name.substring(0, dot) : name;
+            }
+        }
+        return path.getFileName().toString();
+    }
+
+    private void registerTree(Path root) {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path directory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível observar " + root, e);
+        }
+    }
+
+    private String computeVersion() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Path root : roots) {
+                List<Path> files = new ArrayList<>();
+                try (Stream<Path> walk = Files.walk(root)) {
+                    walk.filter(Files::isRegularFile).sorted().forEach(files::add);
+                }
+                for (Path file : files) {
+                    byte[] content;
+                    try {
+                        content = Files.readAllBytes(file);
+                    } catch (NoSuchFileException e) {
+                        continue; // Removido durante a leitura; o evento da remoção gera novo cálculo
+                    }
+                    digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(content);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o repositório de configuração", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.mercadotech.configserver.local;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.config.server.environment.NativeEnvironmentProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.util.ResourceUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Perfil {@code local}: o config-server serve os arquivos de um diretório local (sem clone do repositório git a cada
+ * subida), com cache versionado das propriedades resolvidas e aviso de mudanças aos serviços
+ * ({@link ConfigChangeNotifier}).
+ *
+ * Usa as mesmas propriedades do backend nativo ({@code spring.cloud.config.server.native.search-locations});
+ * só os locais {@code file:} são observados. Como este repositório substitui o do git, o perfil {@code native}
+ * não deve estar ativo junto.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("local")
+public class LocalConfigRepositoryConfiguration {
+
+    @Bean
+    public ConfigRepositoryWatcher configRepositoryWatcher(NativeEnvironmentProperties properties,
+                                                           @Value("${mercadotech.config.local.settle-millis:300}") long settleMillis)
+            throws IOException {
+        List<Path> roots = new ArrayList<>();
+        for (String location : properties.getSearchLocations()) {
+            if (location.startsWith(ResourceUtils.FILE_URL_PREFIX) && !location.contains("{")) {
+                roots.add(Path.of(location.substring(ResourceUtils.FILE_URL_PREFIX.length())).toAbsolutePath().normalize());
+            }
+        }
+        if (roots.isEmpty()) {
+            throw new IllegalStateException("Perfil local sem diretório em spring.cloud.config.server.native.search-locations (file:...)");
+        }
+        return new ConfigRepositoryWatcher(roots, settleMillis);
+    }
+
+    @Bean
+    public CachingNativeEnvironmentRepository cachingNativeEnvironmentRepository(
+            ConfigurableEnvironment environment, NativeEnvironmentProperties properties,
+            ObjectProvider<ObservationRegistry> observationRegistry, ConfigRepositoryWatcher watcher) {
+        return new CachingNativeEnvironmentRepository(environment, properties,
+                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP), watcher);
+    }
+}
@@ -0,0 +1,95 @@
+package com.mercadotech.configserver.local;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.configserver.ConfigServerApplication;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ConfigServerApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "mercadotech.config.local.settle-millis=50")
+@ActiveProfiles("local")
+public class LocalConfigRepositoryTest {
+
+    @TempDir
+    static Path repository;
+
+    @DynamicPropertySource
+    static void searchLocations(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.config.server.native.search-locations", () -> "file:" + repository + "/");
+    }
+
+    @BeforeAll
+    static void writeRepository() throws IOException {
+        Files.writeString(repository.resolve("application.yml"), "estoque:\n  reserva:\n    ttl: 15\n");
+        Files.writeString(repository.resolve("stock-service.yml"), "estoque:\n  reserva:\n    ttl: 30\n");
+    }
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ConfigRepositoryWatcher watcher;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldServeLocalFilesWithRepositoryVersion() throws Exception {
+        JsonNode environment = get("/stock-service/default");
+
+        // Versão do watcher: quem respondeu foi o repositório local, não o git
+        assertEquals(watcher.getVersion(), environment.path("version").asText());
+        JsonNode sources = environment.path("propertySources");
+        assertEquals(2, sources.size());
+        // Mais específica primeiro: stock-service.yml antes de application.yml
+        assertEquals(30, sources.get(0).path("source").path("estoque.reserva.ttl").asInt());
+        assertEquals(15, sources.get(1).path("source").path("estoque.reserva.ttl").asInt());
+    }
+
+    @Test
+    void shouldServeNewVersionAndNotifyAfterFileChanges() throws Exception {
+        List<ConfigRepositoryWatcher.ConfigChange> changes = new CopyOnWriteArrayList<>();
+        watcher.addListener(changes::add);
+        String before = get("/sales-service/default").path("version").asText();
+
+        Files.writeString(repository.resolve("sales-service.yml"), "vendas:\n  limite: 7\n");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (changes.isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "mudança não detectada em 10 s");
+            Thread.sleep(20);
+        }
+
+        assertTrue(changes.get(0).changed().contains("sales-service"));
+        JsonNode environment = get("/sales-service/default");
+        assertNotEquals(before, environment.path("version").asText());
+        assertEquals(7, environment.path("propertySources").get(0).path("source").path("vendas.limite").asInt());
+    }
+
+    private JsonNode get(String path) throws Exception {
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -1,9 +1,9 @@
 package com.mercadotech.gatewayservice;
 
+import com.mercadotech.commons.security.JwtVerifier;
+import com.mercadotech.commons.security.TokenRevocationList;
+import com.mercadotech.commons.security.UnknownSigningKeyException;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.core.annotation.Order;
@@ -14,25 +14,33 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Component
 @Order(1) // Executa antes dos demais filtros
 public class AuthenticationFilter implements GlobalFilter {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
     // Endpoints públicos que não exigem autenticação
     private static final List<String> OPEN_ENDPOINTS = List.of(
             "/auth/login",
             "/auth/hello",
+            "/auth/.well-known",
             "/actuator"
     );
 
+    // Valida tokens ES256 com as chaves públicas do JWKS (em cache); HS256 só se habilitado (legacy-hmac-*) e até a data limite
+    private final JwtVerifier jwtVerifier;
+
+    // Tokens revogados por logout, sincronizados em segundo plano com o Auth Service (sem chamada por requisição)
+    private final TokenRevocationList revocationList;
+
+    public AuthenticationFilter(JwtVerifier jwtVerifier, TokenRevocationList revocationList) {
+        this.jwtVerifier = jwtVerifier;
+        this.revocationList = revocationList;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -50,14 +58,19 @@ public class AuthenticationFilter implements GlobalFilter {
 
         String token = authHeader.substring(7); // Remove "Bearer "
 
+        return authenticate(exchange, chain, token, true);
+    }
+
+    private Mono<Void> authenticate(ServerWebExchange exchange, GatewayFilterChain chain, String token,
+                                    boolean resolveUnknownKey) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            // Verificação síncrona; tokens já verificados vêm do cache do verifier sem refazer a assinatura
+            Claims claims = jwtVerifier.verify(token);
 
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            // Também para tokens do cache: a revogação é checada a cada requisição
+            if (revocationList.isRevoked(claims.getId())) {
+                return unauthorized("Token has been revoked");
+            }
 
             String userId = claims.getSubject();
             List<String> roles = claims.get("roles", List.class);
@@ -71,13 +84,22 @@ public class AuthenticationFilter implements GlobalFilter {
             }
 
             // Propaga informações de autenticação nos headers para os microsserviços
-            ServerHttpRequest modifiedRequest = request.mutate()
+            ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
                     .header("X-Auth-User-Id", userId)
                     .header("X-Auth-User-Roles", String.join(",", roles))
                     .build();
 
             return chain.filter(exchange.mutate().request(modifiedRequest).build());
 
+        } catch (UnknownSigningKeyException e) {
+            if (!resolveUnknownKey) {
+                return unauthorized("Invalid or expired token: " + e.getMessage());
+            }
+            // Kid novo (ex: logo após uma rotação): busca o JWKS fora do event loop e verifica de novo
+            return Mono.fromCallable(() -> jwtVerifier.getKeyCache().resolve(e.getKeyId()) != null)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .onErrorReturn(false)
+                    .flatMap(resolved -> authenticate(exchange, chain, token, false));
         } catch (Exception e) {
             return unauthorized("Invalid or expired token: " + e.getMessage());
         }
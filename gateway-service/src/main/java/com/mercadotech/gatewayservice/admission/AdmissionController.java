@@ -0,0 +1,319 @@
+package com.mercadotech.gatewayservice.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Controle de admissão do gateway: limita quantas requisições podem estar em andamento nos serviços
+ * de destino ao mesmo tempo, priorizando checkout e baixa de estoque sobre relatórios.
+ *
+ * <ul>
+ *     <li>O limite global é adaptativo ({@link GradientLimit}) e diminui quando a latência downstream sobe;</li>
+ *     <li>cada {@link PriorityClass} pode ocupar no máximo uma fração desse limite;</li>
+ *     <li>requisições sem vaga aguardam em filas por classe, atendidas sempre da maior para a menor prioridade;</li>
+ *     <li>quando as filas lotam, as requisições de menor prioridade são descartadas primeiro (HTTP 503).</li>
+ * </ul>
+ */
+@Component
+public class AdmissionController {
+
+    private final GradientLimit limit;
+    private final int maxQueued;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<PriorityClass, ArrayDeque<Waiter>> queues = new EnumMap<>(PriorityClass.class);
+    private final int[] inFlightByClass = new int[PriorityClass.values().length];
+    private final Map<PriorityClass, Counter> shedCounters = new EnumMap<>(PriorityClass.class);
+    private int inFlight;
+    private int queued;
+
+    public AdmissionController(@Value("${gateway.admission.initial-limit:64}") int initialLimit,
+                               @Value("${gateway.admission.min-limit:8}") int minLimit,
+                               @Value("${gateway.admission.max-limit:512}") int maxLimit,
+                               @Value("${gateway.admission.max-queued:256}") int maxQueued,
+                               MeterRegistry meterRegistry) {
+        this.limit = new GradientLimit(initialLimit, minLimit, maxLimit);
+        this.maxQueued = maxQueued;
+        for (PriorityClass priority : PriorityClass.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            shedCounters.put(priority, Counter.builder("gateway.admission.shed")
+                    .description("Requisições descartadas pelo controle de admissão")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+            Gauge.builder("gateway.admission.inflight", this, c -> c.getInFlight(priority))
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.admission.queued", this, c -> c.getQueued(priority))
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("gateway.admission.limit", this, AdmissionController::getLimit)
+                .description("Limite de concorrência adaptativo atual")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Solicita uma vaga para a classe informada. O Mono completa quando a requisição for admitida,
+     * ou falha com 503 se a fila estiver cheia, a requisição for preterida por outra de maior prioridade
+     * ou o tempo máximo de espera da classe expirar.
+     * @param priority Classe de prioridade da rota.
+     * @return Permissão que deve ser liberada ao término da requisição.
+     */
+    public Mono<Permit> acquire(PriorityClass priority) {
+        return Mono.defer(() -> {
+            List<Waiter> evicted = new ArrayList<>(0);
+            Waiter waiter;
+            lock.lock();
+            try {
+                if (!hasWaitersAtOrAbove(priority) && canAdmit(priority)) {
+                    return Mono.just(admit(priority));
+                }
+                if (queued >= maxQueued && !evictLowerThan(priority, evicted)) {
+                    shedCounters.get(priority).increment();
+                    return Mono.error(overloaded(priority));
+                }
+                waiter = new Waiter(priority);
+                queues.get(priority).addLast(waiter);
+                queued++;
+            } finally {
+                lock.unlock();
+            }
+            evicted.forEach(w -> w.reject(overloaded(w.priority)));
+
+            return Mono.<Permit>create(waiter::attach)
+                    .timeout(priority.getMaxWait())
+                    .onErrorMap(TimeoutException.class, e -> {
+                        shedCounters.get(priority).increment();
+                        return overloaded(priority);
+                    })
+                    .doOnCancel(() -> abandon(waiter))
+                    .doOnError(e -> abandon(waiter));
+        });
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight(PriorityClass priority) {
+        return inFlightByClass[priority.ordinal()];
+    }
+
+    public int getQueued(PriorityClass priority) {
+        lock.lock();
+        try {
+            return queues.get(priority).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canAdmit(PriorityClass priority) {
+        int currentLimit = limit.getLimit();
+        int classLimit = Math.max(1, (int) Math.ceil(currentLimit * priority.getShare()));
+        return inFlight < currentLimit && inFlightByClass[priority.ordinal()] < classLimit;
+    }
+
+    private boolean hasWaitersAtOrAbove(PriorityClass priority) {
+        for (PriorityClass other : PriorityClass.values()) {
+            if (other.ordinal() > priority.ordinal()) {
+                break;
+            }
+            if (!queues.get(other).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Permit admit(PriorityClass priority) {
+        inFlight++;
+        inFlightByClass[priority.ordinal()]++;
+        return new Permit(priority, System.nanoTime());
+    }
+
+    /**
+     * Remove da fila a requisição mais antiga da menor classe abaixo de {@code priority}, abrindo espaço.
+     */
+    private boolean evictLowerThan(PriorityClass priority, List<Waiter> evicted) {
+        PriorityClass[] classes = PriorityClass.values();
+        for (int i = classes.length - 1; i > priority.ordinal(); i--) {
+            Waiter victim = queues.get(classes[i]).pollFirst();
+            if (victim != null) {
+                queued--;
+                shedCounters.get(classes[i]).increment();
+                evicted.add(victim);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release(Permit permit, long rttNanos, boolean dropped) {
+        List<Waiter> granted = new ArrayList<>(1);
+        lock.lock();
+        try {
+            inFlight--;
+            inFlightByClass[permit.priority.ordinal()]--;
+            limit.onSample(rttNanos, inFlight + 1, dropped);
+            drain(granted);
+        } finally {
+            lock.unlock();
+        }
+        signal(granted);
+    }
+
+    /**
+     * Sinaliza os admitidos fora do lock; se o assinante já tiver desistido, a vaga volta imediatamente.
+     */
+    private void signal(List<Waiter> granted) {
+        for (Waiter waiter : granted) {
+            if (!waiter.grant()) {
+                waiter.permit.release(0, false);
+            }
+        }
+    }
+
+    private void drain(List<Waiter> granted) {
+        for (PriorityClass priority : PriorityClass.values()) {
+            ArrayDeque<Waiter> queue = queues.get(priority);
+            while (!queue.isEmpty() && canAdmit(priority)) {
+                Waiter waiter = queue.pollFirst();
+                queued--;
+                waiter.permit = admit(priority);
+                granted.add(waiter);
+            }
+            if (!queue.isEmpty()) {
+                return; // Classes menores não passam à frente de uma classe maior que ainda aguarda
+            }
+        }
+    }
+
+    private void abandon(Waiter waiter) {
+        List<Waiter> granted = new ArrayList<>(0);
+        lock.lock();
+        try {
+            if (queues.get(waiter.priority).remove(waiter)) {
+                queued--;
+                drain(granted); // A saída de um waiter de maior prioridade pode liberar as classes abaixo
+            }
+        } finally {
+            lock.unlock();
+        }
+        signal(granted);
+
+        Permit unused = waiter.cancel();
+        if (unused != null) {
+            unused.release(0, false); // Foi admitido no mesmo instante em que desistiu
+        }
+    }
+
+    private static ResponseStatusException overloaded(PriorityClass priority) {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Gateway sobrecarregado: requisição de prioridade " + priority + " descartada.");
+    }
+
+    /**
+     * Vaga concedida pelo controle de admissão. Deve ser liberada exatamente uma vez.
+     */
+    public final class Permit {
+        private final PriorityClass priority;
+        private final long admittedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(PriorityClass priority, long admittedAt) {
+            this.priority = priority;
+            this.admittedAt = admittedAt;
+        }
+
+        /**
+         * Libera a vaga informando o resultado da requisição para o ajuste do limite.
+         * @param rttNanos Latência observada (0 quando a requisição não chegou ao downstream).
+         * @param dropped true se o downstream falhou por sobrecarga (5xx, timeout).
+         */
+        public void release(long rttNanos, boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                AdmissionController.this.release(this, rttNanos, dropped);
+            }
+        }
+
+        public PriorityClass getPriority() {
+            return priority;
+        }
+
+        public long getAdmittedAt() {
+            return admittedAt;
+        }
+    }
+
+    private static final class Waiter {
+        private static final int WAITING = 0, GRANTED = 1, CANCELLED = 2;
+
+        private final PriorityClass priority;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile MonoSink<Permit> sink;
+        private volatile Permit permit;
+        private volatile Throwable rejection;
+
+        private Waiter(PriorityClass priority) {
+            this.priority = priority;
+        }
+
+        void attach(MonoSink<Permit> sink) {
+            this.sink = sink;
+            // A vaga pode ter sido concedida (ou negada) antes da assinatura
+            if (state.get() == GRANTED) {
+                sink.success(permit);
+            } else if (rejection != null) {
+                sink.error(rejection);
+            }
+        }
+
+        boolean grant() {
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            MonoSink<Permit> current = sink;
+            if (current != null) {
+                current.success(permit);
+            }
+            return true;
+        }
+
+        void reject(Throwable error) {
+            rejection = error;
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                MonoSink<Permit> current = sink;
+                if (current != null) {
+                    current.error(error);
+                }
+            }
+        }
+
+        /**
+         * @return a vaga concedida que precisa ser devolvida por quem desistiu, ou null se não houve concessão.
+         */
+        Permit cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                return null;
+            }
+            return state.get() == GRANTED ? permit : null;
+        }
+    }
+}
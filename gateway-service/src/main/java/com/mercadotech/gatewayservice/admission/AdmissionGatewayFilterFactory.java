@@ -0,0 +1,73 @@
+package com.mercadotech.gatewayservice.admission;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+
+/**
+ * GatewayFilterFactory que submete a rota ao {@link AdmissionController}.
+ * Configurado no application.yml como:
+ *
+ * filters:
+ *   - name: Admission
+ *     args:
+ *       priority: CRITICAL
+ *
+ * Deve vir depois do filtro Authorize, para que requisições sem permissão não ocupem vagas.
+ */
+@Component
+public class AdmissionGatewayFilterFactory extends AbstractGatewayFilterFactory<AdmissionGatewayFilterFactory.Config> {
+
+    private final AdmissionController admissionController;
+
+    public AdmissionGatewayFilterFactory(AdmissionController admissionController) {
+        super(Config.class);
+        this.admissionController = admissionController;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("priority");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        PriorityClass priority = config.getPriority() != null ? config.getPriority() : PriorityClass.STANDARD;
+
+        return (exchange, chain) -> admissionController.acquire(priority)
+                .flatMap(permit -> chain.filter(exchange)
+                        .doFinally(signal -> permit.release(System.nanoTime() - permit.getAdmittedAt(),
+                                isDropped(signal, exchange.getResponse().getStatusCode()))));
+    }
+
+    /**
+     * 502/503/504 indicam sobrecarga no destino e reduzem o limite imediatamente. Erro na chamada (timeout, conexão
+     * recusada) ou resposta sem status também contam como falha; o cancelamento pelo cliente não diz nada sobre o
+     * destino.
+     */
+    static boolean isDropped(SignalType signal, HttpStatusCode status) {
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        if (signal == SignalType.CANCEL) {
+            return false;
+        }
+        return status == null || status.value() == 502 || status.value() == 503 || status.value() == 504;
+    }
+
+    public static class Config {
+        private PriorityClass priority;
+
+        public PriorityClass getPriority() {
+            return priority;
+        }
+
+        public void setPriority(PriorityClass priority) {
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.mercadotech.gatewayservice.admission;
+
+/**
+ * Limite de concorrência adaptativo baseado no gradiente de latência (no estilo do Gradient2 da Netflix).
+ *
+ * Mantém duas médias móveis da latência observada no downstream: uma curta, que reage rápido, e uma longa,
+ * que representa a latência "sem fila". Quando a curta se afasta da longa além da tolerância, o limite é
+ * reduzido proporcionalmente; enquanto a latência se mantém estável o limite cresce aos poucos.
+ * Não é thread-safe: o {@link AdmissionController} chama {@link #onSample} sob o seu lock.
+ */
+public class GradientLimit {
+
+    private static final double SHORT_ALPHA = 0.1;     // Média curta (~10 amostras)
+    private static final double LONG_ALPHA = 0.005;    // Média longa (~200 amostras)
+    private static final double TOLERANCE = 2.0;       // Aceita latência até 2x a de referência antes de reduzir
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+    }
+
+    /**
+     * Atualiza o limite com uma nova amostra de latência.
+     * @param rttNanos Latência da requisição concluída.
+     * @param inFlight Requisições em andamento no momento da amostra.
+     * @param dropped true se a requisição falhou por sobrecarga (timeout/5xx), o que força uma redução.
+     */
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (shortRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += SHORT_ALPHA * (rttNanos - shortRtt);
+        longRtt += LONG_ALPHA * (rttNanos - longRtt);
+
+        // Se a referência longa ficou acima da curta (carga caiu), aproxima-a rapidamente para não mascarar a próxima fila
+        if (longRtt > shortRtt * TOLERANCE) {
+            longRtt *= 0.95;
+        }
+
+        // Só cresce se o limite atual estiver de fato sendo usado, evitando crescer indefinidamente em baixa carga
+        if (!dropped && inFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        if (dropped) {
+            gradient = 0.5;
+        }
+        double queueAllowance = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueAllowance;
+        limit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.min(Math.max(limit, minLimit), maxLimit);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public double getShortRttNanos() {
+        return shortRtt;
+    }
+
+    public double getLongRttNanos() {
+        return longRtt;
+    }
+}
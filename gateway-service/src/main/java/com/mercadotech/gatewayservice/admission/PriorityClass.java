@@ -0,0 +1,30 @@
+package com.mercadotech.gatewayservice.admission;
+
+import java.time.Duration;
+
+/**
+ * Classes de prioridade usadas pelo controle de admissão do gateway, em ordem decrescente de prioridade.
+ * Cada classe pode ocupar no máximo uma fração ({@code share}) do limite de concorrência atual e
+ * aguarda na fila no máximo {@code maxWait} antes de ser descartada.
+ */
+public enum PriorityClass {
+    CRITICAL(1.0, Duration.ofSeconds(2)),       // Checkout (POST /v1/vendas) e baixa de estoque (POST /v1/estoque/saida)
+    STANDARD(0.8, Duration.ofSeconds(1)),       // Consultas e cadastros do dia a dia
+    REPORT(0.3, Duration.ofMillis(250));        // Relatórios pesados (GET /v1/vendas/**), primeiros a serem descartados
+
+    private final double share;
+    private final Duration maxWait;
+
+    PriorityClass(double share, Duration maxWait) {
+        this.share = share;
+        this.maxWait = maxWait;
+    }
+
+    public double getShare() {
+        return share;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+}
@@ -0,0 +1,33 @@
+package com.mercadotech.gatewayservice.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filtro posicionado imediatamente antes do {@link NettyRoutingFilter}: mede o tempo entre o envio
+ * da requisição ao serviço de destino e o recebimento dos headers da resposta.
+ */
+@Component
+public class DownstreamTimingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RouteTimingFilter.RequestTiming timing = exchange.getAttribute(RouteTimingFilter.TIMING_ATTR);
+        if (timing == null) {
+            return chain.filter(exchange);
+        }
+        timing.downstreamStart = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> timing.downstreamEnd = System.nanoTime());
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyRoutingFilter.ORDER - 1;
+    }
+}
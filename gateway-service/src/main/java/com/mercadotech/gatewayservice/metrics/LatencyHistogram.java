@@ -0,0 +1,129 @@
+package com.mercadotech.gatewayservice.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latência no estilo HdrHistogram (buckets log-lineares), registrado em microssegundos.
+ *
+ * Valores abaixo de 128 µs têm resolução de 1 µs; acima disso cada potência de 2 é dividida em
+ * 64 sub-buckets, o que garante erro relativo abaixo de ~1,6% em qualquer faixa.
+ * O array de buckets é alocado uma única vez no construtor: {@link #recordNanos(long)} apenas
+ * incrementa contadores atômicos e não aloca nada no hot path.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BITS = 7;                        // 0..127 µs com resolução de 1 µs
+    private static final int LINEAR_COUNT = 1 << LINEAR_BITS;
+    private static final int SUB_BUCKET_BITS = LINEAR_BITS - 1;      // 64 sub-buckets por potência de 2
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 32;                      // 2^33 µs (~2,4 horas) como teto
+    private static final int BUCKET_COUNT = LINEAR_COUNT + (MAX_EXPONENT - LINEAR_BITS + 1) * SUB_BUCKET_COUNT;
+    private static final long MAX_TRACKABLE_MICROS = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Registra uma amostra de duração em nanossegundos.
+     * @param nanos Duração medida com {@link System#nanoTime()}.
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Registra uma amostra de duração em microssegundos. Valores negativos são ignorados e valores
+     * acima do teto são acumulados no último bucket.
+     * @param micros Duração em microssegundos.
+     */
+    public void recordMicros(long micros) {
+        if (micros < 0) {
+            return;
+        }
+        long value = Math.min(micros, MAX_TRACKABLE_MICROS);
+        buckets.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(value);
+
+        long currentMax = maxMicros.get();
+        while (value > currentMax && !maxMicros.compareAndSet(currentMax, value)) {
+            currentMax = maxMicros.get();
+        }
+    }
+
+    /**
+     * Calcula o valor (em microssegundos) abaixo do qual está o percentual informado das amostras.
+     * Retorna o maior valor equivalente do bucket, como no HdrHistogram.
+     * @param percentile Percentil entre 0 e 100 (ex: 99.9).
+     * @return Latência em microssegundos, ou 0 se o histograma estiver vazio.
+     */
+    public long valueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        double clamped = Math.min(Math.max(percentile, 0.0), 100.0);
+        long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += buckets.get(i);
+            if (accumulated >= target) {
+                return Math.min(highestEquivalentValue(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get(); // Contagem mudou durante a leitura; o máximo é um limite seguro
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long count = totalCount.get();
+        return count == 0 ? 0.0 : (double) totalMicros.get() / count;
+    }
+
+    /**
+     * Zera todos os contadores. Amostras registradas concorrentemente podem ser perdidas,
+     * o que é aceitável para um reset operacional.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        totalCount.set(0);
+        totalMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_COUNT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);         // >= LINEAR_BITS
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKET_COUNT;    // 0..63
+        return LINEAR_COUNT + (exponent - LINEAR_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_COUNT) {
+            return index;
+        }
+        int offset = index - LINEAR_COUNT;
+        int exponent = offset / SUB_BUCKET_COUNT + LINEAR_BITS;
+        int subBucket = offset % SUB_BUCKET_COUNT;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = ((long) (SUB_BUCKET_COUNT + subBucket)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mercadotech.gatewayservice.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Endpoint do actuator ({@code /actuator/routelatency}) com os percentis de latência por rota e fase,
+ * em microssegundos. O mesmo dado é exportado no formato Prometheus em {@code /actuator/prometheus}.
+ */
+@Component
+@Endpoint(id = "routelatency")
+public class RouteLatencyEndpoint {
+
+    private final RouteLatencyRecorder recorder;
+
+    public RouteLatencyEndpoint(RouteLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Map<String, Object>>> routes() {
+        Map<String, Map<String, Map<String, Object>>> result = new TreeMap<>();
+        recorder.getRoutes().forEach((routeId, latency) -> {
+            Map<String, Map<String, Object>> phases = new LinkedHashMap<>();
+            phases.put("total", summary(latency.total()));
+            phases.put("gateway", summary(latency.gateway()));
+            phases.put("downstream", summary(latency.downstream()));
+            result.put(routeId, phases);
+        });
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getCount());
+        summary.put("meanMicros", Math.round(histogram.getMeanMicros()));
+        summary.put("p50Micros", histogram.valueAtPercentile(50.0));
+        summary.put("p99Micros", histogram.valueAtPercentile(99.0));
+        summary.put("p999Micros", histogram.valueAtPercentile(99.9));
+        summary.put("maxMicros", histogram.getMaxMicros());
+        return summary;
+    }
+}
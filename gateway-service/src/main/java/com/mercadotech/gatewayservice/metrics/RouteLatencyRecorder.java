@@ -0,0 +1,112 @@
+package com.mercadotech.gatewayservice.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantém os histogramas de latência por rota do gateway, separados por fase:
+ * <ul>
+ *     <li>{@code total}: do recebimento da requisição até o fim da cadeia de filtros;</li>
+ *     <li>{@code gateway}: tempo gasto nos filtros do próprio gateway (JWT, autorização, etc.);</li>
+ *     <li>{@code downstream}: tempo aguardando o serviço de destino responder.</li>
+ * </ul>
+ * Os histogramas de cada rota são criados (e registrados no Micrometer) apenas na primeira requisição;
+ * a partir daí o registro é um lookup no mapa seguido de incrementos atômicos.
+ */
+@Component
+public class RouteLatencyRecorder {
+
+    public static final String UNMATCHED_ROUTE = "unmatched"; // Requisições que não casaram com nenhuma rota
+
+    static final double[] PUBLISHED_PERCENTILES = {50.0, 99.0, 99.9};
+
+    private final Map<String, RouteLatency> routes = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RouteLatencyRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra a latência de uma requisição concluída.
+     * @param routeId ID da rota (conforme application.yml).
+     * @param totalNanos Duração total da requisição no gateway.
+     * @param downstreamNanos Duração da chamada ao serviço de destino, ou valor negativo se não houve chamada
+     *                        (ex: requisição rejeitada pelo AuthenticationFilter).
+     */
+    public void record(String routeId, long totalNanos, long downstreamNanos) {
+        RouteLatency latency = routes.get(routeId);
+        if (latency == null) {
+            latency = routes.computeIfAbsent(routeId, this::register);
+        }
+        latency.total().recordNanos(totalNanos);
+        if (downstreamNanos >= 0) {
+            latency.downstream().recordNanos(downstreamNanos);
+            latency.gateway().recordNanos(totalNanos - downstreamNanos);
+        } else {
+            latency.gateway().recordNanos(totalNanos);
+        }
+    }
+
+    public Map<String, RouteLatency> getRoutes() {
+        return Collections.unmodifiableMap(routes);
+    }
+
+    public void reset() {
+        routes.values().forEach(RouteLatency::reset);
+    }
+
+    private RouteLatency register(String routeId) {
+        RouteLatency latency = new RouteLatency(new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram());
+        registerPhase(routeId, "total", latency.total());
+        registerPhase(routeId, "gateway", latency.gateway());
+        registerPhase(routeId, "downstream", latency.downstream());
+        return latency;
+    }
+
+    private void registerPhase(String routeId, String phase, LatencyHistogram histogram) {
+        // Percentis são calculados apenas no momento da coleta (scrape), nunca no hot path
+        for (double percentile : PUBLISHED_PERCENTILES) {
+            Gauge.builder("gateway.route.latency", histogram, h -> h.valueAtPercentile(percentile) / 1_000_000.0)
+                    .description("Latência por rota do gateway, por fase e percentil")
+                    .baseUnit("seconds")
+                    .tag("route", routeId)
+                    .tag("phase", phase)
+                    .tag("quantile", quantileLabel(percentile))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("gateway.route.latency.max", histogram, h -> h.getMaxMicros() / 1_000_000.0)
+                .baseUnit("seconds")
+                .tag("route", routeId)
+                .tag("phase", phase)
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.route.requests", histogram, LatencyHistogram::getCount)
+                .description("Quantidade de requisições medidas por rota e fase")
+                .tag("route", routeId)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    static String quantileLabel(double percentile) {
+        return BigDecimal.valueOf(percentile).movePointLeft(2).stripTrailingZeros().toPlainString(); // 99.9 -> "0.999"
+    }
+
+    /**
+     * Histogramas de uma rota.
+     */
+    public record RouteLatency(LatencyHistogram total, LatencyHistogram gateway, LatencyHistogram downstream) {
+
+        void reset() {
+            total.reset();
+            gateway.reset();
+            downstream.reset();
+        }
+    }
+}
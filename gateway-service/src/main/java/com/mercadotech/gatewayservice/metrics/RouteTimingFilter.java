@@ -0,0 +1,66 @@
+package com.mercadotech.gatewayservice.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filtro global mais externo da cadeia: marca o início da requisição e, ao final, registra
+ * a latência total e a parcela downstream medida pelo {@link DownstreamTimingFilter}.
+ */
+@Component
+public class RouteTimingFilter implements GlobalFilter, Ordered {
+
+    static final String TIMING_ATTR = RouteTimingFilter.class.getName() + ".timing";
+
+    private final RouteLatencyRecorder recorder;
+
+    public RouteTimingFilter(RouteLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        exchange.getAttributes().put(TIMING_ATTR, timing);
+
+        return chain.filter(exchange)
+                .doFinally(signal -> recorder.record(routeId(exchange),
+                        System.nanoTime() - timing.start,
+                        timing.downstreamNanos()));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE; // Executa antes de todos os filtros, inclusive o AuthenticationFilter
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : RouteLatencyRecorder.UNMATCHED_ROUTE;
+    }
+
+    /**
+     * Marcações de tempo de uma requisição. Única alocação por requisição feita pela instrumentação.
+     */
+    static final class RequestTiming {
+        final long start;
+        volatile long downstreamStart;
+        volatile long downstreamEnd;
+
+        RequestTiming(long start) {
+            this.start = start;
+        }
+
+        long downstreamNanos() {
+            long begin = downstreamStart;
+            long end = downstreamEnd;
+            return begin == 0 || end == 0 ? -1 : end - begin;
+        }
+    }
+}
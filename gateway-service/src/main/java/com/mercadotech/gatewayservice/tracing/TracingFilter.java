@@ -0,0 +1,66 @@
+package com.mercadotech.gatewayservice.tracing;
+
+import com.mercadotech.commons.tracing.ActiveSpan;
+import com.mercadotech.commons.tracing.Tracer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Início dos traces: todo trace começa aqui, com id novo e amostragem sorteada com
+ * {@code mercadotech.tracing.sample-rate}. Headers {@code X-Trace-*} vindos do cliente são descartados (um cliente
+ * externo não pode forçar 100% de amostragem nem se pendurar no trace de outro) e o contexto do gateway vai ao serviço
+ * de destino, junto dos {@code X-Auth-*}. O span do gateway cobre a requisição inteira, da autenticação à resposta
+ * do serviço, e o trace id volta ao cliente na resposta (ex.: para o PDV correlacionar uma venda).
+ */
+@Component
+public class TracingFilter implements GlobalFilter, Ordered {
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getURI().getPath().startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+        // Amostragem decidida na borda: os X-Trace-* do cliente são ignorados e substituídos
+        ActiveSpan span = tracer.startServerSpan(request.getMethod() + " " + request.getURI().getPath(), null, null, null);
+
+        ServerHttpRequest traced = request.mutate()
+                .headers(headers -> {
+                    headers.set(Tracer.TRACE_ID_HEADER, span.getTraceId());
+                    headers.set(Tracer.PARENT_ID_HEADER, span.getSpanId());
+                    headers.set(Tracer.SAMPLED_HEADER, span.isSampled() ? "1" : "0");
+                })
+                .build();
+        exchange.getResponse().getHeaders().set(Tracer.TRACE_ID_HEADER, span.getTraceId());
+
+        return chain.filter(exchange.mutate().request(traced).build())
+                .doFinally(signal -> {
+                    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                    if (route != null) {
+                        span.setName(request.getMethod() + " " + route.getId());
+                    }
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    int code = status == null ? 0 : status.value();
+                    span.finish(code, code == 0 || code >= 500);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1; // Logo depois do RouteTimingFilter, antes da autenticação
+    }
+}
@@ -0,0 +1,98 @@
+package com.mercadotech.gatewayservice;
+
+import com.mercadotech.commons.security.JwksPublicKeyCache;
+import com.mercadotech.commons.security.JwtVerifier;
+import com.mercadotech.commons.security.TokenRevocationList;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticationFilterTest {
+
+    private static final String SECRET = "uma-chave-secreta-super-segura-com-mais-32-bytes";
+
+    private final JwksPublicKeyCache keyCache = new JwksPublicKeyCache(() -> "{\"keys\":[]}", Duration.ZERO);
+    private final TokenRevocationList revocationList = new TokenRevocationList(1_000);
+
+    @Test
+    void shouldRejectLegacyHs256ByDefault() {
+        AuthenticationFilter filter = new AuthenticationFilter(new JwtVerifier(keyCache), revocationList);
+
+        assertUnauthorized(filter, hs256(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void shouldAcceptLegacyHs256OnlyBeforeConfiguredDeadline() {
+        String token = hs256(UUID.randomUUID().toString());
+        AuthenticationFilter open = new AuthenticationFilter(
+                new JwtVerifier(keyCache, SECRET, Instant.now().plus(Duration.ofDays(1))), revocationList);
+        AuthenticationFilter closed = new AuthenticationFilter(
+                new JwtVerifier(keyCache, SECRET, Instant.now().minusSeconds(1)), revocationList);
+
+        HttpHeaders forwarded = authenticate(open, token);
+        assertEquals("1", forwarded.getFirst("X-Auth-User-Id"));
+        assertEquals("CAIXA", forwarded.getFirst("X-Auth-User-Roles"));
+        assertUnauthorized(closed, token);
+    }
+
+    @Test
+    void shouldCheckRevocationEvenForCachedVerification() {
+        String jti = UUID.randomUUID().toString();
+        String token = hs256(jti);
+        AuthenticationFilter filter = new AuthenticationFilter(
+                new JwtVerifier(keyCache, SECRET, Instant.now().plus(Duration.ofDays(1))), revocationList);
+
+        authenticate(filter, token); // Fica no cache de tokens verificados
+        revocationList.revoke(jti, System.currentTimeMillis() + 60_000);
+        assertUnauthorized(filter, token);
+    }
+
+    private static HttpHeaders authenticate(AuthenticationFilter filter, String token) {
+        AtomicReference<HttpHeaders> forwarded = new AtomicReference<>();
+        filter.filter(exchange(token), next -> {
+            forwarded.set(next.getRequest().getHeaders());
+            return Mono.empty();
+        }).block();
+        assertNotNull(forwarded.get());
+        return forwarded.get();
+    }
+
+    private static void assertUnauthorized(AuthenticationFilter filter, String token) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> filter.filter(exchange(token), next -> Mono.error(new AssertionError("Não deveria passar")))
+                        .block());
+        assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+    }
+
+    private static MockServerWebExchange exchange(String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/v1/products/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private static String hs256(String jti) {
+        return Jwts.builder()
+                .setId(jti)
+                .setSubject("1")
+                .claim("roles", List.of("CAIXA"))
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
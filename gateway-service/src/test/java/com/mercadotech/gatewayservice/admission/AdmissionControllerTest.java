@@ -0,0 +1,186 @@
+package com.mercadotech.gatewayservice.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControllerTest {
+
+    private AdmissionController newController(int limit, int maxQueued) {
+        // min == max fixa o limite, isolando a lógica de filas do ajuste adaptativo
+        return new AdmissionController(limit, limit, limit, maxQueued, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldServeQueuedCriticalBeforeQueuedReport() {
+        AdmissionController controller = newController(1, 10);
+        AdmissionController.Permit holder = controller.acquire(PriorityClass.CRITICAL).block();
+
+        List<PriorityClass> admissionOrder = Collections.synchronizedList(new ArrayList<>());
+        List<AdmissionController.Permit> permits = Collections.synchronizedList(new ArrayList<>());
+        controller.acquire(PriorityClass.REPORT).subscribe(p -> { admissionOrder.add(p.getPriority()); permits.add(p); });
+        controller.acquire(PriorityClass.CRITICAL).subscribe(p -> { admissionOrder.add(p.getPriority()); permits.add(p); });
+        assertEquals(1, controller.getQueued(PriorityClass.REPORT));
+        assertEquals(1, controller.getQueued(PriorityClass.CRITICAL));
+
+        holder.release(1_000_000, false);
+        assertEquals(List.of(PriorityClass.CRITICAL), admissionOrder);
+
+        permits.get(0).release(1_000_000, false);
+        assertEquals(List.of(PriorityClass.CRITICAL, PriorityClass.REPORT), admissionOrder);
+    }
+
+    @Test
+    void shouldCapReportsAtTheirShareOfTheLimit() {
+        AdmissionController controller = newController(10, 10);
+
+        for (int i = 0; i < 3; i++) { // 30% de 10
+            assertNotNull(controller.acquire(PriorityClass.REPORT).block());
+        }
+        controller.acquire(PriorityClass.REPORT).subscribe();
+
+        assertEquals(3, controller.getInFlight(PriorityClass.REPORT));
+        assertEquals(1, controller.getQueued(PriorityClass.REPORT));
+        // Ainda há espaço para checkout mesmo com relatórios aguardando
+        assertNotNull(controller.acquire(PriorityClass.CRITICAL).block());
+    }
+
+    @Test
+    void shouldEvictQueuedReportWhenQueueIsFull() {
+        AdmissionController controller = newController(1, 1);
+        controller.acquire(PriorityClass.CRITICAL).block();
+
+        AtomicReference<Throwable> reportError = new AtomicReference<>();
+        controller.acquire(PriorityClass.REPORT).subscribe(p -> { }, reportError::set);
+        controller.acquire(PriorityClass.CRITICAL).subscribe();
+
+        assertInstanceOf(ResponseStatusException.class, reportError.get());
+        assertEquals(503, ((ResponseStatusException) reportError.get()).getStatusCode().value());
+        assertEquals(0, controller.getQueued(PriorityClass.REPORT));
+        assertEquals(1, controller.getQueued(PriorityClass.CRITICAL));
+    }
+
+    @Test
+    void shouldRejectReportWhenQueueIsFullOfHigherPriority() {
+        AdmissionController controller = newController(1, 1);
+        controller.acquire(PriorityClass.CRITICAL).block();
+        controller.acquire(PriorityClass.CRITICAL).subscribe();
+
+        assertThrows(ResponseStatusException.class, () -> controller.acquire(PriorityClass.REPORT).block());
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyGrows() {
+        GradientLimit limit = new GradientLimit(100, 10, 500);
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(5_000_000, 100, false);   // 5 ms estável com o limite em uso
+        }
+        int stableLimit = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(50_000_000, stableLimit, false); // downstream degradado: 50 ms
+        }
+
+        assertTrue(limit.getLimit() < stableLimit / 2,
+                "limite deveria cair de " + stableLimit + " mas ficou em " + limit.getLimit());
+    }
+
+    @Test
+    void shouldCountDownstreamErrorsAndMissingStatusAsDrops() {
+        AdmissionController controller = new AdmissionController(64, 8, 512, 256, new SimpleMeterRegistry());
+        AdmissionGatewayFilterFactory.Config config = new AdmissionGatewayFilterFactory.Config();
+        config.setPriority(PriorityClass.CRITICAL);
+        GatewayFilter filter = new AdmissionGatewayFilterFactory(controller).apply(config);
+
+        MockServerWebExchange ok = exchange();
+        ok.getResponse().setStatusCode(HttpStatus.OK);
+        filter.filter(ok, e -> Mono.empty()).block();
+        assertEquals(64, controller.getLimit());
+
+        // Downstream lançou (timeout, conexão recusada): sem status na resposta, mas é falha
+        assertThrows(IllegalStateException.class,
+                () -> filter.filter(exchange(), e -> Mono.error(new IllegalStateException("timeout"))).block());
+        int afterError = controller.getLimit();
+        assertTrue(afterError < 64, "limite deveria cair após o erro, ficou em " + afterError);
+
+        filter.filter(exchange(), e -> Mono.empty()).block(); // Completou sem status
+        assertTrue(controller.getLimit() < afterError);
+        assertEquals(0, controller.getInFlight(PriorityClass.CRITICAL));
+    }
+
+    @Test
+    void shouldNotCountClientCancellationAsDrop() {
+        assertFalse(AdmissionGatewayFilterFactory.isDropped(SignalType.CANCEL, null));
+        assertFalse(AdmissionGatewayFilterFactory.isDropped(SignalType.ON_COMPLETE, HttpStatus.NOT_FOUND));
+        assertTrue(AdmissionGatewayFilterFactory.isDropped(SignalType.ON_COMPLETE, HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/v1/vendas"));
+    }
+
+    /**
+     * Simulação de carga: 400 relatórios (50 ms cada) disparados de uma vez contra um downstream com capacidade
+     * para 20 requisições simultâneas (acima disso cada requisição extra soma 1 ms de fila), enquanto 100 checkouts
+     * (5 ms cada) chegam em sequência. Nenhum checkout é descartado; a latência sob essa carga é medida no
+     * {@code AdmissionBenchmark} do módulo benchmarks.
+     */
+    @Test
+    void checkoutShouldNotBeShedWhileReportsFlood() throws InterruptedException {
+        AdmissionController controller = new AdmissionController(64, 8, 512, 256, new SimpleMeterRegistry());
+        AtomicInteger downstreamInFlight = new AtomicInteger();
+        AtomicInteger reportsShed = new AtomicInteger();
+
+        // Todos os relatórios são assinados de uma vez, simulando a rajada
+        CountDownLatch reportsDone = new CountDownLatch(400);
+        for (int i = 0; i < 400; i++) {
+            simulatedCall(controller, PriorityClass.REPORT, downstreamInFlight)
+                    .doFinally(s -> reportsDone.countDown())
+                    .subscribe(latency -> { }, error -> reportsShed.incrementAndGet());
+        }
+        List<Long> checkoutLatencies = Flux.interval(Duration.ofMillis(3))
+                .take(100)
+                .flatMap(i -> simulatedCall(controller, PriorityClass.CRITICAL, downstreamInFlight))
+                .collectList()
+                .block(Duration.ofSeconds(30));
+        assertTrue(reportsDone.await(30, TimeUnit.SECONDS));
+
+        assertEquals(100, checkoutLatencies.size(), "nenhum checkout deveria ser descartado");
+        assertTrue(reportsShed.get() > 0, "relatórios excedentes deveriam ser descartados");
+    }
+
+    private static Mono<Long> simulatedCall(AdmissionController controller, PriorityClass priority,
+                                            AtomicInteger downstreamInFlight) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return controller.acquire(priority).flatMap(permit -> {
+                int concurrent = downstreamInFlight.incrementAndGet();
+                long baseMillis = priority == PriorityClass.REPORT ? 50 : 5; // Relatórios são consultas pesadas
+                Duration latency = Duration.ofMillis(baseMillis + Math.max(0, concurrent - 20));
+                return Mono.delay(latency)
+                        .doFinally(s -> {
+                            downstreamInFlight.decrementAndGet();
+                            permit.release(System.nanoTime() - permit.getAdmittedAt(), false);
+                        })
+                        .map(x -> System.nanoTime() - start);
+            });
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.mercadotech.gatewayservice.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void shouldReturnZeroWhenEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.valueAtPercentile(99.0));
+    }
+
+    @Test
+    void shouldKeepExactValuesInLinearRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.recordMicros(i);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50, histogram.valueAtPercentile(50.0));
+        assertEquals(99, histogram.valueAtPercentile(99.0));
+        assertEquals(100, histogram.valueAtPercentile(100.0));
+    }
+
+    @Test
+    void shouldStayWithinRelativeErrorForLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 990 amostras rápidas (~2 ms) e 10 lentas (~250 ms), simulando um downstream com GC
+        for (int i = 0; i < 990; i++) {
+            histogram.recordMicros(2_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.recordMicros(250_000);
+        }
+
+        assertWithinOnePercent(2_000, histogram.valueAtPercentile(50.0));
+        assertWithinOnePercent(2_000, histogram.valueAtPercentile(99.0));
+        assertWithinOnePercent(250_000, histogram.valueAtPercentile(99.9));
+        assertEquals(250_000, histogram.getMaxMicros());
+    }
+
+    @Test
+    void shouldMapEveryBucketBoundaryConsistently() {
+        // O maior valor equivalente de cada bucket deve voltar para o mesmo bucket
+        for (long value = 1; value < (1L << 33); value = value * 3 / 2 + 1) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(highest >= value, "highest < value para " + value);
+            assertEquals(index, LatencyHistogram.bucketIndex(highest));
+        }
+    }
+
+    @Test
+    void shouldClearOnReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(5_000_000);
+
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMicros());
+    }
+
+    private static void assertWithinOnePercent(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 50,
+                "esperado ~" + expected + " mas foi " + actual);
+    }
+}
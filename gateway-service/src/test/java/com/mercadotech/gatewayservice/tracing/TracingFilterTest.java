@@ -0,0 +1,43 @@
+package com.mercadotech.gatewayservice.tracing;
+
+import com.mercadotech.commons.tracing.SpanStore;
+import com.mercadotech.commons.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TracingFilterTest {
+
+    private static final String CLIENT_TRACE_ID = "0123456789abcdef";
+
+    @Test
+    void shouldIgnoreClientTraceHeadersAndDecideSamplingAtTheEdge() {
+        TracingFilter filter = new TracingFilter(new Tracer("gateway-service", 0.0, new SpanStore(16)));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/v1/estoque/1")
+                .header(Tracer.TRACE_ID_HEADER, CLIENT_TRACE_ID)
+                .header(Tracer.PARENT_ID_HEADER, "fedcba9876543210")
+                .header(Tracer.SAMPLED_HEADER, "1"));
+        AtomicReference<HttpHeaders> forwarded = new AtomicReference<>();
+
+        filter.filter(exchange, next -> {
+            forwarded.set(next.getRequest().getHeaders());
+            return Mono.empty();
+        }).block();
+
+        HttpHeaders headers = forwarded.get();
+        assertEquals(List.of("0"), headers.get(Tracer.SAMPLED_HEADER)); // sample-rate 0: o "1" do cliente não vale
+        String traceId = headers.getFirst(Tracer.TRACE_ID_HEADER);
+        assertNotEquals(CLIENT_TRACE_ID, traceId);
+        assertEquals(1, headers.get(Tracer.TRACE_ID_HEADER).size());
+        assertEquals(1, headers.get(Tracer.PARENT_ID_HEADER).size());
+        assertNotEquals("fedcba9876543210", headers.getFirst(Tracer.PARENT_ID_HEADER));
+        assertEquals(traceId, exchange.getResponse().getHeaders().getFirst(Tracer.TRACE_ID_HEADER));
+    }
+}
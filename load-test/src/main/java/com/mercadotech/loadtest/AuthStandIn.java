@@ -0,0 +1,82 @@
+package com.mercadotech.loadtest;
+
+import com.mercadotech.authservice.jwt.JwtKeyManager;
+import com.mercadotech.authservice.jwt.JwtUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Substituto local do auth-service: publica o JWKS e um feed de revogações vazio, que é o que o gateway consulta,
+ * e emite tokens ES256 com o próprio {@link JwtUtil} do auth-service, sem banco nem login.
+ */
+final class AuthStandIn implements AutoCloseable {
+
+    private static final long EXPIRATION_MILLIS = Duration.ofHours(12).toMillis();
+    private static final String EMPTY_FEED = "{\"sequence\":0,\"revocations\":[]}";
+
+    private final HttpServer server;
+    private final JwtUtil jwtUtil;
+
+    private AuthStandIn(HttpServer server, JwtUtil jwtUtil) {
+        this.server = server;
+        this.jwtUtil = jwtUtil;
+    }
+
+    static AuthStandIn start() throws IOException {
+        JwtKeyManager keyManager = new JwtKeyManager();
+        ReflectionTestUtils.setField(keyManager, "rotation", Duration.ofHours(24));
+        ReflectionTestUtils.setField(keyManager, "expiration", EXPIRATION_MILLIS);
+        ReflectionTestUtils.setField(keyManager, "keysDir", "");
+        keyManager.init();
+        JwtUtil jwtUtil = new JwtUtil(keyManager);
+        ReflectionTestUtils.setField(jwtUtil, "secret", UUID.randomUUID() + UUID.randomUUID().toString()); // HS256 não é usado
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION_MILLIS);
+        ReflectionTestUtils.setField(jwtUtil, "algorithm", SignatureAlgorithm.ES256);
+        jwtUtil.init();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/auth/.well-known/jwks.json", exchange -> respond(exchange, keyManager::jwks));
+        server.createContext("/auth/revocations", exchange -> respond(exchange, () -> EMPTY_FEED));
+        server.start();
+        System.out.printf("%-16s http://localhost:%d (JWKS e revogações)%n", "auth (stand-in)", server.getAddress().getPort());
+        return new AuthStandIn(server, jwtUtil);
+    }
+
+    URI baseUri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    /**
+     * Token ES256 válido pela duração da execução.
+     */
+    String token(String username, List<String> roles) {
+        return jwtUtil.generateToken(username, username, roles);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, Supplier<String> body) throws IOException {
+        byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
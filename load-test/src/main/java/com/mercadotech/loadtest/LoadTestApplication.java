@@ -0,0 +1,55 @@
+package com.mercadotech.loadtest;
+
+import com.mercadotech.loadtest.PosTraffic.Step;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Teste de carga ponta a ponta do fluxo de caixa (gateway → sales → stock → product) numa única máquina:
+ * sobe os serviços no mesmo processo ({@link ServiceCluster}), cadastra o catálogo e o estoque inicial, gera carga
+ * aberta com o mix de PDV ({@link OpenLoadGenerator}) e imprime vazão e percentis por passo.
+ *
+ * <pre>
+ * java -jar load-test/target/load-test.jar --rate=200 --warmup=20s --duration=60s --products=500 \
+ *     --mix=scan:60,balance:15,sale:20,report:5 --max-in-flight=2000 --seed=42 --log-level=WARN \
+ *     --report-file=carga.json
+ * </pre>
+ * Todas as opções são opcionais (os valores acima são os padrões, exceto rate, que é 100, e report-file).
+ *
+ * Gerador e serviços dividem a mesma JVM e as mesmas CPUs: os números servem para comparar versões na mesma máquina,
+ * não como capacidade absoluta de produção.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path workDir = Files.createTempDirectory("mercadotech-load-test");
+        try (AuthStandIn auth = AuthStandIn.start();
+             ServiceCluster cluster = ServiceCluster.start(auth.baseUri(), workDir, options.logLevel())) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            long start = System.nanoTime();
+            PosTraffic traffic = PosTraffic.seed(client, cluster.uri(ServiceCluster.GATEWAY), auth, options.products(), options.mix());
+            System.out.printf("Catálogo e estoque: %d produtos em %d ms%n", options.products(), (System.nanoTime() - start) / 1_000_000);
+
+            System.out.printf("Aquecimento de %d s e medição de %d s a %.0f req/s...%n",
+                    options.warmup().toSeconds(), options.duration().toSeconds(), options.rate());
+            Map<Step, StepStats> result = new OpenLoadGenerator(client, traffic, options.rate(), options.maxInFlight(),
+                    options.seed()).run(options.warmup(), options.duration());
+
+            LoadTestReport.print(System.out, options, result);
+            if (options.reportFile() != null) {
+                LoadTestReport.write(options.reportFile(), options, result);
+                System.out.println("Resultado gravado em " + options.reportFile());
+            }
+        }
+        System.exit(0); // Threads de clientes e pools dos serviços não impedem o fim da execução
+    }
+}
@@ -0,0 +1,45 @@
+package com.mercadotech.loadtest;
+
+import com.mercadotech.loadtest.PosTraffic.Step;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Opções da linha de comando ({@code --rate=200 --duration=60s ...}); durações no formato do Spring Boot (30s, 2m).
+ *
+ * @param rate Chegadas por segundo no gateway, somando todos os passos.
+ * @param maxInFlight Requisições em andamento acima das quais novas chegadas são descartadas.
+ * @param reportFile Arquivo JSON com o resultado; null para só imprimir.
+ * @param logLevel Nível do logger raiz nos serviços; INFO mede também o custo do log por requisição.
+ */
+record LoadTestOptions(double rate, Duration warmup, Duration duration, int products, Map<Step, Integer> mix,
+                       int maxInFlight, long seed, Path reportFile, String logLevel) {
+
+    static LoadTestOptions parse(String... args) {
+        SimpleCommandLinePropertySource source = new SimpleCommandLinePropertySource(args);
+        String reportFile = source.getProperty("report-file");
+        LoadTestOptions options = new LoadTestOptions(
+                Double.parseDouble(value(source, "rate", "100")),
+                DurationStyle.detectAndParse(value(source, "warmup", "20s")),
+                DurationStyle.detectAndParse(value(source, "duration", "60s")),
+                Integer.parseInt(value(source, "products", "500")),
+                PosTraffic.parseMix(value(source, "mix", "scan:60,balance:15,sale:20,report:5")),
+                Integer.parseInt(value(source, "max-in-flight", "2000")),
+                Long.parseLong(value(source, "seed", "42")),
+                reportFile == null ? null : Path.of(reportFile),
+                value(source, "log-level", "WARN"));
+        if (options.rate() <= 0 || options.products() <= 0 || options.maxInFlight() <= 0 || options.duration().isZero()) {
+            throw new IllegalArgumentException("rate, products, max-in-flight e duration devem ser positivos");
+        }
+        return options;
+    }
+
+    private static String value(SimpleCommandLinePropertySource source, String name, String defaultValue) {
+        String value = source.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,84 @@
+package com.mercadotech.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mercadotech.gatewayservice.metrics.LatencyHistogram;
+import com.mercadotech.loadtest.PosTraffic.Step;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Vazão e percentis de latência por passo, na saída padrão e opcionalmente em JSON para comparar execuções.
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTestReport() {
+    }
+
+    static void print(PrintStream out, LoadTestOptions options, Map<Step, StepStats> result) {
+        out.printf("%nCarga aberta de %.0f req/s por %d s (mix %s, %d produtos)%n",
+                options.rate(), options.duration().toSeconds(), options.mix(), options.products());
+        out.printf("%-8s %8s %8s %7s %9s %8s %8s %8s %8s %9s %8s%n",
+                "passo", "reqs", "ok", "erros", "descartes", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+        double seconds = options.duration().toMillis() / 1000.0;
+        result.forEach((step, stats) -> {
+            if (stats.requests() == 0) {
+                return;
+            }
+            LatencyHistogram latency = stats.latency();
+            out.printf("%-8s %8d %8d %7d %9d %8.1f %8.2f %8.2f %8.2f %9.2f %8.2f%n", step.label(),
+                    stats.requests(), stats.successes(), stats.errors(), stats.dropped(), stats.successes() / seconds,
+                    millis(latency.valueAtPercentile(50)), millis(latency.valueAtPercentile(90)),
+                    millis(latency.valueAtPercentile(99)), millis(latency.valueAtPercentile(99.9)),
+                    millis(latency.getMaxMicros()));
+            if (stats.errors() > 0) {
+                out.printf("         erros por status (0 = sem resposta): %s%n", stats.errorStatuses());
+            }
+        });
+    }
+
+    static void write(Path file, LoadTestOptions options, Map<Step, StepStats> result) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("rate", options.rate());
+        document.put("warmupSeconds", options.warmup().toSeconds());
+        document.put("durationSeconds", options.duration().toSeconds());
+        document.put("products", options.products());
+        Map<String, Object> steps = new LinkedHashMap<>();
+        double seconds = options.duration().toMillis() / 1000.0;
+        result.forEach((step, stats) -> {
+            if (stats.requests() == 0) {
+                return;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("weight", options.mix().get(step));
+            entry.put("requests", stats.requests());
+            entry.put("successes", stats.successes());
+            entry.put("errors", stats.errors());
+            entry.put("dropped", stats.dropped());
+            entry.put("errorStatuses", stats.errorStatuses());
+            entry.put("throughputPerSecond", stats.successes() / seconds);
+            Map<String, Double> latency = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                latency.put("p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(),
+                        millis(stats.latency().valueAtPercentile(percentile)));
+            }
+            latency.put("max", millis(stats.latency().getMaxMicros()));
+            latency.put("mean", stats.latency().getMeanMicros() / 1000.0);
+            entry.put("latencyMillis", latency);
+            steps.put(step.label(), entry);
+        });
+        document.put("steps", steps);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
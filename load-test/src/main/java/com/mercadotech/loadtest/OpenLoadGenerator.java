@@ -0,0 +1,89 @@
+package com.mercadotech.loadtest;
+
+import com.mercadotech.loadtest.PosTraffic.Step;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em modelo aberto: as chegadas seguem um processo de Poisson na taxa pedida e não esperam as
+ * respostas anteriores, como clientes chegando aos caixas.
+ *
+ * A latência é medida a partir do instante planejado de envio, não do envio efetivo: se o sistema (ou o próprio
+ * gerador) atrasar, a espera aparece nos percentis em vez de reduzir a carga (sem coordinated omission). Acima de
+ * {@code maxInFlight} requisições em andamento as novas chegadas são descartadas e contadas, para a memória do
+ * gerador não crescer sem limite quando o sistema não acompanha a taxa.
+ */
+final class OpenLoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final PosTraffic traffic;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final SplittableRandom random;
+
+    OpenLoadGenerator(HttpClient client, PosTraffic traffic, double ratePerSecond, int maxInFlight, long seed) {
+        this.client = client;
+        this.traffic = traffic;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Gera carga durante {@code warmup + duration}; só as chegadas depois do aquecimento entram no resultado.
+     */
+    Map<Step, StepStats> run(Duration warmup, Duration duration) throws InterruptedException {
+        Map<Step, StepStats> warmupStats = newStats();
+        Map<Step, StepStats> measured = newStats();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long next = start;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Step step = traffic.nextStep(random);
+            StepStats stats = (next < measureFrom ? warmupStats : measured).get(step);
+            long intendedStart = next;
+            if (inFlight.tryAcquire()) {
+                client.sendAsync(traffic.request(step, random), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            int status = response == null ? 0 : response.statusCode();
+                            stats.record(System.nanoTime() - intendedStart, status, PosTraffic.isSuccess(step, status));
+                        });
+            } else {
+                stats.recordDropped();
+            }
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos); // Intervalo exponencial
+        }
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            System.out.printf("Aviso: %d requisições ainda em andamento após %d s%n",
+                    maxInFlight - inFlight.availablePermits(), DRAIN_TIMEOUT.toSeconds());
+        }
+        return measured;
+    }
+
+    private static Map<Step, StepStats> newStats() {
+        Map<Step, StepStats> stats = new EnumMap<>(Step.class);
+        for (Step step : Step.values()) {
+            stats.put(step, new StepStats());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,198 @@
+package com.mercadotech.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Tráfego de caixa (PDV) contra o gateway: leitura de código de barras, consulta de saldo, venda e relatório,
+ * sorteados segundo os pesos do mix.
+ *
+ * Os produtos são escolhidos com viés (poucos produtos concentram a maior parte das leituras e vendas, como num
+ * supermercado), e cada passo usa o perfil que o faria na loja: caixa para leitura, saldo e venda; gerente para o
+ * relatório.
+ */
+final class PosTraffic {
+
+    enum Step {
+        SCAN, BALANCE, SALE, REPORT;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int INITIAL_STOCK = 1_000_000; // Suficiente para a venda nunca falhar por saldo
+    private static final long REPORT_WINDOW_MINUTES = 5; // Relatório das vendas dos últimos minutos
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI gateway;
+    private final String cashierToken;
+    private final String managerToken;
+    private final List<Product> products;
+    private final Step[] steps;
+    private final int[] cumulativeWeights;
+
+    PosTraffic(URI gateway, String cashierToken, String managerToken, List<Product> products, Map<Step, Integer> mix) {
+        this.gateway = gateway;
+        this.cashierToken = cashierToken;
+        this.managerToken = managerToken;
+        this.products = products;
+        this.steps = mix.keySet().toArray(Step[]::new);
+        this.cumulativeWeights = new int[steps.length];
+        int total = 0;
+        for (int i = 0; i < steps.length; i++) {
+            total += mix.get(steps[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Cadastra os produtos (com código de barras) e a entrada inicial de estoque de cada um, pelo gateway.
+     */
+    static PosTraffic seed(HttpClient client, URI gateway, AuthStandIn auth, int productCount, Map<Step, Integer> mix)
+            throws IOException, InterruptedException {
+        String adminToken = auth.token("carga-admin", List.of("ADMIN"));
+        PosTraffic traffic = new PosTraffic(gateway, auth.token("carga-caixa", List.of("CAIXA")),
+                auth.token("carga-gerente", List.of("GERENTE")), new ArrayList<>(), mix);
+        for (int i = 0; i < productCount; i++) {
+            String barcode = ean13(789_000_000_000L + i);
+            BigDecimal price = BigDecimal.valueOf(199 + (i * 37L) % 4800, 2);
+            JsonNode created = traffic.send(client, adminToken, "/v1/products", Map.of(
+                    "name", "Produto de carga " + i, "price", price, "barcodes", List.of(barcode)), 200);
+            long id = created.get("id").asLong();
+            traffic.send(client, adminToken, "/v1/estoque/entrada", Map.of(
+                    "produtoId", id, "quantidade", INITIAL_STOCK, "custoUnitario", price), 201);
+            traffic.products.add(new Product(id, barcode, price));
+        }
+        return traffic;
+    }
+
+    Step nextStep(SplittableRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < steps.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return steps[i];
+            }
+        }
+        throw new IllegalStateException("Sorteio fora dos pesos: " + draw);
+    }
+
+    HttpRequest request(Step step, SplittableRandom random) {
+        Product product = products.get(skewedIndex(random, products.size()));
+        return switch (step) {
+            case SCAN -> get("/v1/products/barcode/" + product.barcode(), cashierToken);
+            case BALANCE -> get("/v1/estoque/" + product.id(), cashierToken);
+            case SALE -> post("/v1/vendas", cashierToken, Map.of(
+                    "produtoId", product.id(), "quantidade", 1 + random.nextInt(3), "valorUnitario", product.price()));
+            case REPORT -> {
+                LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+                yield get("/v1/vendas?dataInicio=" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                        now.minusMinutes(REPORT_WINDOW_MINUTES))
+                        + "&dataFim=" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(now), managerToken);
+            }
+        };
+    }
+
+    /**
+     * Sucesso esperado de cada passo; qualquer outro status conta como erro.
+     */
+    static boolean isSuccess(Step step, int status) {
+        return step == Step.SALE ? status == 201 : status == 200;
+    }
+
+    /**
+     * Lê pesos no formato {@code scan:60,balance:15,sale:20,report:5}; passos omitidos ficam fora do mix.
+     *
+     * @throws IllegalArgumentException se um passo for desconhecido ou um peso não for positivo.
+     */
+    static Map<Step, Integer> parseMix(String mix) {
+        Map<Step, Integer> weights = new EnumMap<>(Step.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.strip().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada do mix deve ser passo:peso: " + entry);
+            }
+            Step step = Step.valueOf(parts[0].strip().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(parts[1].strip());
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Peso deve ser positivo: " + entry);
+            }
+            weights.put(step, weight);
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix vazio");
+        }
+        return weights;
+    }
+
+    /**
+     * EAN-13 a partir dos 12 primeiros dígitos, com o dígito verificador calculado.
+     */
+    static String ean13(long first12Digits) {
+        String digits = String.format("%012d", first12Digits);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = digits.charAt(i) - '0';
+            sum += i % 2 == 1 ? digit * 3 : digit;
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Índice com viés quadrático: o primeiro décimo dos produtos recebe cerca de 30% das escolhas.
+     */
+    static int skewedIndex(SplittableRandom random, int size) {
+        double draw = random.nextDouble();
+        return (int) (size * draw * draw);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(gateway.resolve(path)).timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        try {
+            return HttpRequest.newBuilder(gateway.resolve(path)).timeout(TIMEOUT)
+                    .header("Authorization", "Bearer " + token)
+                    .header("Accept", "application/json")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode send(HttpClient client, String token, String path, Object body, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(post(path, token, body), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("POST " + path + " retornou " + response.statusCode() + ": "
+                    + new String(response.body()));
+        }
+        return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+    }
+
+    private record Product(long id, String barcode, BigDecimal price) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.mercadotech.loadtest;
+
+import com.mercadotech.gatewayservice.GatewayServiceApplication;
+import com.mercadotech.productservice.ProductServiceApplication;
+import com.mercadotech.salesservice.SalesServiceApplication;
+import com.mercadotech.stockservice.StockServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sobe product, stock, sales e gateway no mesmo processo, cada um no seu contexto Spring e numa porta livre.
+ *
+ * No lugar da infraestrutura: H2 em memória (um banco por serviço) para o PostgreSQL, descoberta estática
+ * ({@code spring.cloud.discovery.client.simple}) para o Eureka e config server desligado. Os serviços sobem na ordem
+ * das dependências, e cada um recebe as instâncias dos que já estão no ar; o balanceamento peak-EWMA (commons)
+ * continua no caminho.
+ *
+ * Como todos os jars estão no mesmo classpath, o application.yml de cada serviço é copiado do próprio jar para um
+ * diretório da execução e usado como {@code spring.config.location} (num arquivo comum as variantes por perfil, que
+ * não existem, são simplesmente ignoradas); as sobreposições vão como argumentos de linha de comando, que têm
+ * precedência.
+ */
+final class ServiceCluster implements AutoCloseable {
+
+    static final String PRODUCT = "product-service";
+    static final String STOCK = "stock-service";
+    static final String SALES = "sales-service";
+    static final String GATEWAY = "gateway-service";
+
+    private static final List<String> COMMON_ARGS = List.of(
+            "--server.port=0",
+            "--spring.profiles.active=loadtest", // Sem o perfil dev do product-service (PostgreSQL)
+            "--spring.main.banner-mode=off",
+            "--spring.cloud.config.enabled=false",
+            "--eureka.client.enabled=false");
+
+    private final Path workDir;
+    private final String logLevel;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final Map<String, Integer> ports = new LinkedHashMap<>();
+
+    private ServiceCluster(Path workDir, String logLevel) {
+        this.workDir = workDir;
+        this.logLevel = logLevel;
+    }
+
+    /**
+     * @param authStandIn Endereço do {@link AuthStandIn}, de onde o gateway lê o JWKS e o feed de revogações.
+     * @param workDir Diretório temporário da execução (snapshots do catálogo).
+     * @param logLevel Nível do logger raiz dos serviços.
+     */
+    static ServiceCluster start(URI authStandIn, Path workDir, String logLevel) throws IOException {
+        ServiceCluster cluster = new ServiceCluster(workDir, logLevel);
+        try {
+            cluster.boot(ProductServiceApplication.class, PRODUCT, servlet("product"),
+                    "--product.snapshot.dir=" + workDir.resolve("catalog-snapshot"));
+            cluster.boot(StockServiceApplication.class, STOCK, servlet("stock"));
+            cluster.boot(SalesServiceApplication.class, SALES, servlet("sales"));
+            cluster.boot(GatewayServiceApplication.class, GATEWAY, List.of(
+                    // O gateway não tem banco; os starters JPA dos outros serviços estão no classpath
+                    "--spring.autoconfigure.exclude="
+                            + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                            + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+                    "--mercadotech.security.jwt.jwks-uri=" + authStandIn.resolve("/auth/.well-known/jwks.json"),
+                    "--mercadotech.security.jwt.revocations-uri=" + authStandIn.resolve("/auth/revocations")));
+            return cluster;
+        } catch (IOException | RuntimeException e) {
+            cluster.close();
+            throw e;
+        }
+    }
+
+    URI uri(String serviceId) {
+        return URI.create("http://localhost:" + ports.get(serviceId));
+    }
+
+    @Override
+    public void close() {
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+    }
+
+    private void boot(Class<?> application, String serviceId, List<String> overrides, String... extra) throws IOException {
+        List<String> args = new ArrayList<>(COMMON_ARGS);
+        args.add("--logging.level.root=" + logLevel);
+        args.add("--spring.config.location=" + copyOwnConfig(application, workDir.resolve(serviceId)).toUri());
+        ports.forEach((id, port) -> args.add(
+                "--spring.cloud.discovery.client.simple.instances." + id + "[0].uri=http://localhost:" + port));
+        args.addAll(overrides);
+        args.addAll(List.of(extra));
+
+        long start = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .registerShutdownHook(false) // Fechados em ordem inversa pelo close()
+                .run(args.toArray(String[]::new));
+        contexts.add(context);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        ports.put(serviceId, port);
+        System.out.printf("%-16s http://localhost:%d (%d ms)%n", serviceId, port, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Banco H2 próprio, schema criado pelo Hibernate e o starter do gateway (também no classpath) desligado.
+     */
+    private static List<String> servlet(String database) {
+        return List.of(
+                "--spring.main.web-application-type=servlet",
+                "--spring.cloud.gateway.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create");
+    }
+
+    /**
+     * Copia para {@code directory} o application.yml que está no mesmo jar (ou diretório de classes) da classe
+     * principal do serviço.
+     */
+    static Path copyOwnConfig(Class<?> application, Path directory) throws IOException {
+        String classFile = application.getName().replace('.', '/') + ".class";
+        URL classUrl = application.getClassLoader().getResource(classFile);
+        if (classUrl == null) {
+            throw new IllegalStateException("Classe " + application.getName() + " não encontrada no classpath");
+        }
+        String url = classUrl.toString();
+        URL config = URI.create(url.substring(0, url.length() - classFile.length()) + "application.yml").toURL();
+        Path target = Files.createDirectories(directory).resolve("application.yml");
+        try (InputStream in = config.openStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+}
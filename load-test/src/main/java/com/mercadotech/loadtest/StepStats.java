@@ -0,0 +1,65 @@
+package com.mercadotech.loadtest;
+
+import com.mercadotech.gatewayservice.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resultado de um passo do tráfego: histograma de latência das respostas bem-sucedidas (o mesmo do gateway),
+ * erros por status e requisições descartadas pelo limite de requisições em andamento.
+ */
+final class StepStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> errorStatuses = new ConcurrentHashMap<>();
+
+    /**
+     * @param status Status HTTP, ou 0 se a requisição falhou sem resposta (timeout, conexão recusada).
+     */
+    void record(long latencyNanos, int status, boolean success) {
+        if (success) {
+            latency.recordNanos(latencyNanos);
+            return;
+        }
+        errors.increment();
+        errorStatuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    long successes() {
+        return latency.getCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long requests() {
+        return successes() + errors() + dropped();
+    }
+
+    /**
+     * Erros por status, em ordem; 0 é falha sem resposta.
+     */
+    Map<Integer, Long> errorStatuses() {
+        Map<Integer, Long> statuses = new TreeMap<>();
+        errorStatuses.forEach((status, count) -> statuses.put(status, count.sum()));
+        return statuses;
+    }
+}
@@ -0,0 +1,139 @@
+package com.mercadotech.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cada método dos Feign clients precisa de um endpoint no serviço chamado, com o mesmo método HTTP e caminho: um
+ * prefixo esquecido (ex.: {@code /estoque/saida} em vez de {@code /v1/estoque/saida}) só aparecia como 404 em
+ * produção. O módulo de carga tem todos os serviços no classpath.
+ */
+public class FeignContractTest {
+
+    private static final String BASE_PACKAGE = "com.mercadotech";
+
+    @Test
+    void shouldMapEveryFeignCallToAControllerEndpointOfTheCalledService() throws ClassNotFoundException {
+        List<Class<?>> clients = feignClients();
+        assertFalse(clients.isEmpty());
+
+        List<String> unmatched = new ArrayList<>();
+        for (Class<?> client : clients) {
+            FeignClient feignClient = AnnotatedElementUtils.findMergedAnnotation(client, FeignClient.class);
+            List<Endpoint> provided = controllerEndpoints(servicePackage(feignClient.name()));
+            assertFalse(provided.isEmpty(), "Nenhum controller em " + servicePackage(feignClient.name()));
+            for (Method method : client.getMethods()) {
+                RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+                if (mapping == null) {
+                    continue;
+                }
+                for (String path : paths(mapping)) {
+                    Endpoint call = new Endpoint(Set.of(mapping.method()), normalize(feignClient.path() + path));
+                    if (provided.stream().noneMatch(endpoint -> endpoint.accepts(call))) {
+                        unmatched.add(client.getSimpleName() + "#" + method.getName() + " -> " + call);
+                    }
+                }
+            }
+        }
+        assertEquals(List.of(), unmatched);
+    }
+
+    @Test
+    void shouldNormalizePathVariablesAndSlashes() {
+        assertEquals("/v1/products/{}", normalize("/v1/products/{id}/"));
+        assertEquals("/v1/estoque/reconciliacao/dias/{}/buckets/{}",
+                normalize("v1//estoque/reconciliacao/dias/{dia}/buckets/{bucket}"));
+    }
+
+    /**
+     * Pacote do serviço pelo nome registrado no Eureka: {@code stock-service} → {@code com.mercadotech.stockservice}.
+     */
+    private static String servicePackage(String serviceName) {
+        return BASE_PACKAGE + "." + serviceName.replace("-", "");
+    }
+
+    private static List<Class<?>> feignClients() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                return definition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AnnotationTypeFilter(FeignClient.class));
+        return load(scanner.findCandidateComponents(BASE_PACKAGE));
+    }
+
+    private static List<Endpoint> controllerEndpoints(String servicePackage) throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (Class<?> controller : load(scanner.findCandidateComponents(servicePackage))) {
+            RequestMapping base = AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+            String[] prefixes = base == null ? new String[]{""} : paths(base);
+            for (Method method : controller.getMethods()) {
+                RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+                if (mapping == null) {
+                    continue;
+                }
+                for (String prefix : prefixes) {
+                    for (String path : paths(mapping)) {
+                        endpoints.add(new Endpoint(Set.of(mapping.method()), normalize(prefix + "/" + path)));
+                    }
+                }
+            }
+        }
+        return endpoints;
+    }
+
+    private static List<Class<?>> load(Set<BeanDefinition> definitions) throws ClassNotFoundException {
+        List<Class<?>> classes = new ArrayList<>();
+        for (BeanDefinition definition : definitions) {
+            classes.add(ClassUtils.forName(definition.getBeanClassName(), FeignContractTest.class.getClassLoader()));
+        }
+        return classes;
+    }
+
+    private static String[] paths(RequestMapping mapping) {
+        return mapping.path().length == 0 ? new String[]{""} : mapping.path();
+    }
+
+    /**
+     * Variáveis de caminho viram {@code {}} (o nome não importa para o roteamento) e barras repetidas ou finais saem.
+     */
+    static String normalize(String path) {
+        String normalized = ("/" + path).replaceAll("\\{[^}]*}", "{}").replaceAll("/+", "/");
+        return normalized.length() > 1 && normalized.endsWith("/")
+                ? normalized.substring(0, normalized.length() - 1) : normalized;
+    }
+
+    /**
+     * @param methods Vazio no controller: aceita qualquer método HTTP.
+     */
+    private record Endpoint(Set<RequestMethod> methods, String path) {
+
+        boolean accepts(Endpoint call) {
+            return path.equals(call.path) && (methods.isEmpty() || methods.containsAll(call.methods));
+        }
+
+        @Override
+        public String toString() {
+            return methods + " " + path;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.mercadotech.loadtest;
+
+import com.mercadotech.loadtest.PosTraffic.Step;
+import com.mercadotech.productservice.barcode.Gtin;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PosTrafficTest {
+
+    @Test
+    void shouldParseMixAndRejectInvalidEntries() {
+        Map<Step, Integer> mix = PosTraffic.parseMix("scan:60, SALE:20,report:5");
+
+        assertEquals(Map.of(Step.SCAN, 60, Step.SALE, 20, Step.REPORT, 5), mix);
+        assertThrows(IllegalArgumentException.class, () -> PosTraffic.parseMix("scan:0"));
+        assertThrows(IllegalArgumentException.class, () -> PosTraffic.parseMix("login:10"));
+        assertThrows(IllegalArgumentException.class, () -> PosTraffic.parseMix("scan"));
+    }
+
+    @Test
+    void shouldGenerateBarcodesAcceptedByProductService() {
+        for (long i = 0; i < 1000; i++) {
+            String barcode = PosTraffic.ean13(789_000_000_000L + i);
+            assertEquals(13, barcode.length());
+            assertEquals(Long.parseLong(barcode), Gtin.parse(barcode));
+        }
+    }
+
+    @Test
+    void shouldDrawStepsInProportionToWeightsAndSkewProducts() {
+        Map<Step, Integer> counts = new EnumMap<>(Step.class);
+        SplittableRandom random = new SplittableRandom(42);
+        PosTraffic traffic = new PosTraffic(URI.create("http://localhost"), "", "", List.of(),
+                PosTraffic.parseMix("scan:60,balance:15,sale:20,report:5"));
+        int draws = 100_000;
+        int topTenth = 0;
+        for (int i = 0; i < draws; i++) {
+            counts.merge(traffic.nextStep(random), 1, Integer::sum);
+            int index = PosTraffic.skewedIndex(random, 500);
+            assertTrue(index >= 0 && index < 500);
+            if (index < 50) {
+                topTenth++;
+            }
+        }
+
+        assertEquals(0.60, counts.get(Step.SCAN) / (double) draws, 0.01);
+        assertEquals(0.15, counts.get(Step.BALANCE) / (double) draws, 0.01);
+        assertEquals(0.20, counts.get(Step.SALE) / (double) draws, 0.01);
+        assertEquals(0.05, counts.get(Step.REPORT) / (double) draws, 0.01);
+        assertEquals(0.316, topTenth / (double) draws, 0.01); // sqrt(0,1) das escolhas nos 10% primeiros produtos
+    }
+
+    @Test
+    void shouldParseCommandLineOptions() {
+        LoadTestOptions options = LoadTestOptions.parse("--rate=250", "--warmup=5s", "--duration=2m", "--mix=scan:1");
+
+        assertEquals(250, options.rate());
+        assertEquals(5, options.warmup().toSeconds());
+        assertEquals(120, options.duration().toSeconds());
+        assertEquals(Map.of(Step.SCAN, 1), options.mix());
+        assertEquals(500, options.products());
+        assertNull(options.reportFile());
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--rate=0"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.mercadotech.notificationservice.channel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.notificationservice.dto.ResumoNotificacaoDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Canal local para testes e desenvolvimento: acrescenta cada resumo como uma linha JSON em
+ * {@code mercadotech.notification.channels.file.path}.
+ */
+@Component
+@ConditionalOnProperty(name = "mercadotech.notification.channels.file.path")
+public class FileNotificationChannel implements NotificationChannel {
+
+    private final Path arquivo;
+    private final ObjectMapper objectMapper;
+
+    public FileNotificationChannel(@Value("${mercadotech.notification.channels.file.path}") Path arquivo,
+                                   ObjectMapper objectMapper) throws IOException {
+        this.arquivo = arquivo.toAbsolutePath();
+        this.objectMapper = objectMapper;
+        Files.createDirectories(this.arquivo.getParent());
+    }
+
+    @Override
+    public String nome() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void entregar(ResumoNotificacaoDTO resumo) throws IOException {
+        String linha = objectMapper.writeValueAsString(resumo) + System.lineSeparator();
+        Files.writeString(arquivo, linha, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,30 @@
+package com.mercadotech.notificationservice.channel;
+
+import com.mercadotech.notificationservice.dto.ResumoNotificacaoDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Canal local: escreve cada resumo no log do serviço. Desligado com
+ * {@code mercadotech.notification.channels.log.enabled=false}.
+ */
+@Component
+@ConditionalOnProperty(name = "mercadotech.notification.channels.log.enabled", matchIfMissing = true)
+@Slf4j
+public class LogNotificationChannel implements NotificationChannel {
+
+    @Override
+    public String nome() {
+        return "log";
+    }
+
+    @Override
+    public void entregar(ResumoNotificacaoDTO resumo) {
+        log.info("Resumo destinatario={} eventos={} itens={} omitidos={} inicio={} fim={}",
+                resumo.getDestinatario(), resumo.getTotalEventos(), resumo.getItens().size(),
+                resumo.getItensOmitidos(), resumo.getInicio(), resumo.getFim());
+        resumo.getItens().forEach(item -> log.debug("  tipo={} produtoId={} loteId={} ocorrencias={} mensagem={}",
+                item.getTipo(), item.getProdutoId(), item.getLoteId(), item.getOcorrencias(), item.getMensagem()));
+    }
+}
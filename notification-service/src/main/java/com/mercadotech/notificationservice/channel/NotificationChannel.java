@@ -0,0 +1,14 @@
+package com.mercadotech.notificationservice.channel;
+
+import com.mercadotech.notificationservice.dto.ResumoNotificacaoDTO;
+
+/**
+ * Meio de entrega dos resumos (e-mail, push, chat...). Todo bean deste tipo recebe todos os resumos; uma exceção
+ * faz o {@link com.mercadotech.notificationservice.service.NotificationService} tentar de novo só neste canal.
+ */
+public interface NotificationChannel {
+
+    String nome();
+
+    void entregar(ResumoNotificacaoDTO resumo) throws Exception;
+}
@@ -0,0 +1,56 @@
+package com.mercadotech.notificationservice.controller;
+
+import com.mercadotech.notificationservice.dto.EstatisticasNotificacaoDTO;
+import com.mercadotech.notificationservice.dto.EventoDominioDTO;
+import com.mercadotech.notificationservice.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/notificacoes")
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationController {
+
+    private static final int MAX_LOTE = 1_000;
+
+    private final NotificationService notificationService;
+
+    /**
+     * Endpoint para os serviços publicarem eventos de domínio (um ou vários por requisição).
+     * Mapeia para POST /v1/notificacoes/eventos
+     * @param eventos Eventos a notificar; o lote é aceito inteiro ou recusado inteiro.
+     * @return 202 Accepted, ou 429 Too Many Requests com Retry-After quando a fila está cheia.
+     */
+    @PostMapping("/eventos")
+    public ResponseEntity<Void> receberEventos(@RequestBody List<EventoDominioDTO> eventos) {
+        if (eventos.isEmpty() || eventos.size() > MAX_LOTE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Envie de 1 a " + MAX_LOTE + " eventos por requisição.");
+        }
+        if (eventos.stream().anyMatch(evento -> evento.getTipo() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Todo evento precisa de tipo.");
+        }
+        if (!notificationService.receber(eventos)) {
+            log.warn("Fila de notificações cheia, lote recusado eventos={}", eventos.size());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        log.debug("Eventos recebidos quantidade={}", eventos.size());
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Endpoint com os contadores da fila e das entregas.
+     * Mapeia para GET /v1/notificacoes/estatisticas
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<EstatisticasNotificacaoDTO> estatisticas() {
+        return ResponseEntity.ok(notificationService.estatisticas());
+    }
+}
@@ -0,0 +1,20 @@
+package com.mercadotech.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstatisticasNotificacaoDTO {
+    private long eventosRecebidos;
+    private long eventosRejeitados; // Fila cheia (429)
+    private int eventosNaFila;
+    private int capacidadeFila;
+    private int resumosAbertos;
+    private long resumosEntregues;
+    private long falhasEntrega; // Entregas descartadas depois das retentativas, por canal
+}
@@ -0,0 +1,22 @@
+package com.mercadotech.notificationservice.dto;
+
+import com.mercadotech.notificationservice.enums.TipoEvento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data // Gera getters, setters, toString, equals e hashCode do Lombok
+@NoArgsConstructor // Gera construtor sem argumentos do Lombok
+@AllArgsConstructor // Gera construtor com todos os argumentos do Lombok
+@Builder // Gera um builder para a classe
+public class EventoDominioDTO {
+    private TipoEvento tipo;
+    private Long produtoId;
+    private Long loteId; // Só em LOTE_VENCENDO
+    private String destinatario; // Vazio: destinatário padrão (mercadotech.notification.default-recipient)
+    private String mensagem;
+    private LocalDateTime ocorridoEm;
+}
@@ -0,0 +1,25 @@
+package com.mercadotech.notificationservice.dto;
+
+import com.mercadotech.notificationservice.enums.TipoEvento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Eventos do mesmo tipo, produto e lote dentro de um resumo: fica a mensagem mais recente e a contagem.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemResumoDTO {
+    private TipoEvento tipo;
+    private Long produtoId;
+    private Long loteId;
+    private long ocorrencias;
+    private String mensagem;
+    private LocalDateTime ultimaOcorrencia;
+}
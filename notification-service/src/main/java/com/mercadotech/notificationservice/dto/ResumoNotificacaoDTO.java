@@ -0,0 +1,25 @@
+package com.mercadotech.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Mensagem entregue a um destinatário: os eventos recebidos para ele numa janela de tempo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoNotificacaoDTO {
+    private String destinatario;
+    private Instant inicio;
+    private Instant fim;
+    private long totalEventos;
+    private List<ItemResumoDTO> itens;
+    private long itensOmitidos; // Combinações tipo/produto/lote além de mercadotech.notification.max-items-per-digest
+}
@@ -0,0 +1,10 @@
+package com.mercadotech.notificationservice.enums;
+
+/**
+ * Eventos de domínio que geram notificação.
+ */
+public enum TipoEvento {
+    ESTOQUE_BAIXO,       // Saldo abaixo do mínimo do produto (stock-service)
+    LOTE_VENCENDO,       // Lote próximo da data de validade (validity-service)
+    FALHA_BAIXA_ESTOQUE  // Venda registrada sem conseguir baixar o estoque (sales-service)
+}
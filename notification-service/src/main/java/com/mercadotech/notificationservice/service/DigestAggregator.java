@@ -0,0 +1,123 @@
+package com.mercadotech.notificationservice.service;
+
+import com.mercadotech.notificationservice.dto.EventoDominioDTO;
+import com.mercadotech.notificationservice.dto.ItemResumoDTO;
+import com.mercadotech.notificationservice.dto.ResumoNotificacaoDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrupa os eventos por destinatário em resumos: o resumo abre no primeiro evento e fecha {@code janela} depois.
+ * Dentro dele, eventos repetidos (mesmo tipo, produto e lote) viram um item com contagem.
+ *
+ * A memória é limitada: no máximo {@code maxItens} itens por resumo (o resto só é contado) e {@code maxAbertos}
+ * resumos abertos (acima disso, o mais antigo fecha antes da hora). Usado só pela thread de despacho do
+ * {@link NotificationService}; não é thread-safe.
+ */
+class DigestAggregator {
+
+    private static final class Resumo {
+        final String destinatario;
+        final Instant inicio;
+        final Map<String, ItemResumoDTO> itens = new LinkedHashMap<>();
+        long totalEventos;
+        long itensOmitidos;
+
+        Resumo(String destinatario, Instant inicio) {
+            this.destinatario = destinatario;
+            this.inicio = inicio;
+        }
+    }
+
+    private final Duration janela;
+    private final int maxItens;
+    private final int maxAbertos;
+    // Ordem de abertura: os primeiros são os que fecham antes
+    private final LinkedHashMap<String, Resumo> abertos = new LinkedHashMap<>();
+
+    DigestAggregator(Duration janela, int maxItens, int maxAbertos) {
+        this.janela = janela;
+        this.maxItens = maxItens;
+        this.maxAbertos = maxAbertos;
+    }
+
+    /**
+     * @return Resumo fechado antes da hora para abrir espaço ao do destinatário, ou null.
+     */
+    ResumoNotificacaoDTO adicionar(String destinatario, EventoDominioDTO evento, Instant agora) {
+        ResumoNotificacaoDTO despejado = null;
+        Resumo resumo = abertos.get(destinatario);
+        if (resumo == null) {
+            if (abertos.size() >= maxAbertos) {
+                Iterator<Resumo> maisAntigo = abertos.values().iterator();
+                despejado = fechar(maisAntigo.next(), agora);
+                maisAntigo.remove();
+            }
+            resumo = new Resumo(destinatario, agora);
+            abertos.put(destinatario, resumo);
+        }
+        resumo.totalEventos++;
+        String chave = evento.getTipo() + ":" + evento.getProdutoId() + ":" + evento.getLoteId();
+        ItemResumoDTO item = resumo.itens.get(chave);
+        if (item == null) {
+            if (resumo.itens.size() >= maxItens) {
+                resumo.itensOmitidos++;
+                return despejado;
+            }
+            item = ItemResumoDTO.builder()
+                    .tipo(evento.getTipo())
+                    .produtoId(evento.getProdutoId())
+                    .loteId(evento.getLoteId())
+                    .build();
+            resumo.itens.put(chave, item);
+        }
+        item.setOcorrencias(item.getOcorrencias() + 1);
+        item.setMensagem(evento.getMensagem());
+        item.setUltimaOcorrencia(evento.getOcorridoEm());
+        return despejado;
+    }
+
+    /**
+     * Fecha os resumos cuja janela terminou.
+     */
+    List<ResumoNotificacaoDTO> fecharVencidos(Instant agora) {
+        List<ResumoNotificacaoDTO> fechados = new ArrayList<>();
+        for (Iterator<Resumo> it = abertos.values().iterator(); it.hasNext(); ) {
+            Resumo resumo = it.next();
+            if (resumo.inicio.plus(janela).isAfter(agora)) {
+                break; // Os seguintes abriram depois
+            }
+            fechados.add(fechar(resumo, agora));
+            it.remove();
+        }
+        return fechados;
+    }
+
+    List<ResumoNotificacaoDTO> fecharTodos(Instant agora) {
+        List<ResumoNotificacaoDTO> fechados = new ArrayList<>(abertos.size());
+        abertos.values().forEach(resumo -> fechados.add(fechar(resumo, agora)));
+        abertos.clear();
+        return fechados;
+    }
+
+    int abertos() {
+        return abertos.size();
+    }
+
+    private static ResumoNotificacaoDTO fechar(Resumo resumo, Instant agora) {
+        return ResumoNotificacaoDTO.builder()
+                .destinatario(resumo.destinatario)
+                .inicio(resumo.inicio)
+                .fim(agora)
+                .totalEventos(resumo.totalEventos)
+                .itens(List.copyOf(resumo.itens.values()))
+                .itensOmitidos(resumo.itensOmitidos)
+                .build();
+    }
+}
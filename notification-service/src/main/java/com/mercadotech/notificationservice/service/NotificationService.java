@@ -0,0 +1,225 @@
+package com.mercadotech.notificationservice.service;
+
+import com.mercadotech.notificationservice.channel.NotificationChannel;
+import com.mercadotech.notificationservice.dto.EstatisticasNotificacaoDTO;
+import com.mercadotech.notificationservice.dto.EventoDominioDTO;
+import com.mercadotech.notificationservice.dto.ResumoNotificacaoDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recebe os eventos de domínio numa fila limitada e entrega aos canais resumos por destinatário.
+ *
+ * Fluxo e pressão de volta:
+ * <ol>
+ *   <li>{@link #receber} só aceita o lote inteiro se couber na fila ({@code queue-capacity}); senão devolve false e
+ *       o produtor recebe 429 e tenta depois. Nada bloqueia a thread HTTP.</li>
+ *   <li>Uma thread de despacho esvazia a fila em lotes e agrupa os eventos ({@link DigestAggregator}).</li>
+ *   <li>Os resumos fechados vão para a entrega, com fila própria ({@code delivery-queue-capacity}). Se a entrega
+ *       atrasa, a própria thread de despacho entrega, a fila de eventos enche e os produtores recebem 429.</li>
+ * </ol>
+ * A memória fica limitada pelas duas filas e pelos resumos abertos, qualquer que seja o volume de eventos.
+ */
+@Service
+@Slf4j
+public class NotificationService implements SmartLifecycle {
+
+    private static final int LOTE_DESPACHO = 1_000;
+    private static final long TICK_MILLIS = 100; // Precisão do fechamento das janelas
+    private static final int TENTATIVAS_ENTREGA = 3;
+
+    private final List<NotificationChannel> canais;
+    private final String destinatarioPadrao;
+    private final Clock clock;
+    private final BlockingQueue<EventoDominioDTO> fila;
+    private final DigestAggregator aggregator;
+    private final ThreadPoolExecutor entrega;
+
+    private final LongAdder recebidos = new LongAdder();
+    private final LongAdder rejeitados = new LongAdder();
+    private final LongAdder entregues = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private volatile int resumosAbertos;
+    private volatile boolean running;
+    private Thread despacho;
+
+    @Autowired
+    public NotificationService(List<NotificationChannel> canais,
+                               @Value("${mercadotech.notification.queue-capacity:20000}") int capacidadeFila,
+                               @Value("${mercadotech.notification.digest-window:60s}") Duration janela,
+                               @Value("${mercadotech.notification.max-items-per-digest:50}") int maxItens,
+                               @Value("${mercadotech.notification.max-open-digests:10000}") int maxAbertos,
+                               @Value("${mercadotech.notification.delivery-queue-capacity:1000}") int capacidadeEntrega,
+                               @Value("${mercadotech.notification.default-recipient:gerencia}") String destinatarioPadrao) {
+        this(canais, capacidadeFila, janela, maxItens, maxAbertos, capacidadeEntrega, destinatarioPadrao, Clock.systemUTC());
+    }
+
+    NotificationService(List<NotificationChannel> canais, int capacidadeFila, Duration janela, int maxItens,
+                        int maxAbertos, int capacidadeEntrega, String destinatarioPadrao, Clock clock) {
+        this.canais = List.copyOf(canais);
+        this.destinatarioPadrao = destinatarioPadrao;
+        this.clock = clock;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.aggregator = new DigestAggregator(janela, maxItens, maxAbertos);
+        // Uma thread: os resumos de um destinatário saem na ordem. CallerRuns: fila cheia, o despacho entrega
+        this.entrega = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeEntrega), runnable -> new Thread(runnable, "notification-delivery"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Coloca o lote na fila, inteiro ou nada.
+     *
+     * @return false se não há espaço ou o serviço está parando (o produtor deve tentar de novo mais tarde).
+     */
+    public boolean receber(List<EventoDominioDTO> eventos) {
+        // Só os produtores disputam o espaço livre (o despacho só libera), então o que coube na checagem cabe no add
+        synchronized (fila) {
+            if (!running || fila.remainingCapacity() < eventos.size()) {
+                rejeitados.add(eventos.size());
+                return false;
+            }
+            for (EventoDominioDTO evento : eventos) {
+                if (evento.getOcorridoEm() == null) {
+                    evento.setOcorridoEm(LocalDateTime.now(clock));
+                }
+                fila.add(evento);
+            }
+        }
+        recebidos.add(eventos.size());
+        return true;
+    }
+
+    public EstatisticasNotificacaoDTO estatisticas() {
+        return EstatisticasNotificacaoDTO.builder()
+                .eventosRecebidos(recebidos.sum())
+                .eventosRejeitados(rejeitados.sum())
+                .eventosNaFila(fila.size())
+                .capacidadeFila(fila.size() + fila.remainingCapacity())
+                .resumosAbertos(resumosAbertos)
+                .resumosEntregues(entregues.sum())
+                .falhasEntrega(falhas.sum())
+                .build();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        despacho = new Thread(this::despachar, "notification-dispatcher");
+        despacho.start();
+    }
+
+    /**
+     * Deixa de aceitar eventos e entrega o que está na fila e nos resumos abertos antes de parar. A entrega só é
+     * desligada depois que o despacho termina: com ela desligada, os resumos que o despacho ainda enviasse seriam
+     * descartados em silêncio.
+     */
+    @Override
+    public void stop() {
+        synchronized (fila) {
+            running = false; // Depois disto nenhum evento entra na fila sem o despacho ver
+        }
+        try {
+            despacho.join(); // Termina: a fila não recebe mais nada e cada entrega tem tentativas limitadas
+            entrega.shutdown();
+            if (!entrega.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Entregas pendentes descartadas ao parar: {}", entrega.getQueue().size());
+                entrega.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void despachar() {
+        List<EventoDominioDTO> lote = new ArrayList<>(LOTE_DESPACHO);
+        while (running || !fila.isEmpty()) {
+            try {
+                EventoDominioDTO primeiro = fila.poll(TICK_MILLIS, TimeUnit.MILLISECONDS);
+                if (primeiro != null) {
+                    lote.add(primeiro);
+                    fila.drainTo(lote, LOTE_DESPACHO - 1);
+                }
+                Instant agora = clock.instant();
+                for (EventoDominioDTO evento : lote) {
+                    ResumoNotificacaoDTO despejado = aggregator.adicionar(destinatario(evento), evento, agora);
+                    if (despejado != null) {
+                        enviar(despejado);
+                    }
+                }
+                lote.clear();
+                aggregator.fecharVencidos(agora).forEach(this::enviar);
+                resumosAbertos = aggregator.abertos();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Erro no despacho de notificações, lote de {} eventos descartado", lote.size(), e);
+                lote.clear();
+            }
+        }
+        aggregator.fecharTodos(clock.instant()).forEach(this::enviar);
+        resumosAbertos = 0;
+    }
+
+    private String destinatario(EventoDominioDTO evento) {
+        String destinatario = evento.getDestinatario();
+        return destinatario == null || destinatario.isBlank() ? destinatarioPadrao : destinatario;
+    }
+
+    private void enviar(ResumoNotificacaoDTO resumo) {
+        entrega.execute(() -> entregar(resumo));
+    }
+
+    /**
+     * Entrega em todos os canais; o resumo só conta como entregue se nenhum canal falhou.
+     */
+    private void entregar(ResumoNotificacaoDTO resumo) {
+        boolean falhou = false;
+        for (NotificationChannel canal : canais) {
+            for (int tentativa = 1; ; tentativa++) {
+                try {
+                    canal.entregar(resumo);
+                    break;
+                } catch (Exception e) {
+                    if (tentativa == TENTATIVAS_ENTREGA) {
+                        falhas.increment();
+                        falhou = true;
+                        log.error("Resumo não entregue canal={} destinatario={} eventos={}: {}",
+                                canal.nome(), resumo.getDestinatario(), resumo.getTotalEventos(), e.getMessage());
+                        break;
+                    }
+                    try {
+                        Thread.sleep(200L * tentativa);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+        if (!falhou) {
+            entregues.increment();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mercadotech.notificationservice.service;
+
+import com.mercadotech.notificationservice.channel.NotificationChannel;
+import com.mercadotech.notificationservice.dto.EventoDominioDTO;
+import com.mercadotech.notificationservice.dto.ItemResumoDTO;
+import com.mercadotech.notificationservice.dto.ResumoNotificacaoDTO;
+import com.mercadotech.notificationservice.enums.TipoEvento;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationServiceTest {
+
+    private final List<ResumoNotificacaoDTO> entregues = new CopyOnWriteArrayList<>();
+    private final NotificationChannel canal = new NotificationChannel() {
+        @Override
+        public String nome() {
+            return "teste";
+        }
+
+        @Override
+        public void entregar(ResumoNotificacaoDTO resumo) {
+            entregues.add(resumo);
+        }
+    };
+
+    @Test
+    void shouldCoalesceRepeatedEventsIntoOneDigestPerRecipient() {
+        NotificationService service = service(List.of(canal), 1_000, Duration.ofMinutes(1), 50, 100);
+        service.start();
+        assertTrue(service.receber(List.of(
+                evento(TipoEvento.ESTOQUE_BAIXO, 1L, "loja-1", "saldo=5"),
+                evento(TipoEvento.ESTOQUE_BAIXO, 1L, "loja-1", "saldo=3"),
+                evento(TipoEvento.LOTE_VENCENDO, 2L, "loja-1", "vence em 2 dias"),
+                evento(TipoEvento.FALHA_BAIXA_ESTOQUE, 3L, null, "vendaId=9"))));
+        service.stop(); // Entrega os resumos abertos
+
+        assertEquals(2, entregues.size());
+        ResumoNotificacaoDTO loja = entregues.stream().filter(r -> r.getDestinatario().equals("loja-1")).findFirst().orElseThrow();
+        assertEquals(3, loja.getTotalEventos());
+        assertEquals(2, loja.getItens().size());
+        ItemResumoDTO estoqueBaixo = loja.getItens().get(0);
+        assertEquals(2, estoqueBaixo.getOcorrencias());
+        assertEquals("saldo=3", estoqueBaixo.getMensagem());
+        assertTrue(entregues.stream().anyMatch(r -> r.getDestinatario().equals("gerencia")));
+    }
+
+    @Test
+    void shouldDeliverDigestWhenWindowCloses() throws Exception {
+        NotificationService service = service(List.of(canal), 1_000, Duration.ofMillis(200), 50, 100);
+        service.start();
+        try {
+            service.receber(List.of(evento(TipoEvento.ESTOQUE_BAIXO, 1L, "loja-1", "saldo=5")));
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (entregues.isEmpty() && System.nanoTime() < limite) {
+                Thread.sleep(20);
+            }
+            assertEquals(1, entregues.size());
+            assertEquals(0, service.estatisticas().getResumosAbertos());
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    void shouldRejectWholeBatchWhenQueueIsFull() {
+        NotificationService service = service(List.of(canal), 3, Duration.ofMinutes(1), 50, 100);
+        // Sem start(): nada é despachado e a fila não esvazia
+        assertFalse(service.receber(List.of(evento(TipoEvento.ESTOQUE_BAIXO, 1L, "loja-1", "x"))));
+        service.start();
+        service.stop();
+        assertEquals(1, service.estatisticas().getEventosRejeitados());
+    }
+
+    @Test
+    void shouldRetryFailingChannelWithoutAffectingOthers() {
+        AtomicInteger tentativas = new AtomicInteger();
+        NotificationChannel falho = new NotificationChannel() {
+            @Override
+            public String nome() {
+                return "falho";
+            }
+
+            @Override
+            public void entregar(ResumoNotificacaoDTO resumo) {
+                tentativas.incrementAndGet();
+                throw new IllegalStateException("canal fora do ar");
+            }
+        };
+        NotificationService service = service(List.of(falho, canal), 1_000, Duration.ofMinutes(1), 50, 100);
+        service.start();
+        service.receber(List.of(evento(TipoEvento.ESTOQUE_BAIXO, 1L, "loja-1", "saldo=5")));
+        service.stop();
+
+        assertEquals(3, tentativas.get());
+        assertEquals(1, entregues.size());
+        assertEquals(1, service.estatisticas().getFalhasEntrega());
+        assertEquals(0, service.estatisticas().getResumosEntregues()); // Um canal falhou: o resumo não conta
+    }
+
+    /**
+     * Rajada de 100 mil eventos (o volume de um minuto de pico) de 1.000 destinatários, com fila, resumos abertos e
+     * itens por resumo bem menores que o volume: nenhum evento se perde e tudo sai em bem menos de um minuto.
+     */
+    @Test
+    void shouldSustainBurstWithBoundedMemory() throws Exception {
+        int total = 100_000;
+        int produtores = 4;
+        int tamanhoLote = 500;
+        AtomicLong eventosEntregues = new AtomicLong();
+        NotificationChannel contador = new NotificationChannel() {
+            @Override
+            public String nome() {
+                return "contador";
+            }
+
+            @Override
+            public void entregar(ResumoNotificacaoDTO resumo) {
+                eventosEntregues.addAndGet(resumo.getTotalEventos());
+                assertTrue(resumo.getItens().size() <= 10);
+            }
+        };
+        NotificationService service = service(List.of(contador), 5_000, Duration.ofMillis(500), 10, 100);
+        service.start();
+
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            int produtor = p;
+            futuros.add(executor.submit(() -> {
+                for (int enviados = 0; enviados < total / produtores; enviados += tamanhoLote) {
+                    List<EventoDominioDTO> lote = new ArrayList<>(tamanhoLote);
+                    for (int i = 0; i < tamanhoLote; i++) {
+                        int n = produtor * total + enviados + i;
+                        lote.add(evento(TipoEvento.values()[n % 3], (long) (n % 97), "loja-" + (n % 1_000), "n=" + n));
+                    }
+                    while (!service.receber(lote)) {
+                        Thread.sleep(1); // 429: espera a fila esvaziar
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        service.stop();
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertEquals(total, service.estatisticas().getEventosRecebidos());
+        assertEquals(total, eventosEntregues.get());
+        assertTrue(millis < 60_000, "rajada levou " + millis + " ms");
+    }
+
+    private static NotificationService service(List<NotificationChannel> canais, int capacidadeFila, Duration janela,
+                                               int maxItens, int maxAbertos) {
+        return new NotificationService(canais, capacidadeFila, janela, maxItens, maxAbertos, 100, "gerencia",
+                Clock.systemUTC());
+    }
+
+    private static EventoDominioDTO evento(TipoEvento tipo, Long produtoId, String destinatario, String mensagem) {
+        return EventoDominioDTO.builder()
+                .tipo(tipo)
+                .produtoId(produtoId)
+                .destinatario(destinatario)
+                .mensagem(mensagem)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.mercadotech.productservice.barcode;
+
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Índice em memória código de barras → produto, para resolver uma leitura do scanner sem ir ao banco.
+ *
+ * Todos os códigos de um produto apontam para o mesmo {@link ProductResponseDTO}. Leituras são otimistas
+ * ({@link StampedLock#tryOptimisticRead()}): sem escrita concorrente, uma busca não faz nenhuma escrita em memória
+ * compartilhada; se uma escrita interferir, a busca é repetida com o lock de leitura.
+ */
+public class BarcodeIndex {
+
+    private final StampedLock lock = new StampedLock();
+    private LongObjectHashMap<ProductResponseDTO> productsByBarcode;
+    private LongObjectHashMap<long[]> barcodesByProduct;
+
+    public BarcodeIndex(int expectedBarcodes) {
+        productsByBarcode = new LongObjectHashMap<>(expectedBarcodes);
+        barcodesByProduct = new LongObjectHashMap<>(expectedBarcodes / 2); // Cresce se houver mais produtos com código
+    }
+
+    public ProductResponseDTO find(long gtin) {
+        long stamp = lock.tryOptimisticRead();
+        ProductResponseDTO product = productsByBarcode.get(gtin);
+        if (lock.validate(stamp)) {
+            return product;
+        }
+        stamp = lock.readLock();
+        try {
+            return productsByBarcode.get(gtin);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return Id do produto que tem o código, ou null.
+     */
+    public Long ownerOf(long gtin) {
+        ProductResponseDTO product = find(gtin);
+        return product == null ? null : product.getId();
+    }
+
+    /**
+     * @return Códigos atuais do produto (vazio se não tiver nenhum).
+     */
+    public long[] barcodesOf(long productId) {
+        long stamp = lock.readLock();
+        try {
+            long[] barcodes = barcodesByProduct.get(productId);
+            return barcodes == null ? new long[0] : barcodes.clone();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Troca os códigos e os dados de um produto (inclusão ou atualização).
+     */
+    public void put(ProductResponseDTO product, long[] barcodes) {
+        long stamp = lock.writeLock();
+        try {
+            removeBarcodes(product.getId());
+            for (long barcode : barcodes) {
+                productsByBarcode.put(barcode, product);
+            }
+            if (barcodes.length > 0) {
+                barcodesByProduct.put(product.getId(), barcodes.clone());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long productId) {
+        long stamp = lock.writeLock();
+        try {
+            removeBarcodes(productId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo por um índice montado fora do lock (carga inicial).
+     */
+    public void replaceWith(BarcodeIndex loaded) {
+        long stamp = lock.writeLock();
+        try {
+            productsByBarcode = loaded.productsByBarcode;
+            barcodesByProduct = loaded.barcodesByProduct;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Stats stats() {
+        long stamp = lock.readLock();
+        try {
+            return new Stats(productsByBarcode.size(), barcodesByProduct.size(), productsByBarcode.capacity(),
+                    productsByBarcode.estimatedBytes() + barcodesByProduct.estimatedBytes()
+                            + 16L * barcodesByProduct.size() + 8L * productsByBarcode.size()); // long[] por produto
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void removeBarcodes(long productId) {
+        long[] previous = barcodesByProduct.remove(productId);
+        if (previous != null) {
+            for (long barcode : previous) {
+                productsByBarcode.remove(barcode);
+            }
+        }
+    }
+
+    /**
+     * @param estimatedBytes Estruturas do índice, sem os DTOs (compartilhados com o restante da aplicação).
+     */
+    public record Stats(int barcodes, int products, int capacity, long estimatedBytes) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.mercadotech.productservice.barcode;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tamanho e uso de memória do índice de códigos de barras: {@code GET /actuator/barcodeindex}.
+ */
+@Component
+@Endpoint(id = "barcodeindex")
+public class BarcodeIndexEndpoint {
+
+    private final BarcodeService barcodeService;
+
+    public BarcodeIndexEndpoint(BarcodeService barcodeService) {
+        this.barcodeService = barcodeService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        BarcodeIndex.Stats stats = barcodeService.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("barcodes", stats.barcodes());
+        result.put("products", stats.products());
+        result.put("capacity", stats.capacity());
+        result.put("estimatedBytes", stats.estimatedBytes());
+        result.put("lastBuildMillis", barcodeService.getLastBuildMillis());
+        return result;
+    }
+}
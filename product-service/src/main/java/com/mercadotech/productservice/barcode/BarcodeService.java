@@ -0,0 +1,212 @@
+package com.mercadotech.productservice.barcode;
+
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+import com.mercadotech.productservice.dto.ProductChangeDTO;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.pricing.CatalogPriceChangeEvent;
+import com.mercadotech.productservice.service.CatalogChangesEvent;
+import com.mercadotech.productservice.service.ProductCatalogService;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Mantém o {@link BarcodeIndex} em sincronia com o banco: carga completa na subida, atualização a cada
+ * create/update/delete do {@code ProductController} e, para o que outras instâncias gravaram, pelo feed de
+ * alterações ({@link CatalogChangesEvent}). A consulta por código não toca o banco.
+ */
+@Service
+public class BarcodeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BarcodeService.class);
+
+    private final ProductCatalogService catalogService;
+    private final ReferenceDataService referenceData;
+    private final BarcodeIndex index;
+    private final int expectedBarcodes;
+    private volatile long lastBuildMillis;
+
+    public BarcodeService(ProductCatalogService catalogService, ReferenceDataService referenceData,
+                          @Value("${product.barcode-index.expected-barcodes:500000}") int expectedBarcodes) {
+        this.catalogService = catalogService;
+        this.referenceData = referenceData;
+        this.expectedBarcodes = expectedBarcodes;
+        this.index = new BarcodeIndex(expectedBarcodes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        LongObjectHashMap<LongList> barcodes = new LongObjectHashMap<>(1024);
+        catalogService.exportBarcodes(pair -> {
+            LongList list = barcodes.get(pair.getProductId());
+            if (list == null) {
+                list = new LongList();
+                barcodes.put(pair.getProductId(), list);
+            }
+            list.add(Gtin.parse(pair.getBarcode()));
+        });
+
+        // Montado fora do lock e trocado de uma vez: as consultas seguem atendidas pelo índice anterior durante a carga
+        BarcodeIndex loaded = new BarcodeIndex(Math.max(expectedBarcodes, barcodes.size() * 2));
+        catalogService.export(null, null, null, product -> {
+            LongList list = barcodes.get(product.getId());
+            if (list != null) {
+                loaded.put(product, list.toArray());
+            }
+        });
+        index.replaceWith(loaded);
+        lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+        BarcodeIndex.Stats stats = index.stats();
+        logger.info("Índice de códigos de barras construído em {} ms: {} códigos, {} produtos, ~{} KB",
+                lastBuildMillis, stats.barcodes(), stats.products(), stats.estimatedBytes() / 1024);
+    }
+
+    /**
+     * @throws ResponseStatusException 400 se o código não for um GTIN válido.
+     */
+    public Optional<ProductResponseDTO> find(String barcode) {
+        return Optional.ofNullable(index.find(parse(barcode)));
+    }
+
+    /**
+     * Valida e converte os códigos para a forma canônica antes de gravar.
+     *
+     * @param productId Produto sendo gravado (null na inclusão).
+     * @throws ResponseStatusException 400 para código inválido, 409 se o código já pertence a outro produto.
+     */
+    public Set<String> normalize(Long productId, Collection<String> barcodes) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (barcodes == null) {
+            return normalized;
+        }
+        for (String barcode : barcodes) {
+            long gtin = parse(barcode);
+            Long owner = index.ownerOf(gtin);
+            if (owner != null && !owner.equals(productId)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Código de barras " + Gtin.format(gtin) + " já pertence ao produto " + owner);
+            }
+            normalized.add(Gtin.format(gtin));
+        }
+        return normalized;
+    }
+
+    /**
+     * @param product Produto gravado, já com os nomes de categoria e unidade (o controller usa o snapshot de referência).
+     */
+    public void onSaved(ProductResponseDTO product, Collection<String> barcodes) {
+        long[] gtins = barcodes.stream().mapToLong(Gtin::parse).toArray();
+        index.put(product, gtins);
+    }
+
+    /**
+     * Produto gravado pela importação em lote: os códigos novos somam-se aos existentes, e categoria ou unidade
+     * ausentes mantêm as que o produto já tinha (a importação não as altera nesse caso).
+     */
+    public void onImported(ProductResponseDTO product, long[] addedBarcodes) {
+        long[] current = index.barcodesOf(product.getId());
+        ProductResponseDTO previous = current.length == 0 ? null : index.find(current[0]);
+        if (previous != null) {
+            if (product.getCategoryName() == null) {
+                product.setCategoryName(previous.getCategoryName());
+            }
+            if (product.getUnitAbbreviation() == null) {
+                product.setUnitAbbreviation(previous.getUnitAbbreviation());
+            }
+        }
+        long[] merged = LongStream.concat(LongStream.of(current), LongStream.of(addedBarcodes)).distinct().toArray();
+        index.put(product, merged);
+    }
+
+    /**
+     * Reajuste em lote: atualiza de uma vez os produtos do intervalo de versões do evento que têm código no índice.
+     */
+    @EventListener
+    public void onPricesChanged(CatalogPriceChangeEvent event) {
+        catalogService.exportChanged(event.sinceVersion(), event.untilVersion(), product -> {
+            long[] gtins = index.barcodesOf(product.getId());
+            if (gtins.length > 0) {
+                index.put(product, gtins);
+            }
+        });
+    }
+
+    /**
+     * Produtos alterados ou excluídos segundo o feed, com os códigos atuais de cada um.
+     */
+    @EventListener
+    public void onCatalogChanges(CatalogChangesEvent event) {
+        for (CatalogChangeDTO change : event.changes()) {
+            if (change.getType() != CatalogEntityType.PRODUCT) {
+                continue;
+            }
+            if (change.isDeleted()) {
+                index.remove(change.getId());
+                continue;
+            }
+            ProductChangeDTO product = change.getProduct();
+            ProductResponseDTO dto = new ProductResponseDTO(product.getId(), product.getName(), product.getPrice(),
+                    referenceData.category(product.getCategoryId()).map(ReferenceDataService.CategoryEntry::name).orElse(null),
+                    referenceData.unit(product.getUnitId()).map(ReferenceDataService.UnitEntry::abbreviation).orElse(null));
+            index.put(dto, product.getBarcodes().stream().mapToLong(Gtin::parse).toArray());
+        }
+    }
+
+    /**
+     * @return Id do produto que tem o código, ou null.
+     */
+    public Long ownerOf(long gtin) {
+        return index.ownerOf(gtin);
+    }
+
+    public void onDeleted(Long productId) {
+        index.remove(productId);
+    }
+
+    public BarcodeIndex.Stats stats() {
+        return index.stats();
+    }
+
+    public long getLastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    private static long parse(String barcode) {
+        try {
+            return Gtin.parse(barcode);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[2];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mercadotech.productservice.barcode;
+
+/**
+ * Códigos GTIN (EAN-8, UPC-A, EAN-13, GTIN-14) como {@code long}.
+ *
+ * O valor numérico é o mesmo GTIN-14 sem os zeros à esquerda, então um UPC-A "012345678905" e o EAN-13
+ * "0012345678905" lidos pelo scanner viram a mesma chave.
+ */
+public final class Gtin {
+
+    private static final long THIRTEEN_DIGITS = 10_000_000_000_000L;
+
+    private Gtin() {
+    }
+
+    /**
+     * @throws IllegalArgumentException se o código não tiver 8, 12, 13 ou 14 dígitos ou o dígito verificador não conferir.
+     */
+    public static long parse(String code) {
+        if (code == null) {
+            throw new IllegalArgumentException("Código de barras ausente");
+        }
+        String digits = code.strip();
+        int length = digits.length();
+        if (length != 8 && length != 12 && length != 13 && length != 14) {
+            throw new IllegalArgumentException("Código de barras deve ter 8, 12, 13 ou 14 dígitos: " + code);
+        }
+        long value = 0;
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = digits.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Código de barras deve conter só dígitos: " + code);
+            }
+            value = value * 10 + digit;
+            if (i < length - 1) {
+                sum += ((length - 1 - i) % 2 == 1) ? digit * 3 : digit; // Peso 3 a partir do dígito ao lado do verificador
+            }
+        }
+        if ((10 - sum % 10) % 10 != digits.charAt(length - 1) - '0') {
+            throw new IllegalArgumentException("Dígito verificador inválido: " + code);
+        }
+        if (value == 0) {
+            throw new IllegalArgumentException("Código de barras inválido: " + code);
+        }
+        return value;
+    }
+
+    /**
+     * Forma canônica para armazenar: 13 dígitos (EAN-13) quando cabe, senão 14.
+     */
+    public static String format(long gtin) {
+        return gtin < THIRTEEN_DIGITS ? String.format("%013d", gtin) : String.format("%014d", gtin);
+    }
+}
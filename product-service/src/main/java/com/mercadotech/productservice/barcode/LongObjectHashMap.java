@@ -0,0 +1,164 @@
+package com.mercadotech.productservice.barcode;
+
+/**
+ * Mapa de chave {@code long} primitiva com endereçamento aberto (sondagem linear) em dois arrays paralelos.
+ *
+ * Comparado a um {@code HashMap<Long, V>}, não há {@code Long} nem nó por entrada: cada posição custa 8 bytes da
+ * chave mais uma referência, e uma busca percorre posições contíguas do array de chaves.
+ *
+ * A chave 0 é reservada para marcar posição vazia. Não é thread-safe; {@link BarcodeIndex} faz o controle de acesso.
+ * Mesmo assim {@link #get} nunca lança exceção nem entra em laço sob escrita concorrente, só pode devolver um
+ * valor inconsistente, o que permite leituras otimistas validadas depois.
+ */
+public final class LongObjectHashMap<V> {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int resizeAt;
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long[] currentKeys = keys;
+        Object[] currentValues = values;
+        int mask = currentKeys.length - 1;
+        if (currentValues.length != currentKeys.length) {
+            return null; // Redimensionamento em andamento (só acontece com leitura concorrente)
+        }
+        int slot = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long found = currentKeys[slot];
+            if (found == key) {
+                return (V) currentValues[slot];
+            }
+            if (found == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return O valor anterior da chave, ou null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("A chave 0 é reservada");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        values[slot] = value;
+        keys[slot] = key;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Remove sem deixar marcador: as entradas seguintes do mesmo agrupamento voltam uma posição quando podem
+     * (backward shift), então buscas continuam parando na primeira posição vazia.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        V previous = (V) values[slot];
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            long moving = keys[next];
+            if (moving == EMPTY) {
+                break;
+            }
+            int ideal = slot(moving, mask);
+            // Só move se a posição ideal não estiver no trecho circular (hole, next]
+            boolean stays = hole <= next ? (ideal > hole && ideal <= next) : (ideal > hole || ideal <= next);
+            if (!stays) {
+                keys[hole] = moving;
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Bytes dos arrays internos (referências comprimidas de 4 bytes), sem contar os objetos de valor.
+     */
+    public long estimatedBytes() {
+        return 32 + 16 + 8L * keys.length + 16 + 4L * values.length;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        values = new Object[capacity];
+        keys = new long[capacity]; // Zerado = todas as posições vazias
+        resizeAt = (int) (capacity * 0.75);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / 0.75);
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    private static int slot(long key, int mask) {
+        // Finalizador do SplitMix64: GTINs são sequenciais por fabricante, então os bits baixos precisam ser misturados
+        long h = key;
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        h = h ^ (h >>> 31);
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,134 @@
+package com.mercadotech.productservice.controller;
+
+import com.mercadotech.productservice.dto.CatalogSnapshotDTO;
+import com.mercadotech.productservice.snapshot.CatalogSnapshotService;
+import com.mercadotech.productservice.snapshot.CatalogSnapshotService.CatalogSnapshot;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Download do snapshot do catálogo para a carga inicial dos PDVs. Suporta revalidação por ETag (a versão do
+ * catálogo) e retomada por Range; o envio usa sendfile do Tomcat quando disponível (zero-copy, sem passar o
+ * arquivo pela heap).
+ */
+@RestController
+@RequestMapping("/v1/products/snapshot")
+public class CatalogSnapshotController {
+
+    // Atributos de request do Tomcat para sendfile (ver org.apache.catalina.Globals)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final CatalogSnapshotService snapshotService;
+
+    public CatalogSnapshotController(CatalogSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    /**
+     * Versão, contagens e tamanho do snapshot atual, para o PDV decidir se precisa baixá-lo.
+     */
+    @GetMapping("/info")
+    public CatalogSnapshotDTO info() {
+        return currentSnapshot().info();
+    }
+
+    /**
+     * Arquivo NDJSON compactado com gzip; depois de aplicá-lo, o PDV segue pelo feed com {@code since=X-Catalog-Version}.
+     */
+    @GetMapping
+    public void download(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CatalogSnapshot snapshot = currentSnapshot();
+        long length = snapshot.info().getBytes();
+        String etag = snapshot.etag();
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return; // 304 com o ETag já definido
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache"); // Pode guardar, mas revalida pelo ETag
+        response.setHeader("X-Catalog-Version", String.valueOf(snapshot.version()));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + snapshot.file().getFileName() + "\"");
+        response.setContentType("application/gzip");
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentLengthLong(end - start + 1);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // O conector envia o arquivo depois que o método retorna, com sendfile/transferTo direto para o socket
+            request.setAttribute(SENDFILE_FILENAME, snapshot.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1); // Exclusivo
+            return;
+        }
+        try (FileChannel file = FileChannel.open(snapshot.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = start, remaining = end - start + 1; remaining > 0; ) {
+                long sent = file.transferTo(position, remaining, out);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private CatalogSnapshot currentSnapshot() {
+        return snapshotService.latest()
+                .filter(snapshot -> Files.exists(snapshot.file()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Snapshot do catálogo ainda não foi gerado"));
+    }
+
+    /**
+     * Um único intervalo; vários intervalos, Range inválido ou If-Range de outra versão levam ao arquivo inteiro.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
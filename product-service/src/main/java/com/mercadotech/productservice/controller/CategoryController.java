@@ -2,34 +2,42 @@ package com.mercadotech.productservice.controller;
 
 import com.mercadotech.productservice.model.Category;
 import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/v1/categories")
 public class CategoryController {
     private final CategoryRepository repository;
+    private final ReferenceDataService referenceData;
 
-    public CategoryController(CategoryRepository repository) {
+    public CategoryController(CategoryRepository repository, ReferenceDataService referenceData) {
         this.repository = repository;
+        this.referenceData = referenceData;
     }
 
+    /**
+     * Corpo já serializado do snapshot em memória, sem consulta ao banco.
+     */
     @GetMapping
-    public List<Category> findAll() {
-        return repository.findAll();
+    public ResponseEntity<byte[]> findAll() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(referenceData.categoriesJson());
     }
 
     @PostMapping
     public Category create(@RequestBody Category category) {
-        return repository.save(category);
+        Category saved = repository.save(category);
+        referenceData.onSaved(saved);
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (repository.existsById(id)) {
+        if (referenceData.category(id).isPresent()) {
             repository.deleteById(id);
+            referenceData.onCategoryDeleted(id);
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
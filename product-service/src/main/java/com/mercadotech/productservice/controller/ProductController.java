@@ -1,30 +1,183 @@
 package com.mercadotech.productservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mercadotech.productservice.barcode.BarcodeService;
+import com.mercadotech.productservice.dto.BulkPriceUpdateDTO;
+import com.mercadotech.productservice.dto.BulkPriceUpdateResultDTO;
+import com.mercadotech.productservice.dto.CatalogChangesDTO;
+import com.mercadotech.productservice.dto.ImportReportDTO;
+import com.mercadotech.productservice.dto.ProductImportRowDTO;
+import com.mercadotech.productservice.dto.ProductPageDTO;
 import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.importer.CatalogImportService;
+import com.mercadotech.productservice.importer.CatalogRowReader;
 import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.pricing.BulkPriceService;
 import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.search.ProductSearchIndex;
+import com.mercadotech.productservice.search.ProductSearchService;
+import com.mercadotech.productservice.service.CatalogChangeFeedService;
+import com.mercadotech.productservice.service.ProductCatalogService;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/v1/products")
 public class ProductController {
     private final ProductRepository repository;
+    private final ProductCatalogService catalogService;
+    private final ProductSearchService searchService;
+    private final BarcodeService barcodeService;
+    private final CatalogImportService importService;
+    private final CatalogChangeFeedService changeFeedService;
+    private final ReferenceDataService referenceData;
+    private final BulkPriceService bulkPriceService;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectReader importRowReader;
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
 
-    public ProductController(ProductRepository repository) {
+    public ProductController(ProductRepository repository, ProductCatalogService catalogService,
+                             ProductSearchService searchService, BarcodeService barcodeService,
+                             CatalogImportService importService, CatalogChangeFeedService changeFeedService,
+                             ReferenceDataService referenceData, BulkPriceService bulkPriceService,
+                             ObjectMapper objectMapper) {
         this.repository = repository;
+        this.catalogService = catalogService;
+        this.searchService = searchService;
+        this.barcodeService = barcodeService;
+        this.importService = importService;
+        this.changeFeedService = changeFeedService;
+        this.referenceData = referenceData;
+        this.bulkPriceService = bulkPriceService;
+        // Um JSON por linha; sem flush por item (o buffer é esvaziado a cada 64 KB) e sem fechar o stream da resposta
+        this.ndjsonWriter = objectMapper.writerFor(ProductResponseDTO.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.importRowReader = objectMapper.readerFor(ProductImportRowDTO.class);
     }
 
+    /**
+     * Listagem paginada por keyset. Para a próxima página envie {@code after} com o {@code nextCursor} recebido.
+     */
     @GetMapping
-    public List<Product> findAll() {
-        return repository.findAll();
+    public ProductPageDTO findAll(@RequestParam(required = false) Long after,
+                                  @RequestParam(required = false) Integer size,
+                                  @RequestParam(required = false) Long categoryId,
+                                  @RequestParam(required = false) BigDecimal minPrice,
+                                  @RequestParam(required = false) BigDecimal maxPrice) {
+        return catalogService.findPage(after, size, categoryId, minPrice, maxPrice);
+    }
+
+    /**
+     * Exporta o catálogo inteiro (com os mesmos filtros) como NDJSON, um produto por linha, em streaming.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) Long categoryId,
+                                                        @RequestParam(required = false) BigDecimal minPrice,
+                                                        @RequestParam(required = false) BigDecimal maxPrice) {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            try (SequenceWriter lines = ndjsonWriter.writeValues(out)) {
+                catalogService.export(categoryId, minPrice, maxPrice, product -> {
+                    try {
+                        lines.write(product);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // Cliente desconectou: encerra a consulta
+                    }
+                });
+            }
+            out.write('\n');
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    /**
+     * Feed de alterações do catálogo (produtos, categorias, unidades e exclusões) depois da versão {@code since}.
+     * Repita com {@code since=nextSince} enquanto {@code hasMore} for true.
+     */
+    @GetMapping("/changes")
+    public CatalogChangesDTO changes(@RequestParam(defaultValue = "0") long since,
+                                     @RequestParam(required = false) Integer size) {
+        return changeFeedService.changesSince(since, size);
+    }
+
+    /**
+     * Importação em lote (CSV com cabeçalho ou NDJSON), lida em streaming. Devolve o relatório com os erros por linha.
+     */
+    @PostMapping(value = "/import", consumes = {CatalogRowReader.CSV, CatalogRowReader.NDJSON})
+    public ImportReportDTO importCatalog(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                         InputStream body) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        Reader reader = new InputStreamReader(body, charset);
+        CatalogRowReader rows = contentType.isCompatibleWith(MediaType.parseMediaType(CatalogRowReader.CSV))
+                ? CatalogRowReader.csv(reader)
+                : CatalogRowReader.ndjson(reader, importRowReader);
+        try {
+            return importService.importCatalog(rows);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()); // Cabeçalho do CSV inválido
+        }
+    }
+
+    /**
+     * Reajuste de preços em lote (percentual ou valor por categoria/lista de ids, ou lista de preços do fornecedor),
+     * com UPDATEs por conjunto em blocos. Use no lugar de um PUT por produto.
+     */
+    @PostMapping("/prices")
+    public BulkPriceUpdateResultDTO updatePrices(@RequestBody BulkPriceUpdateDTO request) {
+        return bulkPriceService.apply(request);
+    }
+
+    /**
+     * Autocomplete por nome (prefixo de cada palavra, sem diferenciar acentos), servido do índice em memória.
+     */
+    @GetMapping("/search")
+    public List<ProductSearchIndex.Suggestion> search(@RequestParam("q") String query,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        return searchService.search(query, Math.min(limit, 50));
+    }
+
+    /**
+     * Leitura do scanner: EAN-8, UPC-A, EAN-13 ou GTIN-14, resolvido pelo índice em memória (sem consulta ao banco).
+     */
+    @GetMapping("/barcode/{barcode}")
+    public ResponseEntity<ProductResponseDTO> findByBarcode(@PathVariable String barcode) {
+        return barcodeService.find(barcode)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
@@ -36,7 +189,13 @@ public class ProductController {
 
     @PostMapping
     public Product create(@RequestBody Product product) {
-        return repository.save(product);
+        product.setBarcodes(barcodeService.normalize(null, product.getBarcodes()));
+        product.setCategory(referenceData.resolveCategory(product.getCategory()));
+        product.setUnit(referenceData.resolveUnit(product.getUnit()));
+        Product saved = save(product);
+        searchService.onSaved(saved);
+        barcodeService.onSaved(convertToDto(saved), saved.getBarcodes());
+        return saved;
     }
 
     @PutMapping("/{id}")
@@ -44,9 +203,18 @@ public class ProductController {
         return repository.findById(id).map(product -> {
             product.setName(updated.getName());
             product.setPrice(updated.getPrice());
-            product.setCategory(updated.getCategory());
-            product.setUnit(updated.getUnit());
-            return ResponseEntity.ok(repository.save(product));
+            product.setCategory(referenceData.resolveCategory(updated.getCategory()));
+            product.setUnit(referenceData.resolveUnit(updated.getUnit()));
+            Set<String> barcodes = barcodeService.normalize(id, updated.getBarcodes());
+            if (!product.getBarcodes().equals(barcodes)) {
+                product.getBarcodes().retainAll(barcodes);
+                product.getBarcodes().addAll(barcodes);
+                product.setChangeVersion(null); // Marca como alterado mesmo que só os códigos tenham mudado: o listener carimba a nova versão
+            }
+            Product saved = save(product);
+            searchService.onSaved(saved);
+            barcodeService.onSaved(convertToDto(saved), saved.getBarcodes());
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -54,22 +222,50 @@ public class ProductController {
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         if (repository.existsById(id)) {
             repository.deleteById(id);
+            searchService.onDeleted(id);
+            barcodeService.onDeleted(id);
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * @throws ResponseStatusException 409 se outra gravação (de outra instância, ainda fora do índice) levou um dos
+     *                                  códigos de barras depois da checagem de {@code normalize}: vale o unique do banco.
+     *                                  Outras violações de integridade não são conflito de código e seguem como estão.
+     */
+    private Product save(Product product) {
+        try {
+            return repository.save(product);
+        } catch (DataIntegrityViolationException e) {
+            if (isBarcodeConflict(e)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Código de barras já pertence a outro produto");
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isBarcodeConflict(DataIntegrityViolationException e) {
+        // O H2 informa o índice ("PUBLIC.UK_PRODUCT_BARCODE_INDEX_8"), o Postgres o nome exato da constraint
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Product.BARCODE_UNIQUE_CONSTRAINT);
+    }
+
     // Dentro de ProductService
     public ProductResponseDTO convertToDto(Product product) {
         ProductResponseDTO dto = new ProductResponseDTO();
         dto.setId(product.getId());
         dto.setName(product.getName());
         dto.setPrice(product.getPrice());
+        // Nomes pelo snapshot de referência: só o id da associação é lido, sem navegar pela entidade
         if (product.getCategory() != null) {
-            dto.setCategoryName(product.getCategory().getName());
+            referenceData.category(product.getCategory().getId())
+                    .ifPresent(category -> dto.setCategoryName(category.name()));
         }
         if (product.getUnit() != null) {
-            dto.setUnitAbbreviation(product.getUnit().getAbbreviation());
+            referenceData.unit(product.getUnit().getId())
+                    .ifPresent(unit -> dto.setUnitAbbreviation(unit.abbreviation()));
         }
         return dto;
     }
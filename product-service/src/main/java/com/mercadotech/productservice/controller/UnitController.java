@@ -2,34 +2,42 @@ package com.mercadotech.productservice.controller;
 
 import com.mercadotech.productservice.model.Unit;
 import com.mercadotech.productservice.repository.UnitRepository;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/v1/units")
 public class UnitController {
     private final UnitRepository repository;
+    private final ReferenceDataService referenceData;
 
-    public UnitController(UnitRepository repository) {
+    public UnitController(UnitRepository repository, ReferenceDataService referenceData) {
         this.repository = repository;
+        this.referenceData = referenceData;
     }
 
+    /**
+     * Corpo já serializado do snapshot em memória, sem consulta ao banco.
+     */
     @GetMapping
-    public List<Unit> findAll() {
-        return repository.findAll();
+    public ResponseEntity<byte[]> findAll() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(referenceData.unitsJson());
     }
 
     @PostMapping
     public Unit create(@RequestBody Unit unit) {
-        return repository.save(unit);
+        Unit saved = repository.save(unit);
+        referenceData.onSaved(saved);
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        if (repository.existsById(id)) {
+        if (referenceData.unit(id).isPresent()) {
             repository.deleteById(id);
+            referenceData.onUnitDeleted(id);
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
@@ -0,0 +1,32 @@
+package com.mercadotech.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Reajuste de preços em lote. Ou {@code prices} (lista do fornecedor, preço novo por produto), ou uma seleção
+ * ({@code categoryId} ou {@code productIds}) com exatamente um entre {@code percent} (ex.: 3 para +3%) e
+ * {@code amount} (valor somado ao preço, pode ser negativo).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPriceUpdateDTO {
+    private Long categoryId;
+    private List<Long> productIds;
+    private BigDecimal percent;
+    private BigDecimal amount;
+    private List<Item> prices;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,20 @@
+package com.mercadotech.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado do reajuste em lote. {@code skipped}: produtos pedidos que não existem, sem preço ou cujo preço ficaria
+ * negativo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPriceUpdateResultDTO {
+    private long updated;
+    private long skipped;
+    private int chunks;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
@@ -0,0 +1,27 @@
+package com.mercadotech.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Unit;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uma alteração do feed: o estado atual do registro ou, se {@code deleted}, só o tipo e o id (tombstone).
+ * Apenas o campo do tipo correspondente vem preenchido.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogChangeDTO {
+    private long version;
+    private CatalogEntityType type;
+    private Long id;
+    private boolean deleted;
+    private ProductChangeDTO product;
+    private Category category;
+    private Unit unit;
+}
@@ -0,0 +1,18 @@
+package com.mercadotech.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Página do feed de alterações. Para continuar, repita a consulta com {@code since=nextSince}; com
+ * {@code hasMore=false} a réplica está em dia e {@code nextSince} serve para a próxima sincronização.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogChangesDTO {
+    private List<CatalogChangeDTO> changes;
+    private long nextSince;
+    private boolean hasMore;
+}
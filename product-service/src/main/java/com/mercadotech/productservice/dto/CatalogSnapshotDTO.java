@@ -0,0 +1,25 @@
+package com.mercadotech.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Cabeçalho do snapshot do catálogo (primeira linha do arquivo) e resposta de {@code /snapshot/info}.
+ * Depois de aplicar o snapshot, a réplica continua pelo feed de alterações com {@code since=version}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogSnapshotDTO {
+    private long version;
+    private Instant generatedAt;
+    private long categories;
+    private long units;
+    private long products;
+    private Long bytes; // Tamanho do arquivo compactado; ausente no cabeçalho, que é escrito antes de o tamanho existir
+}
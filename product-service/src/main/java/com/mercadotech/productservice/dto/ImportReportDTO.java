@@ -0,0 +1,32 @@
+package com.mercadotech.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote. {@code errors} traz no máximo as primeiras linhas com erro
+ * ({@code errorsTruncated} indica que houve mais); {@code failed} conta todas.
+ */
+@Data
+@NoArgsConstructor
+public class ImportReportDTO {
+    private long rows;
+    private long created;
+    private long updated;
+    private long failed;
+    private long elapsedMillis;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row; // Linha de dados, a partir de 1 (sem contar o cabeçalho do CSV)
+        private String message;
+    }
+}
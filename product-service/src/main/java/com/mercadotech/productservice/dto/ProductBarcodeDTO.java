@@ -0,0 +1,14 @@
+package com.mercadotech.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Par produto/código de barras, usado para carregar o índice de códigos sem instanciar entidades.
+ */
+@Data
+@AllArgsConstructor
+public class ProductBarcodeDTO {
+    private Long productId;
+    private String barcode;
+}
@@ -0,0 +1,34 @@
+package com.mercadotech.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Estado de um produto no feed de alterações. Categoria e unidade vão por id: uma réplica que também sincroniza
+ * categorias e unidades pelo feed não precisa reler produtos quando uma delas é renomeada.
+ */
+@Data
+@NoArgsConstructor
+public class ProductChangeDTO {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Long categoryId;
+    private Long unitId;
+    private Long changeVersion;
+    private List<String> barcodes;
+
+    // Usado pela consulta com projeção por construtor (select new ...); os códigos são preenchidos depois
+    public ProductChangeDTO(Long id, String name, BigDecimal price, Long categoryId, Long unitId, Long changeVersion) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.categoryId = categoryId;
+        this.unitId = unitId;
+        this.changeVersion = changeVersion;
+    }
+}
@@ -0,0 +1,22 @@
+package com.mercadotech.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Uma linha da importação em lote (CSV ou NDJSON). Categoria e unidade vêm pelo nome/abreviação e são criadas se
+ * ainda não existirem; o produto é atualizado quando algum dos códigos de barras já está cadastrado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRowDTO {
+    private String name;
+    private String price; // Texto: erros de formato entram no relatório da linha em vez de abortar a leitura
+    private String category;
+    private String unit;
+    private List<String> barcodes;
+}
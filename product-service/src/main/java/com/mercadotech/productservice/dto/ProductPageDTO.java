@@ -0,0 +1,17 @@
+package com.mercadotech.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Página da listagem de produtos. Para a próxima página, repita a consulta com {@code after=nextCursor};
+ * {@code nextCursor} é null na última página.
+ */
+@Data
+@AllArgsConstructor
+public class ProductPageDTO {
+    private List<ProductResponseDTO> items;
+    private Long nextCursor;
+}
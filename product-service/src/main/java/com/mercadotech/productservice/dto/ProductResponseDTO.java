@@ -1,14 +1,19 @@
 // product-service/src/main/java/com/mercadotech/productservice/dto/ProductResponseDTO.java
 package com.mercadotech.productservice.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.math.BigDecimal;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // Usado pelas consultas com projeção por construtor (select new ...)
 public class ProductResponseDTO {
     private Long id;
     private String name;
     private BigDecimal price;
     private String categoryName; // Apenas o nome da categoria
     private String unitAbbreviation; // Apenas a abreviação da unidade
-}
\ No newline at end of file
+}
@@ -0,0 +1,355 @@
+package com.mercadotech.productservice.importer;
+
+import com.mercadotech.productservice.barcode.BarcodeService;
+import com.mercadotech.productservice.barcode.Gtin;
+import com.mercadotech.productservice.dto.ImportReportDTO;
+import com.mercadotech.productservice.dto.ProductImportRowDTO;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.search.ProductSearchService;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+
+/**
+ * Importação em lote do catálogo de um fornecedor.
+ *
+ * As linhas são lidas em streaming e gravadas em blocos de {@code product.import.chunk-size}, cada bloco numa
+ * transação com inserts/updates em batch JDBC; a memória usada não depende do tamanho do arquivo. Categorias e
+ * unidades são resolvidas pelo nome num mapa em memória e criadas no primeiro uso.
+ *
+ * Um produto é atualizado quando algum dos códigos de barras da linha já está cadastrado; sem código conhecido, é
+ * incluído; na atualização, categoria ou unidade em branco mantém a atual. Linhas inválidas entram no relatório e
+ * não impedem as demais.
+ */
+@Service
+public class CatalogImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final String INSERT_PRODUCT = "insert into product (name, price, category_id, unit_id, change_version) values (?, ?, ?, ?, ?)";
+    // Linha sem categoria ou unidade mantém a do produto
+    private static final String UPDATE_PRODUCT = "update product set name = ?, price = ?, category_id = coalesce(?, category_id),"
+            + " unit_id = coalesce(?, unit_id), change_version = ? where id = ?";
+    private static final String INSERT_BARCODE = "insert into product_barcode (product_id, barcode) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersionService versionService;
+    private final BarcodeService barcodeService;
+    private final ProductSearchService searchService;
+    private final ReferenceDataService referenceData;
+    private final int chunkSize;
+    private final ReentrantLock running = new ReentrantLock();
+
+    public CatalogImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                CatalogVersionService versionService, BarcodeService barcodeService, ProductSearchService searchService,
+                                ReferenceDataService referenceData, @Value("${product.import.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.versionService = versionService;
+        this.barcodeService = barcodeService;
+        this.searchService = searchService;
+        this.referenceData = referenceData;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @throws ResponseStatusException 409 se já houver uma importação em andamento (evita criar a mesma categoria duas vezes).
+     */
+    public ImportReportDTO importCatalog(CatalogRowReader reader) throws IOException {
+        if (!running.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Já existe uma importação em andamento");
+        }
+        try {
+            long start = System.nanoTime();
+            ImportReportDTO report = new ImportReportDTO();
+            Map<String, Named> categories = load("select id, name from category");
+            Map<String, Named> units = load("select id, abbreviation from unit");
+            int knownReferences = categories.size() + units.size();
+            List<Pending> chunk = new ArrayList<>(chunkSize);
+            Set<Long> chunkBarcodes = new HashSet<>();
+
+            for (CatalogRowReader.Row row = reader.next(); row != null; row = reader.next()) {
+                report.setRows(report.getRows() + 1);
+                if (row.error() != null) {
+                    fail(report, row.number(), row.error());
+                    continue;
+                }
+                try {
+                    Pending pending = parse(row.number(), row.row());
+                    if (LongStream.of(pending.barcodes).anyMatch(chunkBarcodes::contains)) {
+                        // Mesmo código duas vezes no bloco: grava o que veio antes para a linha atual virar atualização
+                        flush(chunk, chunkBarcodes, report);
+                    }
+                    resolve(pending, row.row(), categories, units);
+                    chunk.add(pending);
+                    LongStream.of(pending.barcodes).forEach(chunkBarcodes::add);
+                } catch (IllegalArgumentException e) {
+                    fail(report, row.number(), e.getMessage());
+                    continue;
+                } catch (DataAccessException e) {
+                    // Falha ao criar a categoria/unidade da linha (transação própria): só a linha fica de fora
+                    fail(report, row.number(), "Erro ao gravar categoria/unidade: "
+                            + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    flush(chunk, chunkBarcodes, report);
+                }
+            }
+            flush(chunk, chunkBarcodes, report);
+            if (categories.size() + units.size() > knownReferences) {
+                referenceData.reload(); // Categorias/unidades criadas no primeiro uso, direto pelo JDBC
+            }
+
+            report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+            logger.info("Importação concluída em {} ms: {} linhas, {} incluídos, {} atualizados, {} com erro",
+                    report.getElapsedMillis(), report.getRows(), report.getCreated(), report.getUpdated(), report.getFailed());
+            return report;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private Pending parse(long rowNumber, ProductImportRowDTO row) {
+        if (row.getName() == null || row.getName().isBlank()) {
+            throw new IllegalArgumentException("Nome obrigatório");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(row.getPrice() == null ? "" : row.getPrice().strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Preço inválido: " + row.getPrice());
+        }
+        if (price.signum() < 0) {
+            throw new IllegalArgumentException("Preço negativo: " + row.getPrice());
+        }
+        long[] barcodes = row.getBarcodes() == null ? new long[0]
+                : row.getBarcodes().stream().mapToLong(Gtin::parse).distinct().toArray();
+        return new Pending(rowNumber, row.getName().strip(), price, barcodes);
+    }
+
+    /**
+     * Produto existente pelos códigos e categoria/unidade pelo nome. Chamado depois de gravar blocos anteriores,
+     * então enxerga os códigos incluídos por eles.
+     */
+    private void resolve(Pending pending, ProductImportRowDTO row, Map<String, Named> categories, Map<String, Named> units) {
+        List<Long> added = new ArrayList<>();
+        for (long barcode : pending.barcodes) {
+            Long owner = barcodeService.ownerOf(barcode);
+            if (owner == null) {
+                added.add(barcode);
+            } else if (pending.productId == null) {
+                pending.productId = owner;
+            } else if (!pending.productId.equals(owner)) {
+                throw new IllegalArgumentException("Códigos de barras de produtos diferentes (" + pending.productId
+                        + " e " + owner + ")");
+            }
+        }
+        pending.addedBarcodes = added.stream().mapToLong(Long::longValue).toArray();
+        pending.category = lookup(categories, row.getCategory(), "insert into category (name, change_version) values (?, ?)", 1);
+        // Unidade nova: descrição igual à abreviação
+        pending.unit = lookup(units, row.getUnit(),
+                "insert into unit (abbreviation, description, change_version) values (?, ?, ?)", 2);
+    }
+
+    private Named lookup(Map<String, Named> known, String name, String insert, int parameters) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String trimmed = name.strip();
+        return known.computeIfAbsent(trimmed.toLowerCase(Locale.ROOT), key -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            transactionTemplate.executeWithoutResult(status -> {
+                long version = versionService.allocate(1);
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(insert, new String[]{"id"});
+                    for (int i = 1; i <= parameters; i++) {
+                        statement.setString(i, trimmed);
+                    }
+                    statement.setLong(parameters + 1, version);
+                    return statement;
+                }, keyHolder);
+            });
+            return new Named(keyHolder.getKey().longValue(), trimmed);
+        });
+    }
+
+    private void flush(List<Pending> chunk, Set<Long> chunkBarcodes, ImportReportDTO report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                        write(connection, chunk);
+                        return null;
+                    }));
+            for (Pending pending : chunk) {
+                if (pending.created) {
+                    report.setCreated(report.getCreated() + 1);
+                } else {
+                    report.setUpdated(report.getUpdated() + 1);
+                }
+                ProductResponseDTO dto = new ProductResponseDTO(pending.productId, pending.name, pending.price,
+                        pending.category == null ? null : pending.category.name(), pending.unit == null ? null : pending.unit.name());
+                searchService.onSaved(pending.productId, pending.name);
+                barcodeService.onImported(dto, pending.addedBarcodes);
+            }
+        } catch (DataAccessException e) {
+            String message = "Erro ao gravar o bloco: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Pending pending : chunk) {
+                fail(report, pending.rowNumber, message);
+            }
+        } finally {
+            chunk.clear();
+            chunkBarcodes.clear();
+        }
+    }
+
+    private void write(Connection connection, List<Pending> chunk) throws SQLException {
+        // Um incremento do contador por bloco; a linha fica travada até o commit, como numa gravação pelo JPA
+        long version = versionService.allocate(chunk.size()) - chunk.size() + 1;
+        for (Pending pending : chunk) {
+            pending.version = version++;
+        }
+        List<Pending> inserts = new ArrayList<>();
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_PRODUCT)) {
+            for (Pending pending : chunk) {
+                if (pending.productId == null) {
+                    inserts.add(pending);
+                } else {
+                    bindProduct(update, pending);
+                    update.setLong(6, pending.productId);
+                    update.addBatch();
+                }
+            }
+            if (inserts.size() < chunk.size()) {
+                update.executeBatch();
+            }
+        }
+        if (!inserts.isEmpty()) {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_PRODUCT, new String[]{"id"})) {
+                for (Pending pending : inserts) {
+                    bindProduct(insert, pending);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    for (Pending pending : inserts) {
+                        if (!keys.next()) {
+                            throw new SQLException("O driver não devolveu os ids gerados do batch");
+                        }
+                        pending.productId = keys.getLong(1);
+                        pending.created = true;
+                    }
+                }
+            }
+        }
+        try (PreparedStatement barcodes = connection.prepareStatement(INSERT_BARCODE)) {
+            boolean any = false;
+            for (Pending pending : chunk) {
+                for (long barcode : pending.addedBarcodes) {
+                    barcodes.setLong(1, pending.productId);
+                    barcodes.setString(2, Gtin.format(barcode));
+                    barcodes.addBatch();
+                    any = true;
+                }
+            }
+            if (any) {
+                barcodes.executeBatch();
+            }
+        }
+    }
+
+    private static void bindProduct(PreparedStatement statement, Pending pending) throws SQLException {
+        statement.setString(1, pending.name);
+        statement.setBigDecimal(2, pending.price);
+        setId(statement, 3, pending.category);
+        setId(statement, 4, pending.unit);
+        statement.setLong(5, pending.version);
+    }
+
+    private static void setId(PreparedStatement statement, int index, Named named) throws SQLException {
+        if (named == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, named.id());
+        }
+    }
+
+    private Map<String, Named> load(String sql) {
+        Map<String, Named> byName = new HashMap<>();
+        jdbcTemplate.query(sql, resultSet -> {
+            String name = resultSet.getString(2);
+            if (name != null) {
+                byName.putIfAbsent(name.strip().toLowerCase(Locale.ROOT), new Named(resultSet.getLong(1), name));
+            }
+        });
+        return byName;
+    }
+
+    private static void fail(ImportReportDTO report, long row, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReportDTO.RowError(row, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private record Named(long id, String name) {
+    }
+
+    private static final class Pending {
+        final long rowNumber;
+        final String name;
+        final BigDecimal price;
+        final long[] barcodes;
+        long[] addedBarcodes;
+        Named category;
+        Named unit;
+        Long productId; // Produto existente, ou o id gerado no insert
+        long version;
+        boolean created;
+
+        Pending(long rowNumber, String name, BigDecimal price, long[] barcodes) {
+            this.rowNumber = rowNumber;
+            this.name = name;
+            this.price = price;
+            this.barcodes = barcodes;
+        }
+    }
+}
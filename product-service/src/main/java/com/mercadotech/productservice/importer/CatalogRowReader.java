@@ -0,0 +1,172 @@
+package com.mercadotech.productservice.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mercadotech.productservice.dto.ProductImportRowDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lê as linhas de uma importação uma a uma, sem carregar o arquivo: CSV com cabeçalho ou NDJSON.
+ *
+ * Uma linha malformada vira um {@link Row} com {@code error} preenchido e a leitura continua na próxima.
+ */
+public abstract class CatalogRowReader {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    protected final BufferedReader reader;
+    protected long rowNumber;
+
+    protected CatalogRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+    }
+
+    public static CatalogRowReader csv(Reader reader) {
+        return new Csv(reader);
+    }
+
+    public static CatalogRowReader ndjson(Reader reader, ObjectReader rowReader) {
+        return new Ndjson(reader, rowReader);
+    }
+
+    /**
+     * @return A próxima linha, ou null no fim do arquivo.
+     */
+    public abstract Row next() throws IOException;
+
+    public record Row(long number, ProductImportRowDTO row, String error) {
+    }
+
+    private static final class Ndjson extends CatalogRowReader {
+        private final ObjectReader rowReader;
+
+        Ndjson(Reader reader, ObjectReader rowReader) {
+            super(reader);
+            this.rowReader = rowReader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            rowNumber++;
+            try {
+                return new Row(rowNumber, rowReader.readValue(line), null);
+            } catch (JsonProcessingException e) {
+                return new Row(rowNumber, null, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * CSV (RFC 4180): separador vírgula, campos entre aspas podem conter vírgulas, quebras de linha e aspas dobradas.
+     * Colunas pelo cabeçalho: name, price, category, unit, barcodes (vários separados por {@code |}).
+     */
+    private static final class Csv extends CatalogRowReader {
+        private int[] columns; // Posição de cada campo conhecido no registro, -1 se ausente
+        private final StringBuilder field = new StringBuilder();
+
+        Csv(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (columns == null) {
+                List<String> header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                readHeader(header);
+            }
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+            rowNumber++;
+            ProductImportRowDTO row = new ProductImportRowDTO(get(record, 0), get(record, 1), get(record, 2), get(record, 3), null);
+            String barcodes = get(record, 4);
+            if (barcodes != null && !barcodes.isBlank()) {
+                row.setBarcodes(Arrays.stream(barcodes.split("\\|")).map(String::strip).filter(code -> !code.isEmpty()).toList());
+            }
+            return new Row(rowNumber, row, null);
+        }
+
+        private void readHeader(List<String> header) {
+            List<String> known = List.of("name", "price", "category", "unit", "barcodes");
+            columns = new int[known.size()];
+            Arrays.fill(columns, -1);
+            for (int i = 0; i < header.size(); i++) {
+                int position = known.indexOf(header.get(i).strip().toLowerCase(Locale.ROOT));
+                if (position >= 0) {
+                    columns[position] = i;
+                }
+            }
+            if (columns[0] < 0 || columns[1] < 0) {
+                throw new IllegalArgumentException("Cabeçalho do CSV deve conter as colunas name e price");
+            }
+        }
+
+        private String get(List<String> record, int field) {
+            int column = columns[field];
+            return column >= 0 && column < record.size() ? record.get(column) : null;
+        }
+
+        private List<String> readRecord() throws IOException {
+            List<String> record = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        break; // Aspas não fechadas: o que foi lido vira o último campo
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            record.add(field.toString());
+            return record;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.mercadotech.productservice.model;
+
+/**
+ * Tipos de registro do catálogo publicados no feed de alterações.
+ */
+public enum CatalogEntityType {
+    PRODUCT,
+    CATEGORY,
+    UNIT
+}
@@ -0,0 +1,47 @@
+package com.mercadotech.productservice.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Marca de exclusão no feed de alterações: o registro sumiu da tabela, mas quem sincroniza precisa saber.
+ */
+@Entity
+@Table(name = "catalog_tombstone")
+public class CatalogTombstone {
+
+    @Id
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 16, nullable = false)
+    private CatalogEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Getters and Setters
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public CatalogEntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void setEntityType(CatalogEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.mercadotech.productservice.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador único das versões do catálogo (uma linha, id 1). Quem grava trava a linha até o commit, então as versões
+ * ficam visíveis na mesma ordem em que foram atribuídas.
+ */
+@Entity
+@Table(name = "catalog_version")
+public class CatalogVersion {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "current_value", nullable = false)
+    private Long currentValue;
+
+    // Getters and Setters
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getCurrentValue() {
+        return currentValue;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public void setCurrentValue(Long currentValue) {
+        this.currentValue = currentValue;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mercadotech.productservice.model;
+
+/**
+ * Registro do catálogo que recebe uma versão de alteração a cada inclusão/atualização (ver {@code CatalogChangeListener}).
+ */
+public interface CatalogVersioned {
+
+    Long getId();
+
+    Long getChangeVersion();
+
+    void setChangeVersion(Long changeVersion);
+
+    CatalogEntityType catalogType();
+}
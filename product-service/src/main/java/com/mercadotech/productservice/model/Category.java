@@ -1,18 +1,37 @@
 package com.mercadotech.productservice.model;
 
+import com.mercadotech.productservice.service.CatalogChangeListener;
 import jakarta.persistence.*;
 
 @Entity
-public class Category {
+@EntityListeners(CatalogChangeListener.class)
+@Table(indexes = @Index(name = "idx_category_change_version", columnList = "change_version"))
+public class Category implements CatalogVersioned {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "change_version")
+    private Long changeVersion; // Versão da última alteração no feed do catálogo
+
     private String name;
 
     // Getters and Setters
 
+    @Override
+    public CatalogEntityType catalogType() {
+        return CatalogEntityType.CATEGORY;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public Long getId() {
         return id;
     }
@@ -1,15 +1,25 @@
 package com.mercadotech.productservice.model;
 
+import com.mercadotech.productservice.service.CatalogChangeListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Entity
-public class Product {
+@EntityListeners(CatalogChangeListener.class)
+@Table(indexes = @Index(name = "idx_product_change_version", columnList = "change_version"))
+public class Product implements CatalogVersioned {
+
+    public static final String BARCODE_UNIQUE_CONSTRAINT = "uk_product_barcode";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "change_version")
+    private Long changeVersion; // Versão da última alteração no feed do catálogo
+
     private String name;
     private BigDecimal price;
 
@@ -21,8 +31,28 @@ public class Product {
     @JoinColumn(name = "unit_id")
     private Unit unit;
 
+    // Códigos de barras (EAN/GTIN) na forma canônica de Gtin.format; um produto pode ter vários (caixa, unidade...)
+    @ElementCollection
+    @CollectionTable(name = "product_barcode", joinColumns = @JoinColumn(name = "product_id"),
+            uniqueConstraints = @UniqueConstraint(name = BARCODE_UNIQUE_CONSTRAINT, columnNames = "barcode"))
+    @Column(name = "barcode", length = 14, nullable = false)
+    private Set<String> barcodes = new LinkedHashSet<>();
+
     // Getters and Setters
 
+    @Override
+    public CatalogEntityType catalogType() {
+        return CatalogEntityType.PRODUCT;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public Long getId() {
         return id;
     }
@@ -43,6 +73,10 @@ public class Product {
         return unit;
     }
 
+    public Set<String> getBarcodes() {
+        return barcodes;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -62,4 +96,8 @@ public class Product {
     public void setUnit(Unit unit) {
         this.unit = unit;
     }
+
+    public void setBarcodes(Set<String> barcodes) {
+        this.barcodes = barcodes;
+    }
 }
@@ -1,19 +1,38 @@
 package com.mercadotech.productservice.model;
 
+import com.mercadotech.productservice.service.CatalogChangeListener;
 import jakarta.persistence.*;
 
 @Entity
-public class Unit {
+@EntityListeners(CatalogChangeListener.class)
+@Table(indexes = @Index(name = "idx_unit_change_version", columnList = "change_version"))
+public class Unit implements CatalogVersioned {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "change_version")
+    private Long changeVersion; // Versão da última alteração no feed do catálogo
+
     private String abbreviation;
     private String description;
 
     // Getters and Setters
 
+    @Override
+    public CatalogEntityType catalogType() {
+        return CatalogEntityType.UNIT;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,230 @@
+package com.mercadotech.productservice.pricing;
+
+import com.mercadotech.productservice.dto.BulkPriceUpdateDTO;
+import com.mercadotech.productservice.dto.BulkPriceUpdateResultDTO;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reajuste de preços em lote com UPDATEs por conjunto: cada bloco de até {@code product.pricing.chunk-size}
+ * produtos é um único comando SQL na própria transação, sem carregar entidades.
+ *
+ * Cada produto recebe uma versão própria no feed de alterações: com o contador de versões travado, o bloco lê os
+ * ids que o UPDATE vai alterar, reserva exatamente uma versão para cada um e as atribui em ordem de id num
+ * {@code CASE}. Ao fim, um único {@link CatalogPriceChangeEvent} cobre tudo o que foi gravado.
+ *
+ * Os blocos já gravados permanecem se um bloco posterior falhar, como na importação em lote.
+ */
+@Service
+public class BulkPriceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkPriceService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersionService versionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public BulkPriceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            CatalogVersionService versionService, ApplicationEventPublisher eventPublisher,
+                            @Value("${product.pricing.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.versionService = versionService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @throws ResponseStatusException 400 se a combinação de campos for inválida.
+     */
+    public BulkPriceUpdateResultDTO apply(BulkPriceUpdateDTO request) {
+        Progress progress = new Progress();
+        try {
+            if (request.getPrices() != null) {
+                applyPriceList(request, progress);
+            } else {
+                Adjustment adjustment = adjustment(request);
+                if (request.getCategoryId() != null) {
+                    applyToCategory(request.getCategoryId(), adjustment, progress);
+                } else {
+                    applyToIds(request.getProductIds(), adjustment, progress);
+                }
+            }
+        } finally {
+            // Também depois de uma falha: os blocos gravados já estão no banco e os caches precisam vê-los
+            if (progress.updated > 0) {
+                eventPublisher.publishEvent(new CatalogPriceChangeEvent(progress.firstVersion - 1, progress.lastVersion,
+                        progress.updated, request.getPrices() == null ? request.getCategoryId() : null));
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - progress.start) / 1_000_000;
+        long rowsPerSecond = progress.updated * 1000 / Math.max(1, elapsedMillis);
+        logger.info("Reajuste em lote: {} produtos em {} blocos, {} ignorados, {} ms ({} linhas/s)",
+                progress.updated, progress.chunks, progress.skipped, elapsedMillis, rowsPerSecond);
+        return new BulkPriceUpdateResultDTO(progress.updated, progress.skipped, progress.chunks, elapsedMillis, rowsPerSecond);
+    }
+
+    private void applyToCategory(long categoryId, Adjustment adjustment, Progress progress) {
+        String where = "category_id = ? and id > ? and id <= ? and price is not null" + adjustment.guard();
+        long after = 0;
+        while (true) {
+            // Próxima faixa de ids com até chunkSize produtos da categoria
+            Map<String, Object> range = jdbcTemplate.queryForMap(
+                    "select count(*) as matched, max(id) as last_id from (select id from product where category_id = ? and id > ?"
+                            + " order by id limit ?) chunk", categoryId, after, chunkSize);
+            long matched = ((Number) range.get("matched")).longValue();
+            if (matched == 0) {
+                return;
+            }
+            long last = ((Number) range.get("last_id")).longValue();
+            List<Object> whereParameters = new ArrayList<>(List.of(categoryId, after, last));
+            whereParameters.addAll(adjustment.guardParameters());
+            runChunk(adjustment.expression(), adjustment.expressionParameters(), where, whereParameters, matched, progress);
+            after = last;
+        }
+    }
+
+    private void applyToIds(List<Long> productIds, Adjustment adjustment, Progress progress) {
+        List<Long> ids = new ArrayList<>(new HashSet<>(productIds));
+        Collections.sort(ids);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            String where = "id in (" + placeholders(chunk.size()) + ") and price is not null" + adjustment.guard();
+            List<Object> whereParameters = new ArrayList<>(chunk);
+            whereParameters.addAll(adjustment.guardParameters());
+            runChunk(adjustment.expression(), adjustment.expressionParameters(), where, whereParameters, chunk.size(), progress);
+        }
+    }
+
+    private void applyPriceList(BulkPriceUpdateDTO request, Progress progress) {
+        if (request.getCategoryId() != null || request.getProductIds() != null || request.getPercent() != null
+                || request.getAmount() != null) {
+            throw badRequest("Informe só prices, ou uma seleção (categoryId ou productIds) com percent ou amount");
+        }
+        TreeMap<Long, BigDecimal> prices = new TreeMap<>(); // Em ordem de id; o último preço de um id repetido vale
+        for (BulkPriceUpdateDTO.Item item : request.getPrices()) {
+            if (item.getId() == null || item.getPrice() == null || item.getPrice().signum() < 0) {
+                throw badRequest("Item inválido na lista de preços: id " + item.getId() + ", preço " + item.getPrice());
+            }
+            prices.put(item.getId(), item.getPrice());
+        }
+        List<Map.Entry<Long, BigDecimal>> entries = new ArrayList<>(prices.entrySet());
+        for (int from = 0; from < entries.size(); from += chunkSize) {
+            List<Map.Entry<Long, BigDecimal>> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+            // Um comando por bloco, com o preço de cada id num CASE
+            StringBuilder price = new StringBuilder("case id");
+            List<Object> cases = new ArrayList<>(chunk.size() * 2);
+            for (Map.Entry<Long, BigDecimal> entry : chunk) {
+                price.append(" when ? then ?");
+                cases.add(entry.getKey());
+                cases.add(entry.getValue());
+            }
+            price.append(" end");
+            List<Object> whereParameters = new ArrayList<>(chunk.stream().map(Map.Entry::getKey).toList());
+            runChunk(price.toString(), cases, "id in (" + placeholders(chunk.size()) + ")", whereParameters,
+                    chunk.size(), progress);
+        }
+    }
+
+    /**
+     * Executa o UPDATE do bloco: {@code price} com os seus parâmetros é o novo preço, {@code where} seleciona os
+     * produtos. Cada produto alterado recebe a sua versão, sem lacunas.
+     */
+    private void runChunk(String price, List<Object> priceParameters, String where, List<Object> whereParameters,
+                          long matched, Progress progress) {
+        int updated = transactionTemplate.execute(status -> {
+            // Contador travado antes de ler os ids, como numa gravação pelo JPA: nenhuma outra gravação do catálogo
+            // altera estes produtos até o commit, então os ids lidos são exatamente os que o UPDATE altera
+            versionService.lock();
+            List<Long> ids = jdbcTemplate.queryForList("select id from product where " + where + " order by id",
+                    Long.class, whereParameters.toArray());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            long lastVersion = versionService.allocate(ids.size());
+            long version = lastVersion - ids.size() + 1;
+            if (progress.firstVersion == 0) {
+                progress.firstVersion = version;
+            }
+            progress.lastVersion = lastVersion;
+            StringBuilder update = new StringBuilder("update product set price = ").append(price)
+                    .append(", change_version = case id");
+            List<Object> bound = new ArrayList<>(priceParameters);
+            for (Long id : ids) {
+                update.append(" when ? then ?");
+                bound.add(id);
+                bound.add(version++);
+            }
+            update.append(" end where id in (").append(placeholders(ids.size())).append(')');
+            bound.addAll(ids);
+            return jdbcTemplate.update(update.toString(), bound.toArray());
+        });
+        progress.chunks++;
+        progress.updated += updated;
+        progress.skipped += matched - updated;
+    }
+
+    private static Adjustment adjustment(BulkPriceUpdateDTO request) {
+        boolean byCategory = request.getCategoryId() != null;
+        boolean byIds = request.getProductIds() != null && !request.getProductIds().isEmpty();
+        if (byCategory == byIds) {
+            throw badRequest("Informe categoryId ou productIds (um dos dois), ou a lista prices");
+        }
+        if ((request.getPercent() == null) == (request.getAmount() == null)) {
+            throw badRequest("Informe percent ou amount (um dos dois)");
+        }
+        if (request.getPercent() != null) {
+            if (request.getPercent().compareTo(BigDecimal.valueOf(-100)) <= 0) {
+                throw badRequest("percent deve ser maior que -100");
+            }
+            BigDecimal factor = BigDecimal.ONE.add(request.getPercent().movePointLeft(2), MathContext.DECIMAL64);
+            return new Adjustment("round(price * ?, 2)", List.of(factor), "", List.of());
+        }
+        // Preço que ficaria negativo não é alterado (conta como ignorado)
+        return new Adjustment("price + ?", List.of(request.getAmount()), " and price + ? >= 0", List.of(request.getAmount()));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+
+    /**
+     * Expressão do novo preço e filtro extra do WHERE, cada um com os seus parâmetros.
+     */
+    private record Adjustment(String expression, List<Object> expressionParameters, String guard,
+                              List<Object> guardParameters) {
+    }
+
+    private static final class Progress {
+        final long start = System.nanoTime();
+        long updated;
+        long skipped;
+        int chunks;
+        long firstVersion;
+        long lastVersion;
+    }
+}
@@ -0,0 +1,10 @@
+package com.mercadotech.productservice.pricing;
+
+/**
+ * Publicado uma única vez ao fim de um reajuste em lote, no lugar de um evento por produto: caches locais
+ * invalidam/recarregam de uma vez os produtos com versão em {@code (sinceVersion, untilVersion]}.
+ *
+ * @param categoryId Categoria reajustada, ou null para reajuste por lista de produtos.
+ */
+public record CatalogPriceChangeEvent(long sinceVersion, long untilVersion, long products, Long categoryId) {
+}
@@ -0,0 +1,12 @@
+package com.mercadotech.productservice.repository;
+
+import com.mercadotech.productservice.model.CatalogTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CatalogTombstoneRepository extends JpaRepository<CatalogTombstone, Long> {
+
+    List<CatalogTombstone> findByVersionBetweenOrderByVersion(long from, long to, Limit limit);
+}
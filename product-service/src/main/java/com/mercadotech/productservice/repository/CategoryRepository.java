@@ -1,7 +1,12 @@
 package com.mercadotech.productservice.repository;
 
 import com.mercadotech.productservice.model.Category;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    List<Category> findByChangeVersionBetweenOrderByChangeVersion(long from, long to, Limit limit);
 }
@@ -1,7 +1,105 @@
 package com.mercadotech.productservice.repository;
 
+import com.mercadotech.productservice.dto.ProductBarcodeDTO;
+import com.mercadotech.productservice.dto.ProductChangeDTO;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
 import com.mercadotech.productservice.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // Projeção direto no DTO: um único select com joins, sem carregar entidades Category/Unit
+    String DTO_QUERY = """
+            select new com.mercadotech.productservice.dto.ProductResponseDTO(p.id, p.name, p.price, c.name, u.abbreviation)
+            from Product p left join p.category c left join p.unit u
+            where p.id > :after
+              and (:categoryId is null or c.id = :categoryId)
+              and (:minPrice is null or p.price >= :minPrice)
+              and (:maxPrice is null or p.price <= :maxPrice)
+            order by p.id
+            """;
+
+    /**
+     * Página por keyset: produtos com id maior que {@code after}, em ordem de id. O custo não cresce com a
+     * profundidade da página (não há OFFSET), e inserções concorrentes não deslocam itens entre páginas.
+     */
+    @Query(DTO_QUERY)
+    List<ProductResponseDTO> findPage(@Param("after") long after,
+                                      @Param("categoryId") Long categoryId,
+                                      @Param("minPrice") BigDecimal minPrice,
+                                      @Param("maxPrice") BigDecimal maxPrice,
+                                      Limit limit);
+
+    /**
+     * Mesma consulta como stream com cursor do banco, para exportar o catálogo inteiro sem carregá-lo em memória.
+     * Deve ser consumida dentro de uma transação.
+     */
+    @Query(DTO_QUERY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProductResponseDTO> streamAll(@Param("after") long after,
+                                         @Param("categoryId") Long categoryId,
+                                         @Param("minPrice") BigDecimal minPrice,
+                                         @Param("maxPrice") BigDecimal maxPrice);
+
+    /**
+     * Produtos com versão no intervalo {@code (since, until]}, já com nomes, para recarregar caches depois de uma
+     * alteração em lote. Deve ser consumida dentro de uma transação.
+     */
+    @Query("""
+            select new com.mercadotech.productservice.dto.ProductResponseDTO(p.id, p.name, p.price, c.name, u.abbreviation)
+            from Product p left join p.category c left join p.unit u
+            where p.changeVersion > :since and p.changeVersion <= :until
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProductResponseDTO> streamChanged(@Param("since") long since, @Param("until") long until);
+
+    /**
+     * Todos os códigos de barras, para a carga do índice em memória. Deve ser consumida dentro de uma transação.
+     */
+    @Query("select new com.mercadotech.productservice.dto.ProductBarcodeDTO(p.id, b) from Product p join p.barcodes b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProductBarcodeDTO> streamBarcodes();
+
+    /**
+     * Produtos com versão no intervalo {@code (since, until]}, em ordem de versão, para o feed de alterações.
+     */
+    @Query("""
+            select new com.mercadotech.productservice.dto.ProductChangeDTO(p.id, p.name, p.price, c.id, u.id, p.changeVersion)
+            from Product p left join p.category c left join p.unit u
+            where p.changeVersion > :since and p.changeVersion <= :until
+            order by p.changeVersion
+            """)
+    List<ProductChangeDTO> findChanged(@Param("since") long since, @Param("until") long until, Limit limit);
+
+    /**
+     * Catálogo inteiro em ordem de id, no formato do feed, para o snapshot. Deve ser consumida dentro de uma transação.
+     */
+    @Query("""
+            select new com.mercadotech.productservice.dto.ProductChangeDTO(p.id, p.name, p.price, c.id, u.id, p.changeVersion)
+            from Product p left join p.category c left join p.unit u
+            order by p.id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProductChangeDTO> streamChangesById();
+
+    /**
+     * Códigos de barras em ordem de produto, para juntar com {@link #streamChangesById()} sem consulta por produto.
+     */
+    @Query("select new com.mercadotech.productservice.dto.ProductBarcodeDTO(p.id, b) from Product p join p.barcodes b order by p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProductBarcodeDTO> streamBarcodesByProduct();
+
+    @Query("select new com.mercadotech.productservice.dto.ProductBarcodeDTO(p.id, b) from Product p join p.barcodes b where p.id in :ids")
+    List<ProductBarcodeDTO> findBarcodes(@Param("ids") Collection<Long> ids);
 }
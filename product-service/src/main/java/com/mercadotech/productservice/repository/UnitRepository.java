@@ -1,7 +1,12 @@
 package com.mercadotech.productservice.repository;
 
 import com.mercadotech.productservice.model.Unit;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface UnitRepository extends JpaRepository<Unit, Long> {
+
+    List<Unit> findByChangeVersionBetweenOrderByChangeVersion(long from, long to, Limit limit);
 }
@@ -0,0 +1,382 @@
+package com.mercadotech.productservice.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de autocomplete por nome de produto, em memória.
+ *
+ * Cada nome é normalizado (minúsculas, sem acentos: "Feijão" → "feijao") e quebrado em palavras; cada prefixo de
+ * cada palavra (até {@link #MAX_PREFIX_LENGTH} caracteres) aponta para a lista dos documentos que o contêm
+ * (edge n-gram). Uma busca é uma consulta de hash por termo seguida da interseção das listas.
+ *
+ * No rebuild os documentos são numerados na ordem do ranking estático (nomes mais curtos primeiro, depois
+ * alfabética), então as listas, ordenadas por número de documento, já trazem os melhores candidatos primeiro. Os
+ * acertos em que a primeira palavra do nome casa a primeira da consulta (que vêm antes no resultado) são guardados à
+ * parte, e a interseção só para quando há {@link #MAX_CANDIDATES} deles; dos demais guarda-se no máximo o mesmo
+ * tanto. Produtos incluídos depois ganham números novos e entram no fim das listas até a próxima compactação.
+ *
+ * Leituras não usam lock: as listas só recebem appends (publicados pelo tamanho volátil) e remoções apenas esvaziam
+ * o slot do documento. Escritas são serializadas; quando os slots mortos passam dos vivos o índice é reconstruído
+ * em memória e trocado de uma vez.
+ */
+public class ProductSearchIndex {
+
+    static final int MAX_PREFIX_LENGTH = 12;
+    private static final int MAX_CANDIDATES = 200;
+    private static final int MIN_DEAD_FOR_COMPACTION = 1024;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Listas e documentos trocados juntos: um leitor nunca combina listas de um rebuild com documentos de outro
+    private volatile State state = new State(new ConcurrentHashMap<>(), new Doc[1024]);
+    private final Map<Long, Integer> docIdsByProduct = new HashMap<>(); // Só acessado pelo escritor
+    private int nextDocId;
+    private int liveDocs;
+    private long postingEntries;
+
+    /**
+     * Substitui o conteúdo do índice de uma vez (carga inicial). Muito mais rápido que {@link #upsert} em sequência:
+     * cada lista é montada num array do tamanho exato.
+     */
+    public synchronized void rebuild(List<Entry> products) {
+        List<Doc> sorted = new ArrayList<>(products.size());
+        for (Entry product : products) {
+            if (product.name() != null && !product.name().isBlank()) {
+                sorted.add(new Doc(product.productId(), product.name(), tokenize(product.name())));
+            }
+        }
+        sorted.sort(ProductSearchIndex::compareRank);
+        load(sorted);
+    }
+
+    /**
+     * Inclui ou atualiza um produto. Mesmo nome já indexado não muda nada (o feed de alterações reaplica gravações
+     * desta instância).
+     */
+    public synchronized void upsert(long productId, String name) {
+        Integer existing = docIdsByProduct.get(productId);
+        if (existing != null && state.docs()[existing].name().equals(name)) {
+            return;
+        }
+        remove(productId);
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        int docId = nextDocId++;
+        State current = state;
+        if (docId == current.docs().length) {
+            current = new State(current.postings(), Arrays.copyOf(current.docs(), current.docs().length * 2));
+            state = current;
+        }
+        Doc doc = new Doc(productId, name, tokenize(name));
+        current.docs()[docId] = doc; // Publicado aos leitores pela escrita volátil do tamanho da lista
+        for (String prefix : prefixes(doc.tokens())) {
+            current.postings().computeIfAbsent(prefix, key -> new Postings(new int[4], 0)).append(docId);
+            postingEntries++;
+        }
+        docIdsByProduct.put(productId, docId);
+        liveDocs++;
+    }
+
+    public synchronized void remove(long productId) {
+        Integer docId = docIdsByProduct.remove(productId);
+        if (docId == null) {
+            return;
+        }
+        state.docs()[docId] = null; // Leitores ignoram o slot; as listas são limpas na compactação
+        liveDocs--;
+        int dead = nextDocId - liveDocs;
+        if (dead >= MIN_DEAD_FOR_COMPACTION && dead > liveDocs) {
+            compact();
+        }
+    }
+
+    /**
+     * Busca por prefixo: cada palavra da consulta deve ser prefixo de alguma palavra do nome, em qualquer ordem.
+     * Resultados com a primeira palavra do nome casando a primeira da consulta vêm antes; depois nomes mais curtos.
+     */
+    public List<Suggestion> search(String query, int limit) {
+        String[] terms = tokenize(query == null ? "" : query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        State current = state;
+        int[][] lists = new int[terms.length][];
+        int[] sizes = new int[terms.length];
+        boolean verify = false;
+        for (int i = 0; i < terms.length; i++) {
+            String term = terms[i];
+            if (term.length() > MAX_PREFIX_LENGTH) {
+                term = term.substring(0, MAX_PREFIX_LENGTH);
+                verify = true; // O índice só garante os primeiros caracteres
+            }
+            Postings postings = current.postings().get(term);
+            if (postings == null) {
+                return List.of();
+            }
+            sizes[i] = postings.size; // Tamanho antes do array: tudo até ele já está escrito
+            lists[i] = postings.ids;
+            if (sizes[i] == 0) {
+                return List.of();
+            }
+        }
+        sortBySize(lists, sizes);
+
+        Doc[] docs = current.docs();
+        String first = terms[0];
+        List<Doc> firstTokenMatches = new ArrayList<>();
+        List<Doc> otherMatches = new ArrayList<>();
+        int[] positions = new int[lists.length];
+        int candidate = lists[0][0];
+        // Interseção leapfrog: cada lista salta (busca galopante) até o candidato; quem passar dele propõe o próximo
+        intersect:
+        while (true) {
+            boolean matched = true;
+            for (int i = 0; i < lists.length; i++) {
+                positions[i] = advance(lists[i], positions[i], sizes[i], candidate);
+                if (positions[i] == sizes[i]) {
+                    break intersect;
+                }
+                int found = lists[i][positions[i]];
+                if (found != candidate) {
+                    candidate = found;
+                    matched = false;
+                    break;
+                }
+            }
+            if (matched) {
+                // docId além do array: documento incluído depois que este leitor obteve o estado (array cresceu)
+                Doc doc = candidate < docs.length ? docs[candidate] : null;
+                if (doc != null && (!verify || matchesAll(doc.tokens(), terms))) {
+                    if (doc.tokens()[0].startsWith(first)) {
+                        firstTokenMatches.add(doc);
+                        if (firstTokenMatches.size() == MAX_CANDIDATES) {
+                            break; // Os demais viriam depois destes
+                        }
+                    } else if (otherMatches.size() < MAX_CANDIDATES) {
+                        otherMatches.add(doc);
+                    }
+                }
+                if (++positions[0] == sizes[0]) {
+                    break;
+                }
+                candidate = lists[0][positions[0]];
+            }
+        }
+
+        firstTokenMatches.sort(ProductSearchIndex::compareRank);
+        otherMatches.sort(ProductSearchIndex::compareRank);
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, firstTokenMatches.size() + otherMatches.size()));
+        for (List<Doc> matches : List.of(firstTokenMatches, otherMatches)) {
+            for (int i = 0; i < matches.size() && result.size() < limit; i++) {
+                result.add(new Suggestion(matches.get(i).productId(), matches.get(i).name()));
+            }
+        }
+        return result;
+    }
+
+    public synchronized Stats stats() {
+        State current = state;
+        long bytes = 0;
+        for (Map.Entry<String, Postings> entry : current.postings().entrySet()) {
+            bytes += 40 + 24 + entry.getKey().length() // Nó do mapa + String (Latin-1 compacta)
+                    + 24 + 16 + 4L * entry.getValue().ids.length; // Postings + int[]
+        }
+        for (int i = 0; i < nextDocId; i++) {
+            Doc doc = current.docs()[i];
+            if (doc != null) {
+                bytes += 32 + 40 + doc.name().length() * 2L + 16 + 8L * doc.tokens().length;
+                for (String token : doc.tokens()) {
+                    bytes += 40 + token.length();
+                }
+            }
+        }
+        bytes += 16 + 8L * current.docs().length;
+        return new Stats(liveDocs, current.postings().size(), postingEntries, bytes);
+    }
+
+    private void compact() {
+        List<Doc> live = new ArrayList<>(liveDocs);
+        Doc[] docs = state.docs();
+        for (int i = 0; i < nextDocId; i++) {
+            if (docs[i] != null) {
+                live.add(docs[i]);
+            }
+        }
+        live.sort(ProductSearchIndex::compareRank);
+        load(live);
+    }
+
+    private void load(List<Doc> sorted) {
+        Doc[] built = new Doc[Math.max(1024, sorted.size() * 5 / 4)];
+        Map<String, IntList> lists = new HashMap<>();
+        Map<Long, Integer> ids = new HashMap<>();
+        long entries = 0;
+        for (int docId = 0; docId < sorted.size(); docId++) {
+            Doc doc = sorted.get(docId);
+            built[docId] = doc;
+            ids.put(doc.productId(), docId);
+            for (String prefix : prefixes(doc.tokens())) {
+                lists.computeIfAbsent(prefix, key -> new IntList()).add(docId);
+                entries++;
+            }
+        }
+
+        Map<String, Postings> postings = new ConcurrentHashMap<>(lists.size() * 4 / 3 + 1);
+        lists.forEach((prefix, list) -> postings.put(prefix, new Postings(list.toArray(), list.size)));
+        state = new State(postings, built);
+        docIdsByProduct.clear();
+        docIdsByProduct.putAll(ids);
+        nextDocId = sorted.size();
+        liveDocs = sorted.size();
+        postingEntries = entries;
+    }
+
+    /**
+     * Normaliza um texto para busca: minúsculas, sem acentos, quebrado em palavras.
+     */
+    static String[] tokenize(String text) {
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded)).filter(token -> !token.isEmpty()).toArray(String[]::new);
+    }
+
+    private static List<String> prefixes(String[] tokens) {
+        List<String> prefixes = new ArrayList<>();
+        for (String token : tokens) {
+            for (int length = 1; length <= Math.min(token.length(), MAX_PREFIX_LENGTH); length++) {
+                String prefix = token.substring(0, length);
+                if (!prefixes.contains(prefix)) { // Mesmo prefixo em duas palavras do nome conta uma vez
+                    prefixes.add(prefix);
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    private static boolean matchesAll(String[] tokens, String[] terms) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compareRank(Doc a, Doc b) {
+        int byLength = Integer.compare(a.name().length(), b.name().length());
+        return byLength != 0 ? byLength : a.name().compareToIgnoreCase(b.name());
+    }
+
+    /**
+     * Primeira posição a partir de {@code from} com valor >= {@code target}: saltos dobrando e busca binária no último.
+     */
+    private static int advance(int[] list, int from, int size, int target) {
+        if (from >= size || list[from] >= target) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + 1;
+        while (high < size && list[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, size);
+        while (low + 1 < high) { // list[low] < target; list[high] >= target (ou fim)
+            int mid = (low + high) >>> 1;
+            if (list[mid] < target) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    private static void sortBySize(int[][] lists, int[] sizes) {
+        for (int i = 1; i < lists.length; i++) { // Poucos termos: inserção basta
+            for (int j = i; j > 0 && sizes[j] < sizes[j - 1]; j--) {
+                int[] list = lists[j];
+                lists[j] = lists[j - 1];
+                lists[j - 1] = list;
+                int size = sizes[j];
+                sizes[j] = sizes[j - 1];
+                sizes[j - 1] = size;
+            }
+        }
+    }
+
+    private record State(Map<String, Postings> postings, Doc[] docs) {
+    }
+
+    private record Doc(long productId, String name, String[] tokens) {
+    }
+
+    public record Entry(long productId, String name) {
+    }
+
+    public record Suggestion(long id, String name) {
+    }
+
+    public record Stats(int documents, int prefixes, long postingEntries, long estimatedBytes) {
+    }
+
+    /**
+     * Lista de documentos só com appends, em ordem crescente. O escritor grava o valor (e troca o array, se cresceu)
+     * antes de publicar o novo tamanho; o leitor lê o tamanho antes do array.
+     */
+    private static final class Postings {
+        private volatile int[] ids;
+        private volatile int size;
+
+        Postings(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        void append(int docId) {
+            int[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                current[size] = docId;
+                ids = current;
+            } else {
+                current[size] = docId;
+            }
+            size = size + 1;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mercadotech.productservice.search;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tamanho e uso de memória do índice de busca: {@code GET /actuator/searchindex}.
+ */
+@Component
+@Endpoint(id = "searchindex")
+public class ProductSearchIndexEndpoint {
+
+    private final ProductSearchService searchService;
+
+    public ProductSearchIndexEndpoint(ProductSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        ProductSearchIndex.Stats stats = searchService.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("documents", stats.documents());
+        result.put("prefixes", stats.prefixes());
+        result.put("postingEntries", stats.postingEntries());
+        result.put("estimatedBytes", stats.estimatedBytes());
+        result.put("lastBuildMillis", searchService.getLastBuildMillis());
+        return result;
+    }
+}
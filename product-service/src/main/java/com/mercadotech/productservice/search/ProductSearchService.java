@@ -0,0 +1,156 @@
+package com.mercadotech.productservice.search;
+
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.service.CatalogChangesEvent;
+import com.mercadotech.productservice.service.ProductCatalogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantém o {@link ProductSearchIndex} em sincronia com o banco: carga completa na subida, atualização
+ * incremental a cada create/update/delete do {@code ProductController} e pelo feed de alterações
+ * ({@link CatalogChangesEvent}) para o que outras instâncias gravaram.
+ *
+ * A carga completa lê o banco sem travar as gravações, que seguem indo para o índice atual. Elas também ficam
+ * registradas até a troca e são aplicadas sobre o que foi lido antes de montar o índice novo: uma alteração feita
+ * durante a leitura não se perde nem volta ao estado antigo quando o índice é trocado.
+ */
+@Service
+public class ProductSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private final ProductCatalogService catalogService;
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private List<PendingChange> pending; // Não nulo durante uma carga completa; guardado por writeLock
+    private volatile long lastBuildMillis;
+
+    public ProductSearchService(ProductCatalogService catalogService) {
+        this.catalogService = catalogService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (writeLock) {
+                pending = new ArrayList<>();
+            }
+            List<ProductSearchIndex.Entry> entries = new ArrayList<>();
+            try {
+                catalogService.export(null, null, null, product -> entries.add(new ProductSearchIndex.Entry(product.getId(), product.getName())));
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    pending = null; // Fica o índice atual, que recebeu todas as gravações
+                }
+                throw e;
+            }
+            int replayed;
+            synchronized (writeLock) {
+                replayed = pending.size();
+                index.rebuild(replayed == 0 ? entries : merge(entries, pending));
+                pending = null;
+            }
+            lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+            if (replayed > 0) {
+                logger.debug("{} alterações feitas durante a carga reaplicadas no índice novo", replayed);
+            }
+        }
+        ProductSearchIndex.Stats stats = index.stats();
+        logger.info("Índice de busca construído em {} ms: {} produtos, {} prefixos, ~{} KB",
+                lastBuildMillis, stats.documents(), stats.prefixes(), stats.estimatedBytes() / 1024);
+    }
+
+    public List<ProductSearchIndex.Suggestion> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    public void onSaved(Product product) {
+        onSaved(product.getId(), product.getName());
+    }
+
+    public void onSaved(long productId, String name) {
+        apply(new PendingChange(productId, name));
+    }
+
+    public void onDeleted(Long productId) {
+        apply(new PendingChange(productId, null));
+    }
+
+    @EventListener
+    public void onCatalogChanges(CatalogChangesEvent event) {
+        for (CatalogChangeDTO change : event.changes()) {
+            if (change.getType() == CatalogEntityType.PRODUCT) {
+                if (change.isDeleted()) {
+                    onDeleted(change.getId());
+                } else {
+                    onSaved(change.getId(), change.getProduct().getName());
+                }
+            }
+        }
+    }
+
+    public ProductSearchIndex.Stats stats() {
+        return index.stats();
+    }
+
+    public long getLastBuildMillis() {
+        return lastBuildMillis;
+    }
+
+    /**
+     * Aplica as alterações sobre o que foi lido do banco antes da troca, para que a busca nunca veja o índice novo
+     * sem elas.
+     */
+    private static List<ProductSearchIndex.Entry> merge(List<ProductSearchIndex.Entry> entries, List<PendingChange> changes) {
+        Map<Long, String> names = new LinkedHashMap<>(entries.size() * 4 / 3 + 1);
+        for (ProductSearchIndex.Entry entry : entries) {
+            names.put(entry.productId(), entry.name());
+        }
+        for (PendingChange change : changes) {
+            if (change.name() == null) {
+                names.remove(change.productId());
+            } else {
+                names.put(change.productId(), change.name());
+            }
+        }
+        List<ProductSearchIndex.Entry> merged = new ArrayList<>(names.size());
+        names.forEach((productId, name) -> merged.add(new ProductSearchIndex.Entry(productId, name)));
+        return merged;
+    }
+
+    private void apply(PendingChange change) {
+        synchronized (writeLock) {
+            change.applyTo(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    /**
+     * Inclusão/alteração, ou exclusão quando {@code name} é null.
+     */
+    private record PendingChange(long productId, String name) {
+
+        void applyTo(ProductSearchIndex index) {
+            if (name == null) {
+                index.remove(productId);
+            } else {
+                index.upsert(productId, name);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+import com.mercadotech.productservice.dto.CatalogChangesDTO;
+import com.mercadotech.productservice.dto.ProductBarcodeDTO;
+import com.mercadotech.productservice.dto.ProductChangeDTO;
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.model.CatalogTombstone;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Unit;
+import com.mercadotech.productservice.repository.CatalogTombstoneRepository;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feed de alterações do catálogo para réplicas locais (estoque, PDVs): inclusões, atualizações e exclusões de
+ * produtos, categorias e unidades depois de uma versão, em ordem de versão.
+ *
+ * Cada registro aparece com o estado atual e a versão da última alteração; alterações intermediárias do mesmo
+ * registro não são repetidas. Aplicar as alterações em ordem é idempotente.
+ */
+@Service
+public class CatalogChangeFeedService {
+
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 5000;
+
+    private final CatalogVersionService versionService;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final UnitRepository unitRepository;
+    private final CatalogTombstoneRepository tombstoneRepository;
+
+    public CatalogChangeFeedService(CatalogVersionService versionService, ProductRepository productRepository,
+                                    CategoryRepository categoryRepository, UnitRepository unitRepository,
+                                    CatalogTombstoneRepository tombstoneRepository) {
+        this.versionService = versionService;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.unitRepository = unitRepository;
+        this.tombstoneRepository = tombstoneRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CatalogChangesDTO changesSince(long since, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Teto lido antes das consultas: tudo até ele já está confirmado, então as quatro consultas enxergam o
+        // mesmo conjunto mesmo que outra gravação seja confirmada entre elas
+        long until = versionService.current();
+        if (until <= since) {
+            return new CatalogChangesDTO(List.of(), since, false);
+        }
+        // Cada fonte traz até pageSize + 1; juntas e ordenadas, as primeiras pageSize são exatas
+        Limit limit = Limit.of(pageSize + 1);
+        List<CatalogChangeDTO> changes = new ArrayList<>();
+
+        List<ProductChangeDTO> products = productRepository.findChanged(since, until, limit);
+        if (!products.isEmpty()) {
+            Map<Long, ProductChangeDTO> byId = new HashMap<>();
+            for (ProductChangeDTO product : products) {
+                product.setBarcodes(new ArrayList<>());
+                byId.put(product.getId(), product);
+                changes.add(new CatalogChangeDTO(product.getChangeVersion(), CatalogEntityType.PRODUCT, product.getId(),
+                        false, product, null, null));
+            }
+            for (ProductBarcodeDTO barcode : productRepository.findBarcodes(byId.keySet())) {
+                byId.get(barcode.getProductId()).getBarcodes().add(barcode.getBarcode());
+            }
+        }
+        for (Category category : categoryRepository.findByChangeVersionBetweenOrderByChangeVersion(since + 1, until, limit)) {
+            changes.add(new CatalogChangeDTO(category.getChangeVersion(), CatalogEntityType.CATEGORY, category.getId(),
+                    false, null, category, null));
+        }
+        for (Unit unit : unitRepository.findByChangeVersionBetweenOrderByChangeVersion(since + 1, until, limit)) {
+            changes.add(new CatalogChangeDTO(unit.getChangeVersion(), CatalogEntityType.UNIT, unit.getId(),
+                    false, null, null, unit));
+        }
+        for (CatalogTombstone tombstone : tombstoneRepository.findByVersionBetweenOrderByVersion(since + 1, until, limit)) {
+            changes.add(new CatalogChangeDTO(tombstone.getVersion(), tombstone.getEntityType(), tombstone.getEntityId(),
+                    true, null, null, null));
+        }
+
+        changes.sort(Comparator.comparingLong(CatalogChangeDTO::getVersion));
+        if (changes.size() > pageSize) {
+            List<CatalogChangeDTO> page = new ArrayList<>(changes.subList(0, pageSize));
+            return new CatalogChangesDTO(page, page.get(pageSize - 1).getVersion(), true);
+        }
+        return new CatalogChangesDTO(changes, until, false); // Em dia até o teto, inclusive versões sem registro atual
+    }
+}
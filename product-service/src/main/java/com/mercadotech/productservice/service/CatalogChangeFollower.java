@@ -0,0 +1,66 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.dto.CatalogChangesDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acompanha o feed de alterações do catálogo no banco e publica cada página como {@link CatalogChangesEvent}, para
+ * os caches em memória desta instância (códigos de barras, busca, categorias e unidades) enxergarem também o que
+ * outras instâncias e a importação via JDBC gravaram. Sem alteração nova, cada verificação é uma leitura de
+ * {@code catalog_version}.
+ */
+@Component
+public class CatalogChangeFollower {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogChangeFollower.class);
+
+    private final CatalogVersionService versionService;
+    private final CatalogChangeFeedService feedService;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile long since = -1; // -1: ainda não começou
+
+    public CatalogChangeFollower(CatalogVersionService versionService, CatalogChangeFeedService feedService,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.versionService = versionService;
+        this.feedService = feedService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Marca a versão atual antes das cargas completas dos caches (mesmo evento): o que for gravado durante elas chega
+     * pelo feed, no máximo repetido.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        since = versionService.current();
+    }
+
+    @Scheduled(fixedDelayString = "${product.change-feed.poll-interval:2000}",
+            initialDelayString = "${product.change-feed.poll-interval:2000}")
+    public void poll() {
+        if (since < 0) {
+            return;
+        }
+        try {
+            CatalogChangesDTO page;
+            do {
+                page = feedService.changesSince(since, CatalogChangeFeedService.MAX_PAGE_SIZE);
+                if (!page.getChanges().isEmpty()) {
+                    eventPublisher.publishEvent(new CatalogChangesEvent(page.getChanges()));
+                }
+                since = page.getNextSince();
+            } while (page.isHasMore());
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao ler o feed de alterações do catálogo desde a versão {}: {}", since, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.model.CatalogVersioned;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carimba a versão do catálogo em toda inclusão/atualização de produto, categoria e unidade feita pelo JPA, e
+ * registra a exclusão como tombstone, na mesma transação da gravação.
+ */
+@Component
+public class CatalogChangeListener {
+
+    // Resolvido na primeira gravação: o EntityManagerFactory cria este listener antes dos serviços. ObjectProvider
+    // em vez de @Lazy, cujo proxy CGLIB colide com o proxy transacional pré-gerado no build AOT (perfil fast-startup)
+    private final ObjectProvider<CatalogVersionService> versionService;
+
+    public CatalogChangeListener(ObjectProvider<CatalogVersionService> versionService) {
+        this.versionService = versionService;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(CatalogVersioned entity) {
+        entity.setChangeVersion(versionService.getObject().allocate(1));
+    }
+
+    @PostRemove
+    public void tombstone(CatalogVersioned entity) {
+        versionService.getObject().tombstone(entity.catalogType(), entity.getId());
+    }
+}
@@ -0,0 +1,12 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+
+import java.util.List;
+
+/**
+ * Uma página do feed de alterações lida pelo {@link CatalogChangeFollower}, em ordem de versão. Inclui o que esta
+ * instância gravou: o feed traz o estado atual de cada registro, então reaplicar é inócuo.
+ */
+public record CatalogChangesEvent(List<CatalogChangeDTO> changes) {
+}
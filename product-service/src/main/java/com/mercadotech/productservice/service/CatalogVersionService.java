@@ -0,0 +1,89 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.model.CatalogVersion;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Atribui as versões do feed de alterações do catálogo.
+ *
+ * O incremento é um UPDATE na linha única de {@link CatalogVersion}, que fica travada até o fim da transação de quem
+ * gravou. Gravações do catálogo ficam serializadas, mas uma versão nunca aparece para leitura antes de uma menor
+ * ainda não confirmada, e o cliente que avança o {@code since} não perde alterações.
+ *
+ * A linha é criada na subida (antes de o servidor aceitar requisições), nunca na primeira gravação: duas primeiras
+ * gravações simultâneas disputariam o INSERT e uma delas abortaria a transação com violação de chave primária.
+ */
+@Service
+public class CatalogVersionService implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogVersionService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        seed();
+    }
+
+    /**
+     * Cria o contador com valor 0 se ainda não existir. Idempotente: outra instância subindo ao mesmo tempo pode criar
+     * a linha entre a checagem e o INSERT, e a violação de chave só confirma que ela existe.
+     */
+    public void seed() {
+        try {
+            jdbcTemplate.update("insert into catalog_version (id, current_value) select ?, 0 "
+                            + "where not exists (select 1 from catalog_version where id = ?)",
+                    CatalogVersion.SINGLETON_ID, CatalogVersion.SINGLETON_ID);
+        } catch (DuplicateKeyException e) {
+            // Criada por outra instância
+        }
+    }
+
+    /**
+     * Reserva {@code count} versões consecutivas.
+     *
+     * @return A maior delas; o intervalo é {@code [retorno - count + 1, retorno]}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long allocate(int count) {
+        int updated = jdbcTemplate.update("update catalog_version set current_value = current_value + ? where id = ?",
+                count, CatalogVersion.SINGLETON_ID);
+        if (updated == 0) {
+            throw new IllegalStateException("Contador de versões do catálogo não inicializado");
+        }
+        return jdbcTemplate.queryForObject("select current_value from catalog_version where id = ?", Long.class,
+                CatalogVersion.SINGLETON_ID);
+    }
+
+    /**
+     * Trava o contador até o fim da transação sem reservar versões, para quem precisa contar as linhas antes de
+     * chamar {@link #allocate}: mesma ordem de travas das gravações pelo JPA (contador, depois produtos).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock() {
+        allocate(0);
+    }
+
+    /**
+     * Versão mais recente já confirmada (0 se o catálogo nunca foi alterado).
+     */
+    public long current() {
+        Long value = jdbcTemplate.query("select current_value from catalog_version where id = ?",
+                resultSet -> resultSet.next() ? resultSet.getLong(1) : 0L, CatalogVersion.SINGLETON_ID);
+        return value == null ? 0 : value;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tombstone(CatalogEntityType type, long id) {
+        jdbcTemplate.update("insert into catalog_tombstone (version, entity_type, entity_id) values (?, ?, ?)",
+                allocate(1), type.name(), id);
+    }
+}
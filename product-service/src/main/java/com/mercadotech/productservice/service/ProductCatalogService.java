@@ -0,0 +1,85 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.dto.ProductBarcodeDTO;
+import com.mercadotech.productservice.dto.ProductPageDTO;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.repository.ProductRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de leitura do catálogo que devolvem {@link ProductResponseDTO} direto do banco.
+ */
+@Service
+public class ProductCatalogService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final ProductRepository repository;
+
+    public ProductCatalogService(ProductRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @param after Cursor: id do último produto da página anterior (null na primeira página).
+     * @param size Tamanho da página, limitado a {@link #MAX_PAGE_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public ProductPageDTO findPage(Long after, Integer size, Long categoryId, BigDecimal minPrice, BigDecimal maxPrice) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Busca um item a mais só para saber se existe próxima página
+        List<ProductResponseDTO> items = repository.findPage(after == null ? 0 : after, categoryId, minPrice, maxPrice,
+                Limit.of(pageSize + 1));
+        Long nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = items.get(pageSize - 1).getId();
+        }
+        return new ProductPageDTO(items, nextCursor);
+    }
+
+    /**
+     * Percorre todos os produtos que atendem aos filtros, em ordem de id, sem manter a lista em memória.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, Consumer<ProductResponseDTO> consumer) {
+        try (Stream<ProductResponseDTO> products = repository.streamAll(0, categoryId, minPrice, maxPrice)) {
+            products.forEach(consumer);
+        }
+    }
+
+    /**
+     * Percorre os produtos alterados no intervalo de versões {@code (since, until]}.
+     */
+    @Transactional(readOnly = true)
+    public void exportChanged(long since, long until, Consumer<ProductResponseDTO> consumer) {
+        try (Stream<ProductResponseDTO> products = repository.streamChanged(since, until)) {
+            products.forEach(consumer);
+        }
+    }
+
+    /**
+     * Um produto já com nomes de categoria e unidade, pela mesma consulta da listagem.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductResponseDTO> findDto(long id) {
+        List<ProductResponseDTO> items = repository.findPage(id - 1, null, null, null, Limit.of(1));
+        return items.isEmpty() || items.get(0).getId() != id ? Optional.empty() : Optional.of(items.get(0));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBarcodes(Consumer<ProductBarcodeDTO> consumer) {
+        try (Stream<ProductBarcodeDTO> barcodes = repository.streamBarcodes()) {
+            barcodes.forEach(consumer);
+        }
+    }
+}
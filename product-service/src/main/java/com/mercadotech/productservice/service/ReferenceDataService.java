@@ -0,0 +1,268 @@
+package com.mercadotech.productservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Unit;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Categorias e unidades em memória, num snapshot imutável: poucos registros, lidos a cada listagem e a cada
+ * gravação de produto, e quase nunca alterados.
+ *
+ * As leituras só seguem a referência volátil, sem lock. Inclusão e exclusão (depois de confirmadas no banco) montam
+ * um snapshot novo a partir do atual e o publicam de uma vez (copy-on-write), já com o JSON da listagem serializado.
+ * O que outras instâncias e a importação gravam chega pelo feed de alterações ({@link CatalogChangesEvent}); até lá,
+ * um id desconhecido numa gravação de produto é procurado no banco.
+ */
+@Service
+public class ReferenceDataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    private final CategoryRepository categoryRepository;
+    private final UnitRepository unitRepository;
+    private final ObjectMapper objectMapper;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataService(CategoryRepository categoryRepository, UnitRepository unitRepository,
+                                ObjectMapper objectMapper) {
+        this.categoryRepository = categoryRepository;
+        this.unitRepository = unitRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Carga completa do banco; também usada depois da importação em lote, que cria categorias e unidades via JDBC.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        synchronized (writeLock) {
+            Map<Long, CategoryEntry> categories = new HashMap<>();
+            for (Category category : categoryRepository.findAll()) {
+                categories.put(category.getId(), CategoryEntry.of(category));
+            }
+            Map<Long, UnitEntry> units = new HashMap<>();
+            for (Unit unit : unitRepository.findAll()) {
+                units.put(unit.getId(), UnitEntry.of(unit));
+            }
+            snapshot = new Snapshot(Map.copyOf(categories), serialize(categories), Map.copyOf(units), serialize(units));
+            logger.info("Dados de referência carregados: {} categorias, {} unidades", categories.size(), units.size());
+        }
+    }
+
+    public Optional<CategoryEntry> category(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(current().categories().get(id));
+    }
+
+    public Optional<UnitEntry> unit(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(current().units().get(id));
+    }
+
+    /**
+     * Corpo pronto de {@code GET /v1/categories}; não deve ser alterado.
+     */
+    public byte[] categoriesJson() {
+        return current().categoriesJson();
+    }
+
+    /**
+     * Corpo pronto de {@code GET /v1/units}; não deve ser alterado.
+     */
+    public byte[] unitsJson() {
+        return current().unitsJson();
+    }
+
+    /**
+     * Troca a categoria/unidade do corpo de uma gravação de produto (que pode trazer só o id) pela do snapshot.
+     *
+     * @throws ResponseStatusException 400 se o id não existir.
+     */
+    public Category resolveCategory(Category requested) {
+        if (requested == null) {
+            return null;
+        }
+        return category(requested.getId()).or(() -> loadCategory(requested.getId())).map(CategoryEntry::toEntity)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Categoria " + requested.getId() + " não encontrada"));
+    }
+
+    public Unit resolveUnit(Unit requested) {
+        if (requested == null) {
+            return null;
+        }
+        return unit(requested.getId()).or(() -> loadUnit(requested.getId())).map(UnitEntry::toEntity)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unidade " + requested.getId() + " não encontrada"));
+    }
+
+    public void onSaved(Category category) {
+        synchronized (writeLock) {
+            Snapshot current = current();
+            Map<Long, CategoryEntry> categories = new HashMap<>(current.categories());
+            categories.put(category.getId(), CategoryEntry.of(category));
+            snapshot = new Snapshot(Map.copyOf(categories), serialize(categories), current.units(), current.unitsJson());
+        }
+    }
+
+    public void onCategoryDeleted(Long id) {
+        synchronized (writeLock) {
+            Snapshot current = current();
+            Map<Long, CategoryEntry> categories = new HashMap<>(current.categories());
+            categories.remove(id);
+            snapshot = new Snapshot(Map.copyOf(categories), serialize(categories), current.units(), current.unitsJson());
+        }
+    }
+
+    public void onSaved(Unit unit) {
+        synchronized (writeLock) {
+            Snapshot current = current();
+            Map<Long, UnitEntry> units = new HashMap<>(current.units());
+            units.put(unit.getId(), UnitEntry.of(unit));
+            snapshot = new Snapshot(current.categories(), current.categoriesJson(), Map.copyOf(units), serialize(units));
+        }
+    }
+
+    public void onUnitDeleted(Long id) {
+        synchronized (writeLock) {
+            Snapshot current = current();
+            Map<Long, UnitEntry> units = new HashMap<>(current.units());
+            units.remove(id);
+            snapshot = new Snapshot(current.categories(), current.categoriesJson(), Map.copyOf(units), serialize(units));
+        }
+    }
+
+    /**
+     * Categorias e unidades do feed, num único snapshot novo por página. Roda antes dos demais ouvintes do evento,
+     * que leem daqui os nomes das categorias e unidades dos produtos.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogChanges(CatalogChangesEvent event) {
+        synchronized (writeLock) {
+            Snapshot current = current();
+            Map<Long, CategoryEntry> categories = null;
+            Map<Long, UnitEntry> units = null;
+            for (CatalogChangeDTO change : event.changes()) {
+                if (change.getType() == CatalogEntityType.CATEGORY) {
+                    categories = categories == null ? new HashMap<>(current.categories()) : categories;
+                    if (change.isDeleted()) {
+                        categories.remove(change.getId());
+                    } else {
+                        categories.put(change.getId(), CategoryEntry.of(change.getCategory()));
+                    }
+                } else if (change.getType() == CatalogEntityType.UNIT) {
+                    units = units == null ? new HashMap<>(current.units()) : units;
+                    if (change.isDeleted()) {
+                        units.remove(change.getId());
+                    } else {
+                        units.put(change.getId(), UnitEntry.of(change.getUnit()));
+                    }
+                }
+            }
+            if (categories != null || units != null) {
+                snapshot = new Snapshot(
+                        categories == null ? current.categories() : Map.copyOf(categories),
+                        categories == null ? current.categoriesJson() : serialize(categories),
+                        units == null ? current.units() : Map.copyOf(units),
+                        units == null ? current.unitsJson() : serialize(units));
+            }
+        }
+    }
+
+    // Criada em outra instância e ainda não vista no feed: lê do banco e já guarda no snapshot
+    private Optional<CategoryEntry> loadCategory(Long id) {
+        return id == null ? Optional.empty() : categoryRepository.findById(id).map(category -> {
+            onSaved(category);
+            return CategoryEntry.of(category);
+        });
+    }
+
+    private Optional<UnitEntry> loadUnit(Long id) {
+        return id == null ? Optional.empty() : unitRepository.findById(id).map(unit -> {
+            onSaved(unit);
+            return UnitEntry.of(unit);
+        });
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload(); // Uso antes do ApplicationReadyEvent (ou fora da aplicação web, como nos testes)
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * Lista em ordem de id, com as mesmas propriedades da entidade.
+     */
+    private byte[] serialize(Map<Long, ? extends Entry> entries) {
+        List<? extends Entry> sorted = entries.values().stream().sorted(Comparator.comparing(Entry::id)).toList();
+        try {
+            return objectMapper.writeValueAsBytes(sorted);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Snapshot(Map<Long, CategoryEntry> categories, byte[] categoriesJson,
+                            Map<Long, UnitEntry> units, byte[] unitsJson) {
+    }
+
+    private interface Entry {
+        Long id();
+    }
+
+    public record CategoryEntry(Long id, Long changeVersion, String name) implements Entry {
+        static CategoryEntry of(Category category) {
+            return new CategoryEntry(category.getId(), category.getChangeVersion(), category.getName());
+        }
+
+        /**
+         * Entidade desanexada com os dados do snapshot, para associar a um produto sem consultar o banco.
+         */
+        public Category toEntity() {
+            Category category = new Category();
+            category.setId(id);
+            category.setChangeVersion(changeVersion);
+            category.setName(name);
+            return category;
+        }
+    }
+
+    public record UnitEntry(Long id, Long changeVersion, String abbreviation, String description) implements Entry {
+        static UnitEntry of(Unit unit) {
+            return new UnitEntry(unit.getId(), unit.getChangeVersion(), unit.getAbbreviation(), unit.getDescription());
+        }
+
+        public Unit toEntity() {
+            Unit unit = new Unit();
+            unit.setId(id);
+            unit.setChangeVersion(changeVersion);
+            unit.setAbbreviation(abbreviation);
+            unit.setDescription(description);
+            return unit;
+        }
+    }
+}
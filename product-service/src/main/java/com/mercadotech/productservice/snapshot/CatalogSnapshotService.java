@@ -0,0 +1,324 @@
+package com.mercadotech.productservice.snapshot;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+import com.mercadotech.productservice.dto.CatalogSnapshotDTO;
+import com.mercadotech.productservice.dto.ProductBarcodeDTO;
+import com.mercadotech.productservice.dto.ProductChangeDTO;
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Unit;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gera o snapshot do catálogo inteiro num arquivo NDJSON compactado com gzip, para a carga inicial dos PDVs: um
+ * download de poucos MB no lugar de milhares de páginas da API.
+ *
+ * A primeira linha é o cabeçalho ({@link CatalogSnapshotDTO}); as demais têm o formato do feed de alterações
+ * ({@link CatalogChangeDTO}): categorias, unidades e produtos em ordem de id. Todo o arquivo é lido numa transação
+ * REPEATABLE READ, então corresponde exatamente à versão do cabeçalho, e o PDV continua pelo feed a partir dela.
+ *
+ * A geração roda no agendador, fora do caminho das requisições, só depois que as gravações assentam
+ * ({@code settle-delay} sem versão nova) ou, sob gravações contínuas, no máximo {@code max-delay} após a primeira
+ * alteração pendente. O arquivo é escrito num temporário e renomeado, e as versões anteriores mais recentes
+ * continuam no disco para downloads em andamento.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    static final String FILE_PREFIX = "catalog-";
+    static final String FILE_SUFFIX = ".ndjson.gz";
+
+    private final CatalogVersionService versionService;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final UnitRepository unitRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final ObjectWriter lineWriter;
+    private final ObjectReader headerReader;
+    private final Path directory;
+    private final long settleDelayMillis;
+    private final long maxDelayMillis;
+    private final int keep;
+
+    private volatile CatalogSnapshot latest;
+    // Acessados só pela thread do agendador
+    private long lastSeenVersion = -1;
+    private long lastChangeSeenAt;
+    private long pendingSince = -1;
+
+    public CatalogSnapshotService(CatalogVersionService versionService, ProductRepository productRepository,
+                                  CategoryRepository categoryRepository, UnitRepository unitRepository,
+                                  PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                  @Value("${product.snapshot.dir}") Path directory,
+                                  @Value("${product.snapshot.settle-delay:30000}") long settleDelayMillis,
+                                  @Value("${product.snapshot.max-delay:600000}") long maxDelayMillis,
+                                  @Value("${product.snapshot.keep:3}") int keep) {
+        this.versionService = versionService;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.unitRepository = unitRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.lineWriter = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.headerReader = objectMapper.readerFor(CatalogSnapshotDTO.class);
+        this.directory = directory;
+        this.settleDelayMillis = settleDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.keep = Math.max(1, keep);
+    }
+
+    public Optional<CatalogSnapshot> latest() {
+        return Optional.ofNullable(latest);
+    }
+
+    /**
+     * Reaproveita o snapshot mais recente do disco na subida, se ainda for deste banco (versão não maior que a atual).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLatest() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            Optional<Path> newest = files.filter(CatalogSnapshotService::isSnapshotFile)
+                    .max(Comparator.comparingLong(CatalogSnapshotService::versionOf));
+            if (newest.isPresent()) {
+                CatalogSnapshotDTO info = readHeader(newest.get());
+                if (info.getVersion() <= versionService.current()) {
+                    info.setBytes(Files.size(newest.get()));
+                    latest = new CatalogSnapshot(newest.get(), info);
+                    logger.info("Snapshot do catálogo reaproveitado: versão {}, {} KB", info.getVersion(), info.getBytes() / 1024);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Snapshot do catálogo em {} ignorado: {}", directory, e.getMessage()); // O agendador gera outro
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.snapshot.check-interval:10000}",
+            initialDelayString = "${product.snapshot.check-interval:10000}")
+    public void generateIfSettled() {
+        try {
+            generateIfSettled(System.currentTimeMillis());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Falha ao gerar o snapshot do catálogo", e); // Tenta de novo na próxima verificação
+        }
+    }
+
+    /**
+     * @return true se gerou um snapshot nesta verificação.
+     */
+    boolean generateIfSettled(long now) throws IOException {
+        long version = versionService.current();
+        if (version != lastSeenVersion) {
+            lastSeenVersion = version;
+            lastChangeSeenAt = now;
+        }
+        CatalogSnapshot snapshot = latest;
+        if (snapshot != null) {
+            if (snapshot.version() == version) {
+                pendingSince = -1;
+                return false;
+            }
+            if (pendingSince < 0) {
+                pendingSince = now;
+            }
+            boolean settled = now - lastChangeSeenAt >= settleDelayMillis;
+            boolean overdue = now - pendingSince >= maxDelayMillis;
+            if (!settled && !overdue) {
+                return false;
+            }
+        }
+        generate();
+        pendingSince = -1;
+        return true;
+    }
+
+    /**
+     * Gera o snapshot da versão atual e passa a servi-lo.
+     */
+    public synchronized CatalogSnapshot generate() throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+        try {
+            CatalogSnapshotDTO info = snapshotTransaction.execute(status -> {
+                try {
+                    return write(temp);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            Path target = directory.resolve(FILE_PREFIX + info.getVersion() + FILE_SUFFIX);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            info.setBytes(Files.size(target));
+            CatalogSnapshot snapshot = new CatalogSnapshot(target, info);
+            latest = snapshot;
+            pruneOlderThan(info.getVersion());
+            logger.info("Snapshot do catálogo gerado em {} ms: versão {}, {} produtos, {} KB",
+                    (System.nanoTime() - start) / 1_000_000, info.getVersion(), info.getProducts(), info.getBytes() / 1024);
+            return snapshot;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private CatalogSnapshotDTO write(Path file) throws IOException {
+        // Primeira leitura da transação: no PostgreSQL é ela que fixa a visão, então o teto e os dados coincidem
+        long version = versionService.current();
+        List<Category> categories = categoryRepository.findAll();
+        List<Unit> units = unitRepository.findAll();
+        CatalogSnapshotDTO info = new CatalogSnapshotDTO(version, Instant.now(), categories.size(), units.size(),
+                productRepository.count(), null);
+
+        try (OutputStream out = new BestCompressionGzip(Files.newOutputStream(file))) {
+            try (SequenceWriter lines = lineWriter.writeValues(out)) {
+                lines.write(info);
+                for (Category category : categories) {
+                    lines.write(new CatalogChangeDTO(orZero(category.getChangeVersion()), CatalogEntityType.CATEGORY,
+                            category.getId(), false, null, category, null));
+                }
+                for (Unit unit : units) {
+                    lines.write(new CatalogChangeDTO(orZero(unit.getChangeVersion()), CatalogEntityType.UNIT,
+                            unit.getId(), false, null, null, unit));
+                }
+                writeProducts(lines);
+            }
+            out.write('\n');
+        }
+        return info;
+    }
+
+    /**
+     * Junta as duas consultas ordenadas por produto (merge join), sem uma consulta de códigos por produto.
+     */
+    private void writeProducts(SequenceWriter lines) throws IOException {
+        try (Stream<ProductChangeDTO> products = productRepository.streamChangesById();
+             Stream<ProductBarcodeDTO> barcodes = productRepository.streamBarcodesByProduct()) {
+            Iterator<ProductBarcodeDTO> pendingBarcodes = barcodes.iterator();
+            ProductBarcodeDTO barcode = pendingBarcodes.hasNext() ? pendingBarcodes.next() : null;
+            for (Iterator<ProductChangeDTO> it = products.iterator(); it.hasNext(); ) {
+                ProductChangeDTO product = it.next();
+                List<String> codes = new ArrayList<>(1);
+                while (barcode != null && barcode.getProductId() <= product.getId()) {
+                    if (barcode.getProductId().equals(product.getId())) {
+                        codes.add(barcode.getBarcode());
+                    }
+                    barcode = pendingBarcodes.hasNext() ? pendingBarcodes.next() : null;
+                }
+                product.setBarcodes(codes);
+                lines.write(new CatalogChangeDTO(orZero(product.getChangeVersion()), CatalogEntityType.PRODUCT,
+                        product.getId(), false, product, null, null));
+            }
+        }
+    }
+
+    private void pruneOlderThan(long version) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> older = files.filter(CatalogSnapshotService::isSnapshotFile)
+                    .filter(file -> versionOf(file) < version)
+                    .sorted(Comparator.comparingLong(CatalogSnapshotService::versionOf).reversed())
+                    .toList();
+            // Mantém keep - 1 anteriores: um PDV no meio do download (ou retomando por Range) ainda lê o arquivo
+            for (Path file : older.subList(Math.min(keep - 1, older.size()), older.size())) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    CatalogSnapshotDTO readHeader(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return headerReader.readValue(reader.readLine());
+        }
+    }
+
+    private static boolean isSnapshotFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX) && versionOf(file) >= 0;
+    }
+
+    private static long versionOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    private static long orZero(Long changeVersion) {
+        return Objects.requireNonNullElse(changeVersion, 0L); // Registros anteriores ao feed de alterações
+    }
+
+    /**
+     * A geração está fora do caminho das requisições e o arquivo é baixado por todos os PDVs: vale a compressão máxima.
+     */
+    private static final class BestCompressionGzip extends GZIPOutputStream {
+        BestCompressionGzip(OutputStream out) throws IOException {
+            super(out, 64 * 1024);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+
+    /**
+     * Arquivo pronto para servir e o seu cabeçalho (com o tamanho).
+     */
+    public record CatalogSnapshot(Path file, CatalogSnapshotDTO info) {
+        public long version() {
+            return info.getVersion();
+        }
+
+        public String etag() {
+            return "\"" + info.getVersion() + "\"";
+        }
+    }
+}
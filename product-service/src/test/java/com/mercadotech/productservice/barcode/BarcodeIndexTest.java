@@ -0,0 +1,72 @@
+package com.mercadotech.productservice.barcode;
+
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BarcodeIndexTest {
+
+    @Test
+    void shouldValidateCheckDigitAndCanonicalizeLengths() {
+        assertEquals(7891000315507L, Gtin.parse("7891000315507"));
+        assertEquals(Gtin.parse("012345678905"), Gtin.parse("0012345678905")); // UPC-A e EAN-13 equivalentes
+        assertEquals(Gtin.parse("96385074"), Gtin.parse("00000096385074")); // EAN-8 e GTIN-14
+        assertEquals("0000096385074", Gtin.format(Gtin.parse("96385074")));
+        assertEquals("17891000315504", Gtin.format(Gtin.parse("17891000315504")));
+
+        assertThrows(IllegalArgumentException.class, () -> Gtin.parse("7891000315508"));
+        assertThrows(IllegalArgumentException.class, () -> Gtin.parse("789100031550"));
+        assertThrows(IllegalArgumentException.class, () -> Gtin.parse("78910003155O7"));
+        assertThrows(IllegalArgumentException.class, () -> Gtin.parse("00000000"));
+        assertThrows(IllegalArgumentException.class, () -> Gtin.parse(null));
+    }
+
+    @Test
+    void shouldBehaveLikeHashMapUnderRandomOperations() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5000); // Espaço pequeno: muitas colisões, remoções no meio dos agrupamentos
+            long value = random.nextLong();
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, value), map.put(key, value));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1L));
+    }
+
+    @Test
+    void shouldReplaceAndRemoveAllBarcodesOfAProduct() {
+        BarcodeIndex index = new BarcodeIndex(16);
+        ProductResponseDTO leite = product(1, "Leite Integral 1L");
+        index.put(leite, new long[]{7891000315507L, 17891000315504L});
+
+        assertSame(leite, index.find(17891000315504L));
+        assertEquals(1L, index.ownerOf(7891000315507L));
+
+        ProductResponseDTO renamed = product(1, "Leite Integral Caixa 1L");
+        index.put(renamed, new long[]{7891000315507L}); // Código da caixa retirado
+        assertSame(renamed, index.find(7891000315507L));
+        assertNull(index.find(17891000315504L));
+        assertEquals(1, index.stats().barcodes());
+
+        index.remove(1);
+        assertNull(index.find(7891000315507L));
+        assertEquals(0, index.stats().products());
+    }
+
+    private static ProductResponseDTO product(long id, String name) {
+        return new ProductResponseDTO(id, name, BigDecimal.TEN, "Mercearia", "UN");
+    }
+}
@@ -0,0 +1,114 @@
+package com.mercadotech.productservice.controller;
+
+import com.mercadotech.productservice.barcode.BarcodeService;
+import com.mercadotech.productservice.importer.CatalogImportService;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.pricing.BulkPriceService;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.search.ProductSearchService;
+import com.mercadotech.productservice.service.CatalogChangeFeedService;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import com.mercadotech.productservice.service.ProductCatalogService;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ProductController.class, ProductCatalogService.class, ProductSearchService.class, BarcodeService.class,
+        CatalogImportService.class, CatalogChangeFeedService.class, CatalogVersionService.class,
+        ReferenceDataService.class, BulkPriceService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada gravação na própria transação, como pelo HTTP
+public class ProductControllerTest {
+
+    @Autowired
+    private ProductController controller;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BarcodeService barcodeService;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ReferenceDataService referenceData;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        barcodeService.rebuild();
+    }
+
+    @Test
+    void shouldAnswerConflictWhenBarcodeWasTakenOutsideTheIndex() {
+        // Gravado por outra instância: o índice local ainda não sabe, então a checagem de normalize passa
+        productRepository.save(product("Refrigerante Cola 2L", "7891000315507"));
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> controller.create(product("Refrigerante Cola 2L Zero", "7891000315507")));
+
+        assertEquals(HttpStatus.CONFLICT, error.getStatusCode());
+        assertEquals(1, productRepository.count());
+    }
+
+    @Test
+    void shouldAllocateVersionOnUpdateOnlyWhenSomethingChanged() {
+        Product cola = controller.create(product("Refrigerante Cola 2L", "7891000315507"));
+        long version = productRepository.findById(cola.getId()).orElseThrow().getChangeVersion();
+        // Sessão aberta durante a chamada, como o open-in-view numa requisição HTTP (códigos são carregados sob demanda)
+        TransactionTemplate request = new TransactionTemplate(transactionManager);
+
+        request.executeWithoutResult(status -> controller.update(cola.getId(), product("Refrigerante Cola 2L", "7891000315507")));
+        assertEquals(version, productRepository.findById(cola.getId()).orElseThrow().getChangeVersion());
+
+        request.executeWithoutResult(status -> controller.update(cola.getId(), product("Refrigerante Cola 2L", "17891000315504")));
+        assertTrue(productRepository.findById(cola.getId()).orElseThrow().getChangeVersion() > version); // Só os códigos mudaram
+        assertTrue(barcodeService.find("17891000315504").isPresent());
+    }
+
+    @Test
+    void shouldNotReportOtherIntegrityViolationsAsBarcodeConflict() {
+        Category bebidas = new Category();
+        bebidas.setName("Bebidas");
+        bebidas = categoryRepository.save(bebidas);
+        referenceData.reload();
+        // Excluída por outra instância: o snapshot local ainda tem a categoria, o banco recusa a chave estrangeira
+        jdbcTemplate.update("delete from category where id = ?", bebidas.getId());
+        Product product = product("Refrigerante Cola 2L", "7891000315507");
+        product.setCategory(bebidas);
+
+        assertThrows(DataIntegrityViolationException.class, () -> controller.create(product));
+    }
+
+    private static Product product(String name, String barcode) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("9.99"));
+        product.setBarcodes(Set.of(barcode));
+        return product;
+    }
+}
@@ -0,0 +1,172 @@
+package com.mercadotech.productservice.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.productservice.barcode.BarcodeService;
+import com.mercadotech.productservice.dto.ImportReportDTO;
+import com.mercadotech.productservice.dto.ProductImportRowDTO;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.search.ProductSearchService;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import com.mercadotech.productservice.service.ProductCatalogService;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "product.import.chunk-size=3")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CatalogImportService.class, BarcodeService.class, ProductSearchService.class, ProductCatalogService.class,
+        CatalogVersionService.class, ReferenceDataService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada bloco da importação tem a própria transação
+public class CatalogImportServiceTest {
+
+    @Autowired
+    private CatalogImportService importService;
+    @Autowired
+    private BarcodeService barcodeService;
+    @Autowired
+    private ProductSearchService searchService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ReferenceDataService referenceData;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from product_barcode");
+        jdbcTemplate.update("delete from product");
+        jdbcTemplate.update("delete from category");
+        jdbcTemplate.update("delete from unit");
+        jdbcTemplate.update("insert into category (name) values ('Bebidas')");
+        barcodeService.rebuild();
+        searchService.rebuild();
+    }
+
+    @Test
+    void shouldImportCsvCreatingCategoriesAndUnitsOnFirstUse() throws Exception {
+        String csv = """
+                name,price,category,unit,barcodes
+                Refrigerante Cola 2L,9.99,bebidas,UN,7891000315507
+                "Biscoito Recheado, Chocolate",3.49,Mercearia,PCT,7891000053508|17891000053505
+                Água Mineral 500ml,abc,Bebidas,UN,
+                ,1.00,Bebidas,UN,
+                Suco de Uva 1L,8.50,Bebidas,un,7891000315508
+                Café Torrado 500g,18.90,Mercearia,PCT,
+                """;
+
+        ImportReportDTO report = importService.importCatalog(CatalogRowReader.csv(new StringReader(csv)));
+
+        assertEquals(6, report.getRows());
+        assertEquals(3, report.getCreated());
+        assertEquals(0, report.getUpdated());
+        assertEquals(3, report.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), report.getErrors().stream().map(ImportReportDTO.RowError::getRow).toList());
+        assertTrue(report.getErrors().get(2).getMessage().contains("verificador"));
+
+        assertEquals(2, count("select count(*) from category")); // "bebidas" reaproveitou a existente
+        assertEquals(2, count("select count(*) from unit")); // "un" reaproveitou a criada na linha 1
+        assertTrue(new String(referenceData.categoriesJson()).contains("\"Mercearia\"")); // Snapshot recarregado
+        ProductResponseDTO biscoito = barcodeService.find("17891000053505").orElseThrow();
+        assertEquals("Biscoito Recheado, Chocolate", biscoito.getName());
+        assertEquals("Mercearia", biscoito.getCategoryName());
+        assertEquals("PCT", biscoito.getUnitAbbreviation());
+        assertEquals(List.of("Café Torrado 500g"), searchService.search("cafe", 10).stream().map(s -> s.name()).toList());
+    }
+
+    @Test
+    void shouldUpdateProductsMatchedByBarcodeFromNdjson() throws Exception {
+        importService.importCatalog(CatalogRowReader.csv(new StringReader("""
+                name,price,category,unit,barcodes
+                Refrigerante Cola 2L,9.99,Bebidas,UN,7891000315507
+                """)));
+        Long id = barcodeService.find("7891000315507").orElseThrow().getId();
+
+        String ndjson = """
+                {"name":"Refrigerante Cola 2L","price":10.49,"category":"Bebidas","unit":"UN","barcodes":["7891000315507","17891000315504"]}
+                {"name": "quebrado"
+                {"name":"Refrigerante Cola 2L Caixa","price":60,"category":"Bebidas","unit":"CX","barcodes":["17891000315504"]}
+                """;
+        ImportReportDTO report = importService.importCatalog(
+                CatalogRowReader.ndjson(new StringReader(ndjson), new ObjectMapper().readerFor(ProductImportRowDTO.class)));
+
+        assertEquals(0, report.getCreated());
+        assertEquals(2, report.getUpdated()); // A terceira linha achou o produto pelo código incluído na primeira
+        assertEquals(1, report.getFailed());
+        assertEquals(2L, report.getErrors().get(0).getRow());
+        assertEquals(1, count("select count(*) from product"));
+        assertEquals(2, count("select count(*) from product_barcode"));
+        ProductResponseDTO updated = barcodeService.find("7891000315507").orElseThrow();
+        assertEquals(id, updated.getId());
+        assertEquals("Refrigerante Cola 2L Caixa", updated.getName());
+        assertEquals(0, new BigDecimal("60").compareTo(updated.getPrice()));
+        assertEquals(0, count("select count(*) from product where change_version is null")); // Visível no feed de alterações
+        assertEquals(0, count("select count(*) from unit where change_version is null"));
+    }
+
+    @Test
+    void shouldRejectRowWhoseBarcodesBelongToDifferentProducts() throws Exception {
+        ImportReportDTO report = importService.importCatalog(CatalogRowReader.csv(new StringReader("""
+                name,price,barcodes
+                Leite Integral,5.49,7891000315507
+                Leite Desnatado,5.29,7891000053508
+                Leite Misturado,5.39,7891000315507|7891000053508
+                """)));
+
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getErrors().get(0).getMessage().contains("produtos diferentes"));
+    }
+
+    @Test
+    void shouldKeepCategoryAndUnitWhenRowLeavesThemBlank() throws Exception {
+        importService.importCatalog(CatalogRowReader.csv(new StringReader("""
+                name,price,category,unit,barcodes
+                Refrigerante Cola 2L,9.99,Bebidas,UN,7891000315507
+                """)));
+
+        ImportReportDTO report = importService.importCatalog(CatalogRowReader.csv(new StringReader("""
+                name,price,category,unit,barcodes
+                Refrigerante Cola 2L,10.49,,,7891000315507
+                """)));
+
+        assertEquals(1, report.getUpdated());
+        assertEquals(0, count("select count(*) from product where category_id is null or unit_id is null"));
+        ProductResponseDTO updated = barcodeService.find("7891000315507").orElseThrow();
+        assertEquals("Bebidas", updated.getCategoryName());
+        assertEquals("UN", updated.getUnitAbbreviation());
+        assertEquals(0, new BigDecimal("10.49").compareTo(updated.getPrice()));
+    }
+
+    @Test
+    void shouldFailOnlyTheRowWhoseCategoryCannotBeCreated() throws Exception {
+        String nomeLongo = "Categoria ".repeat(30); // Maior que a coluna
+        ImportReportDTO report = importService.importCatalog(CatalogRowReader.csv(new StringReader("""
+                name,price,category,unit,barcodes
+                Leite Integral,5.49,%s,UN,7891000315507
+                Leite Desnatado,5.29,Laticínios,UN,7891000053508
+                """.formatted(nomeLongo))));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(1L, report.getErrors().get(0).getRow());
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Erro ao gravar categoria/unidade"));
+        assertTrue(barcodeService.find("7891000053508").isPresent());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
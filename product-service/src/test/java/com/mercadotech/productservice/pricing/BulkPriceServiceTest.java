@@ -0,0 +1,177 @@
+package com.mercadotech.productservice.pricing;
+
+import com.mercadotech.productservice.barcode.BarcodeService;
+import com.mercadotech.productservice.dto.BulkPriceUpdateDTO;
+import com.mercadotech.productservice.dto.BulkPriceUpdateResultDTO;
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.service.CatalogChangeFeedService;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import com.mercadotech.productservice.service.ProductCatalogService;
+import com.mercadotech.productservice.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "product.pricing.chunk-size=2")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BulkPriceService.class, CatalogVersionService.class, CatalogChangeFeedService.class, BarcodeService.class,
+        ProductCatalogService.class, ReferenceDataService.class})
+@RecordApplicationEvents
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada bloco do reajuste tem a própria transação
+public class BulkPriceServiceTest {
+
+    @Autowired
+    private BulkPriceService priceService;
+    @Autowired
+    private CatalogChangeFeedService feedService;
+    @Autowired
+    private CatalogVersionService versionService;
+    @Autowired
+    private BarcodeService barcodeService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ApplicationEvents events;
+
+    private Category bebidas;
+    private Category mercearia;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        bebidas = category("Bebidas");
+        mercearia = category("Mercearia");
+    }
+
+    @Test
+    void shouldRaiseWholeCategoryByPercentInChunksWithOneEvent() {
+        List<Product> drinks = new ArrayList<>();
+        for (String price : List.of("10.00", "9.99", "4.50", "1.00", "0.05")) {
+            drinks.add(product("Bebida " + price, price, bebidas));
+        }
+        Product arroz = product("Arroz 5kg", "25.90", mercearia);
+        long since = versionService.current();
+
+        BulkPriceUpdateResultDTO result = priceService.apply(new BulkPriceUpdateDTO(bebidas.getId(), null,
+                new BigDecimal("3"), null, null));
+
+        assertEquals(5, result.getUpdated());
+        assertEquals(0, result.getSkipped());
+        assertEquals(3, result.getChunks()); // chunk-size=2
+        assertEquals(List.of("10.30", "10.29", "4.64", "1.03", "0.05"),
+                drinks.stream().map(p -> price(p.getId()).toPlainString()).toList());
+        assertEquals(new BigDecimal("25.90"), price(arroz.getId()));
+
+        List<CatalogChangeDTO> changes = feedService.changesSince(since, null).getChanges();
+        assertEquals(5, changes.size()); // Uma versão distinta por produto: o cursor do feed não pula nenhum
+        assertEquals(5, changes.stream().map(CatalogChangeDTO::getVersion).distinct().count());
+        assertEquals(since + 5, versionService.current()); // Uma versão por produto alterado, sem lacunas
+        List<CatalogPriceChangeEvent> published = events.stream(CatalogPriceChangeEvent.class).toList();
+        assertEquals(1, published.size());
+        assertEquals(5, published.get(0).products());
+        assertEquals(bebidas.getId(), published.get(0).categoryId());
+        assertTrue(published.get(0).sinceVersion() >= since);
+        assertEquals(versionService.current(), published.get(0).untilVersion());
+    }
+
+    @Test
+    void shouldApplyAmountToIdListSkippingPricesThatWouldTurnNegative() {
+        Product cola = product("Refrigerante Cola 2L", "9.99", bebidas);
+        Product bala = product("Bala", "0.30", mercearia);
+        Product suco = product("Suco de Uva 1L", "8.50", bebidas);
+        long since = versionService.current();
+
+        BulkPriceUpdateResultDTO result = priceService.apply(new BulkPriceUpdateDTO(null,
+                List.of(cola.getId(), bala.getId(), suco.getId(), suco.getId(), suco.getId() + 1000),
+                null, new BigDecimal("-0.50"), null));
+
+        assertEquals(2, result.getUpdated());
+        assertEquals(2, result.getSkipped()); // Bala ficaria negativa; o último id não existe
+        assertEquals(since + 2, versionService.current()); // Ids esparsos: versões pelas linhas alteradas, não pela faixa
+        assertEquals(new BigDecimal("9.49"), price(cola.getId()));
+        assertEquals(new BigDecimal("0.30"), price(bala.getId()));
+        assertEquals(new BigDecimal("8.00"), price(suco.getId()));
+    }
+
+    @Test
+    void shouldSetSupplierPricesAndRefreshBarcodeIndexOnce() {
+        Product cola = product("Refrigerante Cola 2L", "9.99", bebidas);
+        cola.getBarcodes().add("7891000315507");
+        productRepository.save(cola);
+        Product suco = product("Suco de Uva 1L", "8.50", bebidas);
+        Product arroz = product("Arroz 5kg", "25.90", mercearia);
+        barcodeService.rebuild();
+
+        BulkPriceUpdateResultDTO result = priceService.apply(new BulkPriceUpdateDTO(null, null, null, null, List.of(
+                new BulkPriceUpdateDTO.Item(arroz.getId(), new BigDecimal("27.49")),
+                new BulkPriceUpdateDTO.Item(cola.getId(), new BigDecimal("10.49")),
+                new BulkPriceUpdateDTO.Item(suco.getId(), new BigDecimal("8.99")))));
+
+        assertEquals(3, result.getUpdated());
+        assertEquals(new BigDecimal("27.49"), price(arroz.getId()));
+        assertEquals(new BigDecimal("8.99"), price(suco.getId()));
+        assertEquals(1, events.stream(CatalogPriceChangeEvent.class).count());
+        assertEquals(0, new BigDecimal("10.49").compareTo(barcodeService.find("7891000315507").orElseThrow().getPrice()));
+    }
+
+    @Test
+    void shouldRejectAmbiguousRequests() {
+        assertBadRequest(new BulkPriceUpdateDTO(bebidas.getId(), List.of(1L), BigDecimal.ONE, null, null));
+        assertBadRequest(new BulkPriceUpdateDTO(bebidas.getId(), null, BigDecimal.ONE, BigDecimal.ONE, null));
+        assertBadRequest(new BulkPriceUpdateDTO(bebidas.getId(), null, null, null, null));
+        assertBadRequest(new BulkPriceUpdateDTO(bebidas.getId(), null, new BigDecimal("-100"), null, null));
+        assertBadRequest(new BulkPriceUpdateDTO(bebidas.getId(), null, null, null,
+                List.of(new BulkPriceUpdateDTO.Item(1L, BigDecimal.ONE))));
+        assertBadRequest(new BulkPriceUpdateDTO(null, null, null, null,
+                List.of(new BulkPriceUpdateDTO.Item(1L, new BigDecimal("-1")))));
+        assertEquals(0, events.stream(CatalogPriceChangeEvent.class).count());
+    }
+
+    private void assertBadRequest(BulkPriceUpdateDTO request) {
+        ResponseStatusException error = assertThrows(ResponseStatusException.class, () -> priceService.apply(request));
+        assertEquals(400, error.getStatusCode().value());
+    }
+
+    private BigDecimal price(Long id) {
+        return jdbcTemplate.queryForObject("select price from product where id = ?", BigDecimal.class, id);
+    }
+
+    private Product product(String name, String price, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+}
@@ -0,0 +1,118 @@
+package com.mercadotech.productservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSearchIndexTest {
+
+    @Test
+    void shouldIgnoreAccentsAndCase() {
+        ProductSearchIndex index = index("Feijão Carioca 1kg", "Pão de Açúcar", "Café Torrado");
+
+        assertEquals(List.of("Feijão Carioca 1kg"), names(index.search("feijao", 10)));
+        assertEquals(List.of("Pão de Açúcar"), names(index.search("ACUC", 10)));
+        assertEquals(List.of("Café Torrado"), names(index.search("cafe", 10)));
+    }
+
+    @Test
+    void shouldRequireEveryTermAsPrefixOfSomeWord() {
+        ProductSearchIndex index = index("Arroz Tio João 5kg", "Arroz Integral 1kg", "Feijão Tio João");
+
+        assertEquals(List.of("Arroz Tio João 5kg"), names(index.search("arroz tio", 10)));
+        assertEquals(List.of("Feijão Tio João", "Arroz Tio João 5kg"), names(index.search("joao", 10)));
+        assertTrue(index.search("arroz preto", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void shouldRankNamesStartingWithQueryFirst() {
+        ProductSearchIndex index = index("Sabão em Pó Leite", "Leite Integral", "Leite Condensado Moça", "Doce de Leite");
+
+        assertEquals(List.of("Leite Integral", "Leite Condensado Moça", "Doce de Leite", "Sabão em Pó Leite"),
+                names(index.search("lei", 10)));
+        assertEquals(2, index.search("lei", 2).size());
+    }
+
+    @Test
+    void shouldRankFirstWordMatchesFirstBeyondCandidateLimit() {
+        List<String> nomes = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            nomes.add("Doce de Leite " + i); // Nomes curtos: vêm antes no ranking estático
+        }
+        nomes.add("Leite Integral Longa Vida Caixa 1 Litro");
+        ProductSearchIndex index = index(nomes.toArray(String[]::new));
+
+        assertEquals("Leite Integral Longa Vida Caixa 1 Litro", names(index.search("leite", 5)).get(0));
+    }
+
+    @Test
+    void shouldApplyIncrementalUpdates() {
+        ProductSearchIndex index = index("Leite Integral");
+
+        index.upsert(100, "Leite Desnatado");
+        assertEquals(List.of("Leite Integral", "Leite Desnatado"), names(index.search("leite", 10)));
+
+        index.upsert(100, "Iogurte Natural"); // Renomeado
+        assertEquals(List.of("Leite Integral"), names(index.search("leite", 10)));
+        assertEquals(List.of("Iogurte Natural"), names(index.search("iog", 10)));
+
+        index.remove(100);
+        assertTrue(index.search("iog", 10).isEmpty());
+        assertEquals(1, index.stats().documents());
+    }
+
+    @Test
+    void shouldMatchTermsLongerThanIndexedPrefix() {
+        ProductSearchIndex index = index("Desinfetante Concentrado", "Desinfetantes Diversos");
+
+        assertEquals(List.of("Desinfetantes Diversos", "Desinfetante Concentrado"), names(index.search("desinfetante", 10)));
+        assertEquals(List.of("Desinfetantes Diversos"), names(index.search("desinfetantes", 10)));
+    }
+
+    @Test
+    void shouldGrowWhenManyProductsAreAddedIncrementally() {
+        ProductSearchIndex index = index();
+        for (int i = 0; i < 3000; i++) {
+            index.upsert(i, "Produto " + i);
+        }
+        assertEquals(List.of("Produto 2999"), names(index.search("produto 2999", 10)));
+        assertEquals(3000, index.stats().documents());
+    }
+
+    @Test
+    void shouldCompactAfterManyRemovals() {
+        ProductSearchIndex index = index();
+        for (int i = 0; i < 3000; i++) {
+            index.upsert(i, (i % 3 == 0 ? "Cerveja " : "Refrigerante ") + i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            if (i % 3 != 0) {
+                index.remove(i);
+            }
+        }
+
+        assertEquals(1000, index.stats().documents());
+        assertTrue(index.search("refri", 10).isEmpty());
+        assertEquals(List.of("Cerveja 0", "Cerveja 3"), names(index.search("cer", 2)));
+        index.upsert(3000, "Cerveja Nova");
+        assertEquals(List.of("Cerveja Nova"), names(index.search("cerveja nova", 10)));
+    }
+
+    private static ProductSearchIndex index(String... names) {
+        List<ProductSearchIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            entries.add(new ProductSearchIndex.Entry(i + 1, names[i]));
+        }
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(entries);
+        return index;
+    }
+
+    private static List<String> names(List<ProductSearchIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(ProductSearchIndex.Suggestion::name).toList();
+    }
+}
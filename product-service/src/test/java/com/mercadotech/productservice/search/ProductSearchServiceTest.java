@@ -0,0 +1,56 @@
+package com.mercadotech.productservice.search;
+
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.service.ProductCatalogService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSearchServiceTest {
+
+    @Test
+    void shouldKeepChangesMadeWhileRebuilding() {
+        // Leitura do banco feita antes das gravações abaixo: o índice novo nasceria com o estado antigo
+        Map<Long, String> snapshot = Map.of(1L, "Leite Integral 1L", 2L, "Café Torrado 500g", 3L, "Arroz Branco 5kg");
+        List<Runnable> duringExport = new ArrayList<>();
+        ProductSearchService service = new ProductSearchService(new ProductCatalogService(null) {
+            @Override
+            public void export(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, Consumer<ProductResponseDTO> consumer) {
+                snapshot.forEach((id, name) -> consumer.accept(product(id, name)));
+                duringExport.forEach(Runnable::run);
+            }
+        });
+        service.rebuild();
+
+        duringExport.add(() -> service.onSaved(1L, "Leite Desnatado 1L"));
+        duringExport.add(() -> service.onDeleted(2L));
+        duringExport.add(() -> service.onSaved(4L, "Feijão Carioca 1kg"));
+        service.rebuild();
+
+        assertEquals(List.of("Leite Desnatado 1L"), names(service.search("leite", 10)));
+        assertTrue(service.search("cafe", 10).isEmpty());
+        assertEquals(List.of("Feijão Carioca 1kg"), names(service.search("feijao", 10)));
+        assertEquals(3, service.stats().documents());
+
+        duringExport.clear();
+        service.onSaved(3L, "Arroz Parboilizado 5kg"); // Fora da carga: vai direto ao índice
+        assertEquals(List.of("Arroz Parboilizado 5kg"), names(service.search("arroz", 10)));
+    }
+
+    private static ProductResponseDTO product(long id, String name) {
+        ProductResponseDTO product = new ProductResponseDTO();
+        product.setId(id);
+        product.setName(name);
+        return product;
+    }
+
+    private static List<String> names(List<ProductSearchIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(ProductSearchIndex.Suggestion::name).toList();
+    }
+}
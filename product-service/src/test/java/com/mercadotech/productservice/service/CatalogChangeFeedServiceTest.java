@@ -0,0 +1,170 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+import com.mercadotech.productservice.dto.CatalogChangesDTO;
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.model.Unit;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CatalogChangeFeedService.class, CatalogVersionService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada gravação confirma a própria versão, como em produção
+public class CatalogChangeFeedServiceTest {
+
+    @Autowired
+    private CatalogChangeFeedService feedService;
+    @Autowired
+    private CatalogVersionService versionService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UnitRepository unitRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long since;
+    private Category bebidas;
+    private Unit un;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        unitRepository.deleteAll();
+        since = versionService.current();
+
+        bebidas = new Category();
+        bebidas.setName("Bebidas");
+        bebidas = categoryRepository.save(bebidas);
+        un = new Unit();
+        un.setAbbreviation("UN");
+        un.setDescription("Unidade");
+        un = unitRepository.save(un);
+    }
+
+    @Test
+    void shouldReturnInsertsInVersionOrderAcrossEntityTypes() {
+        Product cola = product("Refrigerante Cola 2L", "7891000315507");
+
+        CatalogChangesDTO feed = feedService.changesSince(since, null);
+
+        assertEquals(List.of(CatalogEntityType.CATEGORY, CatalogEntityType.UNIT, CatalogEntityType.PRODUCT),
+                feed.getChanges().stream().map(CatalogChangeDTO::getType).toList());
+        assertFalse(feed.isHasMore());
+        assertEquals(versionService.current(), feed.getNextSince());
+        CatalogChangeDTO product = feed.getChanges().get(2);
+        assertEquals(cola.getId(), product.getId());
+        assertEquals(bebidas.getId(), product.getProduct().getCategoryId());
+        assertEquals(un.getId(), product.getProduct().getUnitId());
+        assertEquals(List.of("7891000315507"), product.getProduct().getBarcodes());
+        assertTrue(feedService.changesSince(feed.getNextSince(), null).getChanges().isEmpty());
+    }
+
+    @Test
+    void shouldReturnOnlyLatestStateOfUpdatedRecordsAndTombstones() {
+        Product cola = product("Refrigerante Cola 2L", "7891000315507");
+        Product suco = product("Suco de Uva 1L");
+        long checkpoint = feedService.changesSince(since, null).getNextSince();
+
+        cola.setPrice(new BigDecimal("10.49"));
+        productRepository.save(cola);
+        cola.setPrice(new BigDecimal("10.99"));
+        productRepository.save(cola);
+        productRepository.deleteById(suco.getId());
+
+        CatalogChangesDTO feed = feedService.changesSince(checkpoint, null);
+
+        assertEquals(2, feed.getChanges().size());
+        CatalogChangeDTO updated = feed.getChanges().get(0);
+        assertEquals(cola.getId(), updated.getId());
+        assertEquals(0, new BigDecimal("10.99").compareTo(updated.getProduct().getPrice()));
+        CatalogChangeDTO deleted = feed.getChanges().get(1);
+        assertTrue(deleted.isDeleted());
+        assertEquals(CatalogEntityType.PRODUCT, deleted.getType());
+        assertEquals(suco.getId(), deleted.getId());
+        assertNull(deleted.getProduct());
+    }
+
+    @Test
+    void shouldBumpVersionWhenOnlyBarcodesChange() {
+        Product cola = product("Refrigerante Cola 2L", "7891000315507");
+        long checkpoint = feedService.changesSince(since, null).getNextSince();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Product loaded = productRepository.findById(cola.getId()).orElseThrow();
+            loaded.getBarcodes().add("17891000315504");
+            loaded.setChangeVersion(null); // Como no ProductController.update
+        });
+
+        CatalogChangesDTO feed = feedService.changesSince(checkpoint, null);
+        assertEquals(1, feed.getChanges().size());
+        assertEquals(2, feed.getChanges().get(0).getProduct().getBarcodes().size());
+    }
+
+    @Test
+    void shouldSeedVersionCounterOnlyOnce() {
+        product("Refrigerante Cola 2L");
+        long current = versionService.current();
+
+        versionService.seed(); // Outra instância subindo: não zera nem duplica o contador
+
+        assertEquals(current, versionService.current());
+        product("Suco de Uva 1L");
+        assertEquals(current + 1, versionService.current());
+    }
+
+    @Test
+    void shouldWalkPagesWithoutGapsOrDuplicates() {
+        for (int i = 0; i < 23; i++) {
+            product("Produto " + i);
+        }
+
+        List<CatalogChangeDTO> all = new ArrayList<>();
+        long cursor = since;
+        int pages = 0;
+        CatalogChangesDTO page;
+        do {
+            page = feedService.changesSince(cursor, 5);
+            all.addAll(page.getChanges());
+            cursor = page.getNextSince();
+            pages++;
+        } while (page.isHasMore());
+
+        assertEquals(25, all.size()); // Categoria, unidade e 23 produtos
+        assertEquals(5, pages);
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i).getVersion() > all.get(i - 1).getVersion());
+        }
+    }
+
+    private Product product(String name, String... barcodes) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("9.99"));
+        product.setCategory(bebidas);
+        product.setUnit(un);
+        product.getBarcodes().addAll(List.of(barcodes));
+        return productRepository.save(product);
+    }
+}
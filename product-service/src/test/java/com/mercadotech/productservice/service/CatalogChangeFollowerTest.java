@@ -0,0 +1,106 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.barcode.BarcodeService;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.search.ProductSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Gravações feitas direto no repositório fazem o papel de outra instância: os caches locais só as veem pelo feed.
+ */
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CatalogChangeFollower.class, CatalogChangeFeedService.class, CatalogVersionService.class, BarcodeService.class,
+        ProductSearchService.class, ProductCatalogService.class, ReferenceDataService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cada gravação confirma a própria versão, como em produção
+public class CatalogChangeFollowerTest {
+
+    @Autowired
+    private CatalogChangeFollower follower;
+    @Autowired
+    private BarcodeService barcodeService;
+    @Autowired
+    private ProductSearchService searchService;
+    @Autowired
+    private ReferenceDataService referenceData;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category bebidas;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        bebidas = new Category();
+        bebidas.setName("Bebidas");
+        bebidas = categoryRepository.save(bebidas);
+        referenceData.reload();
+        barcodeService.rebuild();
+        searchService.rebuild();
+        follower.start();
+    }
+
+    @Test
+    void shouldApplyProductsWrittenElsewhere() {
+        Product product = new Product();
+        product.setName("Refrigerante Cola 2L");
+        product.setPrice(new BigDecimal("9.99"));
+        product.setCategory(bebidas);
+        product.setBarcodes(Set.of("7891000315507"));
+        product = productRepository.save(product);
+        assertTrue(barcodeService.find("7891000315507").isEmpty());
+
+        follower.poll();
+
+        ProductResponseDTO found = barcodeService.find("7891000315507").orElseThrow();
+        assertEquals(product.getId(), found.getId());
+        assertEquals("Bebidas", found.getCategoryName());
+        assertEquals(List.of("Refrigerante Cola 2L"), searchService.search("refri", 10).stream().map(s -> s.name()).toList());
+
+        productRepository.deleteById(product.getId());
+        follower.poll();
+
+        assertTrue(barcodeService.find("7891000315507").isEmpty());
+        assertTrue(searchService.search("refri", 10).isEmpty());
+    }
+
+    @Test
+    void shouldDropBarcodesRemovedElsewhere() {
+        Product product = new Product();
+        product.setName("Água Mineral 500ml");
+        product.setPrice(new BigDecimal("2.49"));
+        product.setBarcodes(Set.of("7891000315507", "7891000053508"));
+        product = productRepository.save(product);
+        follower.poll();
+
+        product.setBarcodes(new LinkedHashSet<>(Set.of("7891000053508")));
+        product.setChangeVersion(null);
+        productRepository.save(product);
+        follower.poll();
+
+        assertTrue(barcodeService.find("7891000315507").isEmpty());
+        assertTrue(barcodeService.find("7891000053508").isPresent());
+    }
+}
@@ -0,0 +1,144 @@
+package com.mercadotech.productservice.service;
+
+import com.mercadotech.productservice.dto.ProductBarcodeDTO;
+import com.mercadotech.productservice.dto.ProductPageDTO;
+import com.mercadotech.productservice.dto.ProductResponseDTO;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.model.Unit;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductCatalogService.class, CatalogVersionService.class})
+public class ProductCatalogServiceTest {
+
+    @Autowired
+    private ProductCatalogService catalogService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UnitRepository unitRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category bebidas;
+    private Category limpeza;
+
+    @BeforeEach
+    void setUp() {
+        bebidas = category("Bebidas");
+        limpeza = category("Limpeza");
+        Unit un = new Unit();
+        un.setAbbreviation("UN");
+        un.setDescription("Unidade");
+        unitRepository.save(un);
+
+        for (int i = 1; i <= 25; i++) {
+            Product product = new Product();
+            product.setName("Produto " + i);
+            product.setPrice(BigDecimal.valueOf(i));
+            product.setCategory(i % 2 == 0 ? bebidas : limpeza);
+            product.setUnit(i % 5 == 0 ? null : un); // Alguns sem unidade: o left join não pode descartá-los
+            if (i == 3) {
+                product.getBarcodes().addAll(List.of("7891000315507", "17891000315504"));
+            }
+            productRepository.save(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldWalkAllPagesWithKeysetCursorUsingOneQueryPerPage() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ProductResponseDTO> all = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            ProductPageDTO page = catalogService.findPage(cursor, 10, null, null, null);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, all.size());
+        assertEquals(pages, statistics.getPrepareStatementCount()); // Sem selects extras de categoria/unidade
+        assertEquals(0, statistics.getEntityLoadCount());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i).getId() > all.get(i - 1).getId());
+        }
+        ProductResponseDTO fifth = all.get(4);
+        assertEquals("Produto 5", fifth.getName());
+        assertEquals("Limpeza", fifth.getCategoryName());
+        assertNull(fifth.getUnitAbbreviation());
+        assertEquals("UN", all.get(0).getUnitAbbreviation());
+    }
+
+    @Test
+    void shouldFilterByCategoryAndPriceRange() {
+        ProductPageDTO page = catalogService.findPage(null, 100, bebidas.getId(), new BigDecimal("5"), new BigDecimal("12"));
+
+        assertEquals(List.of("Produto 6", "Produto 8", "Produto 10", "Produto 12"),
+                page.getItems().stream().map(ProductResponseDTO::getName).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        assertEquals(1, catalogService.findPage(null, 0, null, null, null).getItems().size());
+        assertEquals(25, catalogService.findPage(null, 10_000, null, null, null).getItems().size());
+    }
+
+    @Test
+    void shouldStreamWholeCatalogInIdOrder() {
+        List<ProductResponseDTO> exported = new ArrayList<>();
+        catalogService.export(limpeza.getId(), null, null, exported::add);
+
+        assertEquals(13, exported.size());
+        assertTrue(exported.stream().allMatch(product -> "Limpeza".equals(product.getCategoryName())));
+    }
+
+    @Test
+    void shouldLoadSingleDtoAndExportBarcodes() {
+        Long id = productRepository.findAll().stream().filter(p -> p.getName().equals("Produto 3")).findFirst().orElseThrow().getId();
+
+        ProductResponseDTO dto = catalogService.findDto(id).orElseThrow();
+        assertEquals("Limpeza", dto.getCategoryName());
+        assertTrue(catalogService.findDto(id + 1000).isEmpty());
+
+        List<ProductBarcodeDTO> barcodes = new ArrayList<>();
+        catalogService.exportBarcodes(barcodes::add);
+        assertEquals(2, barcodes.size());
+        assertTrue(barcodes.stream().allMatch(barcode -> barcode.getProductId().equals(id)));
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+}
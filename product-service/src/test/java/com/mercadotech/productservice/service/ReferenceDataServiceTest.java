@@ -0,0 +1,135 @@
+package com.mercadotech.productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.productservice.dto.CatalogChangeDTO;
+import com.mercadotech.productservice.model.CatalogEntityType;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Unit;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ReferenceDataService.class, CatalogVersionService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReferenceDataServiceTest {
+
+    @Autowired
+    private ReferenceDataService referenceData;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UnitRepository unitRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Category bebidas;
+    private Unit un;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository.deleteAll();
+        unitRepository.deleteAll();
+        bebidas = category("Bebidas");
+        un = new Unit();
+        un.setAbbreviation("UN");
+        un.setDescription("Unidade");
+        un = unitRepository.save(un);
+        referenceData.reload();
+    }
+
+    @Test
+    void shouldServeSameJsonAsEntityListing() throws Exception {
+        Category mercearia = category("Mercearia");
+        referenceData.onSaved(mercearia);
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(categoryRepository.findAll())),
+                objectMapper.readTree(referenceData.categoriesJson()));
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(unitRepository.findAll())),
+                objectMapper.readTree(referenceData.unitsJson()));
+    }
+
+    @Test
+    void shouldPublishNewSnapshotWithoutTouchingPreviousOne() {
+        byte[] before = referenceData.categoriesJson();
+        byte[] unitsBefore = referenceData.unitsJson();
+
+        Category mercearia = category("Mercearia");
+        referenceData.onSaved(mercearia);
+        referenceData.onCategoryDeleted(bebidas.getId());
+
+        assertFalse(new String(before, StandardCharsets.UTF_8).contains("Mercearia")); // Quem já tinha o corpo não vê a troca
+        String after = new String(referenceData.categoriesJson(), StandardCharsets.UTF_8);
+        assertTrue(after.contains("Mercearia"));
+        assertFalse(after.contains("Bebidas"));
+        assertSame(unitsBefore, referenceData.unitsJson()); // Só a lista alterada é serializada de novo
+        assertEquals("Mercearia", referenceData.category(mercearia.getId()).orElseThrow().name());
+        assertTrue(referenceData.category(bebidas.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldResolveProductAssociationsFromSnapshot() {
+        Category requested = new Category();
+        requested.setId(bebidas.getId()); // Corpo da gravação de produto costuma trazer só o id
+
+        Category resolved = referenceData.resolveCategory(requested);
+        assertEquals("Bebidas", resolved.getName());
+        assertEquals(bebidas.getChangeVersion(), resolved.getChangeVersion());
+        Unit unit = new Unit();
+        unit.setId(un.getId());
+        assertEquals("UN", referenceData.resolveUnit(unit).getAbbreviation());
+        assertNull(referenceData.resolveCategory(null));
+
+        requested.setId(bebidas.getId() + 1000);
+        ResponseStatusException error = assertThrows(ResponseStatusException.class, () -> referenceData.resolveCategory(requested));
+        assertEquals(400, error.getStatusCode().value());
+    }
+
+    @Test
+    void shouldFallBackToDatabaseForIdsMissingFromSnapshot() {
+        Category mercearia = category("Mercearia"); // Gravada por outra instância: o snapshot ainda não sabe
+        Category requested = new Category();
+        requested.setId(mercearia.getId());
+
+        assertEquals("Mercearia", referenceData.resolveCategory(requested).getName());
+        assertEquals("Mercearia", referenceData.category(mercearia.getId()).orElseThrow().name()); // Guardada
+    }
+
+    @Test
+    void shouldApplyCategoriesAndUnitsFromChangeFeed() {
+        Category mercearia = category("Mercearia");
+        byte[] categoriesBefore = referenceData.categoriesJson();
+
+        referenceData.onCatalogChanges(new CatalogChangesEvent(List.of(
+                new CatalogChangeDTO(mercearia.getChangeVersion(), CatalogEntityType.CATEGORY, mercearia.getId(),
+                        false, null, mercearia, null),
+                new CatalogChangeDTO(mercearia.getChangeVersion() + 1, CatalogEntityType.UNIT, un.getId(),
+                        true, null, null, null))));
+
+        assertEquals("Mercearia", referenceData.category(mercearia.getId()).orElseThrow().name());
+        assertTrue(referenceData.unit(un.getId()).isEmpty());
+        assertNotSame(categoriesBefore, referenceData.categoriesJson());
+        assertEquals("[]", new String(referenceData.unitsJson(), StandardCharsets.UTF_8));
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+}
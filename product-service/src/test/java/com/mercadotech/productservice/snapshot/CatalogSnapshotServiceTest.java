@@ -0,0 +1,243 @@
+package com.mercadotech.productservice.snapshot;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercadotech.productservice.controller.CatalogSnapshotController;
+import com.mercadotech.productservice.dto.CatalogSnapshotDTO;
+import com.mercadotech.productservice.model.Category;
+import com.mercadotech.productservice.model.Product;
+import com.mercadotech.productservice.model.Unit;
+import com.mercadotech.productservice.repository.CategoryRepository;
+import com.mercadotech.productservice.repository.ProductRepository;
+import com.mercadotech.productservice.repository.UnitRepository;
+import com.mercadotech.productservice.service.CatalogVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CatalogSnapshotService.class, CatalogVersionService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // O snapshot lê numa transação própria o que já foi confirmado
+public class CatalogSnapshotServiceTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void snapshotDirectory(DynamicPropertyRegistry registry) {
+        registry.add("product.snapshot.dir", () -> directory.toString());
+    }
+
+    @Autowired
+    private CatalogSnapshotService snapshotService;
+    @Autowired
+    private CatalogVersionService versionService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private UnitRepository unitRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Category bebidas;
+    private Unit un;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        unitRepository.deleteAll();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        bebidas = new Category();
+        bebidas.setName("Bebidas");
+        bebidas = categoryRepository.save(bebidas);
+        un = new Unit();
+        un.setAbbreviation("UN");
+        un.setDescription("Unidade");
+        un = unitRepository.save(un);
+    }
+
+    @Test
+    void shouldWriteWholeCatalogInFeedFormatAtCurrentVersion() throws Exception {
+        Product cola = product("Refrigerante Cola 2L", "7891000315507", "17891000315504");
+        Product suco = product("Suco de Uva 1L");
+        Product agua = product("Água Mineral 500ml", "7891000053508");
+
+        CatalogSnapshotService.CatalogSnapshot snapshot = snapshotService.generate();
+
+        List<JsonNode> lines = read(Files.readAllBytes(snapshot.file()));
+        CatalogSnapshotDTO header = objectMapper.treeToValue(lines.get(0), CatalogSnapshotDTO.class);
+        assertEquals(versionService.current(), header.getVersion());
+        assertEquals(snapshot.file().getFileName().toString(), "catalog-" + header.getVersion() + ".ndjson.gz");
+        assertEquals(3, header.getProducts());
+        assertEquals(1, header.getCategories());
+        assertEquals(Files.size(snapshot.file()), snapshot.info().getBytes());
+
+        assertEquals(List.of("CATEGORY", "UNIT", "PRODUCT", "PRODUCT", "PRODUCT"),
+                lines.subList(1, lines.size()).stream().map(line -> line.get("type").asText()).toList());
+        assertEquals("Bebidas", lines.get(1).get("category").get("name").asText());
+        JsonNode first = lines.get(3).get("product");
+        assertEquals(cola.getId(), first.get("id").asLong());
+        assertEquals(bebidas.getId(), first.get("categoryId").asLong());
+        assertEquals(2, first.get("barcodes").size());
+        assertEquals(suco.getId(), lines.get(4).get("id").asLong());
+        assertEquals(0, lines.get(4).get("product").get("barcodes").size());
+        assertEquals("7891000053508", lines.get(5).get("product").get("barcodes").get(0).asText());
+        assertEquals(agua.getId(), lines.get(5).get("id").asLong());
+    }
+
+    @Test
+    void shouldWaitForWritesToSettleAndKeepRecentVersions() throws Exception {
+        // Instância própria: settle-delay 1000 ms, max-delay 5000 ms, keep 2, relógio controlado pelo teste
+        CatalogSnapshotService scheduled = new CatalogSnapshotService(versionService, productRepository,
+                categoryRepository, unitRepository, transactionManager, objectMapper, directory, 1000, 5000, 2);
+
+        assertTrue(scheduled.generateIfSettled(0)); // Sem snapshot: gera na hora
+        assertFalse(scheduled.generateIfSettled(100));
+
+        product("Refrigerante Cola 2L");
+        assertFalse(scheduled.generateIfSettled(200)); // Versão nova acabou de aparecer
+        product("Suco de Uva 1L");
+        assertFalse(scheduled.generateIfSettled(900)); // Ainda chegando gravações
+        assertFalse(scheduled.generateIfSettled(1800));
+        assertTrue(scheduled.generateIfSettled(1900)); // 1000 ms sem versão nova
+        assertEquals(versionService.current(), scheduled.latest().orElseThrow().version());
+
+        List<Long> generatedAt = new ArrayList<>();
+        for (long now = 2000; now <= 7500; now += 500) {
+            product("Produto " + now); // Gravações contínuas: nunca assentam, gera ao atingir max-delay
+            if (scheduled.generateIfSettled(now)) {
+                generatedAt.add(now);
+            }
+        }
+        assertEquals(List.of(7000L), generatedAt);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count()); // keep=2: o atual e o anterior
+        }
+    }
+
+    @Test
+    void shouldServeWithEtagAndSingleRange() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            product("Produto " + i, "789" + String.format("%09d", i) + checkDigit(789_000_000_000L + i));
+        }
+        CatalogSnapshotService.CatalogSnapshot snapshot = snapshotService.generate();
+        byte[] file = Files.readAllBytes(snapshot.file());
+        CatalogSnapshotController controller = new CatalogSnapshotController(snapshotService);
+
+        MockHttpServletResponse full = download(controller, new MockHttpServletRequest("GET", "/v1/products/snapshot"));
+        assertEquals(200, full.getStatus());
+        assertEquals(snapshot.etag(), full.getHeader("ETag"));
+        assertArrayEquals(file, full.getContentAsByteArray());
+        assertEquals(52, read(full.getContentAsByteArray()).size() - 1);
+
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/v1/products/snapshot");
+        revalidate.addHeader("If-None-Match", snapshot.etag());
+        assertEquals(304, download(controller, revalidate).getStatus());
+
+        MockHttpServletRequest resume = new MockHttpServletRequest("GET", "/v1/products/snapshot");
+        resume.addHeader("Range", "bytes=100-");
+        resume.addHeader("If-Range", snapshot.etag());
+        MockHttpServletResponse partial = download(controller, resume);
+        assertEquals(206, partial.getStatus());
+        assertEquals("bytes 100-" + (file.length - 1) + "/" + file.length, partial.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(file, 100, file.length), partial.getContentAsByteArray());
+
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/v1/products/snapshot");
+        stale.addHeader("Range", "bytes=100-");
+        stale.addHeader("If-Range", "\"1\""); // Versão anterior: recomeça do zero
+        assertEquals(200, download(controller, stale).getStatus());
+
+        MockHttpServletRequest beyond = new MockHttpServletRequest("GET", "/v1/products/snapshot");
+        beyond.addHeader("Range", "bytes=" + file.length + "-");
+        MockHttpServletResponse unsatisfiable = download(controller, beyond);
+        assertEquals(416, unsatisfiable.getStatus());
+        assertEquals("bytes */" + file.length, unsatisfiable.getHeader("Content-Range"));
+
+        MockHttpServletRequest sendfile = new MockHttpServletRequest("GET", "/v1/products/snapshot");
+        sendfile.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        sendfile.addHeader("Range", "bytes=-10");
+        MockHttpServletResponse zeroCopy = download(controller, sendfile);
+        assertEquals(0, zeroCopy.getContentAsByteArray().length); // O conector envia o arquivo
+        assertEquals(10, zeroCopy.getContentLengthLong());
+        assertEquals(snapshot.file().toAbsolutePath().toString(), sendfile.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals((long) file.length - 10, sendfile.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) file.length, sendfile.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    private MockHttpServletResponse download(CatalogSnapshotController controller, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.download(request, response);
+        return response;
+    }
+
+    private List<JsonNode> read(byte[] gzip) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(gzip)), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    lines.add(objectMapper.readTree(line));
+                }
+            }
+        }
+        return lines;
+    }
+
+    private Product product(String name, String... barcodes) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("9.99"));
+        product.setCategory(bebidas);
+        product.setUnit(un);
+        product.getBarcodes().addAll(List.of(barcodes));
+        return productRepository.save(product);
+    }
+
+    private static int checkDigit(long withoutCheck) {
+        int sum = 0;
+        for (int position = 1; withoutCheck > 0; position++, withoutCheck /= 10) {
+            sum += (int) (withoutCheck % 10) * (position % 2 == 1 ? 3 : 1);
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
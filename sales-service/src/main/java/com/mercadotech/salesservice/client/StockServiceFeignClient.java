@@ -1,21 +1,48 @@
 package com.mercadotech.salesservice.client;
 
+import com.mercadotech.commons.reconciliation.BucketDigest;
+import com.mercadotech.commons.reconciliation.DayDigest;
+import com.mercadotech.commons.reconciliation.ProductTotals;
 import com.mercadotech.salesservice.dto.SaidaEstoqueDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.http.ResponseEntity; // Importar ResponseEntity
 
-@FeignClient(name = "stock-service", url = "${stock-service.url:http://localhost:8084}") // Nome do serviço no Eureka e URL de fallback
+import java.time.LocalDate;
+import java.util.List;
+
+@FeignClient(name = "stock-service", url = "${stock-service.url:}") // Sem url fixa: instâncias vêm do Eureka via load balancer peak-EWMA (commons)
 public interface StockServiceFeignClient {
 
     /**
      * Endpoint para registrar uma saída (baixa) de estoque no stock-service.
-     * Mapeia para POST /estoque/saida no stock-service.
+     * Mapeia para POST /v1/estoque/saida no stock-service.
      * @param saidaEstoqueDTO DTO com os detalhes da saída de estoque.
      * @return ResponseEntity da resposta do stock-service.
      */
-    @PostMapping("/estoque/saida")
+    @PostMapping("/v1/estoque/saida")
     ResponseEntity<Void> registrarSaida(@RequestBody SaidaEstoqueDTO saidaEstoqueDTO);
     // Usamos ResponseEntity<Void> pois não precisamos do corpo da resposta, apenas do status
-}
\ No newline at end of file
+
+    // --- Reconciliação (ReconciliacaoService): digests das saídas do tipo VENDA, do dia ao produto ---
+
+    @GetMapping("/v1/estoque/reconciliacao/dias")
+    List<DayDigest> getDigestsPorDia(@RequestParam("inicio") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                     @RequestParam("fim") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim);
+
+    @GetMapping("/v1/estoque/reconciliacao/dias/{dia}/buckets")
+    List<BucketDigest> getDigestsPorBucket(@PathVariable("dia") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dia);
+
+    @GetMapping("/v1/estoque/reconciliacao/dias/{dia}/buckets/{bucket}")
+    List<ProductTotals> getTotaisPorProduto(@PathVariable("dia") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dia,
+                                            @PathVariable("bucket") int bucket);
+
+    @GetMapping("/v1/estoque/reconciliacao/dias/{dia}/produtos/{produtoId}")
+    List<SaidaEstoqueDTO> getSaidasDeVenda(@PathVariable("dia") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dia,
+                                           @PathVariable("produtoId") Long produtoId);
+}
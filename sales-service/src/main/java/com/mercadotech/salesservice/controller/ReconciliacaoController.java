@@ -0,0 +1,54 @@
+package com.mercadotech.salesservice.controller;
+
+import com.mercadotech.salesservice.dto.RelatorioReconciliacaoDTO;
+import com.mercadotech.salesservice.service.ReconciliacaoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/v1/vendas/reconciliacao")
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliacaoController {
+
+    private final ReconciliacaoService reconciliacaoService;
+
+    /**
+     * Endpoint para reconciliar as vendas com as saídas de estoque do tipo VENDA num período.
+     * Mapeia para POST /vendas/reconciliacao?inicio=YYYY-MM-DD&fim=YYYY-MM-DD
+     * @return Relatório com as divergências e os reparos propostos e status 200 OK.
+     */
+    @PostMapping
+    public ResponseEntity<RelatorioReconciliacaoDTO> reconciliar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        try {
+            return ResponseEntity.ok(reconciliacaoService.reconciliar(inicio, fim));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage()); // Outra execução em andamento
+        } catch (RuntimeException e) {
+            log.error("Erro na reconciliação inicio={} fim={}: {}", inicio, fim, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao reconciliar com o stock-service: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint para consultar o relatório da última reconciliação (agendada ou sob demanda).
+     * Mapeia para GET /vendas/reconciliacao/ultima
+     */
+    @GetMapping("/ultima")
+    public ResponseEntity<RelatorioReconciliacaoDTO> getUltimaReconciliacao() {
+        return reconciliacaoService.getUltimoRelatorio()
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nenhuma reconciliação executada."));
+    }
+}
@@ -29,17 +29,17 @@ public class SalesController {
      */
     @PostMapping
     public ResponseEntity<Venda> registrarVenda(@RequestBody Venda venda) {
-        log.info("Recebida requisição para registrar venda: {}", venda);
         try {
             Venda novaVenda = salesService.registrarVenda(venda);
-            log.info("Venda registrada com sucesso. ID: {}", novaVenda.getId());
+            log.info("Venda registrada id={} produtoId={} quantidade={} valorTotal={}",
+                    novaVenda.getId(), novaVenda.getProdutoId(), novaVenda.getQuantidade(), novaVenda.getValorTotal());
             return new ResponseEntity<>(novaVenda, HttpStatus.CREATED); // Retorna 201 Created
         } catch (IllegalArgumentException e) {
-            log.error("Erro ao registrar venda: {}", e.getMessage());
+            log.error("Erro ao registrar venda produtoId={}: {}", venda.getProdutoId(), e.getMessage());
             // Isso pode acontecer se o stock-service retornar BAD_REQUEST (ex: saldo insuficiente)
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (RuntimeException e) {
-            log.error("Erro inesperado ou falha na integração ao registrar venda: {}", e.getMessage());
+            log.error("Erro inesperado ou falha na integração ao registrar venda produtoId={}: {}", venda.getProdutoId(), e.getMessage());
             // Captura RuntimeException que pode vir do SalesService (rollback)
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar a venda: " + e.getMessage());
         }
@@ -56,9 +56,8 @@ public class SalesController {
     public ResponseEntity<List<Venda>> getVendasPorPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim) {
-        log.info("Recebida requisição para relatório de vendas entre {} e {}", dataInicio, dataFim);
         List<Venda> vendas = salesService.buscarVendasPorPeriodo(dataInicio, dataFim);
-        log.info("Encontradas {} vendas no período.", vendas.size());
+        log.info("Relatório de vendas dataInicio={} dataFim={} vendas={}", dataInicio, dataFim, vendas.size());
         return ResponseEntity.ok(vendas); // Retorna 200 OK
     }
 
@@ -70,9 +69,8 @@ public class SalesController {
      */
     @GetMapping("/produto/{produtoId}")
     public ResponseEntity<List<Venda>> getHistoricoVendasPorProduto(@PathVariable Long produtoId) {
-        log.info("Recebida requisição para histórico de vendas do produto ID: {}", produtoId);
         List<Venda> historico = salesService.buscarHistoricoVendasPorProduto(produtoId);
-        log.info("Encontradas {} vendas para o produto ID: {}", historico.size(), produtoId);
+        log.info("Histórico de vendas produtoId={} vendas={}", produtoId, historico.size());
         return ResponseEntity.ok(historico); // Retorna 200 OK
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.mercadotech.salesservice.dto;
+
+import com.mercadotech.salesservice.enums.TipoDivergencia;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DivergenciaDTO {
+    private TipoDivergencia tipo;
+    private LocalDate dia;
+    private Long produtoId;
+    private Long vendaId; // Nulo se a saída não referencia uma venda
+    private Long saidaId; // Nulo se a venda não tem saída
+    private Integer quantidadeVenda;
+    private Integer quantidadeSaida;
+    private String acaoProposta; // Reparo sugerido; nada é aplicado automaticamente
+}
@@ -0,0 +1,27 @@
+package com.mercadotech.salesservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatorioReconciliacaoDTO {
+    private LocalDate inicio;
+    private LocalDate fim;
+    private LocalDateTime executadoEm;
+    private long duracaoMillis;
+    private int diasComMovimento;
+    private int diasDivergentes;
+    private int bucketsDivergentes;
+    private int produtosDivergentes; // Folhas (dia, produto) cujos totais diferem
+    private int chamadasStock; // Requisições ao stock-service nesta execução
+    private List<DivergenciaDTO> divergencias;
+}
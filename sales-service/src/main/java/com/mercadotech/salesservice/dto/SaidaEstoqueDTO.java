@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor // Gera construtor com todos os argumentos do Lombok
 @Builder // Gera um builder para a classe
 public class SaidaEstoqueDTO {
+    private Long id; // Só nas respostas do stock-service (reconciliação)
     private Long produtoId;
     private Integer quantidade;
     private LocalDateTime dataSaida;
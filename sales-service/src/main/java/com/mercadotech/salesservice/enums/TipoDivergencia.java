@@ -0,0 +1,8 @@
+package com.mercadotech.salesservice.enums;
+
+public enum TipoDivergencia {
+    VENDA_SEM_SAIDA,        // Venda registrada sem a baixa no stock-service
+    SAIDA_SEM_VENDA,        // Saída VENDA cuja venda não existe (ex.: rollback da venda depois da baixa)
+    SAIDA_DUPLICADA,        // Mais de uma saída para a mesma venda (ex.: retentativa depois de timeout)
+    QUANTIDADE_DIVERGENTE   // Saída com quantidade diferente da venda
+}
@@ -1,7 +1,9 @@
 package com.mercadotech.salesservice.repository;
 
+import com.mercadotech.commons.reconciliation.MovementAggregate;
 import com.mercadotech.salesservice.entity.Venda;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -25,4 +27,20 @@ public interface VendaRepository extends JpaRepository<Venda, Long> {
      * @return Lista de vendas dentro do período.
      */
     List<Venda> findByDataVendaBetween(LocalDateTime dataInicio, LocalDateTime dataFim);
-}
\ No newline at end of file
+
+    /**
+     * Vendas agregadas por dia e produto no período [inicio, fim), para os digests da reconciliação.
+     */
+    @Query("select new com.mercadotech.commons.reconciliation.MovementAggregate("
+            + "cast(v.dataVenda as LocalDate), v.produtoId, count(v), sum(v.quantidade)) "
+            + "from Venda v where v.dataVenda >= :inicio and v.dataVenda < :fim "
+            + "group by cast(v.dataVenda as LocalDate), v.produtoId")
+    List<MovementAggregate> agregarPorDiaEProduto(LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Vendas de um produto no período [inicio, fim), por ordem de data.
+     */
+    @Query("select v from Venda v where v.produtoId = :produtoId and v.dataVenda >= :inicio and v.dataVenda < :fim "
+            + "order by v.dataVenda, v.id")
+    List<Venda> buscarPorProdutoNoPeriodo(Long produtoId, LocalDateTime inicio, LocalDateTime fim);
+}
@@ -0,0 +1,306 @@
+package com.mercadotech.salesservice.service;
+
+import com.mercadotech.commons.reconciliation.BucketDigest;
+import com.mercadotech.commons.reconciliation.DayDigest;
+import com.mercadotech.commons.reconciliation.MovementAggregate;
+import com.mercadotech.commons.reconciliation.MovementDigests;
+import com.mercadotech.commons.reconciliation.ProductTotals;
+import com.mercadotech.salesservice.client.StockServiceFeignClient;
+import com.mercadotech.salesservice.dto.DivergenciaDTO;
+import com.mercadotech.salesservice.dto.RelatorioReconciliacaoDTO;
+import com.mercadotech.salesservice.dto.SaidaEstoqueDTO;
+import com.mercadotech.salesservice.entity.Venda;
+import com.mercadotech.salesservice.enums.TipoDivergencia;
+import com.mercadotech.salesservice.repository.VendaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Reconcilia as vendas com as saídas do tipo VENDA do stock-service, que se separam quando a venda falha depois da
+ * baixa já gravada (ou a baixa é repetida). Os dois lados resumem os movimentos em digests hierárquicos
+ * ({@link MovementDigests}): compara-se primeiro um digest por dia do período, depois os buckets só dos dias que
+ * diferem, os totais por produto só dos buckets que diferem e, por fim, as vendas e saídas de cada (dia, produto)
+ * divergente, casadas pelo ID da venda na observação da saída. Um ano sem divergências custa uma requisição ao
+ * stock-service e um GROUP BY por mês de cada lado.
+ *
+ * O resultado é um relatório com as divergências e o reparo proposto para cada uma; nada é corrigido
+ * automaticamente.
+ */
+@Service
+@Slf4j
+public class ReconciliacaoService {
+
+    private static final int MAX_DIVERGENCIAS_NO_LOG = 50;
+    private static final Pattern VENDA_ID = Pattern.compile(Pattern.quote(SalesService.OBSERVACAO_BAIXA_VENDA) + "(\\d+)");
+
+    private final VendaRepository vendaRepository;
+    private final StockServiceFeignClient stockServiceFeignClient;
+    private final int diasAgendados;
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+    private volatile RelatorioReconciliacaoDTO ultimoRelatorio;
+
+    public ReconciliacaoService(VendaRepository vendaRepository, StockServiceFeignClient stockServiceFeignClient,
+                                @Value("${sales.reconciliacao.dias:2}") int diasAgendados) {
+        this.vendaRepository = vendaRepository;
+        this.stockServiceFeignClient = stockServiceFeignClient;
+        this.diasAgendados = Math.max(1, diasAgendados);
+    }
+
+    /**
+     * Reconcilia os últimos {@code sales.reconciliacao.dias} dias completos (até ontem).
+     */
+    @Scheduled(cron = "${sales.reconciliacao.cron:0 30 3 * * *}")
+    public void reconciliarAgendado() {
+        LocalDate ontem = LocalDate.now().minusDays(1);
+        try {
+            reconciliar(ontem.minusDays(diasAgendados - 1), ontem);
+        } catch (IllegalStateException e) {
+            log.warn("Reconciliação agendada ignorada: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Falha na reconciliação agendada com o stock-service", e); // Tenta de novo no próximo horário
+        }
+    }
+
+    public Optional<RelatorioReconciliacaoDTO> getUltimoRelatorio() {
+        return Optional.ofNullable(ultimoRelatorio);
+    }
+
+    /**
+     * Compara vendas e saídas de venda entre {@code inicio} e {@code fim} (inclusive).
+     * @throws IllegalArgumentException Se o período for inválido.
+     * @throws IllegalStateException Se outra reconciliação estiver em andamento.
+     */
+    public RelatorioReconciliacaoDTO reconciliar(LocalDate inicio, LocalDate fim) {
+        if (!MovementDigests.isValidPeriod(inicio, fim)) {
+            // Mesmo limite do stock-service, que responderia 400 no meio da execução
+            throw new IllegalArgumentException("Período inválido de " + inicio + " a " + fim + " (até "
+                    + MovementDigests.MAX_DAYS + " dias).");
+        }
+        if (!emExecucao.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reconciliação já em andamento.");
+        }
+        try {
+            RelatorioReconciliacaoDTO relatorio = executar(inicio, fim);
+            ultimoRelatorio = relatorio;
+            registrar(relatorio);
+            return relatorio;
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    private RelatorioReconciliacaoDTO executar(LocalDate inicio, LocalDate fim) {
+        long inicioExecucao = System.nanoTime();
+        int chamadasStock = 0;
+
+        // 1. Dias: digests do período inteiro de cada lado
+        Map<LocalDate, Long> vendasPorDia = porChave(MovementDigests.days(inicio, fim, this::agregar),
+                DayDigest::day, DayDigest::digest);
+        Map<LocalDate, Long> saidasPorDia = porChave(stockServiceFeignClient.getDigestsPorDia(inicio, fim),
+                DayDigest::day, DayDigest::digest);
+        chamadasStock++;
+        Set<LocalDate> diasDivergentes = divergentes(vendasPorDia, saidasPorDia);
+
+        // 2. Buckets e 3. produtos, só nos ramos que diferem
+        List<Folha> folhas = new ArrayList<>();
+        int bucketsDivergentes = 0;
+        for (LocalDate dia : diasDivergentes) {
+            List<MovementAggregate> vendasDoDia = agregar(dia, dia.plusDays(1));
+            Map<Integer, Long> bucketsVendas = porChave(MovementDigests.buckets(vendasDoDia),
+                    BucketDigest::bucket, BucketDigest::digest);
+            Map<Integer, Long> bucketsSaidas = porChave(stockServiceFeignClient.getDigestsPorBucket(dia),
+                    BucketDigest::bucket, BucketDigest::digest);
+            chamadasStock++;
+            for (int bucket : divergentes(bucketsVendas, bucketsSaidas)) {
+                bucketsDivergentes++;
+                Map<Long, ProductTotals> produtosVendas = porChave(MovementDigests.products(vendasDoDia, bucket),
+                        ProductTotals::productId, Function.identity());
+                Map<Long, ProductTotals> produtosSaidas = porChave(stockServiceFeignClient.getTotaisPorProduto(dia, bucket),
+                        ProductTotals::productId, Function.identity());
+                chamadasStock++;
+                for (long produtoId : divergentes(produtosVendas, produtosSaidas)) {
+                    folhas.add(new Folha(dia, produtoId));
+                }
+            }
+        }
+
+        // 4. Registros das folhas divergentes, casados pelo ID da venda
+        Map<Long, Venda> vendas = new LinkedHashMap<>();
+        Map<Long, List<SaidaEstoqueDTO>> saidasPorVenda = new LinkedHashMap<>();
+        List<SaidaEstoqueDTO> saidasSemReferencia = new ArrayList<>();
+        for (Folha folha : folhas) {
+            vendaRepository.buscarPorProdutoNoPeriodo(folha.produtoId(), folha.dia().atStartOfDay(),
+                    folha.dia().plusDays(1).atStartOfDay()).forEach(venda -> vendas.put(venda.getId(), venda));
+            for (SaidaEstoqueDTO saida : stockServiceFeignClient.getSaidasDeVenda(folha.dia(), folha.produtoId())) {
+                Long vendaId = vendaReferenciada(saida);
+                if (vendaId == null) {
+                    saidasSemReferencia.add(saida);
+                } else {
+                    saidasPorVenda.computeIfAbsent(vendaId, id -> new ArrayList<>()).add(saida);
+                }
+            }
+            chamadasStock++;
+        }
+        // Venda fora das folhas (outro dia ou fora do período) referenciada por uma saída delas
+        Set<Long> vendasFora = new HashSet<>(saidasPorVenda.keySet());
+        vendasFora.removeAll(vendas.keySet());
+        if (!vendasFora.isEmpty()) {
+            vendaRepository.findAllById(vendasFora).forEach(venda -> vendas.put(venda.getId(), venda));
+        }
+
+        List<DivergenciaDTO> divergencias = new ArrayList<>();
+        saidasPorVenda.forEach((vendaId, saidas) -> {
+            Venda venda = vendas.remove(vendaId);
+            if (venda == null) {
+                saidas.forEach(saida -> divergencias.add(saidaSemVenda(saida, vendaId)));
+                return;
+            }
+            SaidaEstoqueDTO saida = saidas.get(0);
+            if (!Objects.equals(venda.getQuantidade(), saida.getQuantidade())) {
+                divergencias.add(quantidadeDivergente(venda, saida));
+            }
+            saidas.subList(1, saidas.size()).forEach(duplicada -> divergencias.add(saidaDuplicada(venda, duplicada)));
+        });
+        vendas.values().forEach(venda -> divergencias.add(vendaSemSaida(venda)));
+        saidasSemReferencia.forEach(saida -> divergencias.add(saidaSemVenda(saida, null)));
+        divergencias.sort(Comparator.comparing(DivergenciaDTO::getDia)
+                .thenComparing(DivergenciaDTO::getProdutoId)
+                .thenComparing(DivergenciaDTO::getTipo));
+
+        Set<LocalDate> diasComMovimento = new HashSet<>(vendasPorDia.keySet());
+        diasComMovimento.addAll(saidasPorDia.keySet());
+        return RelatorioReconciliacaoDTO.builder()
+                .inicio(inicio)
+                .fim(fim)
+                .executadoEm(LocalDateTime.now())
+                .duracaoMillis((System.nanoTime() - inicioExecucao) / 1_000_000)
+                .diasComMovimento(diasComMovimento.size())
+                .diasDivergentes(diasDivergentes.size())
+                .bucketsDivergentes(bucketsDivergentes)
+                .produtosDivergentes(folhas.size())
+                .chamadasStock(chamadasStock)
+                .divergencias(divergencias)
+                .build();
+    }
+
+    private List<MovementAggregate> agregar(LocalDate de, LocalDate ateExclusive) {
+        return vendaRepository.agregarPorDiaEProduto(de.atStartOfDay(), ateExclusive.atStartOfDay());
+    }
+
+    private static <T, K, V> Map<K, V> porChave(List<T> itens, Function<T, K> chave, Function<T, V> valor) {
+        return itens.stream().collect(Collectors.toMap(chave, valor));
+    }
+
+    /**
+     * Chaves presentes em algum dos lados cujo valor difere (ausente num lado conta como diferente de presente).
+     */
+    private static <K extends Comparable<? super K>> Set<K> divergentes(Map<K, ?> vendas, Map<K, ?> saidas) {
+        Set<K> chaves = new TreeSet<>(vendas.keySet());
+        chaves.addAll(saidas.keySet());
+        chaves.removeIf(chave -> Objects.equals(vendas.get(chave), saidas.get(chave)));
+        return chaves;
+    }
+
+    private static Long vendaReferenciada(SaidaEstoqueDTO saida) {
+        if (saida.getObservacao() == null) {
+            return null;
+        }
+        Matcher matcher = VENDA_ID.matcher(saida.getObservacao());
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private static DivergenciaDTO vendaSemSaida(Venda venda) {
+        return DivergenciaDTO.builder()
+                .tipo(TipoDivergencia.VENDA_SEM_SAIDA)
+                .dia(venda.getDataVenda().toLocalDate())
+                .produtoId(venda.getProdutoId())
+                .vendaId(venda.getId())
+                .quantidadeVenda(venda.getQuantidade())
+                .acaoProposta("Registrar no stock-service a saída VENDA de " + venda.getQuantidade() + " un. do produto "
+                        + venda.getProdutoId() + " (POST /v1/estoque/saida, observação \""
+                        + SalesService.OBSERVACAO_BAIXA_VENDA + venda.getId() + "\")")
+                .build();
+    }
+
+    private static DivergenciaDTO saidaSemVenda(SaidaEstoqueDTO saida, Long vendaId) {
+        return DivergenciaDTO.builder()
+                .tipo(TipoDivergencia.SAIDA_SEM_VENDA)
+                .dia(saida.getDataSaida().toLocalDate())
+                .produtoId(saida.getProdutoId())
+                .vendaId(vendaId)
+                .saidaId(saida.getId())
+                .quantidadeSaida(saida.getQuantidade())
+                .acaoProposta("Estornar a saída " + saida.getId() + " (entrada de ajuste de " + saida.getQuantidade()
+                        + " un. do produto " + saida.getProdutoId() + ") ou registrar a venda, se ela de fato ocorreu")
+                .build();
+    }
+
+    private static DivergenciaDTO saidaDuplicada(Venda venda, SaidaEstoqueDTO saida) {
+        return DivergenciaDTO.builder()
+                .tipo(TipoDivergencia.SAIDA_DUPLICADA)
+                .dia(saida.getDataSaida().toLocalDate())
+                .produtoId(saida.getProdutoId())
+                .vendaId(venda.getId())
+                .saidaId(saida.getId())
+                .quantidadeVenda(venda.getQuantidade())
+                .quantidadeSaida(saida.getQuantidade())
+                .acaoProposta("Estornar a saída duplicada " + saida.getId() + " (entrada de ajuste de "
+                        + saida.getQuantidade() + " un. do produto " + saida.getProdutoId() + ")")
+                .build();
+    }
+
+    private static DivergenciaDTO quantidadeDivergente(Venda venda, SaidaEstoqueDTO saida) {
+        int diferenca = saida.getQuantidade() - venda.getQuantidade();
+        String acao = diferenca > 0
+                ? "Estornar " + diferenca + " un. da saída " + saida.getId() + " (entrada de ajuste do produto "
+                        + saida.getProdutoId() + ")"
+                : "Registrar saída VENDA complementar de " + -diferenca + " un. do produto " + venda.getProdutoId()
+                        + " para a venda " + venda.getId();
+        return DivergenciaDTO.builder()
+                .tipo(TipoDivergencia.QUANTIDADE_DIVERGENTE)
+                .dia(venda.getDataVenda().toLocalDate())
+                .produtoId(venda.getProdutoId())
+                .vendaId(venda.getId())
+                .saidaId(saida.getId())
+                .quantidadeVenda(venda.getQuantidade())
+                .quantidadeSaida(saida.getQuantidade())
+                .acaoProposta(acao)
+                .build();
+    }
+
+    private static void registrar(RelatorioReconciliacaoDTO relatorio) {
+        log.info("Reconciliação vendas x saídas inicio={} fim={} dias={} diasDivergentes={} bucketsDivergentes={} "
+                        + "produtosDivergentes={} divergencias={} chamadasStock={} duracaoMs={}",
+                relatorio.getInicio(), relatorio.getFim(), relatorio.getDiasComMovimento(), relatorio.getDiasDivergentes(),
+                relatorio.getBucketsDivergentes(), relatorio.getProdutosDivergentes(), relatorio.getDivergencias().size(),
+                relatorio.getChamadasStock(), relatorio.getDuracaoMillis());
+        relatorio.getDivergencias().stream().limit(MAX_DIVERGENCIAS_NO_LOG).forEach(divergencia ->
+                log.warn("Divergência {} dia={} produtoId={} vendaId={} saidaId={} quantidadeVenda={} quantidadeSaida={}: {}",
+                        divergencia.getTipo(), divergencia.getDia(), divergencia.getProdutoId(), divergencia.getVendaId(),
+                        divergencia.getSaidaId(), divergencia.getQuantidadeVenda(), divergencia.getQuantidadeSaida(),
+                        divergencia.getAcaoProposta()));
+    }
+
+    private record Folha(LocalDate dia, long produtoId) {
+    }
+}
@@ -19,6 +19,11 @@ import java.util.List;
 @Slf4j // Gera um logger para a classe
 public class SalesService {
 
+    /**
+     * Início da observação da saída de estoque de cada venda, seguido do ID da venda (lido pela reconciliação).
+     */
+    public static final String OBSERVACAO_BAIXA_VENDA = "Baixa automática via sales-service para Venda ID: ";
+
     private final VendaRepository vendaRepository;
     private final StockServiceFeignClient stockServiceFeignClient;
 
@@ -31,18 +36,18 @@ public class SalesService {
      */
     @Transactional // Garante que a operação de venda e baixa de estoque seja atômica
     public Venda registrarVenda(Venda venda) {
-        log.info("Iniciando registro de venda para produto ID: {}, quantidade: {}", venda.getProdutoId(), venda.getQuantidade());
+        log.debug("Iniciando registro de venda produtoId={} quantidade={}", venda.getProdutoId(), venda.getQuantidade());
 
         // 1. Calcular valor total da venda
         if (venda.getValorUnitario() == null) {
             // Em um cenário real, você buscaria o preço do produto no product-service
             // Para simplificar, estamos assumindo que o valorUnitario é fornecido ou pode ser um valor padrão
-            log.warn("Valor unitário não fornecido para venda do produto ID: {}. Ajuste na lógica para buscar do ProductService.", venda.getProdutoId());
+            log.warn("Valor unitário não fornecido produtoId={}. Ajuste na lógica para buscar do ProductService.", venda.getProdutoId());
             venda.setValorUnitario(BigDecimal.ZERO); // Ou lance uma exceção
         }
         BigDecimal valorTotal = venda.getValorUnitario().multiply(BigDecimal.valueOf(venda.getQuantidade()));
         venda.setValorTotal(valorTotal);
-        log.info("Valor total da venda calculado: {}", valorTotal);
+        log.debug("Valor total da venda calculado valorTotal={}", valorTotal);
 
         // 2. Preencher a data da venda se não for fornecida
         if (venda.getDataVenda() == null) {
@@ -51,30 +56,30 @@ public class SalesService {
 
         // 3. Salvar a venda no banco de dados do sales-service (primeira parte da transação)
         Venda novaVenda = vendaRepository.save(venda);
-        log.info("Venda registrada no sales-service com ID: {}", novaVenda.getId());
+        log.debug("Venda registrada no sales-service id={}", novaVenda.getId());
 
         // 4. Acionar baixa de estoque no stock-service
         SaidaEstoqueDTO saidaEstoqueDTO = SaidaEstoqueDTO.builder()
                 .produtoId(novaVenda.getProdutoId())
                 .quantidade(novaVenda.getQuantidade())
-                .dataSaida(LocalDateTime.now())
+                .dataSaida(novaVenda.getDataVenda()) // Mesmo dia da venda: a reconciliação compara dia a dia
                 .tipoSaida("VENDA") // Tipo de saída para uma venda
-                .observacao("Baixa automática via sales-service para Venda ID: " + novaVenda.getId())
+                .observacao(OBSERVACAO_BAIXA_VENDA + novaVenda.getId())
                 .build();
 
-        log.info("Acionando baixa de estoque no stock-service para produto ID: {}, quantidade: {}", saidaEstoqueDTO.getProdutoId(), saidaEstoqueDTO.getQuantidade());
+        log.debug("Acionando baixa de estoque no stock-service produtoId={} quantidade={}", saidaEstoqueDTO.getProdutoId(), saidaEstoqueDTO.getQuantidade());
         try {
             ResponseEntity<Void> response = stockServiceFeignClient.registrarSaida(saidaEstoqueDTO);
 
             if (!response.getStatusCode().is2xxSuccessful()) {
                 // Se o stock-service não retornar sucesso (ex: 400 Bad Request por saldo insuficiente)
-                log.error("Falha ao registrar baixa de estoque no stock-service. Status: {}. Mensagem: {}", response.getStatusCode(), response.getBody());
+                log.error("Falha ao registrar baixa de estoque no stock-service vendaId={} status={}", novaVenda.getId(), response.getStatusCode());
                 throw new RuntimeException("Falha na baixa de estoque. Status do stock-service: " + response.getStatusCode());
             }
-            log.info("Baixa de estoque registrada com sucesso no stock-service.");
+            log.debug("Baixa de estoque registrada no stock-service vendaId={}", novaVenda.getId());
         } catch (Exception e) {
             // Captura qualquer exceção (ex: FeignException, ConnectException) e força o rollback
-            log.error("Erro de comunicação ou lógica com o stock-service ao tentar baixar estoque. Forçando rollback da venda. Erro: {}", e.getMessage());
+            log.error("Erro ao baixar estoque no stock-service, rollback da venda vendaId={}: {}", novaVenda.getId(), e.getMessage());
             // Uma RuntimeException causará o rollback da transação @Transactional automaticamente
             throw new RuntimeException("Erro ao processar baixa de estoque: " + e.getMessage(), e);
         }
@@ -89,7 +94,7 @@ public class SalesService {
      * @return Lista de vendas no período especificado.
      */
     public List<Venda> buscarVendasPorPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
-        log.info("Buscando vendas entre {} e {}", dataInicio, dataFim);
+        log.debug("Buscando vendas dataInicio={} dataFim={}", dataInicio, dataFim);
         return vendaRepository.findByDataVendaBetween(dataInicio, dataFim);
     }
 
@@ -99,7 +104,7 @@ public class SalesService {
      * @return Lista de vendas para o produto.
      */
     public List<Venda> buscarHistoricoVendasPorProduto(Long produtoId) {
-        log.info("Buscando histórico de vendas para o produto ID: {}", produtoId);
+        log.debug("Buscando histórico de vendas produtoId={}", produtoId);
         return vendaRepository.findByProdutoId(produtoId);
     }
 }
\ No newline at end of file
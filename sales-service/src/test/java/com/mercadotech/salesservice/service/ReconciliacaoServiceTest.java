@@ -0,0 +1,251 @@
+package com.mercadotech.salesservice.service;
+
+import com.mercadotech.commons.reconciliation.MovementAggregate;
+import com.mercadotech.commons.reconciliation.MovementDigests;
+import com.mercadotech.salesservice.client.StockServiceFeignClient;
+import com.mercadotech.salesservice.dto.DivergenciaDTO;
+import com.mercadotech.salesservice.dto.RelatorioReconciliacaoDTO;
+import com.mercadotech.salesservice.dto.SaidaEstoqueDTO;
+import com.mercadotech.salesservice.entity.Venda;
+import com.mercadotech.salesservice.enums.TipoDivergencia;
+import com.mercadotech.salesservice.repository.VendaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Um ano de vendas (20 produtos, 3 vendas por produto por dia) contra um stock-service simulado em memória, que
+ * responde aos endpoints de reconciliação com os mesmos {@link MovementDigests} do stock-service real.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT) // Cada cenário usa só parte dos endpoints simulados
+public class ReconciliacaoServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2025, 12, 31);
+    private static final int PRODUTOS = 20;
+
+    @Mock
+    private VendaRepository vendaRepository;
+
+    @Mock
+    private StockServiceFeignClient stockServiceFeignClient;
+
+    private ReconciliacaoService reconciliacaoService;
+
+    private final List<Venda> vendas = new ArrayList<>();
+    private final List<SaidaEstoqueDTO> saidas = new ArrayList<>();
+    private long proximaVenda = 1;
+    private long proximaSaida = 1;
+
+    @BeforeEach
+    void setUp() {
+        for (LocalDate dia = INICIO; !dia.isAfter(FIM); dia = dia.plusDays(1)) {
+            for (long produtoId = 1; produtoId <= PRODUTOS; produtoId++) {
+                for (int i = 0; i < 3; i++) {
+                    Venda venda = venda(produtoId, 1 + i, dia.atTime(9 + i * 4, 0));
+                    saidas.add(saida(venda, venda.getQuantidade(), venda.getDataVenda()));
+                }
+            }
+        }
+        simularVendas();
+        simularStock();
+        reconciliacaoService = new ReconciliacaoService(vendaRepository, stockServiceFeignClient, 2);
+    }
+
+    @Test
+    void shouldFindNoDivergenceWithOneStockCallWhenInSync() {
+        RelatorioReconciliacaoDTO relatorio = reconciliacaoService.reconciliar(INICIO, FIM);
+
+        assertEquals(365, relatorio.getDiasComMovimento());
+        assertEquals(0, relatorio.getDiasDivergentes());
+        assertTrue(relatorio.getDivergencias().isEmpty());
+        assertEquals(1, relatorio.getChamadasStock());
+        verify(stockServiceFeignClient, never()).getDigestsPorBucket(any());
+        verify(vendaRepository, times(12)).agregarPorDiaEProduto(any(), any()); // Um GROUP BY por mês
+    }
+
+    @Test
+    void shouldNarrowDownToDivergentProductsAndProposeRepairs() {
+        // Venda desfeita depois da baixa: saída sem venda
+        Venda desfeita = vendas.get(1000);
+        vendas.remove(desfeita);
+        // Baixa que falhou sem desfazer a venda: venda sem saída
+        Venda semBaixa = vendas.get(5000);
+        saidas.removeIf(saida -> saida.getObservacao().endsWith(": " + semBaixa.getId()));
+        // Baixa repetida depois de timeout
+        Venda repetida = vendas.get(9000);
+        SaidaEstoqueDTO duplicada = saida(repetida, repetida.getQuantidade(), repetida.getDataVenda().plusMinutes(1));
+        saidas.add(duplicada);
+        // Baixa com quantidade diferente
+        Venda alterada = vendas.get(15000);
+        saidas.stream().filter(saida -> saida.getObservacao().endsWith(": " + alterada.getId()))
+                .forEach(saida -> saida.setQuantidade(alterada.getQuantidade() + 2));
+
+        RelatorioReconciliacaoDTO relatorio = reconciliacaoService.reconciliar(INICIO, FIM);
+
+        Map<TipoDivergencia, DivergenciaDTO> porTipo = relatorio.getDivergencias().stream()
+                .collect(Collectors.toMap(DivergenciaDTO::getTipo, Function.identity()));
+        assertEquals(4, relatorio.getDivergencias().size());
+        assertEquals(Set.of(TipoDivergencia.values()), porTipo.keySet());
+
+        DivergenciaDTO saidaSemVenda = porTipo.get(TipoDivergencia.SAIDA_SEM_VENDA);
+        assertEquals(desfeita.getId(), saidaSemVenda.getVendaId());
+        assertEquals(desfeita.getProdutoId(), saidaSemVenda.getProdutoId());
+        assertTrue(saidaSemVenda.getAcaoProposta().startsWith("Estornar a saída " + saidaSemVenda.getSaidaId()));
+
+        DivergenciaDTO vendaSemSaida = porTipo.get(TipoDivergencia.VENDA_SEM_SAIDA);
+        assertEquals(semBaixa.getId(), vendaSemSaida.getVendaId());
+        assertNull(vendaSemSaida.getSaidaId());
+        assertTrue(vendaSemSaida.getAcaoProposta().contains(SalesService.OBSERVACAO_BAIXA_VENDA + semBaixa.getId()));
+
+        assertEquals(duplicada.getId(), porTipo.get(TipoDivergencia.SAIDA_DUPLICADA).getSaidaId());
+        DivergenciaDTO quantidade = porTipo.get(TipoDivergencia.QUANTIDADE_DIVERGENTE);
+        assertEquals(alterada.getId(), quantidade.getVendaId());
+        assertTrue(quantidade.getAcaoProposta().startsWith("Estornar 2 un."));
+
+        // Só os 4 dias, os seus buckets divergentes e os 4 produtos foram buscados no stock-service
+        assertEquals(4, relatorio.getDiasDivergentes());
+        assertEquals(4, relatorio.getProdutosDivergentes());
+        assertEquals(1 + 4 + relatorio.getBucketsDivergentes() + 4, relatorio.getChamadasStock());
+        verify(stockServiceFeignClient, times(4)).getSaidasDeVenda(any(), anyLong());
+    }
+
+    @Test
+    void shouldMatchSaleAndStockOutputRecordedOnDifferentDays() {
+        // Baixa antiga (data da saída = momento da baixa) que passou da meia-noite
+        Venda venda = venda(3L, 5, LocalDate.of(2025, 3, 10).atTime(23, 59, 59));
+        saidas.add(saida(venda, 5, LocalDate.of(2025, 3, 11).atTime(0, 0, 1)));
+
+        RelatorioReconciliacaoDTO relatorio = reconciliacaoService.reconciliar(INICIO, FIM);
+
+        assertEquals(2, relatorio.getDiasDivergentes());
+        assertTrue(relatorio.getDivergencias().isEmpty());
+    }
+
+    @Test
+    void shouldRejectConcurrentAndInvalidRuns() {
+        assertThrows(IllegalArgumentException.class, () -> reconciliacaoService.reconciliar(FIM, INICIO));
+        // Acima do limite do stock-service: recusado antes de qualquer chamada
+        assertThrows(IllegalArgumentException.class,
+                () -> reconciliacaoService.reconciliar(INICIO, INICIO.plusDays(MovementDigests.MAX_DAYS + 1)));
+        verifyNoInteractions(stockServiceFeignClient);
+        doAnswer(invocation -> {
+            assertThrows(IllegalStateException.class, () -> reconciliacaoService.reconciliar(INICIO, FIM));
+            return List.of();
+        }).when(stockServiceFeignClient).getDigestsPorDia(any(), any());
+
+        reconciliacaoService.reconciliar(INICIO, FIM);
+
+        assertTrue(reconciliacaoService.getUltimoRelatorio().isPresent());
+    }
+
+    private Venda venda(Long produtoId, int quantidade, LocalDateTime data) {
+        Venda venda = Venda.builder()
+                .id(proximaVenda++)
+                .produtoId(produtoId)
+                .quantidade(quantidade)
+                .valorUnitario(BigDecimal.TEN)
+                .valorTotal(BigDecimal.TEN.multiply(BigDecimal.valueOf(quantidade)))
+                .dataVenda(data)
+                .build();
+        vendas.add(venda);
+        return venda;
+    }
+
+    private SaidaEstoqueDTO saida(Venda venda, int quantidade, LocalDateTime data) {
+        return SaidaEstoqueDTO.builder()
+                .id(proximaSaida++)
+                .produtoId(venda.getProdutoId())
+                .quantidade(quantidade)
+                .dataSaida(data)
+                .tipoSaida("VENDA")
+                .observacao(SalesService.OBSERVACAO_BAIXA_VENDA + venda.getId())
+                .build();
+    }
+
+    private void simularVendas() {
+        when(vendaRepository.agregarPorDiaEProduto(any(), any())).thenAnswer(invocation ->
+                agregar(vendas, Venda::getDataVenda, Venda::getProdutoId, Venda::getQuantidade,
+                        invocation.getArgument(0), invocation.getArgument(1)));
+        when(vendaRepository.buscarPorProdutoNoPeriodo(anyLong(), any(), any())).thenAnswer(invocation ->
+                vendas.stream().filter(venda -> venda.getProdutoId().equals(invocation.getArgument(0))
+                        && noPeriodo(venda.getDataVenda(), invocation.getArgument(1), invocation.getArgument(2))).toList());
+        when(vendaRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Venda> encontradas = new ArrayList<>();
+            ids.forEach(id -> vendas.stream().filter(venda -> venda.getId().equals(id)).forEach(encontradas::add));
+            return encontradas;
+        });
+    }
+
+    private void simularStock() {
+        when(stockServiceFeignClient.getDigestsPorDia(any(), any())).thenAnswer(invocation -> {
+            LocalDate inicio = invocation.getArgument(0);
+            LocalDate fim = invocation.getArgument(1);
+            return MovementDigests.days(agregarSaidas(inicio, fim.plusDays(1)));
+        });
+        when(stockServiceFeignClient.getDigestsPorBucket(any())).thenAnswer(invocation -> {
+            LocalDate dia = invocation.getArgument(0);
+            return MovementDigests.buckets(agregarSaidas(dia, dia.plusDays(1)));
+        });
+        when(stockServiceFeignClient.getTotaisPorProduto(any(), anyInt())).thenAnswer(invocation -> {
+            LocalDate dia = invocation.getArgument(0);
+            return MovementDigests.products(agregarSaidas(dia, dia.plusDays(1)), invocation.getArgument(1));
+        });
+        when(stockServiceFeignClient.getSaidasDeVenda(any(), anyLong())).thenAnswer(invocation -> {
+            LocalDate dia = invocation.getArgument(0);
+            return saidas.stream().filter(saida -> saida.getProdutoId().equals(invocation.getArgument(1))
+                    && noPeriodo(saida.getDataSaida(), dia.atStartOfDay(), dia.plusDays(1).atStartOfDay())).toList();
+        });
+    }
+
+    private List<MovementAggregate> agregarSaidas(LocalDate de, LocalDate ateExclusive) {
+        return agregar(saidas, SaidaEstoqueDTO::getDataSaida, SaidaEstoqueDTO::getProdutoId, SaidaEstoqueDTO::getQuantidade,
+                de.atStartOfDay(), ateExclusive.atStartOfDay());
+    }
+
+    // Equivalente em memória do GROUP BY dia, produto dos repositórios
+    private static <T> List<MovementAggregate> agregar(List<T> registros, Function<T, LocalDateTime> data,
+                                                       Function<T, Long> produto, Function<T, Integer> quantidade,
+                                                       LocalDateTime inicio, LocalDateTime fim) {
+        record Chave(LocalDate dia, Long produtoId) {
+        }
+        Map<Chave, long[]> grupos = new HashMap<>();
+        for (T registro : registros) {
+            if (noPeriodo(data.apply(registro), inicio, fim)) {
+                long[] totais = grupos.computeIfAbsent(new Chave(data.apply(registro).toLocalDate(), produto.apply(registro)),
+                        chave -> new long[2]);
+                totais[0]++;
+                totais[1] += quantidade.apply(registro);
+            }
+        }
+        return grupos.entrySet().stream()
+                .map(grupo -> new MovementAggregate(grupo.getKey().dia(), grupo.getKey().produtoId(),
+                        grupo.getValue()[0], grupo.getValue()[1]))
+                .toList();
+    }
+
+    private static boolean noPeriodo(LocalDateTime data, LocalDateTime inicio, LocalDateTime fim) {
+        return !data.isBefore(inicio) && data.isBefore(fim);
+    }
+}
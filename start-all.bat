@@ -55,6 +55,12 @@ start cmd.exe /k "cd sales-service && mvn spring-boot:run"
 timeout /t 10 /nobreak
 echo Sales Service iniciado.
 
+REM 8. Notification Service
+echo Iniciando Notification Service na porta 8086...
+start cmd.exe /k "cd notification-service && mvn spring-boot:run"
+timeout /t 10 /nobreak
+echo Notification Service iniciado.
+
 echo.
 echo Todos os servicos foram acionados. Verifique os logs em cada terminal.
 echo Pode levar mais alguns segundos para que todos se registrem no Eureka.
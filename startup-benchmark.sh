@@ -0,0 +1,156 @@
+#!/usr/bin/env bash
+# Mede o tempo de subida dos serviços MercadoTech em três modos:
+#   jar      java -jar <serviço>-exec.jar (como hoje, sem o código gerado pelo AOT)
+#   cds      jar extraído + arquivo CDS (classes já carregadas e verificadas num treino)
+#   cds-aot  jar extraído + CDS + código gerado pelo Spring AOT (-Dspring.aot.enabled=true)
+# Para cada modo: tempo até a primeira resposta 2xx (READY) e latência da primeira requisição de negócio (FIRST).
+#
+# Pré-requisitos: "mvn -Pfast-startup package -DskipTests" na raiz e a mesma infraestrutura do start-all.bat
+# (PostgreSQL com os bancos criados; Eureka e config server são opcionais). Os serviços usam as portas do
+# application.yml de cada um, que precisam estar livres.
+#
+# Uso: ./startup-benchmark.sh [serviço...]        (padrão: gateway auth product stock sales)
+# Variáveis:
+#   RUNS=3             execuções por modo (a tabela mostra a mediana)
+#   MODES="jar cds cds-aot"
+#   JAVA=java          JVM (21+); por padrão a do JAVA_HOME
+#   EXTRA_CLASSPATH=   jars adicionados ao classpath em todos os modos (ex.: driver H2 para rodar sem PostgreSQL)
+#   SERVICE_ARGS=      argumentos extras para todos os serviços (ex.: --spring.datasource.url=jdbc:h2:mem:db)
+#   TIMEOUT=120        segundos de espera pela primeira resposta
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+RUNS=${RUNS:-3}
+MODES=${MODES:-"jar cds cds-aot"}
+JAVA=${JAVA:-${JAVA_HOME:+$JAVA_HOME/bin/}java}
+EXTRA_CLASSPATH=${EXTRA_CLASSPATH:-}
+SERVICE_ARGS=${SERVICE_ARGS:-}
+TIMEOUT=${TIMEOUT:-120}
+
+# Refresh scope e config server ficam desligados nos três modos, como no processamento AOT (perfil fast-startup)
+COMMON_ARGS="-Dspring.cloud.refresh.enabled=false -Dspring.cloud.config.enabled=false"
+
+# serviço|porta|READY (primeira resposta 2xx)|FIRST (primeira requisição de negócio, qualquer status)
+SERVICES="
+gateway-service|8081|/actuator/health|/v1/products/1
+auth-service|8080|/auth/.well-known/jwks.json|/auth/revocations
+product-service|8082|/actuator/health|/v1/products/1
+stock-service|8084|/actuator/health|/v1/estoque/1
+sales-service|8085|/actuator/health|/v1/vendas/produto/1
+discovery-service|8761|/actuator/health|/eureka/apps
+"
+
+now_ms() {
+  date +%s%3N
+}
+
+service_line() {
+  echo "$SERVICES" | grep "^$1|" || { echo "Serviço desconhecido: $1" >&2; exit 1; }
+}
+
+exec_jar() {
+  local jar
+  jar=$(ls "$1"/target/*-exec.jar 2>/dev/null | head -1)
+  if [ -z "$jar" ]; then
+    echo "$1/target/*-exec.jar não encontrado: rode mvn -Pfast-startup package -DskipTests" >&2
+    exit 1
+  fi
+  echo "$jar"
+}
+
+# Cópia do jar sem os proxies CGLIB gerados pelo AOT: sem -Dspring.aot.enabled=true o Spring gera os proxies em
+# tempo de execução com os mesmos nomes, e carregar a classe pré-gerada no lugar quebra a subida.
+without_aot_proxies() {
+  local status=0
+  cp "$1" "$2"
+  zip -qd "$2" "$3*\$\$SpringCGLIB\$\$*" > /dev/null || status=$?
+  [ "$status" -eq 0 ] || [ "$status" -eq 12 ] # 12: nenhum proxy no jar
+}
+
+# Extrai o jar executável (aplicação + lib/) e treina os arquivos CDS: a aplicação sobe até o refresh do
+# contexto e a JVM grava as classes carregadas ao sair. Um arquivo por modo, porque o AOT carrega outras classes.
+prepare() {
+  local service=$1 jar dir app main cp
+  jar=$(exec_jar "$service")
+  dir=$service/target/fast-startup
+  app=$dir/$(basename "$jar")
+  rm -rf "$dir"
+  "$JAVA" -Djarmode=tools -jar "$jar" extract --destination "$dir" > /dev/null
+  without_aot_proxies "$jar" "$dir/exec-jit.jar" "BOOT-INF/classes/"
+  without_aot_proxies "$app" "${app%.jar}-jit.jar" ""
+  main=$(unzip -p "$app" META-INF/MANIFEST.MF | sed -n 's/^Main-Class: *//p' | tr -d '\r')
+  echo "$main" > "$dir/main-class"
+  for aot in false true; do
+    cp=$app
+    [ "$aot" = true ] || cp=${app%.jar}-jit.jar
+    cp="$cp${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}"
+    echo "$cp" > "$dir/classpath-aot-$aot"
+    # shellcheck disable=SC2086
+    "$JAVA" -XX:ArchiveClassesAtExit="$dir/app-aot-$aot.jsa" -Dspring.context.exit=onRefresh \
+      -Dspring.aot.enabled=$aot $COMMON_ARGS -cp "$cp" "$main" $SERVICE_ARGS > "$dir/training-aot-$aot.log" 2>&1 \
+      || { echo "Treino CDS de $service falhou (aot=$aot), ver $dir/training-aot-$aot.log" >&2; exit 1; }
+  done
+}
+
+command_for() {
+  local service=$1 mode=$2 dir=$1/target/fast-startup
+  case $mode in
+    jar)
+      echo "-cp $dir/exec-jit.jar${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH} org.springframework.boot.loader.launch.JarLauncher" ;;
+    cds)
+      echo "-XX:SharedArchiveFile=$dir/app-aot-false.jsa -Dspring.aot.enabled=false -cp $(cat "$dir/classpath-aot-false") $(cat "$dir/main-class")" ;;
+    cds-aot)
+      echo "-XX:SharedArchiveFile=$dir/app-aot-true.jsa -Dspring.aot.enabled=true -cp $(cat "$dir/classpath-aot-true") $(cat "$dir/main-class")" ;;
+    *)
+      echo "Modo desconhecido: $mode" >&2; exit 1 ;;
+  esac
+}
+
+# Sobe o serviço, espera a primeira resposta 2xx e faz a primeira requisição de negócio; imprime "ready_ms first_ms".
+measure() {
+  local service=$1 mode=$2 port=$3 ready=$4 first=$5 log start pid elapsed first_ms
+  log=$service/target/fast-startup/run-$mode.log
+  start=$(now_ms)
+  # shellcheck disable=SC2046,SC2086
+  "$JAVA" $COMMON_ARGS $(command_for "$service" "$mode") $SERVICE_ARGS > "$log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "http://localhost:$port$ready"; do
+    elapsed=$(( $(now_ms) - start ))
+    if ! kill -0 "$pid" 2>/dev/null || [ "$elapsed" -gt $((TIMEOUT * 1000)) ]; then
+      kill "$pid" 2>/dev/null || true
+      echo "$service ($mode) não respondeu em $TIMEOUT s, ver $log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  first_ms=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$port$first" | awk '{ printf "%d", $1 * 1000 }')
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed $first_ms"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+services=("$@")
+if [ ${#services[@]} -eq 0 ]; then
+  services=(gateway-service auth-service product-service stock-service sales-service)
+fi
+
+printf '%-18s %-8s %12s %12s\n' "serviço" "modo" "READY ms" "FIRST ms"
+for service in "${services[@]}"; do
+  IFS='|' read -r _ port ready first <<< "$(service_line "$service")"
+  prepare "$service"
+  for mode in $MODES; do
+    results=()
+    for _ in $(seq "$RUNS"); do
+      results+=("$(measure "$service" "$mode" "$port" "$ready" "$first")")
+    done
+    ready_ms=$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)
+    first_ms=$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)
+    printf '%-18s %-8s %12s %12s\n' "$service" "$mode" "$ready_ms" "$first_ms"
+  done
+done
@@ -7,9 +7,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 
 import java.util.Optional;
 
-@FeignClient(name = "product-service", url = "${product-service.url:http://localhost:8081}") // Nome do serviço no Eureka e URL de fallback
+@FeignClient(name = "product-service", url = "${product-service.url:}") // Sem url fixa: instâncias vêm do Eureka via load balancer peak-EWMA (commons)
 public interface ProductServiceFeignClient {
 
-    @GetMapping("/products/{id}") // Endpoint do product-service para buscar produto por ID
+    @GetMapping("/v1/products/{id}") // Endpoint do product-service para buscar produto por ID
     Optional<ProdutoEstoqueDTO> getProductById(@PathVariable("id") Long id);
 }
\ No newline at end of file
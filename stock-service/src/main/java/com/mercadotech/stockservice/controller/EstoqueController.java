@@ -1,6 +1,5 @@
 package com.mercadotech.stockservice.controller;
 
-import com.mercadotech.stockservice.dto.ProdutoEstoqueDTO;
 import com.mercadotech.stockservice.entity.EntradaEstoque;
 import com.mercadotech.stockservice.entity.SaidaEstoque;
 import com.mercadotech.stockservice.service.EstoqueService;
@@ -27,13 +26,13 @@ public class EstoqueController {
      */
     @PostMapping("/entrada")
     public ResponseEntity<EntradaEstoque> registrarEntrada(@RequestBody EntradaEstoque entradaEstoque) {
-        log.info("Recebida requisição para registrar entrada de estoque: {}", entradaEstoque);
         try {
             EntradaEstoque novaEntrada = estoqueService.registrarEntrada(entradaEstoque);
-            log.info("Entrada de estoque registrada com sucesso. ID: {}", novaEntrada.getId());
+            log.info("Entrada de estoque registrada id={} produtoId={} quantidade={}",
+                    novaEntrada.getId(), novaEntrada.getProdutoId(), novaEntrada.getQuantidade());
             return new ResponseEntity<>(novaEntrada, HttpStatus.CREATED); // Retorna 201 Created
         } catch (IllegalArgumentException e) {
-            log.error("Erro ao registrar entrada de estoque: {}", e.getMessage());
+            log.error("Erro ao registrar entrada de estoque produtoId={}: {}", entradaEstoque.getProdutoId(), e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()); // Retorna 400 Bad Request
         }
     }
@@ -46,13 +45,13 @@ public class EstoqueController {
      */
     @PostMapping("/saida")
     public ResponseEntity<SaidaEstoque> registrarSaida(@RequestBody SaidaEstoque saidaEstoque) {
-        log.info("Recebida requisição para registrar saída de estoque: {}", saidaEstoque);
         try {
             SaidaEstoque novaSaida = estoqueService.registrarSaida(saidaEstoque);
-            log.info("Saída de estoque registrada com sucesso. ID: {}", novaSaida.getId());
+            log.info("Saída de estoque registrada id={} produtoId={} quantidade={} tipo={}",
+                    novaSaida.getId(), novaSaida.getProdutoId(), novaSaida.getQuantidade(), novaSaida.getTipoSaida());
             return new ResponseEntity<>(novaSaida, HttpStatus.CREATED); // Retorna 201 Created
         } catch (IllegalArgumentException e) {
-            log.error("Erro ao registrar saída de estoque: {}", e.getMessage());
+            log.error("Erro ao registrar saída de estoque produtoId={}: {}", saidaEstoque.getProdutoId(), e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()); // Retorna 400 Bad Request
         }
     }
@@ -66,20 +65,19 @@ public class EstoqueController {
      */
     @GetMapping("/{produtoId}")
     public ResponseEntity<Integer> getSaldoAtual(@PathVariable Long produtoId) {
-        log.info("Recebida requisição para obter saldo do produto com ID: {}", produtoId);
         try {
             // Primeiro, verificar se o produto existe no product-service
-            ProdutoEstoqueDTO produto = estoqueService.getProdutoById(produtoId)
+            estoqueService.getProdutoById(produtoId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto com ID " + produtoId + " não encontrado."));
 
             Integer saldo = estoqueService.calcularSaldoAtual(produtoId);
-            log.info("Saldo atual do produto {} ({}): {}", produto.getName(), produto.getId(), saldo);
+            log.info("Saldo consultado produtoId={} saldo={}", produtoId, saldo);
             return ResponseEntity.ok(saldo); // Retorna 200 OK
         } catch (ResponseStatusException e) {
             // Re-lança a exceção para que o Spring Boot a capture e retorne o status adequado
             throw e;
         } catch (Exception e) {
-            log.error("Erro inesperado ao obter saldo para o produto {}: {}", produtoId, e.getMessage());
+            log.error("Erro inesperado ao obter saldo produtoId={}: {}", produtoId, e.getMessage());
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno ao processar a requisição.");
         }
     }
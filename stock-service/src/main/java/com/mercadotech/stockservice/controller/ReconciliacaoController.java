@@ -0,0 +1,71 @@
+package com.mercadotech.stockservice.controller;
+
+import com.mercadotech.commons.reconciliation.BucketDigest;
+import com.mercadotech.commons.reconciliation.DayDigest;
+import com.mercadotech.commons.reconciliation.MovementDigests;
+import com.mercadotech.commons.reconciliation.ProductTotals;
+import com.mercadotech.stockservice.entity.SaidaEstoque;
+import com.mercadotech.stockservice.service.ReconciliacaoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Endpoints que o sales-service percorre, de cima para baixo, para reconciliar as vendas com as saídas do tipo VENDA.
+ */
+@RestController
+@RequestMapping("/v1/estoque/reconciliacao")
+@RequiredArgsConstructor
+public class ReconciliacaoController {
+
+    private final ReconciliacaoService reconciliacaoService;
+
+    /**
+     * Mapeia para GET /estoque/reconciliacao/dias?inicio=YYYY-MM-DD&fim=YYYY-MM-DD
+     */
+    @GetMapping("/dias")
+    public ResponseEntity<List<DayDigest>> getDigestsPorDia(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        if (!MovementDigests.isValidPeriod(inicio, fim)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Período inválido (até " + MovementDigests.MAX_DAYS + " dias).");
+        }
+        return ResponseEntity.ok(reconciliacaoService.digestsPorDia(inicio, fim));
+    }
+
+    /**
+     * Mapeia para GET /estoque/reconciliacao/dias/{dia}/buckets
+     */
+    @GetMapping("/dias/{dia}/buckets")
+    public ResponseEntity<List<BucketDigest>> getDigestsPorBucket(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dia) {
+        return ResponseEntity.ok(reconciliacaoService.digestsPorBucket(dia));
+    }
+
+    /**
+     * Mapeia para GET /estoque/reconciliacao/dias/{dia}/buckets/{bucket}
+     */
+    @GetMapping("/dias/{dia}/buckets/{bucket}")
+    public ResponseEntity<List<ProductTotals>> getTotaisPorProduto(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dia, @PathVariable int bucket) {
+        if (bucket < 0 || bucket >= MovementDigests.BUCKETS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bucket deve estar entre 0 e " + (MovementDigests.BUCKETS - 1) + ".");
+        }
+        return ResponseEntity.ok(reconciliacaoService.totaisPorProduto(dia, bucket));
+    }
+
+    /**
+     * Mapeia para GET /estoque/reconciliacao/dias/{dia}/produtos/{produtoId}
+     */
+    @GetMapping("/dias/{dia}/produtos/{produtoId}")
+    public ResponseEntity<List<SaidaEstoque>> getSaidasDeVenda(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dia, @PathVariable Long produtoId) {
+        return ResponseEntity.ok(reconciliacaoService.saidasDeVenda(dia, produtoId));
+    }
+}
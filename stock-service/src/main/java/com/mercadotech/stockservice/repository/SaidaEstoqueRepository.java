@@ -1,9 +1,13 @@
 package com.mercadotech.stockservice.repository;
 
+import com.mercadotech.commons.reconciliation.MovementAggregate;
 import com.mercadotech.stockservice.entity.SaidaEstoque;
+import com.mercadotech.stockservice.enums.TipoSaida;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository // Marca a interface como um componente de repositório Spring
@@ -12,4 +16,23 @@ public interface SaidaEstoqueRepository extends JpaRepository<SaidaEstoque, Long
 
     // Exemplo de método de consulta personalizado
     List<SaidaEstoque> findByProdutoIdOrderByDataSaidaAsc(Long produtoId);
-}
\ No newline at end of file
+
+    /**
+     * Saídas do tipo agregadas por dia e produto no período [inicio, fim), para os digests da reconciliação.
+     */
+    @Query("select new com.mercadotech.commons.reconciliation.MovementAggregate("
+            + "cast(s.dataSaida as LocalDate), s.produtoId, count(s), sum(s.quantidade)) "
+            + "from SaidaEstoque s "
+            + "where s.tipoSaida = :tipoSaida and s.dataSaida >= :inicio and s.dataSaida < :fim "
+            + "group by cast(s.dataSaida as LocalDate), s.produtoId")
+    List<MovementAggregate> agregarPorDiaEProduto(TipoSaida tipoSaida, LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Saídas do tipo de um produto no período [inicio, fim), por ordem de data.
+     */
+    @Query("select s from SaidaEstoque s "
+            + "where s.produtoId = :produtoId and s.tipoSaida = :tipoSaida and s.dataSaida >= :inicio and s.dataSaida < :fim "
+            + "order by s.dataSaida, s.id")
+    List<SaidaEstoque> buscarPorProdutoETipoNoPeriodo(Long produtoId, TipoSaida tipoSaida,
+                                                       LocalDateTime inicio, LocalDateTime fim);
+}
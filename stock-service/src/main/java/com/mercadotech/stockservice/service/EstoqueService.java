@@ -35,25 +35,21 @@ public class EstoqueService {
     public EntradaEstoque registrarEntrada(EntradaEstoque entradaEstoque) {
         // 1. Validar se o produto existe no product-service
         Long produtoId = entradaEstoque.getProdutoId();
-        log.info("Verificando a existência do produto com ID: {}", produtoId);
+        log.debug("Verificando produto no product-service produtoId={}", produtoId);
         Optional<ProdutoEstoqueDTO> produtoOptional = productServiceFeignClient.getProductById(produtoId);
 
         if (produtoOptional.isEmpty()) {
-            log.error("Produto com ID {} não encontrado no product-service.", produtoId);
+            log.error("Produto não encontrado no product-service produtoId={}", produtoId);
             throw new IllegalArgumentException("Produto com ID " + produtoId + " não encontrado.");
         }
 
-        // Produto encontrado, pode prosseguir
-        ProdutoEstoqueDTO produto = produtoOptional.get();
-        log.info("Produto encontrado: {} - {}", produto.getId(), produto.getName());
-
         // 2. Preencher a data de entrada se não for fornecida
         if (entradaEstoque.getDataEntrada() == null) {
             entradaEstoque.setDataEntrada(LocalDateTime.now());
         }
 
         // 3. Salvar a entrada no banco de dados
-        log.info("Registrando entrada de {} unidades do produto {}", entradaEstoque.getQuantidade(), produto.getName());
+        log.debug("Registrando entrada produtoId={} quantidade={}", produtoId, entradaEstoque.getQuantidade());
         return entradaEstoqueRepository.save(entradaEstoque);
     }
 
@@ -68,25 +64,23 @@ public class EstoqueService {
     public SaidaEstoque registrarSaida(SaidaEstoque saidaEstoque) {
         // 1. Validar se o produto existe no product-service
         Long produtoId = saidaEstoque.getProdutoId();
-        log.info("Verificando a existência do produto com ID: {}", produtoId);
+        log.debug("Verificando produto no product-service produtoId={}", produtoId);
         Optional<ProdutoEstoqueDTO> produtoOptional = productServiceFeignClient.getProductById(produtoId);
 
         if (produtoOptional.isEmpty()) {
-            log.error("Produto com ID {} não encontrado no product-service.", produtoId);
+            log.error("Produto não encontrado no product-service produtoId={}", produtoId);
             throw new IllegalArgumentException("Produto com ID " + produtoId + " não encontrado.");
         }
 
         ProdutoEstoqueDTO produto = produtoOptional.get();
-        log.info("Produto encontrado: {} - {}", produto.getId(), produto.getName());
 
         // 2. Calcular o saldo atual do produto
         Integer saldoAtual = calcularSaldoAtual(produtoId);
-        log.info("Saldo atual do produto {}: {}", produto.getName(), saldoAtual);
 
         // 3. Validar se há quantidade suficiente em estoque
         if (saldoAtual < saidaEstoque.getQuantidade()) {
-            log.error("Saldo insuficiente para o produto {}. Saldo atual: {}, Quantidade de saída: {}",
-                    produto.getName(), saldoAtual, saidaEstoque.getQuantidade());
+            log.error("Saldo insuficiente produtoId={} saldo={} quantidade={}",
+                    produtoId, saldoAtual, saidaEstoque.getQuantidade());
             throw new IllegalArgumentException("Saldo insuficiente para o produto " + produto.getName() + " (ID: " + produtoId + "). Saldo atual: " + saldoAtual + ", Tentativa de saída: " + saidaEstoque.getQuantidade());
         }
 
@@ -96,7 +90,7 @@ public class EstoqueService {
         }
 
         // 5. Salvar a saída no banco de dados
-        log.info("Registrando saída de {} unidades do produto {} (Tipo: {})", saidaEstoque.getQuantidade(), produto.getName(), saidaEstoque.getTipoSaida());
+        log.debug("Registrando saída produtoId={} quantidade={} tipo={}", produtoId, saidaEstoque.getQuantidade(), saidaEstoque.getTipoSaida());
         return saidaEstoqueRepository.save(saidaEstoque);
     }
 
@@ -107,7 +101,6 @@ public class EstoqueService {
      * @throws IllegalArgumentException Se o produto não for encontrado (embora o método principal já valide).
      */
     public Integer calcularSaldoAtual(Long produtoId) {
-        log.info("Calculando saldo para o produto ID: {}", produtoId);
         // Não é necessário validar o produto aqui novamente se o método for chamado por registrarEntrada/Saida,
         // mas pode ser útil se for um método público exposto.
         // Optional<ProdutoEstoqueDTO> produtoOptional = productServiceFeignClient.getProductById(produtoId);
@@ -127,7 +120,7 @@ public class EstoqueService {
                 .sum();
 
         int saldo = totalEntradas - totalSaidas;
-        log.info("Saldo calculado para produto ID {}: {} (Entradas: {}, Saídas: {})", produtoId, saldo, totalEntradas, totalSaidas);
+        log.debug("Saldo calculado produtoId={} saldo={} entradas={} saidas={}", produtoId, saldo, totalEntradas, totalSaidas);
         return saldo;
     }
 
@@ -0,0 +1,55 @@
+package com.mercadotech.stockservice.service;
+
+import com.mercadotech.commons.reconciliation.BucketDigest;
+import com.mercadotech.commons.reconciliation.DayDigest;
+import com.mercadotech.commons.reconciliation.MovementAggregate;
+import com.mercadotech.commons.reconciliation.MovementDigests;
+import com.mercadotech.commons.reconciliation.ProductTotals;
+import com.mercadotech.stockservice.entity.SaidaEstoque;
+import com.mercadotech.stockservice.enums.TipoSaida;
+import com.mercadotech.stockservice.repository.SaidaEstoqueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Lado do stock-service na reconciliação com o sales-service: digests ({@link MovementDigests}) das saídas do tipo
+ * VENDA por dia, bucket e produto, e as saídas de um produto num dia para os ramos que divergem. Quem compara e
+ * propõe os reparos é o sales-service.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliacaoService {
+
+    private final SaidaEstoqueRepository saidaEstoqueRepository;
+
+    /**
+     * Digests dos dias com saídas de venda entre {@code inicio} e {@code fim} (inclusive).
+     */
+    public List<DayDigest> digestsPorDia(LocalDate inicio, LocalDate fim) {
+        List<DayDigest> digests = MovementDigests.days(inicio, fim, this::agregar);
+        log.debug("Digests de saídas por dia inicio={} fim={} dias={}", inicio, fim, digests.size());
+        return digests;
+    }
+
+    public List<BucketDigest> digestsPorBucket(LocalDate dia) {
+        return MovementDigests.buckets(agregar(dia, dia.plusDays(1)));
+    }
+
+    public List<ProductTotals> totaisPorProduto(LocalDate dia, int bucket) {
+        return MovementDigests.products(agregar(dia, dia.plusDays(1)), bucket);
+    }
+
+    public List<SaidaEstoque> saidasDeVenda(LocalDate dia, Long produtoId) {
+        return saidaEstoqueRepository.buscarPorProdutoETipoNoPeriodo(produtoId, TipoSaida.VENDA,
+                dia.atStartOfDay(), dia.plusDays(1).atStartOfDay());
+    }
+
+    private List<MovementAggregate> agregar(LocalDate de, LocalDate ateExclusive) {
+        return saidaEstoqueRepository.agregarPorDiaEProduto(TipoSaida.VENDA, de.atStartOfDay(), ateExclusive.atStartOfDay());
+    }
+}